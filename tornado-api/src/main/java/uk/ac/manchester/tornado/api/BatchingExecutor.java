@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api;
+
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Executor that fuses many small requests into a single kernel launch. Requests submitted from
+ * different threads are collected within a time window, or until the maximum batch size is reached.
+ * The inputs of all the requests are packed into one contiguous array per parameter, the kernel is
+ * launched once with an extra dimension in the {@link WorkerGrid} for the requests, and the results
+ * are scattered back to the output arrays of each request.
+ *
+ * <p>All the requests must have the same shape: the same number, type and size of the input and
+ * output arrays as the ones passed to the constructor. The kernel is written for the packed arrays
+ * with the {@link KernelContext}: {@code globalIdy} is the index of the request in the batch, and
+ * {@code globalIdx} the index of the thread within the request. The elements of the request {@code
+ * r} in a packed array start at {@code r * size}, where {@code size} is the number of elements of
+ * that parameter per request.
+ *
+ * <p>Example:
+ *
+ * <p><code>
+ * BatchingExecutor executor = new BatchingExecutor("add", inputs, outputs, (taskGraph, in, out) -> taskGraph.task("add", Kernels::add, context, in[0], in[1], out[0]))
+ * .withBatchWindow(100, TimeUnit.MICROSECONDS)
+ * .withMaxBatchSize(64);
+ * executor.submit(new TornadoNativeArray[] { a, b }, new TornadoNativeArray[] { c }).join();
+ * </code>
+ *
+ * <p>A larger window fuses more requests per launch and improves the throughput, at the cost of the
+ * latency of each request.
+ *
+ * @since 1.0.8
+ */
+public class BatchingExecutor implements AutoCloseable {
+
+  private static final long DEFAULT_BATCH_WINDOW_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
+  private static final AtomicInteger EXECUTOR_IDS = new AtomicInteger();
+
+  /** Request queued by {@link #close()} to stop the dispatcher thread. */
+  private static final Request SHUTDOWN = new Request(null, null, null);
+
+  private final String graphName;
+  private final String taskName;
+  private final TornadoNativeArray[] inputShapes;
+  private final TornadoNativeArray[] outputShapes;
+  private final BatchedTasks batchedTasks;
+
+  private final BlockingQueue<Request> pendingRequests = new LinkedBlockingQueue<>();
+  private final AtomicLong numLaunches = new AtomicLong();
+  private final Thread dispatcher;
+
+  private volatile boolean closed;
+  private volatile long batchWindowNanos = DEFAULT_BATCH_WINDOW_NANOS;
+  private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+  private volatile int threadsPerRequest;
+  private volatile TornadoDevice device;
+
+  // Built by the dispatcher thread for the first batch
+  private volatile TornadoExecutionPlan executionPlan;
+  private TornadoNativeArray[] packedInputs;
+  private TornadoNativeArray[] packedOutputs;
+  private WorkerGrid workerGrid;
+
+  /**
+   * Adds the tasks that process a batch of requests to the task-graph of the executor. The
+   * transfers of the packed arrays are added by the executor.
+   */
+  @FunctionalInterface
+  public interface BatchedTasks {
+    void addTasks(
+        TaskGraph taskGraph, TornadoNativeArray[] packedInputs, TornadoNativeArray[] packedOutputs);
+  }
+
+  /**
+   * Creates a batching executor.
+   *
+   * @param taskName Name of the task launched with the extra batch dimension.
+   * @param inputShapes Input arrays with the type and size of the inputs of every request.
+   * @param outputShapes Output arrays with the type and size of the outputs of every request.
+   * @param batchedTasks Adds the tasks for the packed arrays.
+   */
+  public BatchingExecutor(
+      String taskName,
+      TornadoNativeArray[] inputShapes,
+      TornadoNativeArray[] outputShapes,
+      BatchedTasks batchedTasks) {
+    if (outputShapes.length == 0) {
+      throw new TornadoRuntimeException("[ERROR] A batching executor needs at least one output");
+    }
+    this.graphName = "batching" + EXECUTOR_IDS.getAndIncrement();
+    this.taskName = taskName;
+    this.inputShapes = inputShapes.clone();
+    this.outputShapes = outputShapes.clone();
+    this.batchedTasks = batchedTasks;
+    this.threadsPerRequest = outputShapes[0].getSize();
+    this.dispatcher = new Thread(this::dispatch, "TornadoBatchingExecutor-" + graphName);
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  /**
+   * Sets the maximum time to wait for more requests after the first request of a batch arrives.
+   * With a window of zero, a batch only contains the requests already waiting.
+   *
+   * @param window Time window.
+   * @param unit {@link TimeUnit} of the window.
+   * @return {@link BatchingExecutor}
+   */
+  public BatchingExecutor withBatchWindow(long window, TimeUnit unit) {
+    this.batchWindowNanos = unit.toNanos(window);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of requests fused in a single launch. It must be set before the first
+   * request is submitted.
+   *
+   * @param maxBatchSize Maximum number of requests per launch.
+   * @return {@link BatchingExecutor}
+   */
+  public BatchingExecutor withMaxBatchSize(int maxBatchSize) {
+    if (maxBatchSize < 1) {
+      throw new TornadoRuntimeException("[ERROR] The maximum batch size must be positive");
+    }
+    checkNotStarted();
+    this.maxBatchSize = maxBatchSize;
+    return this;
+  }
+
+  /**
+   * Sets the number of threads in the first dimension of the grid for each request. By default, it
+   * is the number of elements of the first output.
+   *
+   * @param threadsPerRequest Number of threads per request.
+   * @return {@link BatchingExecutor}
+   */
+  public BatchingExecutor withThreadsPerRequest(int threadsPerRequest) {
+    this.threadsPerRequest = threadsPerRequest;
+    return this;
+  }
+
+  /**
+   * Sets the device that runs the batches. It must be set before the first request is submitted.
+   *
+   * @param device {@link TornadoDevice}
+   * @return {@link BatchingExecutor}
+   */
+  public BatchingExecutor withDevice(TornadoDevice device) {
+    checkNotStarted();
+    this.device = device;
+    return this;
+  }
+
+  /**
+   * Submits a request. The request is launched together with the rest of the requests received
+   * within the batch window.
+   *
+   * @param inputs Input arrays of the request, with the same shape as the input shapes.
+   * @param outputs Output arrays of the request, with the same shape as the output shapes.
+   * @return {@link CompletableFuture} that is completed when the outputs have been updated.
+   */
+  public CompletableFuture<Void> submit(TornadoNativeArray[] inputs, TornadoNativeArray[] outputs) {
+    checkShapes(inputs, inputShapes);
+    checkShapes(outputs, outputShapes);
+    Request request = new Request(inputs, outputs, new CompletableFuture<>());
+    pendingRequests.add(request);
+    if (closed) {
+      failPendingRequests();
+    }
+    return request.future;
+  }
+
+  /**
+   * It returns the number of kernel launches performed by the executor.
+   *
+   * @return long
+   */
+  public long getNumberOfLaunches() {
+    return numLaunches.get();
+  }
+
+  /**
+   * Stops the executor. The batch being collected is launched, the requests submitted after it are
+   * completed exceptionally, and the device memory of the executor is released.
+   *
+   * @throws TornadoExecutionPlanException
+   */
+  @Override
+  public void close() throws TornadoExecutionPlanException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pendingRequests.add(SHUTDOWN);
+    try {
+      dispatcher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    failPendingRequests();
+    if (executionPlan != null) {
+      executionPlan.close();
+    }
+  }
+
+  private void checkNotStarted() {
+    if (executionPlan != null) {
+      throw new TornadoRuntimeException(
+          "[ERROR] The batching executor has already launched requests");
+    }
+  }
+
+  private static void checkShapes(TornadoNativeArray[] arrays, TornadoNativeArray[] shapes) {
+    if (arrays.length != shapes.length) {
+      throw new TornadoRuntimeException(
+          "[ERROR] Expected " + shapes.length + " arrays, but got " + arrays.length);
+    }
+    for (int i = 0; i < arrays.length; i++) {
+      if (arrays[i].getClass() != shapes[i].getClass()
+          || arrays[i].getSize() != shapes[i].getSize()) {
+        throw new TornadoRuntimeException(
+            "[ERROR] Array "
+                + i
+                + " does not match the shape of the batching executor: "
+                + shapes[i].getClass().getSimpleName()
+                + "["
+                + shapes[i].getSize()
+                + "]");
+      }
+    }
+  }
+
+  private void dispatch() {
+    List<Request> batch = new ArrayList<>();
+    boolean shutdown = false;
+    while (!shutdown) {
+      try {
+        Request request = pendingRequests.take();
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (request != null && request != SHUTDOWN) {
+          batch.add(request);
+          if (batch.size() == maxBatchSize) {
+            break;
+          }
+          request = pendingRequests.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        shutdown = request == SHUTDOWN;
+      } catch (InterruptedException e) {
+        batch.forEach(Request::cancel);
+        return;
+      }
+      if (!batch.isEmpty()) {
+        launch(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void launch(List<Request> batch) {
+    try {
+      if (executionPlan == null) {
+        buildExecutionPlan();
+      }
+      for (int r = 0; r < batch.size(); r++) {
+        copy(batch.get(r).inputs, packedInputs, r, true);
+      }
+      workerGrid.setGlobalWork(threadsPerRequest, batch.size(), 1);
+      workerGrid.setLocalWorkToNull();
+      executionPlan.execute();
+      numLaunches.incrementAndGet();
+      for (int r = 0; r < batch.size(); r++) {
+        copy(batch.get(r).outputs, packedOutputs, r, false);
+      }
+      batch.forEach(request -> request.future.complete(null));
+    } catch (RuntimeException e) {
+      batch.forEach(request -> request.future.completeExceptionally(e));
+    }
+  }
+
+  private void buildExecutionPlan() {
+    packedInputs = allocatePackedArrays(inputShapes);
+    packedOutputs = allocatePackedArrays(outputShapes);
+
+    TaskGraph taskGraph = new TaskGraph(graphName);
+    if (packedInputs.length > 0) {
+      taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, (Object[]) packedInputs);
+    }
+    batchedTasks.addTasks(taskGraph, packedInputs, packedOutputs);
+    taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, (Object[]) packedOutputs);
+
+    workerGrid = new WorkerGrid2D(threadsPerRequest, maxBatchSize);
+    GridScheduler gridScheduler = new GridScheduler(graphName + "." + taskName, workerGrid);
+    TornadoExecutionPlan plan = new TornadoExecutionPlan(taskGraph.snapshot());
+    plan.withGridScheduler(gridScheduler);
+    if (device != null) {
+      plan.withDevice(device);
+    }
+    executionPlan = plan;
+  }
+
+  private TornadoNativeArray[] allocatePackedArrays(TornadoNativeArray[] shapes) {
+    TornadoNativeArray[] packed = new TornadoNativeArray[shapes.length];
+    for (int i = 0; i < shapes.length; i++) {
+      try {
+        packed[i] =
+            shapes[i]
+                .getClass()
+                .getConstructor(int.class)
+                .newInstance(shapes[i].getSize() * maxBatchSize);
+      } catch (ReflectiveOperationException e) {
+        throw new TornadoRuntimeException(e);
+      }
+    }
+    return packed;
+  }
+
+  /** Copies the arrays of a request to its slot in the packed arrays, or the other way around. */
+  private static void copy(
+      TornadoNativeArray[] arrays, TornadoNativeArray[] packed, int slot, boolean toPacked) {
+    for (int i = 0; i < arrays.length; i++) {
+      long numBytes = arrays[i].getNumBytesOfSegment();
+      MemorySegment segment = arrays[i].getSegment();
+      MemorySegment packedSegment = packed[i].getSegment();
+      if (toPacked) {
+        MemorySegment.copy(segment, 0, packedSegment, slot * numBytes, numBytes);
+      } else {
+        MemorySegment.copy(packedSegment, slot * numBytes, segment, 0, numBytes);
+      }
+    }
+  }
+
+  private void failPendingRequests() {
+    Request request;
+    while ((request = pendingRequests.poll()) != null) {
+      if (request != SHUTDOWN) {
+        request.cancel();
+      }
+    }
+  }
+
+  private record Request(
+      TornadoNativeArray[] inputs, TornadoNativeArray[] outputs, CompletableFuture<Void> future) {
+
+    private void cancel() {
+      future.completeExceptionally(
+          new TornadoRuntimeException("[ERROR] The batching executor is closed"));
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
@@ -47,10 +48,18 @@ public class ImmutableTaskGraph {
     this.taskGraph.execute(executionPackage);
   }
 
+  CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage) {
+    return this.taskGraph.executeAsync(executionPackage);
+  }
+
   void warmup() {
     taskGraph.warmup();
   }
 
+  void withEagerCompilation() {
+    taskGraph.withEagerCompilation();
+  }
+
   void withDevice(TornadoDevice device) {
     taskGraph.withDevice(device);
   }
@@ -59,6 +68,14 @@ public class ImmutableTaskGraph {
     taskGraph.withDevice(taskName, device);
   }
 
+  void withScalarArgument(String taskName, int parameterIndex, Object value) {
+    taskGraph.withScalarArgument(taskName, parameterIndex, value);
+  }
+
+  void withSpecialisation(String taskName, int[] parameterIndexes) {
+    taskGraph.withSpecialisation(taskName, parameterIndexes);
+  }
+
   void freeDeviceMemory() {
     taskGraph.freeDeviceMemory();
   }
@@ -147,6 +164,10 @@ public class ImmutableTaskGraph {
     taskGraph.batch(batchSize);
   }
 
+  void withBatch(String batchSize, TornadoDevice... devices) {
+    taskGraph.batch(batchSize, devices);
+  }
+
   void withMemoryLimit(String memoryLimit) {
     taskGraph.withMemoryLimit(memoryLimit);
   }
@@ -195,6 +216,22 @@ public class ImmutableTaskGraph {
     taskGraph.withoutPrintKernel();
   }
 
+  void withGraphCapture() {
+    taskGraph.withGraphCapture();
+  }
+
+  void withoutGraphCapture() {
+    taskGraph.withoutGraphCapture();
+  }
+
+  void withUnifiedMemory() {
+    taskGraph.withUnifiedMemory();
+  }
+
+  void withoutUnifiedMemory() {
+    taskGraph.withoutUnifiedMemory();
+  }
+
   void withCompilerFlags(TornadoVMBackendType backendType, String compilerFlags) {
     taskGraph.withCompilerFlags(backendType, compilerFlags);
   }
@@ -211,7 +248,35 @@ public class ImmutableTaskGraph {
     return taskGraph.getTotalDeviceMemoryUsage();
   }
 
+  long getBufferPoolHits() {
+    return taskGraph.getBufferPoolHits();
+  }
+
+  long getBufferPoolMisses() {
+    return taskGraph.getBufferPoolMisses();
+  }
+
+  long getSketcherCacheHits() {
+    return taskGraph.getSketcherCacheHits();
+  }
+
+  long getSketcherCacheMisses() {
+    return taskGraph.getSketcherCacheMisses();
+  }
+
+  long getSketcherCacheEvictions() {
+    return taskGraph.getSketcherCacheEvictions();
+  }
+
+  long getLaunchAllocatedBytes() {
+    return taskGraph.getLaunchAllocatedBytes();
+  }
+
   long getCurrentDeviceMemoryUsage() {
     return taskGraph.getCurrentDeviceMemoryUsage();
   }
+
+  long getGraphReplayCount() {
+    return taskGraph.getGraphReplayCount();
+  }
 }
@@ -17,13 +17,24 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
 /**
  * Context of TornadoVM execution to exploit kernel-parallel applications, in which the parallelism
  * is implicit.
  *
  * <p>The application can access thread-id for 1D, 2D and 3D dimensions. Additionally, the
  * application can access local memory (OpenCL terminology), or shared memory (CUDA terminology) as
- * well as synchronization primitives such as barriers.
+ * well as synchronization primitives such as barriers, and the collective operations of the
+ * subgroups (warps in CUDA terminology), such as shuffles, broadcasts, reductions and scans. It
+ * also provides atomic operations on the elements of native arrays and of local arrays.
  *
  * <p>
  *
@@ -98,6 +109,20 @@ public class KernelContext implements ExecutionContext {
   public final Integer localGroupSizeY = 0;
   public final Integer localGroupSizeZ = 0;
 
+  // Atomic access to the elements of native arrays and Java arrays when the kernel does not run on
+  // a device
+  private static final VarHandle INT_SEGMENT = ValueLayout.JAVA_INT.arrayElementVarHandle();
+  private static final VarHandle LONG_SEGMENT = ValueLayout.JAVA_LONG.arrayElementVarHandle();
+  private static final VarHandle FLOAT_SEGMENT = ValueLayout.JAVA_FLOAT.arrayElementVarHandle();
+  private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+  private static final VarHandle LONG_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final VarHandle FLOAT_ARRAY = MethodHandles.arrayElementVarHandle(float[].class);
+
+  // Index of the first element of native arrays within their segments
+  private static final long INT_BASE = TornadoNativeArray.ARRAY_HEADER / Integer.BYTES;
+  private static final long LONG_BASE = TornadoNativeArray.ARRAY_HEADER / Long.BYTES;
+  private static final long FLOAT_BASE = TornadoNativeArray.ARRAY_HEADER / Float.BYTES;
+
   /** Class constructor specifying a particular {@link WorkerGrid} object. */
   public KernelContext() {}
 
@@ -165,4 +190,724 @@ public class KernelContext implements ExecutionContext {
   public double[] allocateDoubleLocalArray(int size) {
     return new double[size];
   }
+
+  /**
+   * It returns the identifier of the subgroup (warp in CUDA terminology) the thread belongs to,
+   * within its work-group. When the kernel does not run on a device, every subgroup has a single
+   * thread.
+   *
+   * <p>OpenCL equivalent: get_sub_group_id();
+   *
+   * <p>PTX equivalent: (threadIdx.x + blockDim.x * (threadIdx.y + blockDim.y * threadIdx.z)) / 32
+   */
+  public int subgroupId() {
+    return 0;
+  }
+
+  /**
+   * It returns the identifier of the thread within its subgroup.
+   *
+   * <p>OpenCL equivalent: get_sub_group_local_id();
+   *
+   * <p>PTX equivalent: %laneid
+   */
+  public int subgroupLocalId() {
+    return 0;
+  }
+
+  /**
+   * It returns the number of threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: get_sub_group_size();
+   *
+   * <p>PTX equivalent: WARP_SZ
+   */
+  public int subgroupSize() {
+    return 1;
+  }
+
+  /**
+   * It returns the value held by the thread {@code lane} of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle(value, lane);
+   *
+   * <p>PTX equivalent: shfl.sync.idx.b32
+   */
+  public int shuffle(int value, int lane) {
+    return value;
+  }
+
+  /**
+   * It returns the value held by the thread {@code lane} of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle(value, lane);
+   *
+   * <p>PTX equivalent: shfl.sync.idx.b32
+   */
+  public float shuffle(float value, int lane) {
+    return value;
+  }
+
+  /**
+   * It returns the value held by the thread {@code subgroupLocalId() ^ laneMask} of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle_xor(value, laneMask);
+   *
+   * <p>PTX equivalent: shfl.sync.bfly.b32
+   */
+  public int shuffleXor(int value, int laneMask) {
+    return value;
+  }
+
+  /**
+   * It returns the value held by the thread {@code subgroupLocalId() ^ laneMask} of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle_xor(value, laneMask);
+   *
+   * <p>PTX equivalent: shfl.sync.bfly.b32
+   */
+  public float shuffleXor(float value, int laneMask) {
+    return value;
+  }
+
+  /**
+   * It returns the value held by the thread {@code subgroupLocalId() + delta} of the subgroup. The
+   * result is undefined for the threads whose source is outside the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle_down(value, delta);
+   *
+   * <p>PTX equivalent: shfl.sync.down.b32
+   */
+  public int shuffleDown(int value, int delta) {
+    return value;
+  }
+
+  /**
+   * It returns the value held by the thread {@code subgroupLocalId() + delta} of the subgroup. The
+   * result is undefined for the threads whose source is outside the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_shuffle_down(value, delta);
+   *
+   * <p>PTX equivalent: shfl.sync.down.b32
+   */
+  public float shuffleDown(float value, int delta) {
+    return value;
+  }
+
+  /**
+   * It returns, to all threads of the subgroup, the value held by the thread {@code lane}. The lane
+   * must be the same for all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_broadcast(value, lane);
+   *
+   * <p>PTX equivalent: shfl.sync.idx.b32
+   */
+  public int broadcast(int value, int lane) {
+    return value;
+  }
+
+  /**
+   * It returns, to all threads of the subgroup, the value held by the thread {@code lane}. The lane
+   * must be the same for all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_broadcast(value, lane);
+   *
+   * <p>PTX equivalent: shfl.sync.idx.b32
+   */
+  public float broadcast(float value, int lane) {
+    return value;
+  }
+
+  /**
+   * It returns the sum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_add(value);
+   *
+   * <p>PTX equivalent: redux.sync.add.s32
+   */
+  public int subgroupReduceAdd(int value) {
+    return value;
+  }
+
+  /**
+   * It returns the sum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_add(value);
+   *
+   * <p>PTX equivalent: shfl.sync.bfly.b32 and add.f32
+   */
+  public float subgroupReduceAdd(float value) {
+    return value;
+  }
+
+  /**
+   * It returns the minimum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_min(value);
+   *
+   * <p>PTX equivalent: redux.sync.min.s32
+   */
+  public int subgroupReduceMin(int value) {
+    return value;
+  }
+
+  /**
+   * It returns the minimum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_min(value);
+   *
+   * <p>PTX equivalent: shfl.sync.bfly.b32 and min.f32
+   */
+  public float subgroupReduceMin(float value) {
+    return value;
+  }
+
+  /**
+   * It returns the maximum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_max(value);
+   *
+   * <p>PTX equivalent: redux.sync.max.s32
+   */
+  public int subgroupReduceMax(int value) {
+    return value;
+  }
+
+  /**
+   * It returns the maximum of the values of all threads of the subgroup.
+   *
+   * <p>OpenCL equivalent: sub_group_reduce_max(value);
+   *
+   * <p>PTX equivalent: shfl.sync.bfly.b32 and max.f32
+   */
+  public float subgroupReduceMax(float value) {
+    return value;
+  }
+
+  /**
+   * It returns the sum of the values of the threads of the subgroup with a lower {@link
+   * #subgroupLocalId()}, or 0 for the first thread.
+   *
+   * <p>OpenCL equivalent: sub_group_scan_exclusive_add(value);
+   *
+   * <p>PTX equivalent: shfl.sync.up.b32 and add.s32
+   */
+  public int subgroupExclusiveScanAdd(int value) {
+    return 0;
+  }
+
+  /**
+   * It returns the sum of the values of the threads of the subgroup with a lower {@link
+   * #subgroupLocalId()}, or 0 for the first thread.
+   *
+   * <p>OpenCL equivalent: sub_group_scan_exclusive_add(value);
+   *
+   * <p>PTX equivalent: shfl.sync.up.b32 and add.f32
+   */
+  public float subgroupExclusiveScanAdd(float value) {
+    return 0.0f;
+  }
+
+  /**
+   * It returns the sum of the values of the threads of the subgroup up to, and including, the
+   * current thread.
+   *
+   * <p>OpenCL equivalent: sub_group_scan_inclusive_add(value);
+   *
+   * <p>PTX equivalent: shfl.sync.up.b32 and add.s32
+   */
+  public int subgroupInclusiveScanAdd(int value) {
+    return value;
+  }
+
+  /**
+   * It returns the sum of the values of the threads of the subgroup up to, and including, the
+   * current thread.
+   *
+   * <p>OpenCL equivalent: sub_group_scan_inclusive_add(value);
+   *
+   * <p>PTX equivalent: shfl.sync.up.b32 and add.f32
+   */
+  public float subgroupInclusiveScanAdd(float value) {
+    return value;
+  }
+
+  /**
+   * Records the update of the element {@code index} of a native array by an atomic operation, so
+   * that the next transfer of the array to a device includes it. Contexts that run many work-items
+   * can override it and mark the arrays once the kernel completes.
+   *
+   * @param array The native array updated by the atomic operation.
+   * @param index The index of the updated element.
+   */
+  protected void markAtomicWrite(TornadoNativeArray array, int index) {
+    array.markDirty(index, index + 1);
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_add(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.add
+   */
+  public int atomicAdd(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getAndAdd(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public int atomicAdd(int[] array, int index, int value) {
+    return (int) INT_ARRAY.getAndAdd(array, index, value);
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public long atomicAdd(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getAndAdd(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public long atomicAdd(long[] array, int index, long value) {
+    return (long) LONG_ARRAY.getAndAdd(array, index, value);
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public float atomicAdd(FloatArray array, int index, float value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = FLOAT_BASE + index;
+    float old = (float) FLOAT_SEGMENT.getVolatile(segment, i);
+    while (true) {
+      float witness = (float) FLOAT_SEGMENT.compareAndExchange(segment, i, old, old + value);
+      if (Float.floatToRawIntBits(witness) == Float.floatToRawIntBits(old)) {
+        break;
+      }
+      old = witness;
+    }
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically adds {@code value} to the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public float atomicAdd(float[] array, int index, float value) {
+    float old = (float) FLOAT_ARRAY.getVolatile(array, index);
+    while (true) {
+      float witness = (float) FLOAT_ARRAY.compareAndExchange(array, index, old, old + value);
+      if (Float.floatToRawIntBits(witness) == Float.floatToRawIntBits(old)) {
+        break;
+      }
+      old = witness;
+    }
+    return old;
+  }
+
+  /**
+   * It atomically stores the minimum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_min(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.min
+   */
+  public int atomicMin(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getVolatile(segment, i);
+    while (value < old) {
+      int witness = (int) INT_SEGMENT.compareAndExchange(segment, i, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores the minimum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public int atomicMin(int[] array, int index, int value) {
+    int old = (int) INT_ARRAY.getVolatile(array, index);
+    while (value < old) {
+      int witness = (int) INT_ARRAY.compareAndExchange(array, index, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    return old;
+  }
+
+  /**
+   * It atomically stores the minimum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public long atomicMin(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getVolatile(segment, i);
+    while (value < old) {
+      long witness = (long) LONG_SEGMENT.compareAndExchange(segment, i, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores the minimum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public long atomicMin(long[] array, int index, long value) {
+    long old = (long) LONG_ARRAY.getVolatile(array, index);
+    while (value < old) {
+      long witness = (long) LONG_ARRAY.compareAndExchange(array, index, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    return old;
+  }
+
+  /**
+   * It atomically stores the maximum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_max(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.max
+   */
+  public int atomicMax(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getVolatile(segment, i);
+    while (value > old) {
+      int witness = (int) INT_SEGMENT.compareAndExchange(segment, i, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores the maximum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public int atomicMax(int[] array, int index, int value) {
+    int old = (int) INT_ARRAY.getVolatile(array, index);
+    while (value > old) {
+      int witness = (int) INT_ARRAY.compareAndExchange(array, index, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    return old;
+  }
+
+  /**
+   * It atomically stores the maximum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public long atomicMax(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getVolatile(segment, i);
+    while (value > old) {
+      long witness = (long) LONG_SEGMENT.compareAndExchange(segment, i, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores the maximum of {@code value} and the element {@code index} of the array,
+   * and returns the previous value of the element.
+   */
+  public long atomicMax(long[] array, int index, long value) {
+    long old = (long) LONG_ARRAY.getVolatile(array, index);
+    while (value > old) {
+      long witness = (long) LONG_ARRAY.compareAndExchange(array, index, old, value);
+      if (witness == old) {
+        break;
+      }
+      old = witness;
+    }
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise and of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_and(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.and
+   */
+  public int atomicAnd(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getAndBitwiseAnd(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise and of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public int atomicAnd(int[] array, int index, int value) {
+    return (int) INT_ARRAY.getAndBitwiseAnd(array, index, value);
+  }
+
+  /**
+   * It atomically computes the bitwise and of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicAnd(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getAndBitwiseAnd(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise and of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicAnd(long[] array, int index, long value) {
+    return (long) LONG_ARRAY.getAndBitwiseAnd(array, index, value);
+  }
+
+  /**
+   * It atomically computes the bitwise or of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_or(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.or
+   */
+  public int atomicOr(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getAndBitwiseOr(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise or of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public int atomicOr(int[] array, int index, int value) {
+    return (int) INT_ARRAY.getAndBitwiseOr(array, index, value);
+  }
+
+  /**
+   * It atomically computes the bitwise or of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicOr(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getAndBitwiseOr(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise or of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicOr(long[] array, int index, long value) {
+    return (long) LONG_ARRAY.getAndBitwiseOr(array, index, value);
+  }
+
+  /**
+   * It atomically computes the bitwise xor of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_xor(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.xor
+   */
+  public int atomicXor(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getAndBitwiseXor(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise xor of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public int atomicXor(int[] array, int index, int value) {
+    return (int) INT_ARRAY.getAndBitwiseXor(array, index, value);
+  }
+
+  /**
+   * It atomically computes the bitwise xor of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicXor(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getAndBitwiseXor(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically computes the bitwise xor of {@code value} and the element {@code index} of the
+   * array, and returns the previous value of the element.
+   */
+  public long atomicXor(long[] array, int index, long value) {
+    return (long) LONG_ARRAY.getAndBitwiseXor(array, index, value);
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_xchg(&array[index], value)};
+   *
+   * <p>PTX equivalent: atom.exch
+   */
+  public int atomicExchange(IntArray array, int index, int value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.getAndSet(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public int atomicExchange(int[] array, int index, int value) {
+    return (int) INT_ARRAY.getAndSet(array, index, value);
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public long atomicExchange(LongArray array, int index, long value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.getAndSet(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public long atomicExchange(long[] array, int index, long value) {
+    return (long) LONG_ARRAY.getAndSet(array, index, value);
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public float atomicExchange(FloatArray array, int index, float value) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = FLOAT_BASE + index;
+    float old = (float) FLOAT_SEGMENT.getAndSet(segment, i, value);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores {@code value} in the element {@code index} of the array, and returns the
+   * previous value of the element.
+   */
+  public float atomicExchange(float[] array, int index, float value) {
+    return (float) FLOAT_ARRAY.getAndSet(array, index, value);
+  }
+
+  /**
+   * It atomically stores {@code desired} in the element {@code index} of the array if the element
+   * holds {@code expected}, and returns the previous value of the element.
+   *
+   * <p>OpenCL equivalent: {@code atomic_cmpxchg(&array[index], expected, desired)};
+   *
+   * <p>PTX equivalent: atom.cas
+   */
+  public int atomicCompareExchange(IntArray array, int index, int expected, int desired) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = INT_BASE + index;
+    int old = (int) INT_SEGMENT.compareAndExchange(segment, i, expected, desired);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores {@code desired} in the element {@code index} of the array if the element
+   * holds {@code expected}, and returns the previous value of the element.
+   */
+  public int atomicCompareExchange(int[] array, int index, int expected, int desired) {
+    return (int) INT_ARRAY.compareAndExchange(array, index, expected, desired);
+  }
+
+  /**
+   * It atomically stores {@code desired} in the element {@code index} of the array if the element
+   * holds {@code expected}, and returns the previous value of the element.
+   */
+  public long atomicCompareExchange(LongArray array, int index, long expected, long desired) {
+    MemorySegment segment = array.getSegmentWithHeader();
+    long i = LONG_BASE + index;
+    long old = (long) LONG_SEGMENT.compareAndExchange(segment, i, expected, desired);
+    markAtomicWrite(array, index);
+    return old;
+  }
+
+  /**
+   * It atomically stores {@code desired} in the element {@code index} of the array if the element
+   * holds {@code expected}, and returns the previous value of the element.
+   */
+  public long atomicCompareExchange(long[] array, int index, long expected, long desired) {
+    return (long) LONG_ARRAY.compareAndExchange(array, index, expected, desired);
+  }
 }
@@ -20,6 +20,7 @@ package uk.ac.manchester.tornado.api;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -713,10 +714,22 @@ public class TaskGraph implements TaskGraphInterface {
     taskGraphImpl.setDevice(taskName, device);
   }
 
+  void withScalarArgument(String taskName, int parameterIndex, Object value) {
+    taskGraphImpl.setScalarArgument(taskName, parameterIndex, value);
+  }
+
+  void withSpecialisation(String taskName, int[] parameterIndexes) {
+    taskGraphImpl.setSpecialisedArguments(taskName, parameterIndexes);
+  }
+
   void batch(String batchSize) {
     taskGraphImpl.withBatch(batchSize);
   }
 
+  void batch(String batchSize, TornadoDevice... devices) {
+    taskGraphImpl.withBatch(batchSize, devices);
+  }
+
   void withMemoryLimit(String memoryLimit) {
     taskGraphImpl.withMemoryLimit(memoryLimit);
   }
@@ -725,10 +738,18 @@ public class TaskGraph implements TaskGraphInterface {
     taskGraphImpl.execute(executionPackage).waitOn();
   }
 
+  CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage) {
+    return taskGraphImpl.executeAsync(executionPackage);
+  }
+
   void warmup() {
     taskGraphImpl.warmup();
   }
 
+  void withEagerCompilation() {
+    taskGraphImpl.withEagerCompilation();
+  }
+
   void dumpProfiles() {
     taskGraphImpl.dumpProfiles();
   }
@@ -856,6 +877,22 @@ public class TaskGraph implements TaskGraphInterface {
     taskGraphImpl.withoutPrintKernel();
   }
 
+  void withGraphCapture() {
+    taskGraphImpl.withGraphCapture();
+  }
+
+  void withoutGraphCapture() {
+    taskGraphImpl.withoutGraphCapture();
+  }
+
+  void withUnifiedMemory() {
+    taskGraphImpl.withUnifiedMemory();
+  }
+
+  void withoutUnifiedMemory() {
+    taskGraphImpl.withoutUnifiedMemory();
+  }
+
   void withCompilerFlags(TornadoVMBackendType backendType, String compilerFlags) {
     taskGraphImpl.withCompilerFlags(backendType, compilerFlags);
   }
@@ -872,7 +909,35 @@ public class TaskGraph implements TaskGraphInterface {
     return taskGraphImpl.getTotalDeviceMemoryUsage();
   }
 
+  long getBufferPoolHits() {
+    return taskGraphImpl.getBufferPoolHits();
+  }
+
+  long getBufferPoolMisses() {
+    return taskGraphImpl.getBufferPoolMisses();
+  }
+
+  long getSketcherCacheHits() {
+    return taskGraphImpl.getSketcherCacheHits();
+  }
+
+  long getSketcherCacheMisses() {
+    return taskGraphImpl.getSketcherCacheMisses();
+  }
+
+  long getSketcherCacheEvictions() {
+    return taskGraphImpl.getSketcherCacheEvictions();
+  }
+
+  long getLaunchAllocatedBytes() {
+    return taskGraphImpl.getLaunchAllocatedBytes();
+  }
+
   long getCurrentDeviceMemoryUsage() {
     return taskGraphImpl.getCurrentDeviceMemoryUsage();
   }
+
+  long getGraphReplayCount() {
+    return taskGraphImpl.getGraphReplayCount();
+  }
 }
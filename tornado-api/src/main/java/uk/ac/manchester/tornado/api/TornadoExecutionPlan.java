@@ -20,6 +20,7 @@ package uk.ac.manchester.tornado.api;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -112,6 +113,27 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor));
   }
 
+  /**
+   * Execute an execution plan without blocking the caller thread. The task-graphs are launched from
+   * the caller thread, and the returned future is completed when the device has finished all the
+   * commands of the execution, including the transfers to the host. No thread is blocked per
+   * execution, so many executions can be in flight at the same time, and callers running in virtual
+   * threads can wait on the future without pinning a platform thread.
+   *
+   * <p>The execution plan, and the data it uses, must not be modified or executed again until the
+   * future is completed.
+   *
+   * @since 1.0.8
+   * @return {@link CompletableFuture} with the {@link TornadoExecutionResult}.
+   */
+  public CompletableFuture<TornadoExecutionResult> executeAsync() {
+    checkProfilerEnabled();
+    return tornadoExecutor
+        .executeAsync(executionPackage)
+        .thenApply(
+            ignored -> new TornadoExecutionResult(new TornadoProfilerResult(tornadoExecutor)));
+  }
+
   private void checkProfilerEnabled() {
     if (this.profilerMode != null && !this.disableProfiler) {
       tornadoExecutor.enableProfiler(profilerMode);
@@ -131,6 +153,21 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return this;
   }
 
+  /**
+   * It starts the JIT compilation of all tasks of the immutable task-graphs associated to an
+   * executor, and returns without waiting for it. The tasks of each task-graph are compiled
+   * concurrently for their assigned devices. A following {@link #execute()} only blocks on the
+   * tasks whose compilation has not finished yet.
+   *
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withEagerCompilation() {
+    checkProfilerEnabled();
+    tornadoExecutor.withEagerCompilation();
+    return this;
+  }
+
   /**
    * It selects a specific device for all immutable tasks graphs associated to an executor.
    *
@@ -154,6 +191,46 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return this;
   }
 
+  /**
+   * It updates the value of a scalar argument (e.g., a size, a stride or a filter width) of a task
+   * for the following executions. Scalar arguments are passed as kernel parameters, so a new value
+   * does not trigger a new compilation, unless the argument is specialised (see {@link
+   * #withSpecialisation(String, int...)}) or its value is needed at compile time (e.g., the bound
+   * of a parallel loop).
+   *
+   * @param taskName The task-name is identified by the task-graph name followed by a dot (".") and
+   *     the task name. For example: "graph.task1".
+   * @param parameterIndex Index of the parameter in the signature of the task method.
+   * @param value New value. It must have the same type as the current value of the argument.
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withScalarArgument(
+      String taskName, int parameterIndex, Object value) {
+    tornadoExecutor.withScalarArgument(taskName, parameterIndex, value);
+    return this;
+  }
+
+  /**
+   * It selects the scalar arguments of a task that are compiled as constants of the generated
+   * kernels. By default, scalar arguments are passed as kernel parameters, unless they are needed
+   * at compile time (e.g., the bound of a parallel loop). Each combination of values of the
+   * selected arguments produces a specialised kernel. Up to {@code
+   * -Dtornado.specialisation.variants} kernels are kept per task, so switching back to a previous
+   * value does not trigger a new compilation. Further values run a generic kernel that takes the
+   * scalars as parameters.
+   *
+   * @param taskName The task-name is identified by the task-graph name followed by a dot (".") and
+   *     the task name. For example: "graph.task1".
+   * @param parameterIndexes Indexes of the scalar parameters in the signature of the task method.
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withSpecialisation(String taskName, int... parameterIndexes) {
+    tornadoExecutor.withSpecialisation(taskName, parameterIndexes);
+    return this;
+  }
+
   /**
    * It enables multiple tasks in a task graph to run concurrently on the same or different devices.
    * Note that the TornadoVM runtime does not check for data dependencies across tasks when using
@@ -253,6 +330,21 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return this;
   }
 
+  /**
+   * Enable batch processing across multiple devices. The batches are distributed among the given
+   * devices (and the devices already assigned to the tasks), and each device runs all tasks of the
+   * task-graph on its own batches. The number of batches per device is adjusted after each
+   * execution with the throughput measured on each device.
+   *
+   * @param batchSize String in the format a number + "MB" Example "512MB".
+   * @param devices Devices that process the batches.
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withBatch(String batchSize, TornadoDevice... devices) {
+    tornadoExecutor.withBatch(batchSize, devices);
+    return this;
+  }
+
   /**
    * Enables the profiler. The profiler includes options to query device kernel time, data transfers
    * and compilation at different stages (JIT, driver compilation, Graal, etc.).
@@ -378,6 +470,66 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return this;
   }
 
+  /**
+   * Enable graph capture. The first execution after this call records the sequence of data
+   * transfers, kernel launches and markers that the TornadoVM interpreter issues to the device.
+   * Following executions replay that sequence directly, without going through the bytecode
+   * interpreter. This reduces the host overhead of task-graphs that are executed many times and
+   * whose shape does not change.
+   *
+   * <p>The recording is discarded, and the task-graph interpreted again, if the device buffers or
+   * the grid scheduler change. Graphs with batches, atomics, or with the profiler enabled are not
+   * captured.
+   *
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withGraphCapture() {
+    tornadoExecutor.withGraphCapture();
+    return this;
+  }
+
+  /**
+   * Disable graph capture. Following executions run through the TornadoVM bytecode interpreter.
+   *
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withoutGraphCapture() {
+    tornadoExecutor.withoutGraphCapture();
+    return this;
+  }
+
+  /**
+   * Use unified memory for the native arrays of the execution plan. On devices that share physical
+   * memory with the host, such as integrated GPUs and CPU devices, the device buffers are created
+   * over the memory of the arrays. Transfers to and from the device map and unmap the buffers
+   * instead of copying them. Devices with discrete memory and batched executions keep copying the
+   * data.
+   *
+   * <p>Between executions, the host must only access the arrays after the plan has transferred them
+   * to the host.
+   *
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withUnifiedMemory() {
+    tornadoExecutor.withUnifiedMemory();
+    return this;
+  }
+
+  /**
+   * Disable unified memory. Buffers allocated after this call copy the data between the host and
+   * the device.
+   *
+   * @since 1.0.8
+   * @return {@link TornadoExecutionPlan}
+   */
+  public TornadoExecutionPlan withoutUnifiedMemory() {
+    tornadoExecutor.withoutUnifiedMemory();
+    return this;
+  }
+
   /**
    * Set compiler flags for each backend.
    *
@@ -410,6 +562,18 @@ public class TornadoExecutionPlan implements AutoCloseable {
     return tornadoExecutor.getCurrentDeviceMemoryUsage();
   }
 
+  /**
+   * It returns the number of executions of the plan that replayed a captured graph (see {@link
+   * #withGraphCapture()}) instead of running the TornadoVM bytecode interpreter. The counter is
+   * independent of the profiler, which disables the capture.
+   *
+   * @since 1.0.8
+   * @return long Number of replayed executions.
+   */
+  public long getGraphReplayCount() {
+    return tornadoExecutor.getGraphReplayCount();
+  }
+
   static class TornadoExecutor {
 
     private final List<ImmutableTaskGraph> immutableTaskGraphList;
@@ -424,6 +588,15 @@ public class TornadoExecutionPlan implements AutoCloseable {
           immutableTaskGraph -> immutableTaskGraph.execute(executionPackage));
     }
 
+    CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage) {
+      // Each immutable task-graph is launched once the previous one has completed
+      CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+      for (ImmutableTaskGraph immutableTaskGraph : immutableTaskGraphList) {
+        future = future.thenCompose(ignored -> immutableTaskGraph.executeAsync(executionPackage));
+      }
+      return future;
+    }
+
     void withGridScheduler(GridScheduler gridScheduler) {
       immutableTaskGraphList.forEach(
           immutableTaskGraph -> immutableTaskGraph.withGridScheduler(gridScheduler));
@@ -433,10 +606,19 @@ public class TornadoExecutionPlan implements AutoCloseable {
       immutableTaskGraphList.forEach(ImmutableTaskGraph::warmup);
     }
 
+    void withEagerCompilation() {
+      immutableTaskGraphList.forEach(ImmutableTaskGraph::withEagerCompilation);
+    }
+
     void withBatch(String batchSize) {
       immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize));
     }
 
+    void withBatch(String batchSize, TornadoDevice... devices) {
+      immutableTaskGraphList.forEach(
+          immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize, devices));
+    }
+
     void withMemoryLimit(String memoryLimit) {
       immutableTaskGraphList.forEach(
           immutableTaskGraph -> immutableTaskGraph.withMemoryLimit(memoryLimit));
@@ -460,6 +642,17 @@ public class TornadoExecutionPlan implements AutoCloseable {
           immutableTaskGraph -> immutableTaskGraph.withDevice(taskName, device));
     }
 
+    void withScalarArgument(String taskName, int parameterIndex, Object value) {
+      immutableTaskGraphList.forEach(
+          immutableTaskGraph ->
+              immutableTaskGraph.withScalarArgument(taskName, parameterIndex, value));
+    }
+
+    void withSpecialisation(String taskName, int[] parameterIndexes) {
+      immutableTaskGraphList.forEach(
+          immutableTaskGraph -> immutableTaskGraph.withSpecialisation(taskName, parameterIndexes));
+    }
+
     void withConcurrentDevices() {
       immutableTaskGraphList.forEach(ImmutableTaskGraph::withConcurrentDevices);
     }
@@ -642,6 +835,22 @@ public class TornadoExecutionPlan implements AutoCloseable {
       immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutPrintKernel);
     }
 
+    void withGraphCapture() {
+      immutableTaskGraphList.forEach(ImmutableTaskGraph::withGraphCapture);
+    }
+
+    void withoutGraphCapture() {
+      immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutGraphCapture);
+    }
+
+    void withUnifiedMemory() {
+      immutableTaskGraphList.forEach(ImmutableTaskGraph::withUnifiedMemory);
+    }
+
+    void withoutUnifiedMemory() {
+      immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutUnifiedMemory);
+    }
+
     void withCompilerFlags(TornadoVMBackendType backendType, String compilerFlags) {
       immutableTaskGraphList.forEach(
           immutableTaskGraph -> immutableTaskGraph.withCompilerFlags(backendType, compilerFlags));
@@ -659,10 +868,50 @@ public class TornadoExecutionPlan implements AutoCloseable {
           .sum();
     }
 
+    long getBufferPoolHits() {
+      return immutableTaskGraphList.stream().mapToLong(ImmutableTaskGraph::getBufferPoolHits).sum();
+    }
+
+    long getBufferPoolMisses() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getBufferPoolMisses)
+          .sum();
+    }
+
+    long getSketcherCacheHits() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getSketcherCacheHits)
+          .sum();
+    }
+
+    long getSketcherCacheMisses() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getSketcherCacheMisses)
+          .sum();
+    }
+
+    long getSketcherCacheEvictions() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getSketcherCacheEvictions)
+          .sum();
+    }
+
+    long getLaunchAllocatedBytes() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getLaunchAllocatedBytes)
+          .sum();
+    }
+
     long getCurrentDeviceMemoryUsage() {
       return immutableTaskGraphList.stream()
           .mapToLong(ImmutableTaskGraph::getCurrentDeviceMemoryUsage)
           .sum();
     }
+
+    long getGraphReplayCount() {
+      return immutableTaskGraphList.stream()
+          .mapToLong(ImmutableTaskGraph::getGraphReplayCount)
+          .sum();
+    }
   }
 }
@@ -210,4 +210,68 @@ public class TornadoProfilerResult implements ProfilerInterface {
   public long getTotalDeviceMemoryUsage() {
     return executor.getTotalDeviceMemoryUsage();
   }
+
+  /**
+   * Return the number of device buffer allocations that reused a buffer from the buffer pool.
+   *
+   * @return long Number of allocations.
+   */
+  @Override
+  public long getBufferPoolHits() {
+    return executor.getBufferPoolHits();
+  }
+
+  /**
+   * Return the number of device buffer allocations that required a new buffer from the driver.
+   *
+   * @return long Number of allocations.
+   */
+  @Override
+  public long getBufferPoolMisses() {
+    return executor.getBufferPoolMisses();
+  }
+
+  /**
+   * Return the number of sketch requests served by the sketcher cache during the execution.
+   *
+   * @return long Number of requests.
+   */
+  @Override
+  public long getSketcherCacheHits() {
+    return executor.getSketcherCacheHits();
+  }
+
+  /**
+   * Return the number of sketches that had to be built during the execution, either because they
+   * were not in the sketcher cache or because they had been evicted.
+   *
+   * @return long Number of requests.
+   */
+  @Override
+  public long getSketcherCacheMisses() {
+    return executor.getSketcherCacheMisses();
+  }
+
+  /**
+   * Return the number of sketches evicted from the sketcher cache during the execution.
+   *
+   * @return long Number of sketches.
+   */
+  @Override
+  public long getSketcherCacheEvictions() {
+    return executor.getSketcherCacheEvictions();
+  }
+
+  /**
+   * Return the number of bytes allocated on the Java heap while running the LAUNCH bytecodes of the
+   * last execution. It is only measured with the option {@code
+   * -Dtornado.vm.launch.allocations=true}, and it does not depend on the profiler. If the profiler
+   * is enabled, the allocations made to record the launches are included.
+   *
+   * @return long Number of bytes.
+   */
+  @Override
+  public long getLaunchAllocatedBytes() {
+    return executor.getLaunchAllocatedBytes();
+  }
 }
@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
@@ -39,6 +40,10 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
   void setDevice(String taskName, TornadoDevice device);
 
+  void setScalarArgument(String taskName, int parameterIndex, Object value);
+
+  void setSpecialisedArguments(String taskName, int[] parameterIndexes);
+
   TornadoDevice getDeviceForTask(String id);
 
   void addInner(SchedulableTask task);
@@ -49,6 +54,8 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
   void withBatch(String batchSize);
 
+  void withBatch(String batchSize, TornadoDevice... devices);
+
   void withMemoryLimit(String memoryLimit);
 
   void withoutMemoryLimit();
@@ -75,6 +82,8 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
   void warmup();
 
+  void withEagerCompilation();
+
   void freeDeviceMemory();
 
   void syncRuntimeTransferToHost(Object... objects);
@@ -87,6 +96,8 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
   TornadoTaskGraphInterface execute(ExecutorFrame executionPackage);
 
+  CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage);
+
   void addTask(TaskPackage taskPackage);
 
   void addPrebuiltTask(TaskPackage taskPackage);
@@ -119,9 +130,19 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
   void withoutPrintKernel();
 
+  void withGraphCapture();
+
+  void withoutGraphCapture();
+
+  void withUnifiedMemory();
+
+  void withoutUnifiedMemory();
+
   void withGridScheduler(GridScheduler gridScheduler);
 
   long getCurrentDeviceMemoryUsage();
 
+  long getGraphReplayCount();
+
   void withCompilerFlags(TornadoVMBackendType backendType, String compilerFlags);
 }
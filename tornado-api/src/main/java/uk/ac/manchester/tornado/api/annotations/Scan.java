@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a task parameter as the output of a parallel prefix scan. The task writes one value per
+ * element, and once it completes the runtime replaces the contents of the array with their scan.
+ * Supported on {@code IntArray}, {@code LongArray}, {@code FloatArray} and {@code DoubleArray}.
+ *
+ * <p>For exclusive {@code MIN} and {@code MAX} scans over floating-point arrays, the first element
+ * is set to the largest (or smallest) finite value of the element type.
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scan {
+
+  enum Operation {
+    SUM,
+    MIN,
+    MAX
+  }
+
+  Operation operation() default Operation.SUM;
+
+  /** Whether element {@code i} of the result includes input element {@code i}. */
+  boolean inclusive() default true;
+}
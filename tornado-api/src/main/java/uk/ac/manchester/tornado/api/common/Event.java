@@ -24,4 +24,17 @@ public interface Event extends ProfiledAction {
 
   /** Call to native wait depending on internal state. */
   void waitOn();
+
+  /**
+   * Registers a callback that the driver invokes, from one of its own threads, once the event is
+   * resolved because it completed or failed. The callback must be short and must not call back into
+   * the driver.
+   *
+   * @param callback Callback to invoke.
+   * @return false if the backend does not provide completion callbacks, in which case the callback
+   *     is never invoked.
+   */
+  default boolean addCompletionCallback(Runnable callback) {
+    return false;
+  }
 }
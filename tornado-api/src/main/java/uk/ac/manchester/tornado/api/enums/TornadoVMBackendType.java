@@ -22,6 +22,7 @@ public enum TornadoVMBackendType {
   PTX("PTX"), //
   SPIRV("SPIRV"), //
   JAVA("Java"), //
+  JVM("JVM"), //
   VIRTUAL("Virtual");
 
   final String backendName;
@@ -38,4 +38,12 @@ public interface DeviceBufferState {
   void setPartialCopySize(long partialCopySize);
 
   long getPartialCopySize();
+
+  /**
+   * @return true if the execution plan requested the buffer to share the memory of the host object,
+   *     so transfers do not copy the data when the device supports it.
+   */
+  boolean isUnifiedMemory();
+
+  void setUnifiedMemory(boolean unifiedMemory);
 }
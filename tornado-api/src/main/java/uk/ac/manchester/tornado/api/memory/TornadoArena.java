@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.memory;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link Arena} that recycles the native memory of the TornadoVM native arrays (e.g., {@link
+ * uk.ac.manchester.tornado.api.types.arrays.FloatArray}). Segments are allocated in power-of-two
+ * size classes from a shared arena. When an array allocated from a {@link TornadoArena} is closed,
+ * its segment is returned to the pool of its size class and it is reused by the next allocation of
+ * the same class.
+ *
+ * <p>All the memory of the arena is released when the arena is closed. The arena can be used from
+ * multiple threads.
+ *
+ * <p>Example:
+ *
+ * <p><code>
+ * try (TornadoArena arena = new TornadoArena(); FloatArray a = new FloatArray(size, arena)) {
+ *   ...
+ * }
+ * </code>
+ */
+public final class TornadoArena implements Arena {
+
+  private static final int MIN_SIZE_CLASS = 6;
+
+  private final Arena arena;
+
+  /** Free segments of each size class. */
+  private final ArrayDeque<MemorySegment>[] freeSegments;
+
+  /** Segments in use, indexed by the address of the slice returned by {@link #allocate}. */
+  private final Map<Long, MemorySegment> usedSegments;
+
+  private long pooledBytes;
+
+  /** It creates a new {@link TornadoArena} backed by a shared arena. */
+  @SuppressWarnings("unchecked")
+  public TornadoArena() {
+    this.arena = Arena.ofShared();
+    this.freeSegments = new ArrayDeque[Long.SIZE];
+    this.usedSegments = new HashMap<>();
+  }
+
+  private static int sizeClassOf(long byteSize) {
+    int sizeClass = Long.SIZE - Long.numberOfLeadingZeros(byteSize - 1);
+    return Math.max(sizeClass, MIN_SIZE_CLASS);
+  }
+
+  /**
+   * It returns a zero-initialized segment of the given size. The segment is a slice of a pooled
+   * segment of the size class of the request, or of a new one if the pool of the size class is
+   * empty.
+   *
+   * @param byteSize The size, in bytes, of the segment.
+   * @param byteAlignment The alignment, in bytes, of the segment.
+   * @return The memory segment.
+   */
+  @Override
+  public synchronized MemorySegment allocate(long byteSize, long byteAlignment) {
+    if (byteSize <= 0) {
+      throw new IllegalArgumentException("Invalid allocation size: " + byteSize);
+    }
+    final int sizeClass = sizeClassOf(byteSize);
+    MemorySegment segment = null;
+    ArrayDeque<MemorySegment> free = freeSegments[sizeClass];
+    if (free != null && !free.isEmpty() && free.peekLast().address() % byteAlignment == 0) {
+      segment = free.pollLast();
+      pooledBytes -= segment.byteSize();
+    }
+    if (segment == null) {
+      segment = arena.allocate(1L << sizeClass, byteAlignment);
+    }
+    MemorySegment slice = segment.asSlice(0, byteSize);
+    slice.fill((byte) 0);
+    usedSegments.put(slice.address(), segment);
+    return slice;
+  }
+
+  /**
+   * It returns a segment allocated from this arena to the pool of its size class. The segment must
+   * not be used after it is released.
+   *
+   * @param segment A segment returned by {@link #allocate(long, long)}.
+   * @throws IllegalArgumentException if the segment is not in use in this arena.
+   */
+  public synchronized void release(MemorySegment segment) {
+    MemorySegment pooled = usedSegments.remove(segment.address());
+    if (pooled == null) {
+      throw new IllegalArgumentException("The segment is not in use in this arena: " + segment);
+    }
+    int sizeClass = sizeClassOf(pooled.byteSize());
+    if (freeSegments[sizeClass] == null) {
+      freeSegments[sizeClass] = new ArrayDeque<>();
+    }
+    freeSegments[sizeClass].addLast(pooled);
+    pooledBytes += pooled.byteSize();
+  }
+
+  /**
+   * It returns the number of bytes held in the pools of the arena, ready to be reused.
+   *
+   * @return The number of pooled bytes.
+   */
+  public synchronized long getPooledBytes() {
+    return pooledBytes;
+  }
+
+  @Override
+  public MemorySegment.Scope scope() {
+    return arena.scope();
+  }
+
+  /** It releases all the memory of the arena, including the segments that are still in use. */
+  @Override
+  public synchronized void close() {
+    arena.close();
+    usedSegments.clear();
+    for (int i = 0; i < freeSegments.length; i++) {
+      freeSegments[i] = null;
+    }
+    pooledBytes = 0;
+  }
+}
@@ -62,6 +62,28 @@ public interface XPUBuffer {
       int[] events,
       boolean useDeps);
 
+  /**
+   * Copies a region of the data of a native array from the host to the device buffer. The offset is
+   * relative to the first element of the array, and it is the same on the host and on the device.
+   *
+   * @param executionPlanId Identifier of the execution plan.
+   * @param reference The native array.
+   * @param offset Offset, in bytes, of the region.
+   * @param numBytes Size, in bytes, of the region.
+   * @param events Events to wait for.
+   * @param useDeps Whether the write depends on the events.
+   * @return The events of the copy, or null if the buffer does not support partial copies.
+   */
+  default List<Integer> enqueueWriteRegion(
+      long executionPlanId,
+      Object reference,
+      long offset,
+      long numBytes,
+      int[] events,
+      boolean useDeps) {
+    return null;
+  }
+
   void allocate(Object reference, long batchSize)
       throws TornadoOutOfMemoryException, TornadoMemoryException;
 
@@ -48,4 +48,16 @@ public interface ProfilerInterface {
   long getTotalBytesTransferred();
 
   long getTotalDeviceMemoryUsage();
+
+  long getBufferPoolHits();
+
+  long getBufferPoolMisses();
+
+  long getSketcherCacheHits();
+
+  long getSketcherCacheMisses();
+
+  long getSketcherCacheEvictions();
+
+  long getLaunchAllocatedBytes();
 }
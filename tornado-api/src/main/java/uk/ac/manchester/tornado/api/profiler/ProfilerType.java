@@ -32,6 +32,11 @@ public enum ProfilerType {
   DEVICE_ID("Device-ID"),
   DEVICE("Device"),
   ALLOCATION_BYTES("Allocation-(Bytes)"),
+  BUFFER_POOL_HITS("Buffer-Pool-Hits"),
+  BUFFER_POOL_MISSES("Buffer-Pool-Misses"),
+  SKETCHER_CACHE_HITS("Sketcher-Cache-Hits"),
+  SKETCHER_CACHE_MISSES("Sketcher-Cache-Misses"),
+  SKETCHER_CACHE_EVICTIONS("Sketcher-Cache-Evictions"),
   TOTAL_COPY_IN_SIZE_BYTES("CopyIn-Size-(Bytes)"),
   TOTAL_COPY_OUT_SIZE_BYTES("CopyOut-Size-(Bytes)"),
   TASK_COMPILE_DRIVER_TIME("Task-Compile-Driver"),
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of bytes stored in native memory. The byte data is stored in a
@@ -51,12 +52,25 @@ public final class ByteArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public ByteArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link ByteArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public ByteArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / BYTE_BYTES;
     segmentByteSize = numberOfElements * BYTE_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -154,6 +168,7 @@ public final class ByteArray extends TornadoNativeArray {
    */
   public void set(int index, byte value) {
     segment.setAtIndex(JAVA_BYTE, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -186,6 +201,7 @@ public final class ByteArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_BYTE, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
@@ -26,6 +26,7 @@ import java.nio.CharBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of characters stored in native memory. The char data is stored in
@@ -51,12 +52,25 @@ public final class CharArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public CharArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link CharArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public CharArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / CHAR_BYTES;
     segmentByteSize = numberOfElements * CHAR_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -165,6 +179,7 @@ public final class CharArray extends TornadoNativeArray {
    */
   public void set(int index, char value) {
     segment.setAtIndex(JAVA_CHAR, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -186,6 +201,7 @@ public final class CharArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_CHAR, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
@@ -26,6 +26,7 @@ import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of doubles stored in native memory. The double data is stored in a
@@ -52,13 +53,26 @@ public final class DoubleArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public DoubleArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link DoubleArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public DoubleArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     assert arrayHeaderSize >= 8;
     baseIndex = arrayHeaderSize / DOUBLE_BYTES;
     segmentByteSize = numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -160,6 +174,7 @@ public final class DoubleArray extends TornadoNativeArray {
    */
   public void set(int index, double value) {
     segment.setAtIndex(JAVA_DOUBLE, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -192,6 +207,7 @@ public final class DoubleArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_DOUBLE, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
@@ -26,6 +26,7 @@ import java.nio.FloatBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of floats stored in native memory. The float data is stored in a
@@ -53,12 +54,25 @@ public final class FloatArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public FloatArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link FloatArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public FloatArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / FLOAT_BYTES;
     segmentByteSize = numberOfElements * FLOAT_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -158,6 +172,7 @@ public final class FloatArray extends TornadoNativeArray {
    */
   public void set(int index, float value) {
     segment.setAtIndex(JAVA_FLOAT, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -190,6 +205,7 @@ public final class FloatArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_FLOAT, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
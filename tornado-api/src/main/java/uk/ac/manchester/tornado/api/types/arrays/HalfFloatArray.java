@@ -25,6 +25,7 @@ import java.lang.foreign.MemorySegment;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
 
 /**
@@ -55,12 +56,25 @@ public final class HalfFloatArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public HalfFloatArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link HalfFloatArray} that will store a user-specified number
+   * of elements, allocated from the given {@link Arena}. The memory of the array is released when
+   * the arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the
+   * next arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public HalfFloatArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
     segmentByteSize = numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -170,6 +184,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
    */
   public void set(int index, HalfFloat value) {
     segment.setAtIndex(JAVA_SHORT, baseIndex + index, value.getHalfFloatValue());
+    markWrite(index);
   }
 
   /**
@@ -205,6 +220,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_SHORT, baseIndex + i, value.getHalfFloatValue());
     }
+    markDirty();
   }
 
   /**
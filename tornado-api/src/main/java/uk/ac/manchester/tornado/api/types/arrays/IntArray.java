@@ -25,6 +25,7 @@ import java.nio.IntBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of ints stored in native memory. The int data is stored in a
@@ -50,12 +51,25 @@ public final class IntArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public IntArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link IntArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public IntArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / INT_BYTES;
     segmentByteSize = numberOfElements * INT_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -153,6 +167,7 @@ public final class IntArray extends TornadoNativeArray {
    */
   public void set(int index, int value) {
     segment.setAtIndex(JAVA_INT, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -185,6 +200,7 @@ public final class IntArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_INT, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
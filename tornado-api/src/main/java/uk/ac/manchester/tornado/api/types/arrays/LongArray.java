@@ -26,6 +26,7 @@ import java.nio.LongBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of longs stored in native memory. The long data is stored in a
@@ -51,12 +52,25 @@ public final class LongArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public LongArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link LongArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public LongArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     baseIndex = arrayHeaderSize / LONG_BYTES;
 
     segmentByteSize = numberOfElements * LONG_BYTES + arrayHeaderSize;
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -154,6 +168,7 @@ public final class LongArray extends TornadoNativeArray {
    */
   public void set(int index, long value) {
     segment.setAtIndex(JAVA_LONG, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -186,6 +201,7 @@ public final class LongArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_LONG, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
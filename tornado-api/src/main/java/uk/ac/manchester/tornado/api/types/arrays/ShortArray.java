@@ -26,6 +26,7 @@ import java.nio.ShortBuffer;
 import java.util.Arrays;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 
 /**
  * This class represents an array of shorts stored in native memory. The short data is stored in a
@@ -51,13 +52,26 @@ public final class ShortArray extends TornadoNativeArray {
    * @param numberOfElements The number of elements in the array.
    */
   public ShortArray(int numberOfElements) {
+    this(numberOfElements, Arena.ofAuto());
+  }
+
+  /**
+   * Constructs a new instance of the {@link ShortArray} that will store a user-specified number of
+   * elements, allocated from the given {@link Arena}. The memory of the array is released when the
+   * arena is closed. If the arena is a {@link TornadoArena}, the memory is also reused by the next
+   * arrays allocated from the arena once the array is closed.
+   *
+   * @param numberOfElements The number of elements in the array.
+   * @param arena The arena from which the array is allocated.
+   */
+  public ShortArray(int numberOfElements, Arena arena) {
     this.numberOfElements = numberOfElements;
     arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
     assert arrayHeaderSize >= 4;
     baseIndex = arrayHeaderSize / SHORT_BYTES;
     segmentByteSize = numberOfElements * SHORT_BYTES + arrayHeaderSize;
 
-    segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+    segment = allocateSegment(arena, segmentByteSize);
     segment.setAtIndex(JAVA_INT, 0, numberOfElements);
   }
 
@@ -157,6 +171,7 @@ public final class ShortArray extends TornadoNativeArray {
    */
   public void set(int index, short value) {
     segment.setAtIndex(JAVA_SHORT, baseIndex + index, value);
+    markWrite(index);
   }
 
   /**
@@ -189,6 +204,7 @@ public final class ShortArray extends TornadoNativeArray {
     for (int i = 0; i < getSize(); i++) {
       segment.setAtIndex(JAVA_SHORT, baseIndex + i, value);
     }
+    markDirty();
   }
 
   /**
@@ -17,7 +17,10 @@
  */
 package uk.ac.manchester.tornado.api.types.arrays;
 
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
 import uk.ac.manchester.tornado.api.types.tensors.Tensor;
 
 /**
@@ -31,8 +34,8 @@ import uk.ac.manchester.tornado.api.types.tensors.Tensor;
  *
  * <p>The constant {@link ARRAY_HEADER} represents the size of the header in bytes.
  */
-public abstract sealed class TornadoNativeArray //
-permits ByteArray,
+public abstract sealed class TornadoNativeArray implements AutoCloseable //
+    permits ByteArray,
         CharArray,
         DoubleArray, //
         FloatArray,
@@ -49,6 +52,22 @@ permits ByteArray,
   public static final long ARRAY_HEADER =
       Long.parseLong(System.getProperty("tornado.panama.objectHeader", "24"));
 
+  /**
+   * The size, in bytes, of the regions in which host writes are tracked when write tracking is
+   * enabled (see {@link #enableWriteTracking()}).
+   */
+  public static final int WRITE_TRACKING_PAGE_SIZE = 4096;
+
+  /** The arena from which the segment of the array was allocated. */
+  private Arena arena;
+
+  /** Write epoch of each tracked page, or null when write tracking is disabled. */
+  private long[] pageWriteEpochs;
+
+  private int pageShift;
+  private long writeEpoch;
+  private long lastWriteEpoch = -1;
+
   /**
    * Returns the number of elements stored in the native array.
    *
@@ -90,4 +109,145 @@ permits ByteArray,
   protected abstract void clear();
 
   public abstract int getElementSize();
+
+  /**
+   * Allocates the segment of the native array from the given arena.
+   *
+   * @param arena The arena that manages the lifetime of the segment.
+   * @param byteSize The size of the segment, in bytes, including the header.
+   * @return The {@link MemorySegment} of the array.
+   */
+  protected final MemorySegment allocateSegment(Arena arena, long byteSize) {
+    this.arena = arena;
+    return arena.allocate(byteSize, 1);
+  }
+
+  /**
+   * Releases the native memory of the array if it was allocated from a {@link TornadoArena}, which
+   * reuses it for the next arrays of the same size class. The memory of arrays allocated from other
+   * arenas is released when their arena is closed, and the memory of arrays created without an
+   * arena is released by the garbage collector. The array must not be used after it is closed.
+   */
+  @Override
+  public void close() {
+    if (arena instanceof TornadoArena tornadoArena) {
+      arena = null;
+      if (tornadoArena.scope().isAlive()) {
+        tornadoArena.release(getSegmentWithHeader());
+      }
+    }
+  }
+
+  /**
+   * Enables the tracking of the writes performed from the host through the {@code set}, {@code
+   * init} and {@code clear} methods of the native array. The TornadoVM runtime uses this
+   * information to skip the transfers of arrays marked with {@code
+   * DataTransferMode.EVERY_EXECUTION} that were not modified since the last execution, or to copy
+   * only the regions that were modified.
+   *
+   * <p>Writes performed directly through the {@link MemorySegment} of the array are not tracked,
+   * and they must be reported with {@link #markDirty()} or {@link #markDirty(int, int)}.
+   */
+  public final void enableWriteTracking() {
+    if (pageWriteEpochs == null) {
+      int elementsPerPage = Math.max(WRITE_TRACKING_PAGE_SIZE / getElementSize(), 1);
+      pageShift = Integer.numberOfTrailingZeros(elementsPerPage);
+      long numPages =
+          (getNumBytesOfSegment() + WRITE_TRACKING_PAGE_SIZE - 1) / WRITE_TRACKING_PAGE_SIZE;
+      pageWriteEpochs = new long[(int) Math.max(numPages, 1)];
+      // Writes done while the tracking was disabled are unknown
+      markDirty();
+    }
+  }
+
+  /** Disables the tracking of host writes. The array is transferred in full on every execution. */
+  public final void disableWriteTracking() {
+    pageWriteEpochs = null;
+  }
+
+  /**
+   * Checks if the writes from the host to the native array are tracked.
+   *
+   * @return true if write tracking is enabled.
+   */
+  public final boolean isWriteTrackingEnabled() {
+    return pageWriteEpochs != null;
+  }
+
+  /** Marks all the elements of the native array as modified. */
+  public final void markDirty() {
+    if (pageWriteEpochs != null) {
+      Arrays.fill(pageWriteEpochs, writeEpoch);
+      lastWriteEpoch = writeEpoch;
+    }
+  }
+
+  /**
+   * Marks a range of elements of the native array as modified.
+   *
+   * @param fromIndex The index of the first modified element, inclusive.
+   * @param toIndex The index of the last modified element, exclusive.
+   */
+  public final void markDirty(int fromIndex, int toIndex) {
+    if (pageWriteEpochs != null && fromIndex < toIndex) {
+      Arrays.fill(
+          pageWriteEpochs, fromIndex >>> pageShift, ((toIndex - 1) >>> pageShift) + 1, writeEpoch);
+      lastWriteEpoch = writeEpoch;
+    }
+  }
+
+  /**
+   * Records a write from the host to the element at the given index. This method is removed when a
+   * task is compiled for a device.
+   *
+   * @param index The index of the modified element.
+   */
+  protected final void markWrite(int index) {
+    if (pageWriteEpochs != null) {
+      pageWriteEpochs[index >>> pageShift] = writeEpoch;
+      lastWriteEpoch = writeEpoch;
+    }
+  }
+
+  /**
+   * Starts a new write epoch. It is called by the TornadoVM runtime when the contents of the array
+   * are copied to a device: the writes performed after this call belong to the returned epoch.
+   *
+   * @return The new write epoch.
+   */
+  public final long advanceWriteEpoch() {
+    return ++writeEpoch;
+  }
+
+  /**
+   * Checks if the array was modified from the host since the given write epoch started. Arrays
+   * without write tracking are always considered modified.
+   *
+   * @param epoch A write epoch returned by {@link #advanceWriteEpoch()}.
+   * @return true if there are writes in the epoch or in a later one.
+   */
+  public final boolean hasWritesSince(long epoch) {
+    return pageWriteEpochs == null || lastWriteEpoch >= epoch;
+  }
+
+  /**
+   * Returns the number of pages of {@link #WRITE_TRACKING_PAGE_SIZE} bytes in which writes are
+   * tracked.
+   *
+   * @return The number of pages, or 0 if write tracking is disabled.
+   */
+  public final int getNumWriteTrackingPages() {
+    return pageWriteEpochs == null ? 0 : pageWriteEpochs.length;
+  }
+
+  /**
+   * Checks if a page of the array was modified from the host since the given write epoch started.
+   *
+   * @param page The index of the page.
+   * @param epoch A write epoch returned by {@link #advanceWriteEpoch()}.
+   * @return true if the page was modified.
+   */
+  public final boolean isPageWrittenSince(int page, long epoch) {
+    return pageWriteEpochs == null || pageWriteEpochs[page] >= epoch;
+  }
 }
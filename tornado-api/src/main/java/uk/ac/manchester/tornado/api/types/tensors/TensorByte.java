@@ -53,10 +53,12 @@ public final class TensorByte extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_BYTE, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, byte value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_BYTE, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
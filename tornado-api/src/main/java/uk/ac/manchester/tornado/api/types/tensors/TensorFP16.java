@@ -56,12 +56,14 @@ public final class TensorFP16 extends Tensor {
           .getSegmentWithHeader()
           .setAtIndex(JAVA_SHORT, getBaseIndex() + i, value.getHalfFloatValue());
     }
+    markDirty();
   }
 
   public void set(int index, HalfFloat value) {
     tensorStorage
         .getSegmentWithHeader()
         .setAtIndex(JAVA_SHORT, getBaseIndex() + index, value.getHalfFloatValue());
+    markWrite(index);
   }
 
   private long getBaseIndex() {
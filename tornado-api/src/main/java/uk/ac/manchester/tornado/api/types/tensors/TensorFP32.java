@@ -55,10 +55,12 @@ public final class TensorFP32 extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, float value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
@@ -55,10 +55,12 @@ public final class TensorFP64 extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_DOUBLE, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, double value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_DOUBLE, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
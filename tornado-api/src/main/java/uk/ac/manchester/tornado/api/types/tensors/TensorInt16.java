@@ -56,10 +56,12 @@ public final class TensorInt16 extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, short value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
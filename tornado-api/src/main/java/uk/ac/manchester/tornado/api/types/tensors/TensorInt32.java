@@ -55,10 +55,12 @@ public final class TensorInt32 extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_INT, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, int value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_INT, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
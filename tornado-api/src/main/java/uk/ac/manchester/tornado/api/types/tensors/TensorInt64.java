@@ -55,10 +55,12 @@ public final class TensorInt64 extends Tensor {
     for (int i = 0; i < getSize(); i++) {
       tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_LONG, getBaseIndex() + i, value);
     }
+    markDirty();
   }
 
   public void set(int index, long value) {
     tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_LONG, getBaseIndex() + index, value);
+    markWrite(index);
   }
 
   private long getBaseIndex() {
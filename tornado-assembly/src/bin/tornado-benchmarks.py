@@ -77,6 +77,7 @@ __ENABLE_SPIRV_OPTIMIZER__ = " -Dtornado.spirv.loadstore=True "
 ## ========================================================================================
 __BENCHMARKS__ = [
     "saxpy",
+    "scan",
     "addImage",
     "stencil",
     "convolvearray",
@@ -100,6 +101,7 @@ __BENCHMARKS__ = [
 ## ========================================================================================
 __DIMENSIONS__ = {
     "saxpy": "1",
+    "scan": "1",
     "addImage": "2",
     "stencil": "1",
     "convolvearray": "2",
@@ -151,6 +153,7 @@ allSizes = {
         ],
         [__MAX_ITERATIONS__],
     ],
+    "scan": [[1024, 16384, 262144, 1048576, 4194304], [__MAX_ITERATIONS__]],
     "sgemm": [[128, 256, 512, 1024, 2048], [__MAX_ITERATIONS__]],
     "blackscholes": [
         [512, 1024, 2048, 4096, 8192, 16384, 32798, 65536, 1048576, 4194304],
@@ -183,6 +186,7 @@ mediumSizes = {
         ],
         ["getSize()"],
     ],
+    "scan": [[1024, 16384, 262144, 1048576], ["getSize()"]],
     "sgemm": [[128, 256, 512, 1024, 2048], ["getSize()"]],
     "blackscholes": [[512, 1024, 2048, 4096, 8192, 16384, 32798, 65536], ["getSize()"]],
     "dft": [[256, 512, 1024, 2048, 4096], ["getSize()"]],
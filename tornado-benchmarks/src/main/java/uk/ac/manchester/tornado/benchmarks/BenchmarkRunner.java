@@ -235,6 +235,7 @@ public abstract class BenchmarkRunner {
       case "rotateimage" -> new uk.ac.manchester.tornado.benchmarks.rotateimage.Benchmark();
       case "rotatevector" -> new uk.ac.manchester.tornado.benchmarks.rotatevector.Benchmark();
       case "saxpy" -> new uk.ac.manchester.tornado.benchmarks.saxpy.Benchmark();
+      case "scan" -> new uk.ac.manchester.tornado.benchmarks.scan.Benchmark();
       case "sgemm" -> new uk.ac.manchester.tornado.benchmarks.sgemm.Benchmark();
       case "spmv" -> new uk.ac.manchester.tornado.benchmarks.spmv.Benchmark();
       case "stencil" -> new uk.ac.manchester.tornado.benchmarks.stencil.Benchmark();
@@ -18,6 +18,7 @@
 package uk.ac.manchester.tornado.benchmarks;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Scan;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
@@ -31,6 +32,20 @@ public class LinearAlgebraArrays {
     }
   }
 
+  public static void prefixSum(IntArray input, @Scan IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i));
+    }
+  }
+
+  public static void prefixSumSequential(IntArray input, IntArray output) {
+    int acc = 0;
+    for (int i = 0; i < input.getSize(); i++) {
+      acc += input.get(i);
+      output.set(i, acc);
+    }
+  }
+
   public static void sgemv(int M, int N, FloatArray A, FloatArray X, FloatArray Y) {
     for (@Parallel int i = 0; i < M; i++) {
       float y0 = 0f;
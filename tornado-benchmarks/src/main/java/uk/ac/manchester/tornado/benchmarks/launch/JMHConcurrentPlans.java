@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.launch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * Measures the throughput of many Java threads submitting their own execution plans to the same
+ * device. Each JMH thread owns an execution plan with its own data, so the throughput should scale
+ * with the number of threads until the device is saturated. The main method runs the benchmark with
+ * 1, 2, 4 and 8 threads. The number of elements per plan can be set with {@code -Dx=<n>}.
+ *
+ * <p>How to run in isolation? <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.launch.JMHConcurrentPlans
+ * </code>
+ *
+ * <p>or, with the JMH runner: <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.launch.JMHConcurrentPlans -t 8
+ * </code>
+ */
+public class JMHConcurrentPlans {
+
+  private static final AtomicInteger PLAN_ID = new AtomicInteger();
+
+  @State(Scope.Thread)
+  public static class BenchmarkSetup {
+
+    private int numElements = Integer.parseInt(System.getProperty("x", "4096"));
+    private FloatArray x;
+    private FloatArray y;
+    private final float alpha = 2f;
+
+    private TornadoExecutionPlan executor;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+      x = new FloatArray(numElements);
+      y = new FloatArray(numElements);
+      x.init(1f);
+
+      TaskGraph taskGraph =
+          new TaskGraph("benchmark" + PLAN_ID.getAndIncrement()) //
+              .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+              .task("saxpy", LinearAlgebraArrays::saxpy, alpha, x, y) //
+              .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+      executor = new TornadoExecutionPlan(taskGraph.snapshot());
+      executor.withWarmUp();
+      executor.execute();
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws TornadoExecutionPlanException {
+      executor.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @Warmup(iterations = 2, time = 10, timeUnit = TimeUnit.SECONDS)
+  @Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Fork(1)
+  public void executePlan(BenchmarkSetup state, Blackhole blackhole) {
+    TornadoExecutionPlan executor = state.executor;
+    executor.execute();
+    blackhole.consume(executor);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[] {1, 2, 4, 8}) {
+      Options opt =
+          new OptionsBuilder() //
+              .include(JMHConcurrentPlans.class.getName() + ".*") //
+              .mode(Mode.Throughput) //
+              .timeUnit(TimeUnit.SECONDS) //
+              .threads(threads) //
+              .warmupTime(TimeValue.seconds(10)) //
+              .warmupIterations(2) //
+              .measurementTime(TimeValue.seconds(10)) //
+              .measurementIterations(5) //
+              .forks(1) //
+              .build();
+      new Runner(opt).run();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.launch;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+
+/**
+ * Measures the time to build and snapshot a task-graph with a large number of parameters. Each task
+ * receives eight different arrays, so the default of 128 tasks registers 1024 parameters in the
+ * execution context of the task-graph. The number of tasks can be set with {@code -Dtasks=<n>} (up
+ * to 256).
+ *
+ * <p>How to run in isolation? <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.launch.JMHGraphConstruction
+ * </code>
+ *
+ * <p>or, with the JMH runner: <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.launch.JMHGraphConstruction
+ * </code>
+ */
+public class JMHGraphConstruction {
+
+  private static final int ARRAYS_PER_TASK = 8;
+
+  private static void copy4(
+      FloatArray a0,
+      FloatArray a1,
+      FloatArray a2,
+      FloatArray a3,
+      FloatArray b0,
+      FloatArray b1,
+      FloatArray b2,
+      FloatArray b3) {
+    for (@Parallel int i = 0; i < a0.getSize(); i++) {
+      b0.set(i, a0.get(i));
+      b1.set(i, a1.get(i));
+      b2.set(i, a2.get(i));
+      b3.set(i, a3.get(i));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class BenchmarkSetup {
+
+    private int numTasks = Integer.parseInt(System.getProperty("tasks", "128"));
+    private FloatArray[] arrays;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+      arrays = new FloatArray[numTasks * ARRAYS_PER_TASK];
+      for (int i = 0; i < arrays.length; i++) {
+        arrays[i] = new FloatArray(16);
+      }
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Warmup(iterations = 2, time = 10, timeUnit = TimeUnit.SECONDS)
+  @Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(1)
+  public void buildTaskGraph(BenchmarkSetup state, Blackhole blackhole) {
+    FloatArray[] a = state.arrays;
+    TaskGraph taskGraph = new TaskGraph("benchmark");
+    for (int t = 0; t < state.numTasks; t++) {
+      int base = t * ARRAYS_PER_TASK;
+      taskGraph
+          .transferToDevice(
+              DataTransferMode.EVERY_EXECUTION, a[base], a[base + 1], a[base + 2], a[base + 3])
+          .task(
+              "t" + t,
+              JMHGraphConstruction::copy4,
+              a[base],
+              a[base + 1],
+              a[base + 2],
+              a[base + 3],
+              a[base + 4],
+              a[base + 5],
+              a[base + 6],
+              a[base + 7])
+          .transferToHost(
+              DataTransferMode.EVERY_EXECUTION, a[base + 4], a[base + 5], a[base + 6], a[base + 7]);
+    }
+    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+    blackhole.consume(immutableTaskGraph);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder() //
+            .include(JMHGraphConstruction.class.getName() + ".*") //
+            .mode(Mode.AverageTime) //
+            .timeUnit(TimeUnit.MICROSECONDS) //
+            .warmupTime(TimeValue.seconds(10)) //
+            .warmupIterations(2) //
+            .measurementTime(TimeValue.seconds(10)) //
+            .measurementIterations(5) //
+            .forks(1) //
+            .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.launch;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * Measures the latency and the heap allocation rate of launching a small kernel whose data is
+ * already on the device. Each execution only runs the ALLOC, LAUNCH and DEALLOC bytecodes, so the
+ * benchmark exercises the steady-state path of the TornadoVM interpreter.
+ *
+ * <p>The GC profiler reports the bytes allocated by the whole execution, including the objects
+ * created by the API. The bytes allocated by the LAUNCH bytecodes alone are measured by the
+ * interpreter ({@code -Dtornado.vm.launch.allocations=true}) and reported as the {@code
+ * launchAllocatedBytes} counter. The main method enables both, and fails if a launch allocates.
+ *
+ * <p>How to run in isolation? <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.launch.JMHLaunch
+ * </code>
+ *
+ * <p>or, with the JMH runner: <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.launch.JMHLaunch -prof gc
+ * </code>
+ */
+public class JMHLaunch {
+
+  private static final String LAUNCH_ALLOCATIONS_OPTION = "-Dtornado.vm.launch.allocations=true";
+
+  @State(Scope.Thread)
+  public static class BenchmarkSetup {
+
+    private int numElements = Integer.parseInt(System.getProperty("x", "256"));
+    private FloatArray x;
+    private FloatArray y;
+    private final float alpha = 2f;
+
+    private TornadoExecutionPlan executor;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+      x = new FloatArray(numElements);
+      y = new FloatArray(numElements);
+      x.init(1f);
+
+      TaskGraph taskGraph =
+          new TaskGraph("benchmark") //
+              .transferToDevice(DataTransferMode.FIRST_EXECUTION, x) //
+              .task("saxpy", LinearAlgebraArrays::saxpy, alpha, x, y) //
+              .transferToHost(DataTransferMode.UNDER_DEMAND, y);
+
+      executor = new TornadoExecutionPlan(taskGraph.snapshot());
+      executor.withWarmUp();
+      executor.execute();
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws TornadoExecutionPlanException {
+      executor.close();
+    }
+  }
+
+  /** Bytes allocated by the LAUNCH bytecodes, accumulated over each iteration. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class LaunchCounters {
+    public long launchAllocatedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      launchAllocatedBytes = 0;
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Warmup(iterations = 2, time = 10, timeUnit = TimeUnit.SECONDS)
+  @Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, jvmArgsAppend = LAUNCH_ALLOCATIONS_OPTION)
+  public void launchTornado(BenchmarkSetup state, LaunchCounters counters, Blackhole blackhole) {
+    TornadoExecutionResult result = state.executor.execute();
+    counters.launchAllocatedBytes += result.getProfilerResult().getLaunchAllocatedBytes();
+    blackhole.consume(result);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder() //
+            .include(JMHLaunch.class.getName() + ".*") //
+            .mode(Mode.AverageTime) //
+            .timeUnit(TimeUnit.NANOSECONDS) //
+            .warmupTime(TimeValue.seconds(10)) //
+            .warmupIterations(2) //
+            .measurementTime(TimeValue.seconds(10)) //
+            .measurementIterations(5) //
+            .addProfiler(GCProfiler.class) //
+            .jvmArgsAppend(LAUNCH_ALLOCATIONS_OPTION) //
+            .forks(1) //
+            .build();
+    Collection<RunResult> results = new Runner(opt).run();
+    for (RunResult result : results) {
+      Result<?> launchAllocatedBytes = result.getSecondaryResults().get("launchAllocatedBytes");
+      if (launchAllocatedBytes != null && launchAllocatedBytes.getScore() != 0) {
+        throw new IllegalStateException(
+            "LAUNCH bytecodes allocated "
+                + launchAllocatedBytes.getScore()
+                + " bytes per iteration on the Java heap");
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.scan;
+
+import static uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays.prefixSumSequential;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.benchmarks.BenchmarkDriver;
+import uk.ac.manchester.tornado.benchmarks.LinearAlgebraArrays;
+
+/**
+ * How to run? <code>
+ * tornado -m tornado.benchmarks/uk.ac.manchester.tornado.benchmarks.BenchmarkRunner scan
+ * </code>
+ */
+public class ScanTornado extends BenchmarkDriver {
+
+  private final int numElements;
+
+  private IntArray input;
+  private IntArray output;
+
+  public ScanTornado(int iterations, int numElements) {
+    super(iterations);
+    this.numElements = numElements;
+  }
+
+  @Override
+  public void setUp() {
+    input = new IntArray(numElements);
+    output = new IntArray(numElements);
+
+    for (int i = 0; i < numElements; i++) {
+      input.set(i, i % 7);
+    }
+
+    taskGraph = new TaskGraph("benchmark");
+    taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+    taskGraph.task("scan", LinearAlgebraArrays::prefixSum, input, output);
+    taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+    immutableTaskGraph = taskGraph.snapshot();
+    executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+    executionPlan.withWarmUp();
+  }
+
+  @Override
+  public void tearDown() {
+    executionResult.getProfilerResult().dumpProfiles();
+
+    input = null;
+    output = null;
+
+    executionPlan.resetDevice();
+    super.tearDown();
+  }
+
+  @Override
+  public void runBenchmark(TornadoDevice device) {
+    executionResult = executionPlan.withDevice(device).execute();
+  }
+
+  @Override
+  public boolean validate(TornadoDevice device) {
+
+    final IntArray result = new IntArray(numElements);
+
+    runBenchmark(device);
+    executionPlan.clearProfiles();
+
+    prefixSumSequential(input, result);
+
+    for (int i = 0; i < numElements; i++) {
+      if (result.get(i) != output.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -22,10 +22,13 @@
  */
 package uk.ac.manchester.tornado.drivers.common;
 
-import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
-
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
@@ -34,17 +37,50 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 /**
  * This class implements a cache of allocated buffers on the device and also handles the logic to
- * allocate and free buffers. This class is extended for each backend. The logic is as follows: it
- * maintains a list of used buffers and another list of free buffers. When performing an allocation,
- * it first checks if memory is available on the device. If it is not, then it will try to reuse a
- * buffer from the free list of buffers.
+ * allocate and free buffers. This class is extended for each backend. The logic is as follows:
+ * released buffers are kept in a pool segregated by size class (powers of two), and buffers in use
+ * are indexed by their native pointer. When performing an allocation, it first tries to reuse a
+ * free buffer from the smallest size class that can fulfill the request. If there is none, it
+ * allocates a new buffer if memory is available on the device. Otherwise, it releases free buffers
+ * back to the driver and retries the allocation.
+ *
+ * <p>Each size class has its own lock, so allocations of different sizes do not contend with each
+ * other. Sizes can be rounded up to the size class with {@link
+ * TornadoOptions#BUFFER_POOL_ROUND_UP}, and the amount of memory kept in the pool can be limited
+ * with {@link TornadoOptions#BUFFER_POOL_MAX_FREE_BYTES}.
+ *
+ * <p>When {@link TornadoOptions#BUFFER_ARENA} is enabled, small buffers are sub-allocated from
+ * large native regions (arenas) instead of being allocated one by one. Released sub-buffers are
+ * kept in their region and handed out again to requests of the same aligned size, so backends that
+ * create a driver object per sub-buffer (OpenCL) do not create a new one each time. Each region is
+ * released as a unit once all the buffers carved out of it have been released, for example, when
+ * the execution plans using them are closed. The region currently used for new sub-allocations is
+ * kept alive even when it has no live buffers, so a plan that is closed and created again does not
+ * allocate a new region every time.
  */
 public abstract class TornadoBufferProvider {
 
+  private static final int NUM_SIZE_CLASSES = Long.SIZE;
+
+  /**
+   * Maximum number of size classes above the one of a request in which a free buffer is searched.
+   * With one class, a reused buffer is at most four times larger than the request.
+   */
+  private static final int MAX_SIZE_CLASS_STEP_UP = 1;
+
+  /** Default alignment in bytes of the buffers sub-allocated from an arena region. */
+  protected static final long DEFAULT_SUB_ALLOCATION_ALIGNMENT = 256;
+
   protected final TornadoDeviceContext deviceContext;
-  protected final List<BufferContainer> freeBuffers;
-  protected final List<BufferContainer> usedBuffers;
-  protected long currentMemoryAvailable;
+  private final SizeClass[] sizeClasses;
+  private final ConcurrentHashMap<Long, BufferContainer> usedBuffers;
+  private final AtomicLong currentMemoryAvailable;
+  private final AtomicLong freeBytes;
+  private final AtomicInteger numFreeBuffers;
+  private final ThreadLocal<PoolCounters> poolCounters;
+  private final ConcurrentHashMap<Long, ArenaRegion> subBufferRegions;
+  private final Object arenaLock;
+  private ArenaRegion currentRegion;
 
   private static final String RESET = "\u001B[0m";
   public static final String YELLOW = "\u001B[33m";
@@ -55,77 +91,152 @@ public abstract class TornadoBufferProvider {
 
   protected TornadoBufferProvider(TornadoDeviceContext deviceContext) {
     this.deviceContext = deviceContext;
-    this.usedBuffers = new ArrayList<>();
-    this.freeBuffers = new ArrayList<>();
-    currentMemoryAvailable = TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+    this.sizeClasses = new SizeClass[NUM_SIZE_CLASSES];
+    for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+      sizeClasses[i] = new SizeClass();
+    }
+    this.usedBuffers = new ConcurrentHashMap<>();
+    this.currentMemoryAvailable = new AtomicLong(TornadoOptions.DEVICE_AVAILABLE_MEMORY);
+    this.freeBytes = new AtomicLong();
+    this.numFreeBuffers = new AtomicInteger();
+    this.poolCounters = ThreadLocal.withInitial(PoolCounters::new);
+    this.subBufferRegions = new ConcurrentHashMap<>();
+    this.arenaLock = new Object();
   }
 
   protected abstract long allocateBuffer(long size);
 
   protected abstract void releaseBuffer(long buffer);
 
-  private synchronized long allocate(long size) {
-    long buffer = allocateBuffer(size);
-    currentMemoryAvailable -= size;
-    BufferContainer bufferInfo = new BufferContainer(buffer, size);
-    usedBuffers.add(bufferInfo);
-    return bufferInfo.buffer;
+  /**
+   * Creates a buffer that covers a range of an arena region. By default, it returns the address of
+   * the region plus the offset, which is valid for backends that use device pointers. Backends that
+   * use opaque memory handles must override this method.
+   *
+   * @param region Native buffer of the arena region.
+   * @param offset Offset in bytes within the region.
+   * @param size Size in bytes of the sub-buffer.
+   * @return the native sub-buffer.
+   */
+  protected long createSubBuffer(long region, long offset, long size) {
+    return region + offset;
   }
 
-  private synchronized void freeBuffers(long size) {
-    // Attempts to free buffers of given size.
-    long remainingSize = size;
-    while (!freeBuffers.isEmpty() && remainingSize > 0) {
-      BufferContainer bufferInfo = freeBuffers.removeFirst();
-      TornadoInternalError.guarantee(
-          !usedBuffers.contains(bufferInfo), "This buffer should not be used");
-      remainingSize -= bufferInfo.size;
-      currentMemoryAvailable += bufferInfo.size;
-      releaseBuffer(bufferInfo.buffer);
-    }
+  /**
+   * Releases a buffer created with {@link #createSubBuffer}. The memory itself is released with the
+   * whole region.
+   *
+   * @param subBuffer Native sub-buffer.
+   */
+  protected void releaseSubBuffer(long subBuffer) {}
+
+  /**
+   * @return Alignment in bytes of the offsets handed out from an arena region.
+   */
+  protected long getSubAllocationAlignment() {
+    return DEFAULT_SUB_ALLOCATION_ALIGNMENT;
   }
 
-  public synchronized long deallocate() {
-    // Attempts to free buffers of given size.
-    long spaceDeallocated = 0;
-    while (!freeBuffers.isEmpty()) {
-      BufferContainer bufferInfo = freeBuffers.removeFirst();
-      TornadoInternalError.guarantee(
-          !usedBuffers.contains(bufferInfo), "This buffer should not be used");
-      currentMemoryAvailable += bufferInfo.size;
-      spaceDeallocated += bufferInfo.size;
-      releaseBuffer(bufferInfo.buffer);
+  /**
+   * Returns the index of the size class for a given size. Size class {@code i} holds buffers with
+   * sizes in the range {@code (2^(i-1), 2^i]}.
+   */
+  private static int sizeClassOf(long sizeInBytes) {
+    return sizeInBytes <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(sizeInBytes - 1);
+  }
+
+  private long roundUpToSizeClass(long sizeInBytes, long maxAllocationSize) {
+    if (!TornadoOptions.BUFFER_POOL_ROUND_UP || sizeInBytes <= 1) {
+      return sizeInBytes;
     }
-    return spaceDeallocated;
+    int sizeClass = sizeClassOf(sizeInBytes);
+    if (sizeClass >= Long.SIZE - 1) {
+      return sizeInBytes;
+    }
+    long roundedSize = 1L << sizeClass;
+    return roundedSize < maxAllocationSize ? roundedSize : sizeInBytes;
+  }
+
+  private boolean reserveMemory(long sizeInBytes) {
+    long available;
+    do {
+      available = currentMemoryAvailable.get();
+      if (sizeInBytes > available) {
+        return false;
+      }
+    } while (!currentMemoryAvailable.compareAndSet(available, available - sizeInBytes));
+    return true;
   }
 
-  private synchronized BufferContainer markBufferUsed(int freeBufferIndex) {
-    BufferContainer buffer = freeBuffers.get(freeBufferIndex);
-    usedBuffers.add(buffer);
-    freeBuffers.remove(buffer);
+  private long allocate(long sizeInBytes) {
+    long buffer = allocateBuffer(sizeInBytes);
+    usedBuffers.put(buffer, new BufferContainer(buffer, sizeInBytes));
+    poolCounters.get().misses++;
     return buffer;
   }
 
   /**
-   * First check if there is an available buffer of a given size. Perform a sequential search
-   * through the freeBuffers to get the buffer with the smaller size than can fulfill the
-   * allocation. The number of allocated buffers is usually low, so searching sequentially should
-   * not take a lot of time.
+   * Takes the smallest free buffer that can fulfill the requested size. Buffers of larger size
+   * classes are only taken up to {@link #MAX_SIZE_CLASS_STEP_UP} classes above the request, so
+   * small requests do not hold large buffers that later requests would need.
    *
    * @param sizeInBytes Size in bytes for the requested buffer.
-   * @return returns the index position of a free buffer within the free buffer list. It returns -1
-   *     if a free buffer slot is not found.
-   */
-  private synchronized int bufferIndexOfAFreeSpace(long sizeInBytes) {
-    int minBufferIndex = -1;
-    for (int i = 0; i < freeBuffers.size(); i++) {
-      BufferContainer bufferInfo = freeBuffers.get(i);
-      if (bufferInfo.size >= sizeInBytes
-          && (minBufferIndex == -1 || bufferInfo.size < freeBuffers.get(minBufferIndex).size)) {
-        minBufferIndex = i;
+   * @return the free buffer, or null if there is no free buffer that can fulfill the request.
+   */
+  private BufferContainer takeFreeBuffer(long sizeInBytes) {
+    if (numFreeBuffers.get() == 0) {
+      return null;
+    }
+    int requestedClass = sizeClassOf(sizeInBytes);
+    int lastClass = Math.min(requestedClass + MAX_SIZE_CLASS_STEP_UP, NUM_SIZE_CLASSES - 1);
+    for (int i = requestedClass; i <= lastClass; i++) {
+      SizeClass sizeClass = sizeClasses[i];
+      BufferContainer bufferInfo;
+      synchronized (sizeClass) {
+        bufferInfo = sizeClass.removeBestFit(sizeInBytes);
+      }
+      if (bufferInfo != null) {
+        numFreeBuffers.decrementAndGet();
+        freeBytes.addAndGet(-bufferInfo.size);
+        return bufferInfo;
       }
     }
-    return minBufferIndex;
+    return null;
+  }
+
+  /**
+   * Releases free buffers back to the driver, starting from the largest size classes, until at
+   * least {@code size} bytes have been released or the pool is empty.
+   *
+   * @param size Number of bytes to release.
+   * @return Number of bytes released.
+   */
+  private long freeBuffers(long size) {
+    long spaceDeallocated = 0;
+    for (int i = NUM_SIZE_CLASSES - 1; i >= 0 && spaceDeallocated < size; i--) {
+      SizeClass sizeClass = sizeClasses[i];
+      while (spaceDeallocated < size) {
+        BufferContainer bufferInfo;
+        synchronized (sizeClass) {
+          bufferInfo = sizeClass.removeLargest();
+        }
+        if (bufferInfo == null) {
+          break;
+        }
+        TornadoInternalError.guarantee(
+            !usedBuffers.containsKey(bufferInfo.buffer), "This buffer should not be used");
+        numFreeBuffers.decrementAndGet();
+        freeBytes.addAndGet(-bufferInfo.size);
+        releaseBuffer(bufferInfo.buffer);
+        currentMemoryAvailable.addAndGet(bufferInfo.size);
+        spaceDeallocated += bufferInfo.size;
+      }
+    }
+    return spaceDeallocated;
+  }
+
+  public long deallocate() {
+    return freeBuffers(Long.MAX_VALUE) + releaseIdleRegion();
   }
 
   /**
@@ -134,9 +245,11 @@ public abstract class TornadoBufferProvider {
    * @param sizeInBytes Size in bytes for the requested buffer.
    * @return It returns a buffer native pointer.
    */
-  private synchronized long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes) {
-    freeBuffers(sizeInBytes);
-    if (sizeInBytes <= currentMemoryAvailable) {
+  private long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes) {
+    if (freeBuffers(sizeInBytes) < sizeInBytes) {
+      releaseIdleRegion();
+    }
+    if (reserveMemory(sizeInBytes)) {
       return allocate(sizeInBytes);
     } else {
       throw new TornadoOutOfMemoryException(
@@ -145,56 +258,160 @@ public abstract class TornadoBufferProvider {
   }
 
   /**
-   * Method that finds a suitable buffer for a requested buffer size. If a free memory buffer is
-   * found, it performs the native buffer allocation on the target device. Otherwise, it throws an
-   * exception.
+   * Method that finds a suitable buffer for a requested buffer size. If a free buffer of the same
+   * size class is found, it is reused. Otherwise, it performs the native buffer allocation on the
+   * target device. If there is not enough memory, it throws an exception.
    *
    * @param sizeInBytes Size in bytes for the requested buffer.
    * @return Returns a pointer to the native buffer (JNI).
    * @throws {@link TornadoOutOfMemoryException}
    */
-  public synchronized long getOrAllocateBufferWithSize(long sizeInBytes) {
+  public long getOrAllocateBufferWithSize(long sizeInBytes) {
     TornadoTargetDevice device = deviceContext.getDevice();
-    if (sizeInBytes <= currentMemoryAvailable
-        && sizeInBytes < device.getDeviceMaxAllocationSize()) {
-      // Allocate if there is enough device memory.
-      return allocate(sizeInBytes);
-    } else if (sizeInBytes < device.getDeviceMaxAllocationSize()) {
-      int minBufferIndex = bufferIndexOfAFreeSpace(sizeInBytes);
-      // If a buffer was found, mark it as used and return it.
-      if (minBufferIndex != -1) {
-        return markBufferUsed(minBufferIndex).buffer;
-      } else {
-        return freeUnusedNativeBufferAndAssignRegion(sizeInBytes);
-      }
-    } else {
+    long maxAllocationSize = device.getDeviceMaxAllocationSize();
+    if (sizeInBytes >= maxAllocationSize) {
       throw new TornadoOutOfMemoryException(
           "[ERROR] Unable to allocate "
               + sizeInBytes
               + " bytes of memory."
               + OUT_OF_MEMORY_MESSAGE);
     }
+
+    long regionSize = Math.min(TornadoOptions.BUFFER_ARENA_REGION_SIZE, maxAllocationSize - 1);
+    if (TornadoOptions.BUFFER_ARENA && sizeInBytes <= regionSize / 4) {
+      return allocateFromArena(sizeInBytes, regionSize);
+    }
+
+    BufferContainer freeBuffer = takeFreeBuffer(sizeInBytes);
+    if (freeBuffer != null) {
+      // If a buffer was found, mark it as used and return it.
+      usedBuffers.put(freeBuffer.buffer, freeBuffer);
+      poolCounters.get().hits++;
+      return freeBuffer.buffer;
+    }
+
+    long allocationSize = roundUpToSizeClass(sizeInBytes, maxAllocationSize);
+    if (reserveMemory(allocationSize)) {
+      // Allocate if there is enough device memory.
+      return allocate(allocationSize);
+    } else if (allocationSize != sizeInBytes && reserveMemory(sizeInBytes)) {
+      return allocate(sizeInBytes);
+    } else {
+      return freeUnusedNativeBufferAndAssignRegion(sizeInBytes);
+    }
   }
 
   /**
-   * Removes the buffer from the {@link #usedBuffers} list and add it to the @{@link #freeBuffers}
-   * list.
+   * Removes the buffer from the used buffers and adds it to the free pool of its size class. If the
+   * pool exceeds {@link TornadoOptions#BUFFER_POOL_MAX_FREE_BYTES}, free buffers are released back
+   * to the driver.
    */
-  public synchronized void markBufferReleased(long buffer) {
-    int foundIndex = -1;
-    for (int i = 0; i < usedBuffers.size(); i++) {
-      // find the buffer slot to mark it as free
-      if (usedBuffers.get(i) != null && usedBuffers.get(i).buffer == buffer) {
-        foundIndex = i;
-        break;
+  public void markBufferReleased(long buffer) {
+    BufferContainer removedBuffer = usedBuffers.remove(buffer);
+    ArenaRegion region = subBufferRegions.remove(buffer);
+    if (region != null) {
+      releaseSubAllocation(removedBuffer, region);
+    } else if (removedBuffer != null) {
+      // if found, we mark it as free by inserting it into the pool of its size class
+      SizeClass sizeClass = sizeClasses[sizeClassOf(removedBuffer.size)];
+      synchronized (sizeClass) {
+        sizeClass.add(removedBuffer);
+      }
+      numFreeBuffers.incrementAndGet();
+      long pooledBytes = freeBytes.addAndGet(removedBuffer.size);
+      if (pooledBytes > TornadoOptions.BUFFER_POOL_MAX_FREE_BYTES) {
+        freeBuffers(pooledBytes - TornadoOptions.BUFFER_POOL_MAX_FREE_BYTES);
+      }
+    }
+  }
+
+  private static long alignUp(long sizeInBytes, long alignment) {
+    return ((Math.max(sizeInBytes, 1) + alignment - 1) / alignment) * alignment;
+  }
+
+  /**
+   * Takes a sub-buffer of the current arena region, either a released one of the same aligned size
+   * or a new one carved out of the free space of the region. A new region is allocated when the
+   * current one cannot hold the requested size. Only new regions count as pool misses, and only
+   * released sub-buffers that are handed out again count as pool hits.
+   *
+   * @param sizeInBytes Size in bytes for the requested buffer.
+   * @param regionSize Size in bytes of a new arena region.
+   * @return Returns the native sub-buffer.
+   */
+  private long allocateFromArena(long sizeInBytes, long regionSize) {
+    long alignment = getSubAllocationAlignment();
+    long alignedSize = alignUp(sizeInBytes, alignment);
+    synchronized (arenaLock) {
+      BufferContainer subBuffer =
+          (currentRegion != null)
+              ? currentRegion.takeReleasedSubBuffer(sizeInBytes, alignedSize, alignment)
+              : null;
+      if (subBuffer != null) {
+        poolCounters.get().hits++;
+      } else {
+        if (currentRegion == null || currentRegion.top + alignedSize > currentRegion.size) {
+          releaseIdleRegion();
+          if (!reserveMemory(regionSize)) {
+            freeBuffers(regionSize);
+            if (!reserveMemory(regionSize)) {
+              throw new TornadoOutOfMemoryException(
+                  "Unable to allocate " + regionSize + " bytes of memory." + OUT_OF_MEMORY_MESSAGE);
+            }
+          }
+          currentRegion = new ArenaRegion(allocateBuffer(regionSize), regionSize);
+          poolCounters.get().misses++;
+        }
+        long buffer = createSubBuffer(currentRegion.buffer, currentRegion.top, sizeInBytes);
+        subBuffer = new BufferContainer(buffer, sizeInBytes);
+        currentRegion.top += alignedSize;
       }
+      currentRegion.numSubBuffers++;
+      subBufferRegions.put(subBuffer.buffer, currentRegion);
+      usedBuffers.put(subBuffer.buffer, subBuffer);
+      return subBuffer.buffer;
     }
+  }
+
+  /**
+   * Releases a sub-buffer. The sub-buffer is kept in its region to be handed out again. When it is
+   * the last live buffer of a region that is not the current one, the whole region is returned to
+   * the driver.
+   */
+  private void releaseSubAllocation(BufferContainer subBuffer, ArenaRegion region) {
+    synchronized (arenaLock) {
+      region.numSubBuffers--;
+      region.releasedSubBuffers.addLast(subBuffer);
+      if (region.numSubBuffers == 0 && region != currentRegion) {
+        releaseRegion(region);
+      }
+    }
+  }
+
+  /**
+   * Releases the current arena region if none of its sub-buffers is in use.
+   *
+   * @return Number of bytes released.
+   */
+  private long releaseIdleRegion() {
+    synchronized (arenaLock) {
+      if (currentRegion == null || currentRegion.numSubBuffers != 0) {
+        return 0;
+      }
+      long regionSize = currentRegion.size;
+      releaseRegion(currentRegion);
+      currentRegion = null;
+      return regionSize;
+    }
+  }
 
-    if (foundIndex != -1) {
-      // if found, we mark it as free by inserting it into the free list
-      BufferContainer removedBuffer = usedBuffers.remove(foundIndex);
-      freeBuffers.add(removedBuffer);
+  private void releaseRegion(ArenaRegion region) {
+    for (BufferContainer subBuffer : region.releasedSubBuffers) {
+      releaseSubBuffer(subBuffer.buffer);
     }
+    region.releasedSubBuffers.clear();
+    releaseBuffer(region.buffer);
+    currentMemoryAvailable.addAndGet(region.size);
   }
 
   /**
@@ -204,29 +421,107 @@ public abstract class TornadoBufferProvider {
    * @return boolean.
    */
   public boolean isNumFreeBuffersAvailable(int numBuffers) {
-    return freeBuffers.size() >= numBuffers;
+    return numFreeBuffers.get() >= numBuffers;
   }
 
-  public synchronized void resetBuffers() {
-    freeBuffers(DEVICE_AVAILABLE_MEMORY);
+  public void resetBuffers() {
+    deallocate();
   }
 
-  private record BufferContainer(long buffer, long size) {
+  /**
+   * The counters are kept per thread, so the difference of the counters before and after an
+   * allocation call is the outcome of that call, even if other threads allocate buffers on the same
+   * device at the same time.
+   *
+   * @return Number of allocations of the calling thread that were served with a buffer from the
+   *     pool or from an existing arena region.
+   */
+  public long getPoolHits() {
+    return poolCounters.get().hits;
+  }
 
-    @Override
-    public boolean equals(Object object) {
-      if (this == object) {
-        return true;
-      }
-      if (!(object instanceof BufferContainer that)) {
-        return false;
+  /**
+   * @return Number of allocations of the calling thread that required a new buffer from the driver.
+   */
+  public long getPoolMisses() {
+    return poolCounters.get().misses;
+  }
+
+  /**
+   * Free buffers of one size class, indexed by their size so the best fit is found with a ceiling
+   * lookup. Access is guarded by the instance monitor.
+   */
+  private static final class SizeClass {
+    private final TreeMap<Long, ArrayDeque<BufferContainer>> buffers = new TreeMap<>();
+
+    private void add(BufferContainer bufferInfo) {
+      buffers.computeIfAbsent(bufferInfo.size, size -> new ArrayDeque<>()).addLast(bufferInfo);
+    }
+
+    /**
+     * Removes the smallest buffer that can hold {@code sizeInBytes}. Among buffers of the same
+     * size, the most recently released one is taken.
+     */
+    private BufferContainer removeBestFit(long sizeInBytes) {
+      Map.Entry<Long, ArrayDeque<BufferContainer>> entry = buffers.ceilingEntry(sizeInBytes);
+      return entry == null ? null : removeFrom(entry);
+    }
+
+    /** Removes one of the largest buffers of the class. */
+    private BufferContainer removeLargest() {
+      Map.Entry<Long, ArrayDeque<BufferContainer>> entry = buffers.lastEntry();
+      return entry == null ? null : removeFrom(entry);
+    }
+
+    private BufferContainer removeFrom(Map.Entry<Long, ArrayDeque<BufferContainer>> entry) {
+      BufferContainer bufferInfo = entry.getValue().pollLast();
+      if (entry.getValue().isEmpty()) {
+        buffers.remove(entry.getKey());
       }
-      return buffer == that.buffer && size == that.size;
+      return bufferInfo;
+    }
+  }
+
+  /** Outcome of the allocations made by one thread. */
+  private static final class PoolCounters {
+    private long hits;
+    private long misses;
+  }
+
+  private record BufferContainer(long buffer, long size) {}
+
+  /**
+   * Large native allocation from which small buffers are carved with a bump pointer. Access is
+   * guarded by the arena lock.
+   */
+  private static final class ArenaRegion {
+    private final long buffer;
+    private final long size;
+    private final ArrayDeque<BufferContainer> releasedSubBuffers;
+    private long top;
+    private int numSubBuffers;
+
+    private ArenaRegion(long buffer, long size) {
+      this.buffer = buffer;
+      this.size = size;
+      this.releasedSubBuffers = new ArrayDeque<>();
     }
 
-    @Override
-    public int hashCode() {
-      return (int) buffer;
+    /**
+     * Removes a released sub-buffer that can hold {@code sizeInBytes} and takes the same space in
+     * the region as a new sub-buffer of that size.
+     */
+    private BufferContainer takeReleasedSubBuffer(
+        long sizeInBytes, long alignedSize, long alignment) {
+      Iterator<BufferContainer> iterator = releasedSubBuffers.descendingIterator();
+      while (iterator.hasNext()) {
+        BufferContainer subBuffer = iterator.next();
+        if (subBuffer.size >= sizeInBytes && alignUp(subBuffer.size, alignment) == alignedSize) {
+          iterator.remove();
+          return subBuffer;
+        }
+      }
+      return null;
     }
   }
 }
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * GNU Classpath is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2, or (at your option)
+ * any later version.
+ *
+ * GNU Classpath is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with GNU Classpath; see the file COPYING. If not, write to the
+ * Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ *
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library. Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module. An independent module is a module which is not derived from
+ * or based on this library. If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so. If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.common.compiler.phases.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeBitMap;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.java.AbstractNewArrayNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AbstractParallelNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.PanamaPrivateMemoryNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
+
+/**
+ * Decides which scalar arguments of a task are passed as kernel parameters instead of being folded
+ * as constants by the task specialisation phases, and reports the folded ones to the runtime in the
+ * meta-data of the task.
+ */
+public final class ScalarArguments {
+
+  private ScalarArguments() {}
+
+  /** Resets the folded arguments reported for the task before the specialisation phase runs. */
+  public static void beginSpecialisation(TornadoHighTierContext context) {
+    if (context.hasMeta() && context.hasArgs()) {
+      context.getMeta().markNoScalarArgumentFolded();
+    }
+  }
+
+  /**
+   * @return true if the scalar argument was requested as a kernel parameter by the runtime, and its
+   *     value is not needed at compile time, e.g., as the bound of a parallel loop or the size of a
+   *     private array.
+   */
+  public static boolean isKernelParameter(
+      TornadoHighTierContext context, ParameterNode parameter, Object value) {
+    return context.hasMeta()
+        && context.getMeta().isRuntimeScalarArgument(parameter.index())
+        && isSupportedType(value)
+        && !requiresConstant(parameter);
+  }
+
+  public static void markFolded(TornadoHighTierContext context, ParameterNode parameter) {
+    if (context.hasMeta()) {
+      context.getMeta().markScalarArgumentFolded(parameter.index());
+    }
+  }
+
+  private static boolean isSupportedType(Object value) {
+    return value instanceof Integer
+        || value instanceof Long
+        || value instanceof Float
+        || value instanceof Double;
+  }
+
+  private static boolean requiresConstant(ParameterNode parameter) {
+    final NodeBitMap visited = parameter.graph().createNodeBitMap();
+    final Deque<Node> worklist = new ArrayDeque<>();
+    worklist.push(parameter);
+    while (!worklist.isEmpty()) {
+      final Node node = worklist.pop();
+      for (Node usage : node.usages()) {
+        if (usage instanceof AbstractParallelNode
+            || usage instanceof AbstractNewArrayNode
+            || usage instanceof PanamaPrivateMemoryNode) {
+          return true;
+        }
+        // Values only flow to the loop bounds and allocations through floating nodes
+        if (!(usage instanceof FixedNode) && !visited.isMarked(usage)) {
+          visited.mark(usage);
+          worklist.push(usage);
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import java.util.List;
+import org.graalvm.compiler.phases.util.Providers;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceNotFound;
+import uk.ac.manchester.tornado.drivers.jvm.compiler.JVMSuitesProvider;
+import uk.ac.manchester.tornado.drivers.jvm.runtime.JVMTornadoDevice;
+import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.graal.backend.XPUBackend;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
+
+/**
+ * Backend that runs tasks on the cores of the host using the JVM. Instead of generating code for an
+ * accelerator, the Java bytecodes of each task are executed by a pool of worker threads. Loops
+ * annotated with {@link uk.ac.manchester.tornado.api.annotations.Parallel} are partitioned across
+ * the worker threads, and kernels using the {@link uk.ac.manchester.tornado.api.KernelContext} API
+ * run one work-item per invocation.
+ */
+public final class JVMBackendImpl implements TornadoAcceleratorBackend {
+
+  private final JVMTornadoDevice device;
+  private final JVMSuitesProvider suitesProvider;
+
+  public JVMBackendImpl() {
+    this.device = new JVMTornadoDevice(new JVMDeviceContext(new JVMDevice(0)));
+    this.suitesProvider = new JVMSuitesProvider();
+  }
+
+  /** The JVM backend runs the Java bytecodes of the tasks, so it does not use a Graal backend. */
+  @Override
+  public XPUBackend getDefaultBackend() {
+    return null;
+  }
+
+  /** The JVM backend runs the Java bytecodes of the tasks, so it does not use Graal providers. */
+  @Override
+  public Providers getProviders() {
+    return null;
+  }
+
+  @Override
+  public TornadoSuitesProvider getSuitesProvider() {
+    return suitesProvider;
+  }
+
+  @Override
+  public TornadoDevice getDefaultDevice() {
+    return device;
+  }
+
+  @Override
+  public void setDefaultDevice(int index) {
+    if (index != 0) {
+      throw new TornadoDeviceNotFound(
+          "[ERROR]-[JVM-DRIVER] Device required not found: " + index + " - Max: 1");
+    }
+  }
+
+  @Override
+  public int getNumDevices() {
+    return 1;
+  }
+
+  @Override
+  public TornadoXPUDevice getDevice(int index) {
+    if (index == 0) {
+      return device;
+    } else {
+      throw new TornadoDeviceNotFound(
+          "[ERROR]-[JVM-DRIVER] Device required not found: " + index + " - Max: 1");
+    }
+  }
+
+  @Override
+  public List<TornadoDevice> getAllDevices() {
+    return List.of(device);
+  }
+
+  @Override
+  public TornadoDeviceType getTypeDefaultDevice() {
+    return TornadoDeviceType.CPU;
+  }
+
+  @Override
+  public String getName() {
+    return "JVM";
+  }
+
+  @Override
+  public TornadoVMBackendType getBackendType() {
+    return TornadoVMBackendType.JVM;
+  }
+
+  @Override
+  public int getNumPlatforms() {
+    return 1;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Physical device of the JVM backend. It represents the cores of the host that are visible to the
+ * JVM and the Java heap as the global memory of the device.
+ */
+public class JVMDevice implements TornadoTargetDevice {
+
+  private static final int MAX_WORK_GROUP_SIZE = 1024;
+
+  private final int deviceIndex;
+  private final String deviceName;
+
+  public JVMDevice(int deviceIndex) {
+    this.deviceIndex = deviceIndex;
+    this.deviceName =
+        String.format(
+            "%s (%s, %d threads)",
+            System.getProperty("java.vm.name"),
+            System.getProperty("os.arch"),
+            getDeviceMaxComputeUnits());
+  }
+
+  public int getDeviceIndex() {
+    return deviceIndex;
+  }
+
+  @Override
+  public String getDeviceName() {
+    return deviceName;
+  }
+
+  @Override
+  public long getDeviceGlobalMemorySize() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  /**
+   * Local arrays are allocated on the Java heap and shared by all threads of a work-group.
+   * Therefore, the local memory of the device is the same as the global memory.
+   */
+  @Override
+  public long getDeviceLocalMemorySize() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  @Override
+  public int getDeviceMaxComputeUnits() {
+    return TornadoOptions.JVM_BACKEND_THREADS;
+  }
+
+  @Override
+  public long[] getDeviceMaxWorkItemSizes() {
+    return new long[] {MAX_WORK_GROUP_SIZE, MAX_WORK_GROUP_SIZE, MAX_WORK_GROUP_SIZE};
+  }
+
+  @Override
+  public long[] getDeviceMaxWorkGroupSize() {
+    return new long[] {MAX_WORK_GROUP_SIZE};
+  }
+
+  @Override
+  public int getMaxThreadsPerBlock() {
+    return MAX_WORK_GROUP_SIZE;
+  }
+
+  @Override
+  public int getDeviceMaxClockFrequency() {
+    return 0;
+  }
+
+  @Override
+  public long getDeviceMaxConstantBufferSize() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  @Override
+  public long getDeviceMaxAllocationSize() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  @Override
+  public String getDeviceInfo() {
+    return String.format(
+        "%s -- Java %s, %d worker threads",
+        deviceName, Runtime.version(), getDeviceMaxComputeUnits());
+  }
+
+  @Override
+  public String toString() {
+    return deviceName;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMMemoryManager;
+import uk.ac.manchester.tornado.drivers.jvm.runtime.JVMInstalledCode;
+import uk.ac.manchester.tornado.drivers.jvm.runtime.JVMWorkerThread;
+import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+public class JVMDeviceContext implements TornadoDeviceContext {
+
+  private static final Event EMPTY_EVENT = new EmptyEvent();
+
+  private final JVMDevice device;
+  private final JVMMemoryManager memoryManager;
+  private final Map<Long, JVMEventPool> eventPools;
+  private final Map<String, JVMInstalledCode> codeCache;
+  private final ExecutorService workerPool;
+  private boolean wasReset;
+
+  public JVMDeviceContext(JVMDevice device) {
+    this.device = device;
+    this.memoryManager = new JVMMemoryManager();
+    this.eventPools = new ConcurrentHashMap<>();
+    this.codeCache = new ConcurrentHashMap<>();
+    this.workerPool =
+        Executors.newFixedThreadPool(TornadoOptions.JVM_BACKEND_THREADS, JVMWorkerThread::new);
+  }
+
+  private static String buildCacheKey(String methodName, SchedulableTask task) {
+    return task.getId() + "-" + methodName;
+  }
+
+  @Override
+  public JVMDevice getDevice() {
+    return device;
+  }
+
+  @Override
+  public JVMMemoryManager getMemoryManager() {
+    return memoryManager;
+  }
+
+  public ExecutorService getWorkerPool() {
+    return workerPool;
+  }
+
+  @Override
+  public boolean wasReset() {
+    return wasReset;
+  }
+
+  @Override
+  public void reset(long executionPlanId) {
+    JVMEventPool eventPool = eventPools.remove(executionPlanId);
+    if (eventPool != null) {
+      eventPool.reset();
+    }
+    codeCache.clear();
+    wasReset = true;
+  }
+
+  @Override
+  public void setResetToFalse() {
+    wasReset = false;
+  }
+
+  @Override
+  public boolean isPlatformFPGA() {
+    return false;
+  }
+
+  @Override
+  public boolean isPlatformXilinxFPGA() {
+    return false;
+  }
+
+  @Override
+  public boolean isFP64Supported() {
+    return true;
+  }
+
+  @Override
+  public boolean isCached(String methodName, SchedulableTask task) {
+    return codeCache.containsKey(buildCacheKey(methodName, task));
+  }
+
+  public JVMInstalledCode getInstalledCode(String methodName, SchedulableTask task) {
+    return codeCache.get(buildCacheKey(methodName, task));
+  }
+
+  public void installCode(String methodName, SchedulableTask task, JVMInstalledCode code) {
+    codeCache.put(buildCacheKey(methodName, task), code);
+  }
+
+  public int registerEvent(long executionPlanId, JVMEvent event) {
+    return eventPools
+        .computeIfAbsent(executionPlanId, id -> new JVMEventPool(TornadoOptions.EVENT_WINDOW))
+        .registerEvent(event);
+  }
+
+  public Event resolveEvent(long executionPlanId, int eventId) {
+    JVMEventPool eventPool = eventPools.get(executionPlanId);
+    if (eventId == -1 || eventPool == null) {
+      return EMPTY_EVENT;
+    }
+    JVMEvent event = eventPool.getEvent(eventId);
+    return event != null ? event : EMPTY_EVENT;
+  }
+
+  @Override
+  public int getDeviceIndex() {
+    return device.getDeviceIndex();
+  }
+
+  @Override
+  public int getDevicePlatform() {
+    return 0;
+  }
+
+  @Override
+  public String getDeviceName() {
+    return device.getDeviceName();
+  }
+
+  @Override
+  public int getDriverIndex() {
+    return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(JVMBackendImpl.class);
+  }
+
+  @Override
+  public Set<Long> getRegisteredPlanIds() {
+    return eventPools.keySet();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+
+/**
+ * Event of the JVM backend. Operations on the JVM backend are synchronous, so events are always
+ * complete when they are registered. They only keep the timestamps for the profiler.
+ */
+public class JVMEvent implements Event {
+
+  private final String name;
+  private final long startTime;
+  private final long endTime;
+
+  public JVMEvent(String name, long startTime, long endTime) {
+    this.name = name;
+    this.startTime = startTime;
+    this.endTime = endTime;
+  }
+
+  @Override
+  public void waitForEvents(long executionPlanId) {}
+
+  @Override
+  public void waitOn() {}
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getQueuedTime() {
+    return startTime;
+  }
+
+  @Override
+  public long getSubmitTime() {
+    return startTime;
+  }
+
+  @Override
+  public long getStartTime() {
+    return startTime;
+  }
+
+  @Override
+  public long getEndTime() {
+    return endTime;
+  }
+
+  @Override
+  public long getElapsedTime() {
+    return endTime - startTime;
+  }
+
+  @Override
+  public long getDriverDispatchTime() {
+    return 0;
+  }
+
+  @Override
+  public double getElapsedTimeInSeconds() {
+    return RuntimeUtilities.elapsedTimeInSeconds(startTime, endTime);
+  }
+
+  @Override
+  public TornadoExecutionStatus getStatus() {
+    return TornadoExecutionStatus.COMPLETE;
+  }
+
+  @Override
+  public double getTotalTimeInSeconds() {
+    return getElapsedTimeInSeconds();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[JVM] event: name=%s, elapsed=%d ns", name, getElapsedTime());
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm;
+
+import java.util.Arrays;
+
+/**
+ * Window of the last events registered by an execution plan on the JVM backend. Event identifiers
+ * are reused once the window is full.
+ */
+public class JVMEventPool {
+
+  private final JVMEvent[] events;
+  private int eventIndex;
+
+  public JVMEventPool(int poolSize) {
+    this.events = new JVMEvent[poolSize];
+  }
+
+  public synchronized int registerEvent(JVMEvent event) {
+    final int id = eventIndex;
+    events[id] = event;
+    eventIndex = (eventIndex + 1) % events.length;
+    return id;
+  }
+
+  public JVMEvent getEvent(int eventId) {
+    return events[eventId];
+  }
+
+  public synchronized void reset() {
+    Arrays.fill(events, null);
+    eventIndex = 0;
+  }
+}
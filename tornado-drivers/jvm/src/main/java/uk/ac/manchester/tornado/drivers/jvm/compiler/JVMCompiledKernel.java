@@ -0,0 +1,49 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.compiler;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Result of compiling a task for the JVM backend.
+ *
+ * @param mode how the kernel is dispatched to the worker threads
+ * @param handle method handle of type {@code (Object[])void} that invokes the kernel with the
+ *     arguments of the task
+ * @param usesBarriers whether a {@link ExecutionMode#KERNEL} uses local or global barriers
+ * @param usesAtomics whether a {@link ExecutionMode#KERNEL} uses the atomic operations of the
+ *     {@link uk.ac.manchester.tornado.api.KernelContext}
+ */
+public record JVMCompiledKernel(
+    ExecutionMode mode, MethodHandle handle, boolean usesBarriers, boolean usesAtomics) {
+
+  public enum ExecutionMode {
+    /** The task runs once in the calling thread. */
+    SEQUENTIAL,
+    /** The iterations of the outermost parallel loops are partitioned across the workers. */
+    PARALLEL_LOOP,
+    /** The task uses the {@link uk.ac.manchester.tornado.api.KernelContext} API. */
+    KERNEL
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.compiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.TypePath;
+import org.objectweb.asm.TypeReference;
+
+/**
+ * First pass of the {@link JVMKernelCompiler}. It collects the scopes of the local variables
+ * annotated with {@link uk.ac.manchester.tornado.api.annotations.Parallel} in the kernel method,
+ * and checks that each of them is the induction variable of a loop that can be partitioned across
+ * the worker threads: it is initialised right before its scope, it is only updated through {@code
+ * IINC} with a constant step, and it is never stored inside its scope.
+ */
+class JVMKernelAnalyzer extends ClassVisitor {
+
+  static final String PARALLEL_DESCRIPTOR = "Luk/ac/manchester/tornado/api/annotations/Parallel;";
+  static final String KERNEL_CONTEXT_NAME = "uk/ac/manchester/tornado/api/KernelContext";
+
+  private final String methodName;
+  private final String methodDescriptor;
+
+  private final Map<Label, Integer> labelPositions = new HashMap<>();
+  private final Map<Integer, List<Integer>> storePositions = new HashMap<>();
+  private final List<int[]> increments = new ArrayList<>();
+  private final List<Label[]> parallelScopes = new ArrayList<>();
+  private final List<Integer> parallelSlots = new ArrayList<>();
+
+  private final Set<String> privateMembers = new HashSet<>();
+  private final Set<String> hostMembersUsed = new HashSet<>();
+
+  private boolean found;
+  private boolean usesBarriers;
+  private boolean usesAtomics;
+  private String hostInternalName;
+
+  JVMKernelAnalyzer(String methodName, String methodDescriptor) {
+    super(Opcodes.ASM9);
+    this.methodName = methodName;
+    this.methodDescriptor = methodDescriptor;
+  }
+
+  @Override
+  public void visit(
+      int version,
+      int access,
+      String name,
+      String signature,
+      String superName,
+      String[] interfaces) {
+    this.hostInternalName = name;
+  }
+
+  @Override
+  public FieldVisitor visitField(
+      int access, String name, String descriptor, String signature, Object value) {
+    if ((access & Opcodes.ACC_PRIVATE) != 0) {
+      privateMembers.add(name + descriptor);
+    }
+    return null;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(
+      int access, String name, String descriptor, String signature, String[] exceptions) {
+    if ((access & Opcodes.ACC_PRIVATE) != 0) {
+      privateMembers.add(name + descriptor);
+    }
+    if (!name.equals(methodName) || !descriptor.equals(methodDescriptor)) {
+      return null;
+    }
+    found = true;
+    return new JVMPositionMethodVisitor(null) {
+
+      @Override
+      public void visitLabel(Label label) {
+        labelPositions.put(label, getPosition());
+      }
+
+      @Override
+      public void visitVarInsn(int opcode, int varIndex) {
+        if (opcode == Opcodes.ISTORE) {
+          storePositions.computeIfAbsent(varIndex, slot -> new ArrayList<>()).add(getPosition());
+        }
+        super.visitVarInsn(opcode, varIndex);
+      }
+
+      @Override
+      public void visitIincInsn(int varIndex, int increment) {
+        increments.add(new int[] {getPosition(), varIndex, increment});
+        super.visitIincInsn(varIndex, increment);
+      }
+
+      @Override
+      public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+        if (owner.equals(hostInternalName)) {
+          hostMembersUsed.add(name + descriptor);
+        }
+        super.visitFieldInsn(opcode, owner, name, descriptor);
+      }
+
+      @Override
+      public void visitInvokeDynamicInsn(
+          String name, String descriptor, Handle bootstrapMethodHandle, Object... arguments) {
+        for (Object argument : arguments) {
+          if (argument instanceof Handle handle && handle.getOwner().equals(hostInternalName)) {
+            hostMembersUsed.add(handle.getName() + handle.getDesc());
+          }
+        }
+        super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, arguments);
+      }
+
+      @Override
+      public void visitMethodInsn(
+          int opcode, String owner, String name, String descriptor, boolean isInterface) {
+        if (owner.equals(hostInternalName)) {
+          hostMembersUsed.add(name + descriptor);
+        }
+        if (owner.equals(KERNEL_CONTEXT_NAME)
+            && (name.equals("localBarrier") || name.equals("globalBarrier"))) {
+          usesBarriers = true;
+        }
+        if (owner.equals(KERNEL_CONTEXT_NAME) && name.startsWith("atomic")) {
+          usesAtomics = true;
+        }
+        super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+      }
+
+      @Override
+      public AnnotationVisitor visitLocalVariableAnnotation(
+          int typeRef,
+          TypePath typePath,
+          Label[] start,
+          Label[] end,
+          int[] index,
+          String descriptor,
+          boolean visible) {
+        if (new TypeReference(typeRef).getSort() == TypeReference.LOCAL_VARIABLE
+            && PARALLEL_DESCRIPTOR.equals(descriptor)) {
+          for (int i = 0; i < index.length; i++) {
+            parallelScopes.add(new Label[] {start[i], end[i]});
+            parallelSlots.add(index[i]);
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  boolean isMethodFound() {
+    return found;
+  }
+
+  boolean usesBarriers() {
+    return usesBarriers;
+  }
+
+  boolean usesAtomics() {
+    return usesAtomics;
+  }
+
+  String getHostInternalName() {
+    return hostInternalName;
+  }
+
+  /**
+   * The kernel is copied into a different class, so it cannot access the private members of the
+   * class that declares it.
+   */
+  boolean usesPrivateMembers() {
+    return hostMembersUsed.stream().anyMatch(privateMembers::contains);
+  }
+
+  boolean hasParallelAnnotations() {
+    return !parallelSlots.isEmpty();
+  }
+
+  /**
+   * Builds the outermost parallel loops of the method.
+   *
+   * @return the list of loops, or {@code null} if any of the annotated variables is not the
+   *     induction variable of a loop that can be partitioned.
+   */
+  List<JVMParallelLoop> buildParallelLoops() {
+    List<JVMParallelLoop> loops = new ArrayList<>();
+    for (int i = 0; i < parallelSlots.size(); i++) {
+      final int slot = parallelSlots.get(i);
+      final Integer start = labelPositions.get(parallelScopes.get(i)[0]);
+      final Integer end = labelPositions.get(parallelScopes.get(i)[1]);
+      if (start == null || end == null) {
+        return null;
+      }
+
+      List<Integer> stores = storePositions.getOrDefault(slot, List.of());
+      if (!stores.contains(start - 1)) {
+        return null;
+      }
+      for (int position : stores) {
+        if (position >= start && position < end) {
+          return null;
+        }
+      }
+
+      int step = 0;
+      for (int[] increment : increments) {
+        if (increment[1] == slot && increment[0] >= start && increment[0] < end) {
+          if (increment[2] == 0 || (step != 0 && step != increment[2])) {
+            return null;
+          }
+          step = increment[2];
+        }
+      }
+      if (step == 0) {
+        return null;
+      }
+      loops.add(new JVMParallelLoop(slot, start, end, step));
+    }
+
+    List<JVMParallelLoop> distinctLoops = loops.stream().distinct().toList();
+    return distinctLoops.stream()
+        .filter(loop -> distinctLoops.stream().noneMatch(other -> other.encloses(loop)))
+        .toList();
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Type;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.drivers.jvm.compiler.JVMCompiledKernel.ExecutionMode;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+
+/**
+ * Compiles tasks for the JVM backend.
+ *
+ * <p>The bytecodes of the task are copied into a new class in the package of the class that
+ * declares the task. Loops with an induction variable annotated with {@link
+ * uk.ac.manchester.tornado.api.annotations.Parallel} are rewritten so that each worker thread runs
+ * a block-cyclic partition of the iteration space. Tasks that use the {@link KernelContext} are
+ * rewritten to read the thread identifiers from the context of the work-item being executed. Tasks
+ * without parallel loops, with loops that cannot be partitioned, or with reductions, run
+ * sequentially.
+ */
+public final class JVMKernelCompiler {
+
+  private static final String KERNEL_CLASS_SUFFIX = "$JVMKernel";
+  private static final AtomicInteger kernelCounter = new AtomicInteger(0);
+  private static final MethodType LAUNCH_TYPE = MethodType.methodType(void.class, Object[].class);
+  private static final TornadoLogger logger = new TornadoLogger(JVMKernelCompiler.class);
+
+  private JVMKernelCompiler() {}
+
+  public static JVMCompiledKernel compile(Method method) {
+    final Class<?> host = method.getDeclaringClass();
+    final byte[] classBytes = readClassBytes(host);
+    final JVMKernelAnalyzer analyzer =
+        new JVMKernelAnalyzer(method.getName(), Type.getMethodDescriptor(method));
+    if (classBytes != null) {
+      new ClassReader(classBytes).accept(analyzer, 0);
+    }
+
+    if (isKernelContextTask(method)) {
+      if (!analyzer.isMethodFound() || analyzer.usesPrivateMembers()) {
+        throw new TornadoBailoutRuntimeException(
+            "[JVM] Unable to copy the bytecodes of kernel " + method.getName());
+      }
+      try {
+        return new JVMCompiledKernel(
+            ExecutionMode.KERNEL,
+            defineKernel(method, classBytes, analyzer, List.of(), true),
+            analyzer.usesBarriers(),
+            analyzer.usesAtomics());
+      } catch (ReflectiveOperationException | LinkageError e) {
+        throw new TornadoBailoutRuntimeException(
+            "[JVM] Unable to compile kernel " + method.getName() + ": " + e.getMessage());
+      }
+    }
+
+    if (analyzer.isMethodFound()
+        && analyzer.hasParallelAnnotations()
+        && !analyzer.usesPrivateMembers()
+        && !hasReductions(method)) {
+      final List<JVMParallelLoop> loops = analyzer.buildParallelLoops();
+      if (loops != null && !loops.isEmpty()) {
+        try {
+          return new JVMCompiledKernel(
+              ExecutionMode.PARALLEL_LOOP,
+              defineKernel(method, classBytes, analyzer, loops, false),
+              false,
+              false);
+        } catch (ReflectiveOperationException | LinkageError e) {
+          logger.debug(
+              "[JVM] Running %s sequentially, loops cannot be partitioned: %s",
+              method.getName(), e.getMessage());
+        }
+      }
+    }
+    return new JVMCompiledKernel(ExecutionMode.SEQUENTIAL, unreflect(method), false, false);
+  }
+
+  private static boolean isKernelContextTask(Method method) {
+    return Arrays.stream(method.getParameterTypes()).anyMatch(KernelContext.class::equals);
+  }
+
+  private static boolean hasReductions(Method method) {
+    for (Annotation[] annotations : method.getParameterAnnotations()) {
+      for (Annotation annotation : annotations) {
+        if (annotation instanceof Reduce) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static byte[] readClassBytes(Class<?> klass) {
+    if (klass.isHidden()) {
+      return null;
+    }
+    final String resourceName = klass.getName().replace('.', '/') + ".class";
+    try (InputStream inputStream = klass.getModule().getResourceAsStream(resourceName)) {
+      return inputStream != null ? inputStream.readAllBytes() : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static MethodHandles.Lookup privateLookup(Class<?> host) throws IllegalAccessException {
+    JVMKernelCompiler.class.getModule().addReads(host.getModule());
+    return MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+  }
+
+  private static MethodHandle defineKernel(
+      Method method,
+      byte[] classBytes,
+      JVMKernelAnalyzer analyzer,
+      List<JVMParallelLoop> loops,
+      boolean kernelContextMode)
+      throws ReflectiveOperationException {
+    final Class<?> host = method.getDeclaringClass();
+    final boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    new ClassReader(classBytes)
+        .accept(
+            new JVMKernelRewriter(
+                writer,
+                analyzer.getHostInternalName(),
+                analyzer.getHostInternalName()
+                    + KERNEL_CLASS_SUFFIX
+                    + kernelCounter.getAndIncrement(),
+                method.getName(),
+                Type.getMethodDescriptor(method),
+                isStatic,
+                loops,
+                kernelContextMode),
+            0);
+
+    MethodHandles.Lookup hostLookup = privateLookup(host);
+    Class<?> kernelClass = hostLookup.defineClass(writer.toByteArray());
+    MethodType kernelType =
+        MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+    if (!isStatic) {
+      kernelType = kernelType.insertParameterTypes(0, host);
+    }
+    return spread(hostLookup.findStatic(kernelClass, method.getName(), kernelType));
+  }
+
+  private static MethodHandle unreflect(Method method) {
+    try {
+      return spread(privateLookup(method.getDeclaringClass()).unreflect(method));
+    } catch (IllegalAccessException e) {
+      try {
+        method.setAccessible(true);
+        return spread(MethodHandles.lookup().unreflect(method));
+      } catch (IllegalAccessException | RuntimeException inaccessible) {
+        throw new TornadoBailoutRuntimeException(
+            "[JVM] Task " + method.getName() + " is not accessible: " + inaccessible.getMessage());
+      }
+    }
+  }
+
+  private static MethodHandle spread(MethodHandle handle) {
+    return handle.asSpreader(Object[].class, handle.type().parameterCount()).asType(LAUNCH_TYPE);
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.compiler;
+
+import java.util.List;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.TypePath;
+import uk.ac.manchester.tornado.drivers.jvm.runtime.JVMKernelContext;
+
+/**
+ * Second pass of the {@link JVMKernelCompiler}. It copies the kernel method into a new class as a
+ * public static method, where the receiver of instance methods becomes the first parameter. The
+ * parallel loops found by the {@link JVMKernelAnalyzer} are rewritten so that the induction
+ * variable is obtained from the worker thread that runs the method, and accesses to the thread
+ * identifiers of the {@link uk.ac.manchester.tornado.api.KernelContext} are read from the context
+ * of the work-item being executed.
+ *
+ * <p>The generated code only refers to types of {@code java.base}, so it does not need to read the
+ * modules of the backend.
+ */
+class JVMKernelRewriter extends ClassVisitor {
+
+  private static final String THREAD = "java/lang/Thread";
+  private static final String CURRENT_THREAD = "currentThread";
+  private static final String CURRENT_THREAD_DESCRIPTOR = "()Ljava/lang/Thread;";
+  private static final String INT_BINARY_OPERATOR = "java/util/function/IntBinaryOperator";
+  private static final String INT_UNARY_OPERATOR = "java/util/function/IntUnaryOperator";
+  private static final String APPLY_AS_INT = "applyAsInt";
+  private static final String INTEGER_DESCRIPTOR = "Ljava/lang/Integer;";
+
+  private final ClassWriter writer;
+  private final String kernelClassName;
+  private final String methodName;
+  private final String methodDescriptor;
+  private final String kernelDescriptor;
+  private final List<JVMParallelLoop> loops;
+  private final boolean kernelContextMode;
+
+  JVMKernelRewriter(
+      ClassWriter writer,
+      String hostInternalName,
+      String kernelClassName,
+      String methodName,
+      String methodDescriptor,
+      boolean isStatic,
+      List<JVMParallelLoop> loops,
+      boolean kernelContextMode) {
+    super(Opcodes.ASM9);
+    this.writer = writer;
+    this.kernelClassName = kernelClassName;
+    this.methodName = methodName;
+    this.methodDescriptor = methodDescriptor;
+    this.kernelDescriptor =
+        isStatic ? methodDescriptor : "(L" + hostInternalName + ";" + methodDescriptor.substring(1);
+    this.loops = loops;
+    this.kernelContextMode = kernelContextMode;
+  }
+
+  @Override
+  public void visit(
+      int version,
+      int access,
+      String name,
+      String signature,
+      String superName,
+      String[] interfaces) {
+    writer.visit(
+        version,
+        Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+        kernelClassName,
+        null,
+        "java/lang/Object",
+        null);
+  }
+
+  @Override
+  public void visitSource(String source, String debug) {
+    writer.visitSource(source, debug);
+  }
+
+  @Override
+  public MethodVisitor visitMethod(
+      int access, String name, String descriptor, String signature, String[] exceptions) {
+    if (!name.equals(methodName) || !descriptor.equals(methodDescriptor)) {
+      return null;
+    }
+    MethodVisitor methodVisitor =
+        writer.visitMethod(
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, name, kernelDescriptor, null, exceptions);
+    return new KernelMethodRewriter(methodVisitor);
+  }
+
+  @Override
+  public void visitEnd() {
+    writer.visitEnd();
+  }
+
+  private JVMParallelLoop findLoop(int slot, int position) {
+    for (JVMParallelLoop loop : loops) {
+      if (loop.slot() == slot && (loop.contains(position) || loop.initPosition() == position)) {
+        return loop;
+      }
+    }
+    return null;
+  }
+
+  private class KernelMethodRewriter extends JVMPositionMethodVisitor {
+
+    KernelMethodRewriter(MethodVisitor methodVisitor) {
+      super(methodVisitor);
+    }
+
+    private void loadWorkerThread(String operatorType) {
+      mv.visitMethodInsn(
+          Opcodes.INVOKESTATIC, THREAD, CURRENT_THREAD, CURRENT_THREAD_DESCRIPTOR, false);
+      mv.visitTypeInsn(Opcodes.CHECKCAST, operatorType);
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int varIndex) {
+      JVMParallelLoop loop = opcode == Opcodes.ISTORE ? findLoop(varIndex, getPosition()) : null;
+      if (loop != null && loop.initPosition() == getPosition()) {
+        // i = worker.applyAsInt(init, step)
+        loadWorkerThread(INT_BINARY_OPERATOR);
+        mv.visitInsn(Opcodes.SWAP);
+        mv.visitLdcInsn(loop.step());
+        mv.visitMethodInsn(
+            Opcodes.INVOKEINTERFACE, INT_BINARY_OPERATOR, APPLY_AS_INT, "(II)I", true);
+        mv.visitVarInsn(Opcodes.ISTORE, varIndex);
+        advance();
+      } else {
+        super.visitVarInsn(opcode, varIndex);
+      }
+    }
+
+    @Override
+    public void visitIincInsn(int varIndex, int increment) {
+      if (findLoop(varIndex, getPosition()) != null) {
+        // i = worker.applyAsInt(i)
+        loadWorkerThread(INT_UNARY_OPERATOR);
+        mv.visitVarInsn(Opcodes.ILOAD, varIndex);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, INT_UNARY_OPERATOR, APPLY_AS_INT, "(I)I", true);
+        mv.visitVarInsn(Opcodes.ISTORE, varIndex);
+        advance();
+      } else {
+        super.visitIincInsn(varIndex, increment);
+      }
+    }
+
+    @Override
+    public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+      final int fieldIndex = JVMKernelContext.fieldIndex(name);
+      if (kernelContextMode
+          && opcode == Opcodes.GETFIELD
+          && owner.equals(JVMKernelAnalyzer.KERNEL_CONTEXT_NAME)
+          && descriptor.equals(INTEGER_DESCRIPTOR)
+          && fieldIndex != -1) {
+        // Integer.valueOf(((IntUnaryOperator) context).applyAsInt(fieldIndex))
+        mv.visitTypeInsn(Opcodes.CHECKCAST, INT_UNARY_OPERATOR);
+        mv.visitLdcInsn(fieldIndex);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, INT_UNARY_OPERATOR, APPLY_AS_INT, "(I)I", true);
+        mv.visitMethodInsn(
+            Opcodes.INVOKESTATIC,
+            "java/lang/Integer",
+            "valueOf",
+            "(I)" + INTEGER_DESCRIPTOR,
+            false);
+        advance();
+      } else {
+        super.visitFieldInsn(opcode, owner, name, descriptor);
+      }
+    }
+
+    @Override
+    public void visitParameter(String name, int access) {
+      // The parameters of instance methods are shifted, so they are not copied
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitAnnotableParameterCount(int parameterCount, boolean visible) {}
+
+    @Override
+    public AnnotationVisitor visitParameterAnnotation(
+        int parameter, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(
+        int typeRef, TypePath typePath, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitInsnAnnotation(
+        int typeRef, TypePath typePath, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitTryCatchAnnotation(
+        int typeRef, TypePath typePath, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitLocalVariableAnnotation(
+        int typeRef,
+        TypePath typePath,
+        Label[] start,
+        Label[] end,
+        int[] index,
+        String descriptor,
+        boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitLocalVariable(
+        String name, String descriptor, String signature, Label start, Label end, int index) {
+      // Debug information of the local variables is not copied
+    }
+  }
+}
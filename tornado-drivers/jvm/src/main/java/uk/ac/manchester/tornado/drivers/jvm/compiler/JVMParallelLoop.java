@@ -0,0 +1,50 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.compiler;
+
+/**
+ * A loop whose induction variable is annotated with {@link
+ * uk.ac.manchester.tornado.api.annotations.Parallel}. Positions are instruction positions as
+ * computed by {@link JVMPositionMethodVisitor}.
+ *
+ * @param slot local variable slot of the induction variable
+ * @param start position of the first instruction in the scope of the induction variable
+ * @param end position of the first instruction after the scope of the induction variable
+ * @param step constant increment of the induction variable
+ */
+record JVMParallelLoop(int slot, int start, int end, int step) {
+
+  /** Position of the {@code ISTORE} that initialises the induction variable. */
+  int initPosition() {
+    return start - 1;
+  }
+
+  boolean contains(int position) {
+    return position >= start && position < end;
+  }
+
+  boolean encloses(JVMParallelLoop other) {
+    return !equals(other) && other.start >= start && other.end <= end;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.mm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+
+/**
+ * Memory manager of the JVM backend. Tasks running on the JVM backend access the host objects
+ * directly, so the device buffers are handles to the host objects. The interpreter passes the
+ * handles as reference arguments, and the installed code resolves them back to the objects.
+ */
+public class JVMMemoryManager implements TornadoMemoryProvider {
+
+  private final AtomicLong nextHandle = new AtomicLong(0);
+  private final Map<Long, Object> objects = new ConcurrentHashMap<>();
+
+  @Override
+  public long getHeapSize() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  public long register(Object object) {
+    final long handle = nextHandle.getAndIncrement();
+    objects.put(handle, object);
+    return handle;
+  }
+
+  public void update(long handle, Object object) {
+    objects.put(handle, object);
+  }
+
+  public Object resolve(long handle) {
+    return objects.get(handle);
+  }
+
+  public void release(long handle) {
+    objects.remove(handle);
+  }
+}
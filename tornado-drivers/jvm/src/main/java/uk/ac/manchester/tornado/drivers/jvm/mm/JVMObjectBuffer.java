@@ -0,0 +1,249 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.mm;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Device buffer of the JVM backend. Without batches, the buffer does not hold a copy of the data:
+ * it registers the host object in the {@link JVMMemoryManager} and all data transfers are no-ops.
+ *
+ * <p>With batches, the kernels must only see the current chunk of the host object. The buffer
+ * registers a staging object of the same type, sized to the chunk, and the data transfers copy the
+ * chunk between the host object and the staging object.
+ */
+public class JVMObjectBuffer implements XPUBuffer {
+
+  private static final long INVALID_HANDLE = -1;
+
+  private final JVMMemoryManager memoryManager;
+  private long handle = INVALID_HANDLE;
+  private long bufferSize;
+  private long subRegionSize;
+  private Object staging;
+
+  public JVMObjectBuffer(JVMMemoryManager memoryManager) {
+    this.memoryManager = memoryManager;
+  }
+
+  private static long elementSizeOf(Object reference) {
+    if (reference instanceof TornadoNativeArray nativeArray) {
+      return nativeArray.getElementSize();
+    } else if (reference.getClass().isArray()
+        && reference.getClass().getComponentType().isPrimitive()) {
+      return switch (reference.getClass().getComponentType().getName()) {
+        case "long", "double" -> Long.BYTES;
+        case "int", "float" -> Integer.BYTES;
+        case "short", "char" -> Short.BYTES;
+        default -> Byte.BYTES;
+      };
+    }
+    return 0;
+  }
+
+  private static long sizeOf(Object reference) {
+    if (reference instanceof TornadoNativeArray nativeArray) {
+      return nativeArray.getNumBytesOfSegment();
+    } else if (reference.getClass().isArray()
+        && reference.getClass().getComponentType().isPrimitive()) {
+      return Array.getLength(reference) * elementSizeOf(reference);
+    }
+    return 0;
+  }
+
+  private static Object newStagingObject(Object reference, long numBytes) {
+    final long elementSize = elementSizeOf(reference);
+    if (elementSize == 0) {
+      throw new TornadoBailoutRuntimeException(
+          "[JVM] Batch processing is not supported for " + reference.getClass().getName());
+    }
+    final int numElements = (int) (numBytes / elementSize);
+    if (reference instanceof TornadoNativeArray) {
+      try {
+        return reference.getClass().getConstructor(int.class).newInstance(numElements);
+      } catch (NoSuchMethodException
+          | InstantiationException
+          | IllegalAccessException
+          | InvocationTargetException e) {
+        throw new TornadoBailoutRuntimeException(
+            "[JVM] Unable to allocate the batch buffer for " + reference.getClass().getName(), e);
+      }
+    }
+    return Array.newInstance(reference.getClass().getComponentType(), numElements);
+  }
+
+  /** Copies {@code numBytes} bytes of data between two arrays of the same type. */
+  private static void copy(
+      Object source, long sourceOffset, Object destination, long destinationOffset, long numBytes) {
+    if (source instanceof TornadoNativeArray sourceArray
+        && destination instanceof TornadoNativeArray destinationArray) {
+      MemorySegment.copy(
+          sourceArray.getSegment(),
+          sourceOffset,
+          destinationArray.getSegment(),
+          destinationOffset,
+          numBytes);
+    } else {
+      final long elementSize = elementSizeOf(source);
+      System.arraycopy(
+          source,
+          (int) (sourceOffset / elementSize),
+          destination,
+          (int) (destinationOffset / elementSize),
+          (int) (numBytes / elementSize));
+    }
+  }
+
+  /** Copies the chunk of the host object that starts at {@code hostOffset} to the staging one. */
+  private void copyIn(Object reference, long hostOffset) {
+    if (staging != null) {
+      final long numBytes = Math.min(sizeOf(staging), sizeOf(reference) - hostOffset);
+      copy(reference, hostOffset, staging, 0, numBytes);
+    }
+  }
+
+  /** Copies the staging object back to the chunk of the host object at {@code hostOffset}. */
+  private void copyOut(Object reference, long hostOffset, long partialReadSize) {
+    if (staging != null) {
+      long numBytes = Math.min(sizeOf(staging), sizeOf(reference) - hostOffset);
+      if (partialReadSize > 0) {
+        numBytes = Math.min(numBytes, partialReadSize);
+      }
+      copy(staging, 0, reference, hostOffset, numBytes);
+    }
+  }
+
+  @Override
+  public long toBuffer() {
+    return handle;
+  }
+
+  @Override
+  public void setBuffer(XPUBufferWrapper bufferWrapper) {}
+
+  @Override
+  public long getBufferOffset() {
+    return 0;
+  }
+
+  @Override
+  public void read(long executionPlanId, Object reference) {
+    copyOut(reference, 0, 0);
+  }
+
+  @Override
+  public int read(
+      long executionPlanId,
+      Object reference,
+      long hostOffset,
+      long partialReadSize,
+      int[] events,
+      boolean useDeps) {
+    copyOut(reference, hostOffset, partialReadSize);
+    return -1;
+  }
+
+  @Override
+  public void write(long executionPlanId, Object reference) {
+    copyIn(reference, 0);
+  }
+
+  @Override
+  public int enqueueRead(
+      long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+    copyOut(reference, hostOffset, 0);
+    return -1;
+  }
+
+  @Override
+  public List<Integer> enqueueWrite(
+      long executionPlanId,
+      Object reference,
+      long batchSize,
+      long hostOffset,
+      int[] events,
+      boolean useDeps) {
+    copyIn(reference, hostOffset);
+    return null;
+  }
+
+  @Override
+  public void allocate(Object reference, long batchSize) {
+    if (batchSize > 0) {
+      staging = newStagingObject(reference, batchSize);
+      handle = memoryManager.register(staging);
+      bufferSize = batchSize;
+    } else {
+      handle = memoryManager.register(reference);
+      bufferSize = sizeOf(reference);
+    }
+  }
+
+  @Override
+  public void markAsFreeBuffer() throws TornadoMemoryException {}
+
+  @Override
+  public long size() {
+    return bufferSize;
+  }
+
+  @Override
+  public void setSizeSubRegion(long batchSize) {
+    this.subRegionSize = batchSize;
+    // The last chunk of a batch can be smaller than the others. Kernels of the JVM backend take
+    // their loop bounds from the size of the objects, so the staging object is resized to the
+    // chunk.
+    if (staging != null && batchSize > 0 && sizeOf(staging) != batchSize) {
+      staging = newStagingObject(staging, batchSize);
+      memoryManager.update(handle, staging);
+    }
+  }
+
+  @Override
+  public long getSizeSubRegionSize() {
+    return subRegionSize;
+  }
+
+  @Override
+  public long deallocate() {
+    if (handle != INVALID_HANDLE) {
+      memoryManager.release(handle);
+      handle = INVALID_HANDLE;
+    }
+    staging = null;
+    return bufferSize;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("buffer<jvm> handle=%d, size=%d", handle, bufferSize);
+  }
+}
@@ -0,0 +1,347 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext;
+import uk.ac.manchester.tornado.drivers.jvm.JVMEvent;
+import uk.ac.manchester.tornado.drivers.jvm.compiler.JVMCompiledKernel;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
+
+/**
+ * Code installed in the JVM backend. Kernels run synchronously in the worker threads of the device
+ * context, so the events registered by the launches are already complete.
+ */
+public class JVMInstalledCode implements TornadoInstalledCode {
+
+  private static final int NO_KERNEL_CONTEXT = -1;
+
+  private final String name;
+  private final JVMCompiledKernel kernel;
+  private final JVMDeviceContext deviceContext;
+  private boolean valid;
+
+  public JVMInstalledCode(String name, JVMCompiledKernel kernel, JVMDeviceContext deviceContext) {
+    this.name = name;
+    this.kernel = kernel;
+    this.deviceContext = deviceContext;
+    this.valid = true;
+  }
+
+  private static void invoke(MethodHandle handle, Object[] arguments) {
+    try {
+      handle.invokeExact(arguments);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new TornadoBailoutRuntimeException("[JVM] Error running the kernel", (Exception) t);
+    }
+  }
+
+  private static long[] toDimensions(long[] values, long defaultValue) {
+    long[] dimensions = {defaultValue, defaultValue, defaultValue};
+    if (values != null) {
+      System.arraycopy(values, 0, dimensions, 0, Math.min(values.length, 3));
+    }
+    return dimensions;
+  }
+
+  private Object[] resolveArguments(KernelStackFrame stackFrame) {
+    List<KernelStackFrame.CallArgument> callArguments = stackFrame.getCallArguments();
+    Object[] arguments = new Object[callArguments.size()];
+    for (int i = 0; i < arguments.length; i++) {
+      KernelStackFrame.CallArgument argument = callArguments.get(i);
+      if (argument.isReferenceType()) {
+        arguments[i] = deviceContext.getMemoryManager().resolve(argument.getReference());
+      } else {
+        arguments[i] = argument.getValue();
+      }
+    }
+    return arguments;
+  }
+
+  private static int findKernelContext(KernelStackFrame stackFrame) {
+    List<KernelStackFrame.CallArgument> callArguments = stackFrame.getCallArguments();
+    for (int i = 0; i < callArguments.size(); i++) {
+      KernelStackFrame.CallArgument argument = callArguments.get(i);
+      if (!argument.isReferenceType()
+          && argument.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+        return i;
+      }
+    }
+    return NO_KERNEL_CONTEXT;
+  }
+
+  /** Waits for all workers and propagates the first failure, if any. */
+  private static void join(List<Future<?>> futures) {
+    RuntimeException failure = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof RuntimeException runtimeException
+                  ? runtimeException
+                  : new TornadoBailoutRuntimeException("[JVM] Error running the kernel", e);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = new TornadoBailoutRuntimeException("[JVM] Kernel interrupted", e);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void runParallelLoops(Object[] arguments, TaskDataContext meta) {
+    int numWorkers = TornadoOptions.JVM_BACKEND_THREADS;
+    int blockSize = TornadoOptions.JVM_BACKEND_BLOCK_SIZE;
+    if (meta.isWorkerGridAvailable()) {
+      WorkerGrid grid = meta.getWorkerGrid(meta.getId());
+      long totalThreads = 1;
+      for (long threads : grid.getGlobalWork()) {
+        totalThreads *= threads;
+      }
+      numWorkers = (int) Math.max(1, Math.min(numWorkers, totalThreads));
+      if (grid.getLocalWork() != null) {
+        blockSize = (int) Math.max(1, grid.getLocalWork()[0]);
+      }
+    }
+
+    final int workers = numWorkers;
+    final int block = blockSize;
+    List<Future<?>> futures = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      final int workerIndex = i;
+      futures.add(
+          deviceContext
+              .getWorkerPool()
+              .submit(
+                  () -> {
+                    ((JVMWorkerThread) Thread.currentThread())
+                        .setPartition(workerIndex, workers, block);
+                    invoke(kernel.handle(), arguments);
+                  }));
+    }
+    join(futures);
+  }
+
+  private void runKernel(Object[] arguments, int contextIndex, TaskDataContext meta) {
+    long[] globalSize = {1, 1, 1};
+    long[] localSize = {1, 1, 1};
+    if (meta.isWorkerGridAvailable()) {
+      WorkerGrid grid = meta.getWorkerGrid(meta.getId());
+      globalSize = toDimensions(grid.getGlobalWork(), 1);
+      localSize = toDimensions(grid.getLocalWork(), 1);
+    }
+
+    final long[] numGroups = new long[3];
+    long totalGroups = 1;
+    for (int i = 0; i < 3; i++) {
+      numGroups[i] = (globalSize[i] + localSize[i] - 1) / localSize[i];
+      totalGroups *= numGroups[i];
+    }
+
+    final long[] global = globalSize;
+    final long[] local = localSize;
+    final long groups = totalGroups;
+    final AtomicLong nextGroup = new AtomicLong(0);
+    final int numWorkers = (int) Math.min(TornadoOptions.JVM_BACKEND_THREADS, totalGroups);
+    List<Future<?>> futures = new ArrayList<>(numWorkers);
+    for (int i = 0; i < numWorkers; i++) {
+      futures.add(
+          deviceContext
+              .getWorkerPool()
+              .submit(
+                  () -> {
+                    long group;
+                    while ((group = nextGroup.getAndIncrement()) < groups) {
+                      int[] groupId = {
+                        (int) (group % numGroups[0]),
+                        (int) ((group / numGroups[0]) % numGroups[1]),
+                        (int) (group / (numGroups[0] * numGroups[1]))
+                      };
+                      int[] numItems = new int[3];
+                      for (int d = 0; d < 3; d++) {
+                        numItems[d] = (int) Math.min(local[d], global[d] - groupId[d] * local[d]);
+                      }
+                      runWorkGroup(
+                          new JVMWorkGroup(groupId, numItems, kernel.usesBarriers()),
+                          arguments,
+                          contextIndex,
+                          global,
+                          local);
+                    }
+                  }));
+    }
+    join(futures);
+  }
+
+  /**
+   * Runs the work-items of a work-group. Without barriers, the work-items run one after the other
+   * in the worker thread. With barriers, each work-item runs in its own virtual thread.
+   */
+  private void runWorkGroup(
+      JVMWorkGroup workGroup,
+      Object[] arguments,
+      int contextIndex,
+      long[] globalSize,
+      long[] localSize) {
+    if (!kernel.usesBarriers()) {
+      JVMKernelContext context = new JVMKernelContext(globalSize, localSize);
+      Object[] itemArguments = arguments.clone();
+      itemArguments[contextIndex] = context;
+      for (int z = 0; z < workGroup.getNumItems(2); z++) {
+        for (int y = 0; y < workGroup.getNumItems(1); y++) {
+          for (int x = 0; x < workGroup.getNumItems(0); x++) {
+            context.setWorkItem(workGroup, x, y, z);
+            invoke(kernel.handle(), itemArguments);
+          }
+        }
+      }
+      return;
+    }
+
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    List<Thread> workItems = new ArrayList<>(workGroup.getNumItems());
+    for (int z = 0; z < workGroup.getNumItems(2); z++) {
+      for (int y = 0; y < workGroup.getNumItems(1); y++) {
+        for (int x = 0; x < workGroup.getNumItems(0); x++) {
+          JVMKernelContext context = new JVMKernelContext(globalSize, localSize);
+          context.setWorkItem(workGroup, x, y, z);
+          Object[] itemArguments = arguments.clone();
+          itemArguments[contextIndex] = context;
+          workItems.add(
+              Thread.ofVirtual()
+                  .start(
+                      () -> {
+                        try {
+                          invoke(kernel.handle(), itemArguments);
+                        } catch (RuntimeException e) {
+                          failure.compareAndSet(null, e);
+                          workGroup.abort();
+                        }
+                      }));
+        }
+      }
+    }
+    for (Thread workItem : workItems) {
+      try {
+        workItem.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TornadoBailoutRuntimeException("[JVM] Kernel interrupted", e);
+      }
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  /**
+   * The atomic operations of the {@link JVMKernelContext} do not record the elements they update,
+   * so the native arrays of a kernel that uses them are marked as modified once, after all the
+   * work-items complete.
+   */
+  private static void markNativeArrays(Object[] arguments) {
+    for (Object argument : arguments) {
+      if (argument instanceof TornadoNativeArray nativeArray) {
+        nativeArray.markDirty();
+      }
+    }
+  }
+
+  private void updateProfiler(TaskDataContext meta, JVMEvent event) {
+    if (TornadoOptions.isProfilerEnabled()) {
+      long timer = meta.getProfiler().getTimer(ProfilerType.TOTAL_KERNEL_TIME);
+      // Register globalTime
+      meta.getProfiler().setTimer(ProfilerType.TOTAL_KERNEL_TIME, timer + event.getElapsedTime());
+      // Register the time for the task
+      meta.getProfiler()
+          .setTaskTimer(ProfilerType.TASK_KERNEL_TIME, meta.getId(), event.getElapsedTime());
+    }
+  }
+
+  @Override
+  public int launchWithDependencies(
+      long executionPlanId,
+      KernelStackFrame callWrapper,
+      XPUBuffer atomicSpace,
+      TaskDataContext meta,
+      long batchThreads,
+      int[] waitEvents) {
+    // Previous commands of the JVM backend complete before returning, so there is nothing to wait
+    return launchWithoutDependencies(executionPlanId, callWrapper, atomicSpace, meta, batchThreads);
+  }
+
+  @Override
+  public int launchWithoutDependencies(
+      long executionPlanId,
+      KernelStackFrame callWrapper,
+      XPUBuffer atomicSpace,
+      TaskDataContext meta,
+      long batchThreads) {
+    final Object[] arguments = resolveArguments(callWrapper);
+    final long startTime = System.nanoTime();
+    switch (kernel.mode()) {
+      case SEQUENTIAL -> invoke(kernel.handle(), arguments);
+      case PARALLEL_LOOP -> runParallelLoops(arguments, meta);
+      case KERNEL -> {
+        runKernel(arguments, findKernelContext(callWrapper), meta);
+        if (kernel.usesAtomics()) {
+          markNativeArrays(arguments);
+        }
+      }
+    }
+    final JVMEvent event = new JVMEvent(name, startTime, System.nanoTime());
+    updateProfiler(meta, event);
+    return deviceContext.registerEvent(executionPlanId, event);
+  }
+
+  @Override
+  public boolean isValid() {
+    return valid;
+  }
+
+  @Override
+  public void invalidate() {
+    valid = false;
+  }
+}
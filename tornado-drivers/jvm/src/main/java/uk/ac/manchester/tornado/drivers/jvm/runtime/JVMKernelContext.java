@@ -0,0 +1,145 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * {@link KernelContext} of a work-item run by the JVM backend. The kernels compiled by the backend
+ * read the thread identifiers through {@link #applyAsInt(int)}, using the index of the field
+ * returned by {@link #fieldIndex(String)}.
+ */
+public class JVMKernelContext extends KernelContext implements IntUnaryOperator {
+
+  private static final List<String> FIELDS =
+      List.of(
+          "globalIdx",
+          "globalIdy",
+          "globalIdz",
+          "groupIdx",
+          "groupIdy",
+          "groupIdz",
+          "localIdx",
+          "localIdy",
+          "localIdz",
+          "globalGroupSizeX",
+          "globalGroupSizeY",
+          "globalGroupSizeZ",
+          "localGroupSizeX",
+          "localGroupSizeY",
+          "localGroupSizeZ");
+
+  private static final int GLOBAL_ID = 0;
+  private static final int GROUP_ID = 3;
+  private static final int LOCAL_ID = 6;
+  private static final int GLOBAL_SIZE = 9;
+  private static final int LOCAL_SIZE = 12;
+
+  private final int[] values = new int[FIELDS.size()];
+  private JVMWorkGroup workGroup;
+  private int localArrayIndex;
+
+  JVMKernelContext(long[] globalSize, long[] localSize) {
+    for (int i = 0; i < 3; i++) {
+      values[GLOBAL_SIZE + i] = (int) globalSize[i];
+      values[LOCAL_SIZE + i] = (int) localSize[i];
+    }
+  }
+
+  /**
+   * @param name name of a field of the {@link KernelContext}
+   * @return the index of the field, or -1 if it is not a thread identifier.
+   */
+  public static int fieldIndex(String name) {
+    return FIELDS.indexOf(name);
+  }
+
+  void setWorkItem(JVMWorkGroup workGroup, int localIdx, int localIdy, int localIdz) {
+    this.workGroup = workGroup;
+    this.localArrayIndex = 0;
+    values[LOCAL_ID] = localIdx;
+    values[LOCAL_ID + 1] = localIdy;
+    values[LOCAL_ID + 2] = localIdz;
+    for (int i = 0; i < 3; i++) {
+      values[GROUP_ID + i] = workGroup.getGroupId(i);
+      values[GLOBAL_ID + i] = values[GROUP_ID + i] * values[LOCAL_SIZE + i] + values[LOCAL_ID + i];
+    }
+  }
+
+  @Override
+  public int applyAsInt(int fieldIndex) {
+    return values[fieldIndex];
+  }
+
+  /**
+   * The work-items of a work-group run in their own threads, so each of them forms a subgroup of
+   * size one and the subgroup identifier is the linear local identifier.
+   */
+  @Override
+  public int subgroupId() {
+    return values[LOCAL_ID]
+        + values[LOCAL_SIZE]
+            * (values[LOCAL_ID + 1] + values[LOCAL_SIZE + 1] * values[LOCAL_ID + 2]);
+  }
+
+  /**
+   * The work-items of a kernel update the same elements from several threads, so {@link
+   * JVMInstalledCode} marks the native arrays of the kernel once it completes.
+   */
+  @Override
+  protected void markAtomicWrite(TornadoNativeArray array, int index) {}
+
+  @Override
+  public void localBarrier() {
+    workGroup.await();
+  }
+
+  @Override
+  public void globalBarrier() {
+    workGroup.await();
+  }
+
+  @Override
+  public int[] allocateIntLocalArray(int size) {
+    return (int[]) workGroup.getLocalArray(localArrayIndex++, size, int[]::new);
+  }
+
+  @Override
+  public long[] allocateLongLocalArray(int size) {
+    return (long[]) workGroup.getLocalArray(localArrayIndex++, size, long[]::new);
+  }
+
+  @Override
+  public float[] allocateFloatLocalArray(int size) {
+    return (float[]) workGroup.getLocalArray(localArrayIndex++, size, float[]::new);
+  }
+
+  @Override
+  public double[] allocateDoubleLocalArray(int size) {
+    return (double[]) workGroup.getLocalArray(localArrayIndex++, size, double[]::new);
+  }
+}
@@ -0,0 +1,493 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.drivers.jvm.JVMBackendImpl;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDevice;
+import uk.ac.manchester.tornado.drivers.jvm.JVMDeviceContext;
+import uk.ac.manchester.tornado.drivers.jvm.JVMEvent;
+import uk.ac.manchester.tornado.drivers.jvm.compiler.JVMCompiledKernel;
+import uk.ac.manchester.tornado.drivers.jvm.compiler.JVMKernelCompiler;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMKernelStackFrame;
+import uk.ac.manchester.tornado.drivers.jvm.mm.JVMObjectBuffer;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
+
+/**
+ * Device of the JVM backend. Data stays in the Java heap, so buffers only register the objects with
+ * the {@link uk.ac.manchester.tornado.drivers.jvm.mm.JVMMemoryManager} and data transfers are
+ * no-ops.
+ */
+public class JVMTornadoDevice implements TornadoXPUDevice {
+
+  private final JVMDeviceContext deviceContext;
+  private final JVMDevice device;
+  private final TornadoLogger logger;
+
+  public JVMTornadoDevice(JVMDeviceContext deviceContext) {
+    this.deviceContext = deviceContext;
+    this.device = deviceContext.getDevice();
+    this.logger = new TornadoLogger(this.getClass());
+  }
+
+  @Override
+  public TornadoSchedulingStrategy getPreferredSchedule() {
+    return TornadoSchedulingStrategy.PER_CPU_BLOCK;
+  }
+
+  @Override
+  public KernelStackFrame createKernelStackFrame(long executionPlanId, int numArgs) {
+    return new JVMKernelStackFrame(numArgs);
+  }
+
+  @Override
+  public XPUBuffer createOrReuseAtomicsBuffer(int[] arr) {
+    return null;
+  }
+
+  @Override
+  public int[] checkAtomicsForTask(SchedulableTask task) {
+    return null;
+  }
+
+  @Override
+  public int[] checkAtomicsForTask(
+      SchedulableTask task, int[] array, int paramIndex, Object value) {
+    return null;
+  }
+
+  @Override
+  public int[] updateAtomicRegionAndObjectState(
+      SchedulableTask task,
+      int[] array,
+      int paramIndex,
+      Object value,
+      XPUDeviceBufferState objectState) {
+    return null;
+  }
+
+  @Override
+  public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
+    return -1;
+  }
+
+  @Override
+  public boolean checkAtomicsParametersForTask(SchedulableTask task) {
+    return false;
+  }
+
+  @Override
+  public TornadoInstalledCode installCode(SchedulableTask task) {
+    return switch (task) {
+      case CompilableTask _ -> compileTask(task);
+      case PrebuiltTask _ ->
+          throw new TornadoBailoutRuntimeException(
+              "[JVM] Prebuilt tasks are not supported by the JVM backend");
+      default ->
+          throw new TornadoInternalError(
+              "task of unknown type: " + task.getClass().getSimpleName());
+    };
+  }
+
+  /**
+   * Name of the method in the code cache. Kernels run the Java method itself, so overloads with the
+   * same task name must not share an entry.
+   */
+  private static String cacheName(ResolvedJavaMethod method) {
+    return method.format("%H.%n(%p)");
+  }
+
+  private TornadoInstalledCode compileTask(SchedulableTask task) {
+    TornadoProfiler profiler = task.getProfiler();
+    final CompilableTask executable = (CompilableTask) task;
+    final ResolvedJavaMethod resolvedMethod =
+        TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
+    final Sketch sketch =
+        TornadoSketcher.lookup(
+            resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+
+    // copy meta data into task
+    final TaskDataContext taskMeta = executable.meta();
+    final Access[] sketchAccess = sketch.getArgumentsAccess();
+    final Access[] taskAccess = taskMeta.getArgumentsAccess();
+    System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+    // The kernels receive the scalar arguments on each call
+    taskMeta.markNoScalarArgumentFolded();
+
+    // The kernels of the JVM backend run the Java code on the chunk of each batch, so the loop
+    // index cannot be offset by the position of the batch, as the other backends do
+    if (task.getBatchSize() > 0 && sketch.getBatchWriteThreadIndex()) {
+      throw new TornadoBailoutRuntimeException(
+          "[JVM] Batches of tasks that write the loop index are not supported: " + task.getId());
+    }
+
+    final String methodName = cacheName(resolvedMethod);
+    if (deviceContext.isCached(methodName, executable)) {
+      return deviceContext.getInstalledCode(methodName, executable);
+    }
+
+    try {
+      // The bytecode rewriting of the JVM backend takes the place of the Tornado compiler
+      profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+      final JVMCompiledKernel kernel = JVMKernelCompiler.compile(executable.getMethod());
+      profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
+      profiler.sum(
+          ProfilerType.TOTAL_GRAAL_COMPILE_TIME,
+          profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
+
+      profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+      JVMInstalledCode installedCode = new JVMInstalledCode(task.getId(), kernel, deviceContext);
+      deviceContext.installCode(methodName, executable, installedCode);
+      profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+      profiler.sum(
+          ProfilerType.TOTAL_DRIVER_COMPILE_TIME,
+          profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+      return installedCode;
+    } catch (Exception e) {
+      if (TornadoOptions.DEBUG) {
+        System.err.println(e.getMessage());
+      }
+      logger.fatal("unable to compile %s for device %s\n", task.getId(), getDeviceName());
+      throw new TornadoBailoutRuntimeException("[Error During the Task Compilation] ", e);
+    }
+  }
+
+  @Override
+  public boolean isFullJITMode(SchedulableTask task) {
+    return true;
+  }
+
+  @Override
+  public TornadoInstalledCode getCodeFromCache(SchedulableTask task) {
+    CompilableTask compilableTask = (CompilableTask) task;
+    ResolvedJavaMethod resolvedMethod =
+        TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
+    return deviceContext.getInstalledCode(cacheName(resolvedMethod), task);
+  }
+
+  @Override
+  public synchronized long allocateObjects(
+      Object[] objects, long batchSize, DeviceBufferState[] states) {
+    long allocatedSpace = 0;
+    for (int i = 0; i < objects.length; i++) {
+      allocatedSpace += allocate(objects[i], batchSize, states[i]);
+    }
+    return allocatedSpace;
+  }
+
+  @Override
+  public long allocate(Object object, long batchSize, DeviceBufferState state) {
+    if (state.hasObjectBuffer() && state.isLockedBuffer()) {
+      if (batchSize != 0) {
+        state.getXPUBuffer().setSizeSubRegion(batchSize);
+      }
+    } else {
+      if (state.hasObjectBuffer()) {
+        // Release the handle of the replaced buffer
+        state.getXPUBuffer().deallocate();
+      }
+      final XPUBuffer buffer = new JVMObjectBuffer(deviceContext.getMemoryManager());
+      state.setXPUBuffer(buffer);
+      buffer.allocate(object, batchSize);
+    }
+    return state.getXPUBuffer().size();
+  }
+
+  @Override
+  public synchronized long deallocate(DeviceBufferState deviceBufferState) {
+    if (deviceBufferState.isLockedBuffer()) {
+      return 0;
+    }
+    long deallocatedSpace = deviceBufferState.getXPUBuffer().deallocate();
+    deviceBufferState.setContents(false);
+    deviceBufferState.setXPUBuffer(null);
+    return deallocatedSpace;
+  }
+
+  @Override
+  public List<Integer> ensurePresent(
+      long executionPlanId,
+      Object object,
+      DeviceBufferState objectState,
+      int[] events,
+      long batchSize,
+      long hostOffset) {
+    if (!objectState.hasContent()) {
+      objectState.setContents(true);
+      return objectState
+          .getXPUBuffer()
+          .enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events == null);
+    }
+    return null;
+  }
+
+  @Override
+  public List<Integer> streamIn(
+      long executionPlanId,
+      Object object,
+      long batchSize,
+      long hostOffset,
+      DeviceBufferState objectState,
+      int[] events) {
+    objectState.setContents(true);
+    return objectState
+        .getXPUBuffer()
+        .enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events == null);
+  }
+
+  @Override
+  public int streamOut(
+      long executionPlanId,
+      Object object,
+      long hostOffset,
+      DeviceBufferState objectState,
+      int[] events) {
+    TornadoInternalError.guarantee(objectState.hasObjectBuffer(), "invalid variable");
+    return objectState
+        .getXPUBuffer()
+        .enqueueRead(executionPlanId, object, hostOffset, events, events == null);
+  }
+
+  @Override
+  public int streamOutBlocking(
+      long executionPlanId,
+      Object object,
+      long hostOffset,
+      DeviceBufferState objectState,
+      int[] events) {
+    TornadoInternalError.guarantee(objectState.hasObjectBuffer(), "invalid variable");
+    return objectState
+        .getXPUBuffer()
+        .read(
+            executionPlanId,
+            object,
+            hostOffset,
+            objectState.getPartialCopySize(),
+            events,
+            events == null);
+  }
+
+  @Override
+  public Event resolveEvent(long executionPlanId, int event) {
+    return deviceContext.resolveEvent(executionPlanId, event);
+  }
+
+  @Override
+  public void ensureLoaded(long executionPlanId) {}
+
+  @Override
+  public void flushEvents(long executionPlanId) {}
+
+  private int registerMarker(long executionPlanId, String name) {
+    final long time = System.nanoTime();
+    return deviceContext.registerEvent(executionPlanId, new JVMEvent(name, time, time));
+  }
+
+  @Override
+  public int enqueueBarrier(long executionPlanId) {
+    return registerMarker(executionPlanId, "barrier");
+  }
+
+  @Override
+  public int enqueueBarrier(long executionPlanId, int[] events) {
+    return registerMarker(executionPlanId, "barrier");
+  }
+
+  @Override
+  public int enqueueMarker(long executionPlanId) {
+    return registerMarker(executionPlanId, "marker");
+  }
+
+  @Override
+  public int enqueueMarker(long executionPlanId, int[] events) {
+    return registerMarker(executionPlanId, "marker");
+  }
+
+  @Override
+  public void sync(long executionPlanId) {}
+
+  @Override
+  public void flush(long executionPlanId) {}
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof JVMTornadoDevice other) {
+      return other.device.getDeviceIndex() == device.getDeviceIndex();
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 11;
+    hash = 89 * hash + device.getDeviceIndex();
+    return hash;
+  }
+
+  @Override
+  public void clean() {
+    // Reset only the execution plans attached to the JVM backend.
+    Set<Long> ids = new HashSet<>(deviceContext.getRegisteredPlanIds());
+    ids.forEach(deviceContext::reset);
+    ids.clear();
+    TornadoOptions.TORNADO_PROFILER_LOG = false;
+    TornadoOptions.TORNADO_PROFILER = false;
+  }
+
+  @Override
+  public void dumpEvents(long executionPlanId) {}
+
+  @Override
+  public String getDeviceName() {
+    return "jvm-" + device.getDeviceIndex();
+  }
+
+  @Override
+  public String getDescription() {
+    return String.format("%s %s", device.getDeviceName(), getDeviceType());
+  }
+
+  @Override
+  public String getPlatformName() {
+    return "JVM";
+  }
+
+  @Override
+  public JVMDeviceContext getDeviceContext() {
+    return deviceContext;
+  }
+
+  @Override
+  public TornadoTargetDevice getPhysicalDevice() {
+    return device;
+  }
+
+  @Override
+  public TornadoMemoryProvider getMemoryProvider() {
+    return deviceContext.getMemoryManager();
+  }
+
+  @Override
+  public TornadoDeviceType getDeviceType() {
+    return TornadoDeviceType.CPU;
+  }
+
+  @Override
+  public long getMaxAllocMemory() {
+    return device.getDeviceMaxAllocationSize();
+  }
+
+  @Override
+  public long getMaxGlobalMemory() {
+    return device.getDeviceGlobalMemorySize();
+  }
+
+  @Override
+  public long getDeviceLocalMemorySize() {
+    return device.getDeviceLocalMemorySize();
+  }
+
+  @Override
+  public long[] getDeviceMaxWorkgroupDimensions() {
+    return device.getDeviceMaxWorkItemSizes();
+  }
+
+  @Override
+  public String getDeviceOpenCLCVersion() {
+    return "N/A";
+  }
+
+  @Override
+  public Object getDeviceInfo() {
+    return device.getDeviceInfo();
+  }
+
+  @Override
+  public int getBackendIndex() {
+    return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(JVMBackendImpl.class);
+  }
+
+  @Override
+  public int getAvailableProcessors() {
+    return TornadoOptions.JVM_BACKEND_THREADS;
+  }
+
+  @Override
+  public Object getAtomic() {
+    return null;
+  }
+
+  @Override
+  public void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics) {}
+
+  @Override
+  public TornadoVMBackendType getTornadoVMBackend() {
+    return TornadoVMBackendType.JVM;
+  }
+
+  @Override
+  public boolean isSPIRVSupported() {
+    return false;
+  }
+
+  @Override
+  public void enableThreadSharing() {}
+
+  @Override
+  public void setAtomicRegion(XPUBuffer bufferAtomics) {}
+
+  @Override
+  public String toString() {
+    return getPlatformName() + " -- " + device.getDeviceName();
+  }
+}
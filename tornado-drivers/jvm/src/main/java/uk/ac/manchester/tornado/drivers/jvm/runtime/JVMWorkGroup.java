@@ -0,0 +1,90 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.IntFunction;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/** State shared by the work-items of a work-group of a kernel run by the JVM backend. */
+class JVMWorkGroup {
+
+  private final int[] groupId;
+  private final int[] numItems;
+  private final List<Object> localArrays;
+  private final CyclicBarrier barrier;
+
+  JVMWorkGroup(int[] groupId, int[] numItems, boolean usesBarriers) {
+    this.groupId = groupId;
+    this.numItems = numItems;
+    this.localArrays = new ArrayList<>();
+    this.barrier = usesBarriers ? new CyclicBarrier(getNumItems()) : null;
+  }
+
+  int getGroupId(int dimension) {
+    return groupId[dimension];
+  }
+
+  int getNumItems(int dimension) {
+    return numItems[dimension];
+  }
+
+  int getNumItems() {
+    return numItems[0] * numItems[1] * numItems[2];
+  }
+
+  /**
+   * Returns the local array allocated by the work-items of the group in the given order. The first
+   * work-item that reaches an allocation creates the array.
+   */
+  synchronized Object getLocalArray(int index, int size, IntFunction<Object> allocator) {
+    if (index < localArrays.size()) {
+      return localArrays.get(index);
+    }
+    Object array = allocator.apply(size);
+    localArrays.add(array);
+    return array;
+  }
+
+  void await() {
+    if (barrier == null) {
+      return;
+    }
+    try {
+      barrier.await();
+    } catch (InterruptedException | BrokenBarrierException e) {
+      throw new TornadoRuntimeException(e);
+    }
+  }
+
+  /** Releases the work-items waiting in the barrier after a failure in one of them. */
+  void abort() {
+    if (barrier != null) {
+      barrier.reset();
+    }
+  }
+}
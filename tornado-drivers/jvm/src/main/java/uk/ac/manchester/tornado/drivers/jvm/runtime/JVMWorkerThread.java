@@ -0,0 +1,108 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.jvm.runtime;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Worker thread of the JVM backend. Kernels with parallel loops obtain the values of the induction
+ * variable from the thread that runs them: {@link #applyAsInt(int, int)} starts a loop and {@link
+ * #applyAsInt(int)} moves to the next iteration. Iterations are assigned in blocks of {@code
+ * blockSize} consecutive iterations, in a round-robin fashion across the workers.
+ */
+public final class JVMWorkerThread extends Thread implements IntBinaryOperator, IntUnaryOperator {
+
+  private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+  private int workerIndex;
+  private int numWorkers = 1;
+  private int blockSize = 1;
+
+  private int init;
+  private int step;
+  private long iteration;
+  private long blockEnd;
+
+  public JVMWorkerThread(Runnable runnable) {
+    super(runnable, "tornado-jvm-worker-" + threadCounter.getAndIncrement());
+    setDaemon(true);
+  }
+
+  /**
+   * Sets the partition of the iteration space for the next kernel run by this thread.
+   *
+   * @param workerIndex index of this worker within the kernel launch
+   * @param numWorkers number of workers that run the kernel
+   * @param blockSize number of consecutive iterations assigned to a worker at a time
+   */
+  public void setPartition(int workerIndex, int numWorkers, int blockSize) {
+    this.workerIndex = workerIndex;
+    this.numWorkers = numWorkers;
+    this.blockSize = blockSize;
+  }
+
+  private int valueOf(long logicalIteration) {
+    long value = init + logicalIteration * step;
+    if (value > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    } else if (value < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return (int) value;
+  }
+
+  /**
+   * Starts a parallel loop.
+   *
+   * @param init initial value of the induction variable
+   * @param step increment of the induction variable
+   * @return the first value of the induction variable for this worker
+   */
+  @Override
+  public int applyAsInt(int init, int step) {
+    this.init = init;
+    this.step = step;
+    this.iteration = (long) workerIndex * blockSize;
+    this.blockEnd = iteration + blockSize;
+    return valueOf(iteration);
+  }
+
+  /**
+   * Moves to the next iteration of the current parallel loop.
+   *
+   * @param current current value of the induction variable
+   * @return the next value of the induction variable for this worker
+   */
+  @Override
+  public int applyAsInt(int current) {
+    iteration++;
+    if (iteration == blockEnd) {
+      iteration += (long) (numWorkers - 1) * blockSize;
+      blockEnd = iteration + blockSize;
+    }
+    return valueOf(iteration);
+  }
+}
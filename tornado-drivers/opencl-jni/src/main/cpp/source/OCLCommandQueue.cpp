@@ -152,6 +152,57 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQu
     }
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueMapBuffer
+ * Signature: (JJZJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueMapBuffer
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer, jboolean blocking, jlong map_flags, jlong offset, jlong size, jlongArray array) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_int status;
+    void *hostPointer = clEnqueueMapBuffer((cl_command_queue) queue_id,
+                                           (cl_mem) buffer,
+                                           blocking ? CL_TRUE : CL_FALSE,
+                                           (cl_map_flags) map_flags,
+                                           (size_t) offset,
+                                           (size_t) size,
+                                           (cl_uint) len,
+                                           (cl_event *) events,
+                                           NULL,
+                                           &status);
+    LOG_OCL_AND_VALIDATE("clEnqueueMapBuffer", status);
+
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) hostPointer;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueUnmapMemObject
+ * Signature: (JJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer, jlong mapped_pointer, jlongArray array) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_event event;
+    cl_int status = clEnqueueUnmapMemObject((cl_command_queue) queue_id, (cl_mem) buffer, (void *) mapped_pointer, len, (cl_event *) events, &event);
+    LOG_OCL_AND_VALIDATE("clEnqueueUnmapMemObject", status);
+
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
  * Method:    clEnqueueMarkerWithWaitList
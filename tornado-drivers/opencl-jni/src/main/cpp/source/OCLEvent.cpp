@@ -34,6 +34,7 @@
 
 #endif
 
+#include <cstdlib>
 #include <iostream>
 #include "OCLEvent.h"
 #include "ocl_log.h"
@@ -97,3 +98,68 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clR
     cl_int status = clReleaseEvent((const cl_event) event);
     LOG_OCL_AND_VALIDATE("clReleaseEvent", status);
 }
+
+/*
+    Java callback to invoke when an event is resolved.
+
+    vm          -- virtual machine the callback belongs to
+    callback    -- global reference to a java.lang.Runnable
+*/
+typedef struct completion_callback {
+    JavaVM *vm;
+    jobject callback;
+} CompletionCallback;
+
+/*
+    Invoked by the OpenCL driver, from one of its own threads, once the event is complete or has failed.
+    The thread is attached to the JVM as a daemon thread and is not detached, since driver threads are reused.
+*/
+static void CL_CALLBACK notify_completion(cl_event event, cl_int event_status, void *user_data) {
+    CompletionCallback *completion = static_cast<CompletionCallback *>(user_data);
+    JNIEnv *env;
+    if (completion->vm->AttachCurrentThreadAsDaemon(reinterpret_cast<void **>(&env), NULL) == JNI_OK) {
+        jclass klass = env->GetObjectClass(completion->callback);
+        jmethodID run = env->GetMethodID(klass, "run", "()V");
+        env->CallVoidMethod(completion->callback, run);
+        if (env->ExceptionCheck()) {
+            env->ExceptionDescribe();
+            env->ExceptionClear();
+        }
+        env->DeleteLocalRef(klass);
+        env->DeleteGlobalRef(completion->callback);
+    }
+    clReleaseEvent(event);
+    free(completion);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLEvent
+ * Method:    clSetEventCallback
+ * Signature: (JLjava/lang/Runnable;)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clSetEventCallback
+        (JNIEnv *env, jclass clazz, jlong event_id, jobject callback) {
+    CompletionCallback *completion = static_cast<CompletionCallback *>(malloc(sizeof(CompletionCallback)));
+    if (completion == NULL || env->GetJavaVM(&completion->vm) != JNI_OK) {
+        free(completion);
+        return CL_OUT_OF_HOST_MEMORY;
+    }
+    completion->callback = env->NewGlobalRef(callback);
+
+    // The event pool may release the event before it is resolved
+    cl_event event = (cl_event) event_id;
+    cl_int status = clRetainEvent(event);
+    LOG_OCL_AND_VALIDATE("clRetainEvent", status);
+    if (status == CL_SUCCESS) {
+        status = clSetEventCallback(event, CL_COMPLETE, notify_completion, completion);
+        LOG_OCL_AND_VALIDATE("clSetEventCallback", status);
+        if (status != CL_SUCCESS) {
+            clReleaseEvent(event);
+        }
+    }
+    if (status != CL_SUCCESS) {
+        env->DeleteGlobalRef(completion->callback);
+        free(completion);
+    }
+    return status;
+}
@@ -64,6 +64,14 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clW
 JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clReleaseEvent
         (JNIEnv *, jclass, jlong);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLEvent
+ * Method:    clSetEventCallback
+ * Signature: (JLjava/lang/Runnable;)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clSetEventCallback
+        (JNIEnv *, jclass, jlong, jobject);
+
 #ifdef __cplusplus
 }
 #endif
@@ -266,6 +266,19 @@ public class OCLCommandQueue extends CommandQueue {
       long[] events)
       throws OCLException;
 
+  static native long clEnqueueMapBuffer(
+      long queueId,
+      long buffer,
+      boolean blocking,
+      long mapFlags,
+      long offset,
+      long bytes,
+      long[] events)
+      throws OCLException;
+
+  static native long clEnqueueUnmapMemObject(
+      long queueId, long buffer, long mappedPointer, long[] events) throws OCLException;
+
   static native void clEnqueueWaitForEvents(long queueId, long[] events) throws OCLException;
 
   /*
@@ -651,6 +664,34 @@ public class OCLCommandQueue extends CommandQueue {
     }
   }
 
+  /**
+   * Maps a region of a buffer into the host address space. The call blocks until the region is
+   * mapped, so the host can access it as soon as it returns.
+   *
+   * @return the host pointer of the mapped region.
+   */
+  public long enqueueMap(
+      long devicePtr, long mapFlags, long offset, long bytes, long[] waitEvents) {
+    try {
+      return clEnqueueMapBuffer(
+          commandQueuePtr, devicePtr, OpenCLBlocking.TRUE, mapFlags, offset, bytes, waitEvents);
+    } catch (OCLException e) {
+      logger.error(e.getMessage());
+      throw new TornadoBailoutRuntimeException(e.getMessage());
+    }
+  }
+
+  /** Returns a region previously mapped with {@link #enqueueMap} to the device. */
+  public long enqueueUnmap(long devicePtr, long mappedPointer, long[] waitEvents) {
+    guarantee(mappedPointer != 0, "mapped pointer is null");
+    try {
+      return clEnqueueUnmapMemObject(commandQueuePtr, devicePtr, mappedPointer, waitEvents);
+    } catch (OCLException e) {
+      logger.error(e.getMessage());
+      throw new TornadoBailoutRuntimeException(e.getMessage());
+    }
+  }
+
   public void finish() {
     try {
       clFinish(commandQueuePtr);
@@ -37,12 +37,9 @@ public class OCLCommandQueueTable {
   }
 
   public OCLCommandQueue get(OCLTargetDevice device, OCLContext context) {
-    if (!deviceCommandMap.containsKey(device)) {
-      ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-      table.get(Thread.currentThread().threadId(), device, context);
-      deviceCommandMap.put(device, table);
-    }
-    return deviceCommandMap.get(device).get(Thread.currentThread().threadId(), device, context);
+    return deviceCommandMap
+        .computeIfAbsent(device, d -> new ThreadCommandQueueTable())
+        .get(Thread.currentThread().threadId(), device, context);
   }
 
   public void cleanup(OCLTargetDevice device) {
@@ -66,22 +63,26 @@ public class OCLCommandQueueTable {
     }
 
     public OCLCommandQueue get(long threadId, OCLTargetDevice device, OCLContext context) {
-      if (!commandQueueMap.containsKey(threadId)) {
-        final int deviceVersion = device.deviceVersion();
-        long commandProperties = context.getProperties();
-        long commandQueuePtr;
-        try {
-          commandQueuePtr =
-              context.clCreateCommandQueue(
-                  context.getContextId(), device.getDevicePointer(), commandProperties);
-        } catch (OCLException e) {
-          throw new TornadoRuntimeException(e);
-        }
-        OCLCommandQueue commandQueue =
-            new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
-        commandQueueMap.put(threadId, commandQueue);
+      // Look up first, so the capturing lambda is only created for new threads
+      OCLCommandQueue commandQueue = commandQueueMap.get(threadId);
+      if (commandQueue != null) {
+        return commandQueue;
+      }
+      return commandQueueMap.computeIfAbsent(threadId, id -> createCommandQueue(device, context));
+    }
+
+    private static OCLCommandQueue createCommandQueue(OCLTargetDevice device, OCLContext context) {
+      final int deviceVersion = device.deviceVersion();
+      long commandProperties = context.getProperties();
+      long commandQueuePtr;
+      try {
+        commandQueuePtr =
+            context.clCreateCommandQueue(
+                context.getContextId(), device.getDevicePointer(), commandProperties);
+      } catch (OCLException e) {
+        throw new TornadoRuntimeException(e);
       }
-      return commandQueueMap.get(threadId);
+      return new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
     }
 
     public void cleanup(long threadId) {
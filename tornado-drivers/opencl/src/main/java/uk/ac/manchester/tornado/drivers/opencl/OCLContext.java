@@ -26,10 +26,12 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 import uk.ac.manchester.tornado.api.exceptions.TornadoNoOpenCLPlatformException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBufferCreateType;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -127,7 +129,9 @@ public class OCLContext implements OCLContextInterface {
       properties |= OCLCommandQueueProperties.CL_QUEUE_PROFILING_ENABLE;
     }
 
-    if (TornadoOptions.ENABLE_OOO_EXECUTION) {
+    // Pipelined batches overlap the transfers of a batch with the kernel of another one, which
+    // needs an out-of-order queue. The order of the commands is kept by their events.
+    if (TornadoOptions.ENABLE_OOO_EXECUTION || TornadoOptions.isBatchPipelineEnabled()) {
       properties |= OCLCommandQueueProperties.CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE;
     }
     return properties;
@@ -225,7 +229,12 @@ public class OCLContext implements OCLContextInterface {
     return createBuffer(flags, bytes, 0L);
   }
 
-  private OCLBufferResult createBuffer(long flags, long bytes, long hostPointer) {
+  /**
+   * Creates a buffer. With {@link
+   * uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags#CL_MEM_USE_HOST_PTR}, the buffer is
+   * created over the host memory at {@code hostPointer} instead of allocating device memory.
+   */
+  public OCLBufferResult createBuffer(long flags, long bytes, long hostPointer) {
     try {
       final OCLBufferResult result = createBuffer(contextID, flags, bytes, hostPointer);
       logger.info(
@@ -238,6 +247,31 @@ public class OCLContext implements OCLContextInterface {
     return null;
   }
 
+  /**
+   * Creates a sub-buffer that covers the region {@code [origin, origin + bytes)} of a buffer. The
+   * origin must be aligned to the {@code CL_DEVICE_MEM_BASE_ADDR_ALIGN} of the device.
+   */
+  public long createSubBuffer(long bufferId, long flags, long origin, long bytes) {
+    // cl_buffer_region: {size_t origin; size_t size;}
+    ByteBuffer region = ByteBuffer.allocate(2 * Long.BYTES).order(ByteOrder.nativeOrder());
+    region.putLong(origin).putLong(bytes);
+    try {
+      final long subBuffer =
+          createSubBuffer(
+              bufferId,
+              flags,
+              OCLBufferCreateType.CL_BUFFER_CREATE_TYPE_REGION.getValue(),
+              region.array());
+      logger.info(
+          "sub-buffer created %s @ 0x%x (parent 0x%x, origin %d)",
+          RuntimeUtilities.humanReadableByteCount(bytes, false), subBuffer, bufferId, origin);
+      return subBuffer;
+    } catch (OCLException e) {
+      logger.error(e.getMessage());
+      throw new TornadoRuntimeException(e);
+    }
+  }
+
   public void releaseBuffer(long bufferId) {
     try {
       clReleaseMemObject(bufferId);
@@ -72,6 +72,7 @@ public class OCLDevice implements OCLTargetDevice {
   private String deviceExtensions;
   private int deviceMaxClockFrequency;
   private int deviceAddressBits;
+  private int hostUnifiedMemory;
   private OCLLocalMemType localMemoryType;
   private int deviceVendorID;
   private OCLDeviceContextInterface deviceContext;
@@ -113,6 +114,7 @@ public class OCLDevice implements OCLTargetDevice {
     this.deviceExtensions = null;
     this.deviceMaxClockFrequency = INIT_VALUE;
     this.deviceAddressBits = INIT_VALUE;
+    this.hostUnifiedMemory = INIT_VALUE;
     this.localMemoryType = null;
     this.deviceVendorID = INIT_VALUE;
   }
@@ -402,9 +404,14 @@ public class OCLDevice implements OCLTargetDevice {
     return deviceAddressBits;
   }
 
+  @Override
   public boolean hasDeviceUnifiedMemory() {
+    if (hostUnifiedMemory != INIT_VALUE) {
+      return hostUnifiedMemory == OpenCL.CL_TRUE;
+    }
     queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_HOST_UNIFIED_MEMORY.getValue());
-    return buffer.getInt() == OpenCL.CL_TRUE;
+    hostUnifiedMemory = buffer.getInt();
+    return hostUnifiedMemory == OpenCL.CL_TRUE;
   }
 
   public OCLLocalMemType getDeviceLocalMemoryType() {
@@ -27,9 +27,7 @@ import static uk.ac.manchester.tornado.drivers.opencl.OCLCommandQueue.EMPTY_EVEN
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.EVENT_WINDOW;
 
 import java.nio.ByteOrder;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -79,7 +77,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     this.bufferProvider = new OCLBufferProvider(this);
     this.commandQueueTable = new ConcurrentHashMap<>();
     this.device.setDeviceContext(this);
-    this.executionIDs = Collections.synchronizedSet(new HashSet<>());
+    this.executionIDs = ConcurrentHashMap.newKeySet();
     if (isDeviceContextOfNvidia()) {
       this.powerMetric = new OCLNvidiaPowerMetric(this);
     } else {
@@ -403,23 +401,13 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
 
   private OCLCommandQueue getCommandQueue(long executionPlanId) {
     executionIDs.add(executionPlanId);
-    if (!commandQueueTable.containsKey(executionPlanId)) {
-      OCLTargetDevice device = context.devices().get(getDeviceIndex());
-      OCLCommandQueueTable oclCommandQueueTable = new OCLCommandQueueTable();
-      oclCommandQueueTable.get(device, context);
-      commandQueueTable.put(executionPlanId, oclCommandQueueTable);
-    }
     return commandQueueTable
-        .get(executionPlanId)
+        .computeIfAbsent(executionPlanId, id -> new OCLCommandQueueTable())
         .get(context.devices().get(getDeviceIndex()), context);
   }
 
   private OCLEventPool getOCLEventPool(long executionPlanId) {
-    if (!oclEventPool.containsKey(executionPlanId)) {
-      OCLEventPool eventPool = new OCLEventPool(EVENT_WINDOW);
-      oclEventPool.put(executionPlanId, eventPool);
-    }
-    return oclEventPool.get(executionPlanId);
+    return oclEventPool.computeIfAbsent(executionPlanId, id -> new OCLEventPool(EVENT_WINDOW));
   }
 
   public int enqueueWriteBuffer(
@@ -446,6 +434,44 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     return eventPool.registerEvent(eventId, EventDescriptor.DESC_WRITE_SEGMENT, commandQueue);
   }
 
+  /**
+   * Maps a buffer into the host address space, blocking until the map has completed. For buffers
+   * created over host memory on devices that share memory with the host, the mapped pointer is the
+   * host pointer itself and no data is copied.
+   *
+   * @return the host pointer of the mapped region.
+   */
+  public long mapBuffer(
+      long executionPlanId,
+      long bufferId,
+      long mapFlags,
+      long offset,
+      long bytes,
+      int[] waitEvents) {
+    OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+    OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+    return commandQueue.enqueueMap(
+        bufferId,
+        mapFlags,
+        offset,
+        bytes,
+        eventPool.serialiseEvents(waitEvents, commandQueue) ? eventPool.waitEventsBuffer : null);
+  }
+
+  public int enqueueUnmapBuffer(
+      long executionPlanId, long bufferId, long mappedPointer, int[] waitEvents) {
+    OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+    OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+    long eventId =
+        commandQueue.enqueueUnmap(
+            bufferId,
+            mappedPointer,
+            eventPool.serialiseEvents(waitEvents, commandQueue)
+                ? eventPool.waitEventsBuffer
+                : null);
+    return eventPool.registerEvent(eventId, EventDescriptor.DESC_UNMAP_SEGMENT, commandQueue);
+  }
+
   /*
    * ASync reads from device
    *
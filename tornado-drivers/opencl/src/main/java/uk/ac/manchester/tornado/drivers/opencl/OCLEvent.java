@@ -85,6 +85,14 @@ public class OCLEvent implements Event {
 
   static native void clReleaseEvent(long eventId) throws OCLException;
 
+  /**
+   * Registers a callback for the {@code CL_COMPLETE} state of the event. The event is retained
+   * until the callback has been invoked, so the event pool can release it in the meantime.
+   *
+   * @return the OpenCL error code of the registration.
+   */
+  static native int clSetEventCallback(long eventId, Runnable callback);
+
   private long readEventTime(OCLProfilingInfo eventType) {
     if (!ENABLE_OPENCL_PROFILING) {
       return -1;
@@ -169,6 +177,11 @@ public class OCLEvent implements Event {
     }
   }
 
+  @Override
+  public boolean addCompletionCallback(Runnable callback) {
+    return clSetEventCallback(oclEventID, callback) == OCLErrorCode.CL_SUCCESS;
+  }
+
   @Override
   public String toString() {
     return String.format("[OCLEVENT] event: name=%s, status=%s", name, getStatus());
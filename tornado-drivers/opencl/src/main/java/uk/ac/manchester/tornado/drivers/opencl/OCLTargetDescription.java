@@ -56,6 +56,8 @@ public class OCLTargetDescription extends TargetDescription {
 
   private final boolean supportsF16;
 
+  private final boolean supportsSubGroups;
+
   public OCLTargetDescription(Architecture arch, boolean supportsFP64, String extensions) {
     this(
         arch,
@@ -80,6 +82,7 @@ public class OCLTargetDescription extends TargetDescription {
     this.extensions = extensions;
     supportsInt64Atomics = extensions.contains("cl_khr_int64_base_atomics");
     supportsF16 = extensions.contains("cl_khr_fp16");
+    supportsSubGroups = extensions.contains("cl_khr_subgroups");
   }
 
   // @formatter:on
@@ -118,6 +121,10 @@ public class OCLTargetDescription extends TargetDescription {
     return supportsInt64Atomics;
   }
 
+  public boolean supportsSubGroups() {
+    return supportsSubGroups;
+  }
+
   public String getExtensions() {
     return extensions;
   }
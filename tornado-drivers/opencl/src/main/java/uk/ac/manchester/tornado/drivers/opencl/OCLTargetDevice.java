@@ -62,4 +62,10 @@ public interface OCLTargetDevice extends TornadoTargetDevice {
   int deviceVersion();
 
   boolean isSPIRVSupported();
+
+  /**
+   * @return true if the device and the host share the same physical memory, as in integrated GPUs
+   *     and CPU devices.
+   */
+  boolean hasDeviceUnifiedMemory();
 }
@@ -55,6 +55,36 @@ public class OpenCLIntrinsics {
    */
   public static native void globalBarrier();
 
+  public static native int get_sub_group_id();
+
+  public static native int get_sub_group_local_id();
+
+  public static native int get_num_sub_groups();
+
+  public static native int sub_group_reduce_add(int value);
+
+  public static native long sub_group_reduce_add(long value);
+
+  public static native float sub_group_reduce_add(float value);
+
+  public static native double sub_group_reduce_add(double value);
+
+  public static native int sub_group_reduce_min(int value);
+
+  public static native long sub_group_reduce_min(long value);
+
+  public static native float sub_group_reduce_min(float value);
+
+  public static native double sub_group_reduce_min(double value);
+
+  public static native int sub_group_reduce_max(int value);
+
+  public static native long sub_group_reduce_max(long value);
+
+  public static native float sub_group_reduce_max(float value);
+
+  public static native double sub_group_reduce_max(double value);
+
   public static native void printf();
 
   public static native void printEmpty();
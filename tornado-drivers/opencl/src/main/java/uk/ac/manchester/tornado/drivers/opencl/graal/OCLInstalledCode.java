@@ -142,15 +142,20 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
       // Set the rest of the SPIR-V kernel arguments.
       for (int i = 0, argIndex = 0; i < kernelArgs.getCallArguments().size(); i++) {
         KernelStackFrame.CallArgument arg = kernelArgs.getCallArguments().get(i);
-        // Include the extra kernel context argument for SPIR-V binaries.
-        if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+        if (arg.isReferenceType()) {
+          buffer.clear();
+          buffer.putLong(arg.getReference());
+          kernel.setArg(index + argIndex, buffer);
+        } else if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+          // Include the extra kernel context argument for SPIR-V binaries.
           buffer.clear();
           buffer.putLong(kernelArgs.toBuffer());
           kernel.setArg(index + argIndex, buffer);
-          argIndex++;
-          continue;
-        }
-        if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
+        } else if (arg.isPrimitive()) {
+          buffer.clear();
+          arg.writePrimitive(buffer);
+          kernel.setArg(index + argIndex, buffer);
+        } else if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
           buffer.clear();
           PrimitiveSerialiser.put(buffer, arg.getValue());
           kernel.setArg(index + argIndex, buffer);
@@ -192,11 +197,18 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
     // Parameters
     for (int i = 0, argIndex = 0; i < kernelArgs.getCallArguments().size(); i++) {
       KernelStackFrame.CallArgument arg = kernelArgs.getCallArguments().get(i);
-      if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+      if (arg.isReferenceType()) {
+        buffer.clear();
+        buffer.putLong(arg.getReference());
+        kernel.setArg(index + argIndex, buffer);
+      } else if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
         // We do not set any kernel context argument. This is only for the Java side.
         continue;
-      }
-      if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
+      } else if (arg.isPrimitive()) {
+        buffer.clear();
+        arg.writePrimitive(buffer);
+        kernel.setArg(index + argIndex, buffer);
+      } else if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
         buffer.clear();
         PrimitiveSerialiser.put(buffer, arg.getValue());
         kernel.setArg(index + argIndex, buffer);
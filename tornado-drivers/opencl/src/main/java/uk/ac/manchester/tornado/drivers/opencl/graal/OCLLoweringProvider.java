@@ -101,6 +101,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLKernelAtomicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.LoadIndexedVectorNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceCPUSnippets;
@@ -108,6 +109,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.ReduceGPUSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
@@ -126,6 +128,7 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
   private static boolean gpuSnippet = false;
   private final ConstantReflectionProvider constantReflection;
   private final TornadoVMConfigAccess vmConfig;
+  private final OCLTargetDescription targetDescription;
   private ReduceGPUSnippets.Templates gpuReduceSnippets;
   private ReduceCPUSnippets.Templates cpuReduceSnippets;
 
@@ -140,6 +143,7 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
     super(metaAccess, foreignCalls, platformConfig, metaAccessExtensionProvider, target, false);
     this.vmConfig = vmConfig;
     this.constantReflection = constantReflection;
+    this.targetDescription = target;
   }
 
   /**
@@ -162,7 +166,8 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
   private void initializeSnippets(
       OptionValues options, SnippetCounter.Group.Factory factory, Providers providers) {
     this.cpuReduceSnippets = new ReduceCPUSnippets.Templates(options, providers);
-    this.gpuReduceSnippets = new ReduceGPUSnippets.Templates(options, providers);
+    this.gpuReduceSnippets =
+        new ReduceGPUSnippets.Templates(options, providers, targetDescription.supportsSubGroups());
   }
 
   @Override
@@ -209,6 +214,8 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
       lowerGlobalGroupSizeNode((GlobalGroupSizeFixedWithNextNode) node);
     } else if (node instanceof LocalGroupSizeFixedWithNextNode) {
       lowerLocalGroupSizeNode((LocalGroupSizeFixedWithNextNode) node);
+    } else if (node instanceof KernelAtomicNode) {
+      lowerKernelAtomicNode((KernelAtomicNode) node);
     } else {
       super.lower(node, tool);
     }
@@ -480,6 +487,29 @@ public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
     graph.replaceFixedWithFixed(storeField, memoryWrite);
   }
 
+  private void lowerKernelAtomicNode(KernelAtomicNode atomicNode) {
+    StructuredGraph graph = atomicNode.graph();
+    AddressNode address;
+    if (atomicNode.isLocalArray()) {
+      address = createArrayLocalAddress(graph, atomicNode.array(), atomicNode.index());
+    } else if (atomicNode.isJavaArray()) {
+      address =
+          createArrayAddress(
+              graph, atomicNode.array(), atomicNode.getElementKind(), atomicNode.index());
+    } else {
+      address = atomicNode.createNativeArrayAddress();
+    }
+    OCLKernelAtomicNode atomic =
+        graph.add(
+            new OCLKernelAtomicNode(
+                atomicNode.getOperation(),
+                atomicNode.getElementKind(),
+                address,
+                atomicNode.expected(),
+                atomicNode.value()));
+    graph.replaceFixedWithFixed(atomicNode, atomic);
+  }
+
   private void lowerAtomicAddNode(AtomicAddNode atomicAdd, LoweringTool tool) {
     shouldNotReachHere("need to use builtin nodes");
   }
@@ -53,6 +53,15 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLReturnSlot;
 public final class OCLAssembler extends Assembler {
 
   private static final boolean EMIT_INTRINSICS = false;
+
+  /** Extension providing the 64-bit atom_min, atom_max, atom_and, atom_or and atom_xor. */
+  private static final String INT64_EXTENDED_ATOMICS_EXTENSION = "cl_khr_int64_extended_atomics";
+
+  /** Extensions providing the sub_group_* built-ins used by the KernelContext API. */
+  private static final String[] SUB_GROUP_EXTENSIONS = {
+    "cl_khr_subgroups", "cl_khr_subgroup_shuffle", "cl_khr_subgroup_shuffle_relative"
+  };
+
   private int indent;
   private int lastIndent;
   private String delimiter;
@@ -74,9 +83,21 @@ public final class OCLAssembler extends Assembler {
 
     emitLine("#pragma OPENCL EXTENSION cl_khr_fp16 : enable  ");
 
+    List<String> extensions =
+        List.of(((OCLTargetDescription) target).getExtensions().trim().split("\\s+"));
+
     if (((OCLTargetDescription) target).supportsInt64Atomics()) {
       emitLine("#pragma OPENCL EXTENSION cl_khr_int64_base_atomics : enable  ");
     }
+    if (extensions.contains(INT64_EXTENDED_ATOMICS_EXTENSION)) {
+      emitLine("#pragma OPENCL EXTENSION " + INT64_EXTENDED_ATOMICS_EXTENSION + " : enable  ");
+    }
+
+    for (String extension : SUB_GROUP_EXTENSIONS) {
+      if (extensions.contains(extension)) {
+        emitLine("#pragma OPENCL EXTENSION " + extension + " : enable  ");
+      }
+    }
 
     if (EMIT_INTRINSICS) {
       emitAtomicIntrinsics();
@@ -591,6 +612,15 @@ public final class OCLAssembler extends Assembler {
   public static class OCLNullaryIntrinsic extends OCLNullaryOp {
     // @formatter:off
 
+    public static final OCLNullaryIntrinsic SUB_GROUP_ID =
+        new OCLNullaryIntrinsic("get_sub_group_id");
+    public static final OCLNullaryIntrinsic SUB_GROUP_LOCAL_ID =
+        new OCLNullaryIntrinsic("get_sub_group_local_id");
+    public static final OCLNullaryIntrinsic SUB_GROUP_SIZE =
+        new OCLNullaryIntrinsic("get_sub_group_size");
+    public static final OCLNullaryIntrinsic NUM_SUB_GROUPS =
+        new OCLNullaryIntrinsic("get_num_sub_groups");
+
     // @formatter:on
     protected OCLNullaryIntrinsic(String opcode) {
       super(opcode);
@@ -733,6 +763,17 @@ public final class OCLAssembler extends Assembler {
 
     public static final OCLUnaryIntrinsic POPCOUNT = new OCLUnaryIntrinsic("popcount");
 
+    public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_ADD =
+        new OCLUnaryIntrinsic("sub_group_reduce_add");
+    public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MIN =
+        new OCLUnaryIntrinsic("sub_group_reduce_min");
+    public static final OCLUnaryIntrinsic SUB_GROUP_REDUCE_MAX =
+        new OCLUnaryIntrinsic("sub_group_reduce_max");
+    public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_EXCLUSIVE_ADD =
+        new OCLUnaryIntrinsic("sub_group_scan_exclusive_add");
+    public static final OCLUnaryIntrinsic SUB_GROUP_SCAN_INCLUSIVE_ADD =
+        new OCLUnaryIntrinsic("sub_group_scan_inclusive_add");
+
     public static final OCLUnaryIntrinsic FLOAT_ABS = new OCLUnaryIntrinsic("fabs");
     public static final OCLUnaryIntrinsic FLOAT_TRUNC = new OCLUnaryIntrinsic("trunc");
     public static final OCLUnaryIntrinsic FLOAT_FLOOR = new OCLUnaryIntrinsic("floor");
@@ -888,6 +929,15 @@ public final class OCLAssembler extends Assembler {
     public static final OCLBinaryIntrinsic DOT = new OCLBinaryIntrinsic("dot");
     public static final OCLBinaryIntrinsic CROSS = new OCLBinaryIntrinsic("cross");
 
+    public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE =
+        new OCLBinaryIntrinsic("sub_group_shuffle");
+    public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE_XOR =
+        new OCLBinaryIntrinsic("sub_group_shuffle_xor");
+    public static final OCLBinaryIntrinsic SUB_GROUP_SHUFFLE_DOWN =
+        new OCLBinaryIntrinsic("sub_group_shuffle_down");
+    public static final OCLBinaryIntrinsic SUB_GROUP_BROADCAST =
+        new OCLBinaryIntrinsic("sub_group_broadcast");
+
     // @formatter:on
 
     protected OCLBinaryIntrinsic(String opcode) {
@@ -402,7 +402,7 @@ public class OCLBackend extends XPUBackend<OCLProviders>
           final AllocatableValue param = incomingArguments.getArgument(i);
           OCLKind kind = (OCLKind) param.getPlatformKind();
           asm.emit(", ");
-          asm.emit("__private %s %s", kind.toString(), locals[i].getName());
+          asm.emit("__private %s %s", kind.toString(), getParameterName(locals[i]));
         } else {
           // Skip the kernel context object
           if (javaType.toJavaName().equals(KernelContext.class.getName())) {
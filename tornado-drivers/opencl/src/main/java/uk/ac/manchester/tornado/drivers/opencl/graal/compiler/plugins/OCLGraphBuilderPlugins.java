@@ -76,6 +76,7 @@ import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TornadoVMIntrinsics;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.AtomicAddNodeTemplate;
@@ -89,9 +90,11 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPBinaryIntrinsicN
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TornadoAtomicIntegerNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.compiler.KernelAtomicPlugins;
 
 public class OCLGraphBuilderPlugins {
 
@@ -117,6 +120,7 @@ public class OCLGraphBuilderPlugins {
     OCLHalfFloatPlugins.registerPlugins(ps, plugins);
 
     registerMemoryAccessPlugins(plugins);
+    registerWriteTrackingPlugins(plugins);
   }
 
   private static void registerTornadoVMAtomicsPlugins(Registration r) {
@@ -364,6 +368,87 @@ public class OCLGraphBuilderPlugins {
     registerLocalBarrier(r);
     registerGlobalBarrier(r);
     localArraysPlugins(r);
+    registerSubGroupPlugins(r);
+    KernelAtomicPlugins.registerKernelAtomicPlugins(r);
+  }
+
+  private static void registerSubGroupPlugins(Registration r) {
+    registerSubGroupQuery(r, "subgroupId", OCLSubGroupNode.Operation.ID);
+    registerSubGroupQuery(r, "subgroupLocalId", OCLSubGroupNode.Operation.LOCAL_ID);
+    registerSubGroupQuery(r, "subgroupSize", OCLSubGroupNode.Operation.SIZE);
+    registerSubGroupCollectives(r, int.class, JavaKind.Int);
+    registerSubGroupCollectives(r, float.class, JavaKind.Float);
+  }
+
+  private static void registerSubGroupQuery(
+      Registration r, String name, OCLSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+            b.push(JavaKind.Int, b.append(new OCLSubGroupNode(operation)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupCollectives(Registration r, Class<?> type, JavaKind kind) {
+    registerSubGroupShuffle(r, "shuffle", type, kind, OCLSubGroupNode.Operation.SHUFFLE);
+    registerSubGroupShuffle(r, "shuffleXor", type, kind, OCLSubGroupNode.Operation.SHUFFLE_XOR);
+    registerSubGroupShuffle(r, "shuffleDown", type, kind, OCLSubGroupNode.Operation.SHUFFLE_DOWN);
+    registerSubGroupShuffle(r, "broadcast", type, kind, OCLSubGroupNode.Operation.BROADCAST);
+    registerSubGroupReduction(
+        r, "subgroupReduceAdd", type, kind, OCLSubGroupNode.Operation.REDUCE_ADD);
+    registerSubGroupReduction(
+        r, "subgroupReduceMin", type, kind, OCLSubGroupNode.Operation.REDUCE_MIN);
+    registerSubGroupReduction(
+        r, "subgroupReduceMax", type, kind, OCLSubGroupNode.Operation.REDUCE_MAX);
+    registerSubGroupReduction(
+        r, "subgroupExclusiveScanAdd", type, kind, OCLSubGroupNode.Operation.EXCLUSIVE_SCAN_ADD);
+    registerSubGroupReduction(
+        r, "subgroupInclusiveScanAdd", type, kind, OCLSubGroupNode.Operation.INCLUSIVE_SCAN_ADD);
+  }
+
+  private static void registerSubGroupShuffle(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      OCLSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, Receiver.class, type, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode value,
+              ValueNode lane) {
+            b.push(kind, b.append(new OCLSubGroupNode(operation, kind, value, lane)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupReduction(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      OCLSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, Receiver.class, type) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode value) {
+            b.push(kind, b.append(new OCLSubGroupNode(operation, kind, value)));
+            return true;
+          }
+        });
   }
 
   public static Class getValueLayoutClass(Class k) {
@@ -388,6 +473,46 @@ public class OCLGraphBuilderPlugins {
     }
   }
 
+  /**
+   * The tracking of host writes of the native arrays (see {@link
+   * TornadoNativeArray#enableWriteTracking()}) has no meaning on the device, so the calls to the
+   * tracking methods are removed from the kernels.
+   */
+  private static void registerWriteTrackingPlugins(InvocationPlugins plugins) {
+    Registration r = new Registration(plugins, TornadoNativeArray.class);
+    r.register(
+        new InvocationPlugin("markWrite", Receiver.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode index) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", Receiver.class, int.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode fromIndex,
+              ValueNode toIndex) {
+            return true;
+          }
+        });
+  }
+
   private static void registerMemoryAccessPlugins(InvocationPlugins plugins) {
     Registration r = new Registration(plugins, MemorySegment.class);
 
@@ -32,6 +32,14 @@ import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCL
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.FLOAT_POW;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.INT_MAX;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.INT_MIN;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.SUB_GROUP_BROADCAST;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE_DOWN;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic.SUB_GROUP_SHUFFLE_XOR;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic.NUM_SUB_GROUPS;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic.SUB_GROUP_ID;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic.SUB_GROUP_LOCAL_ID;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLNullaryIntrinsic.SUB_GROUP_SIZE;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLTernaryIntrinsic.CLAMP;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.ABS;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.ACOS;
@@ -55,6 +63,11 @@ import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCL
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SIN;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SINPI;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SQRT;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SUB_GROUP_REDUCE_ADD;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MAX;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SUB_GROUP_REDUCE_MIN;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SUB_GROUP_SCAN_EXCLUSIVE_ADD;
+import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.SUB_GROUP_SCAN_INCLUSIVE_ADD;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.TAN;
 import static uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryIntrinsic.TANH;
 
@@ -459,6 +472,99 @@ public class OCLBuiltinTool {
     return new OCLUnary.Intrinsic(POPCOUNT, LIRKind.value(value.getPlatformKind()), value);
   }
 
+  public Value genSubGroupId(LIRKind lirKind) {
+    Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "genSubGroupId: get_sub_group_id()");
+    return new OCLNullary.Intrinsic(SUB_GROUP_ID, lirKind);
+  }
+
+  public Value genSubGroupLocalId(LIRKind lirKind) {
+    Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "genSubGroupLocalId: get_sub_group_local_id()");
+    return new OCLNullary.Intrinsic(SUB_GROUP_LOCAL_ID, lirKind);
+  }
+
+  public Value genSubGroupSize(LIRKind lirKind) {
+    Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "genSubGroupSize: get_sub_group_size()");
+    return new OCLNullary.Intrinsic(SUB_GROUP_SIZE, lirKind);
+  }
+
+  public Value genNumSubGroups(LIRKind lirKind) {
+    Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "genNumSubGroups: get_num_sub_groups()");
+    return new OCLNullary.Intrinsic(NUM_SUB_GROUPS, lirKind);
+  }
+
+  public Value genSubGroupShuffle(Value value, Value lane) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL, "genSubGroupShuffle: sub_group_shuffle(%s, %s)", value, lane);
+    return new OCLBinary.Intrinsic(
+        SUB_GROUP_SHUFFLE, LIRKind.value(value.getPlatformKind()), value, lane);
+  }
+
+  public Value genSubGroupShuffleXor(Value value, Value laneMask) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL,
+        "genSubGroupShuffleXor: sub_group_shuffle_xor(%s, %s)",
+        value,
+        laneMask);
+    return new OCLBinary.Intrinsic(
+        SUB_GROUP_SHUFFLE_XOR, LIRKind.value(value.getPlatformKind()), value, laneMask);
+  }
+
+  public Value genSubGroupShuffleDown(Value value, Value delta) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL,
+        "genSubGroupShuffleDown: sub_group_shuffle_down(%s, %s)",
+        value,
+        delta);
+    return new OCLBinary.Intrinsic(
+        SUB_GROUP_SHUFFLE_DOWN, LIRKind.value(value.getPlatformKind()), value, delta);
+  }
+
+  public Value genSubGroupBroadcast(Value value, Value lane) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL, "genSubGroupBroadcast: sub_group_broadcast(%s, %s)", value, lane);
+    return new OCLBinary.Intrinsic(
+        SUB_GROUP_BROADCAST, LIRKind.value(value.getPlatformKind()), value, lane);
+  }
+
+  public Value genSubGroupReduceAdd(Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL, "genSubGroupReduceAdd: sub_group_reduce_add(%s)", value);
+    return new OCLUnary.Intrinsic(
+        SUB_GROUP_REDUCE_ADD, LIRKind.value(value.getPlatformKind()), value);
+  }
+
+  public Value genSubGroupReduceMin(Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL, "genSubGroupReduceMin: sub_group_reduce_min(%s)", value);
+    return new OCLUnary.Intrinsic(
+        SUB_GROUP_REDUCE_MIN, LIRKind.value(value.getPlatformKind()), value);
+  }
+
+  public Value genSubGroupReduceMax(Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL, "genSubGroupReduceMax: sub_group_reduce_max(%s)", value);
+    return new OCLUnary.Intrinsic(
+        SUB_GROUP_REDUCE_MAX, LIRKind.value(value.getPlatformKind()), value);
+  }
+
+  public Value genSubGroupExclusiveScanAdd(Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL,
+        "genSubGroupExclusiveScanAdd: sub_group_scan_exclusive_add(%s)",
+        value);
+    return new OCLUnary.Intrinsic(
+        SUB_GROUP_SCAN_EXCLUSIVE_ADD, LIRKind.value(value.getPlatformKind()), value);
+  }
+
+  public Value genSubGroupInclusiveScanAdd(Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.OpenCL,
+        "genSubGroupInclusiveScanAdd: sub_group_scan_inclusive_add(%s)",
+        value);
+    return new OCLUnary.Intrinsic(
+        SUB_GROUP_SCAN_INCLUSIVE_ADD, LIRKind.value(value.getPlatformKind()), value);
+  }
+
   public Value genIntClamp(Value x, Value y, Value z) {
     Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "genIntClamp: clamp(%s, %s, %s)", x, y, z);
     return new OCLTernary.Intrinsic(CLAMP, LIRKind.combine(x, y, z), x, y, z);
@@ -97,6 +97,12 @@ public class OCLGenTool {
             ? gen.newVariable(LIRKind.value(oclTarget.getOCLKind(JavaKind.Object)))
             : gen.newVariable(lirKind);
     String parameterName = getParameterName(local);
+    if (paramNode.getStackKind().isPrimitive()) {
+      // Scalar arguments that are not folded by the task specialisation are passed by value
+      gen.append(new AssignStmt(result, new OCLNullary.Parameter(parameterName, lirKind)));
+      parameterToVariable.put(paramNode, result);
+      return result;
+    }
     gen.append(
         new AssignStmt(
             result, new OCLNullary.Parameter(OCLUnaryOp.CAST_TO_ULONG + parameterName, lirKind)));
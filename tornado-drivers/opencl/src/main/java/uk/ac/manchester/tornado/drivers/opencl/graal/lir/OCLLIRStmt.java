@@ -24,6 +24,7 @@ package uk.ac.manchester.tornado.drivers.opencl.graal.lir;
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
 import org.graalvm.compiler.lir.LIRInstruction;
+import org.graalvm.compiler.lir.LIRInstruction.OperandFlag;
 import org.graalvm.compiler.lir.LIRInstructionClass;
 import org.graalvm.compiler.lir.Opcode;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
@@ -34,6 +35,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResu
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.OCLAddressCast;
 import uk.ac.manchester.tornado.drivers.opencl.graal.meta.OCLMemorySpace;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode.Operation;
 
 public class OCLLIRStmt {
 
@@ -910,6 +912,148 @@ public class OCLLIRStmt {
     }
   }
 
+  @Opcode("ATOMIC_RMW")
+  public static class AtomicOperationStmt extends AbstractInstruction {
+
+    public static final LIRInstructionClass<AtomicOperationStmt> TYPE =
+        LIRInstructionClass.create(AtomicOperationStmt.class);
+
+    @Def protected AllocatableValue result;
+    @Use protected MemoryAccess address;
+
+    @Use({OperandFlag.REG, OperandFlag.CONST, OperandFlag.ILLEGAL})
+    protected Value expected;
+
+    @Use protected Value value;
+
+    private final Operation operation;
+
+    public AtomicOperationStmt(
+        Operation operation,
+        AllocatableValue result,
+        MemoryAccess address,
+        Value expected,
+        Value value) {
+      super(TYPE);
+      this.operation = operation;
+      this.result = result;
+      this.address = address;
+      this.expected = expected;
+      this.value = value;
+    }
+
+    /**
+     * It emits code in the form: <code>
+     * i_5 = atomic_add((volatile __global int *) ul_13, i_7);
+     * </code>
+     *
+     * <p>The operations on 64-bit elements use the atom_* functions of the cl_khr_int64 atomics
+     * extensions. OpenCL C 1.2 has no atomic addition of floats, so it is emitted as a loop of
+     * compare-exchanges on the bits of the element.
+     *
+     * @param crb OpenCL Compilation Result Builder
+     * @param asm OpenCL Assembler
+     */
+    @Override
+    public void emitCode(OCLCompilationResultBuilder crb, OCLAssembler asm) {
+      OCLKind kind = (OCLKind) result.getPlatformKind();
+      if (kind.isFloating() && operation == Operation.ADD) {
+        emitFloatAdd(crb, asm, kind);
+      } else {
+        asm.indent();
+        asm.emitValue(crb, result);
+        asm.space();
+        asm.assign();
+        asm.space();
+        asm.emit(functionName(kind) + "(");
+        emitPointer(crb, asm, kind.toString());
+        if (operation == Operation.COMPARE_EXCHANGE) {
+          asm.emit(", ");
+          asm.emitValue(crb, expected);
+        }
+        asm.emit(", ");
+        asm.emitValue(crb, value);
+        asm.emit(")");
+        asm.delimiter();
+        asm.eol();
+      }
+    }
+
+    /**
+     * It emits code in the form: <code>
+     * do {
+     *   f_5 = *((volatile __global float *) ul_13);
+     * } while (atomic_cmpxchg((volatile __global int *) ul_13, as_int(f_5), as_int(f_5 + f_7)) != as_int(f_5));
+     * </code>
+     */
+    private void emitFloatAdd(OCLCompilationResultBuilder crb, OCLAssembler asm, OCLKind kind) {
+      asm.emitLine("do {");
+      asm.pushIndent();
+      asm.indent();
+      asm.emitValue(crb, result);
+      asm.space();
+      asm.assign();
+      asm.space();
+      asm.emit("*(");
+      emitPointer(crb, asm, kind.toString());
+      asm.emit(")");
+      asm.delimiter();
+      asm.eol();
+      asm.popIndent();
+      asm.indent();
+      asm.emit("} while (atomic_cmpxchg(");
+      emitPointer(crb, asm, OCLKind.INT.toString());
+      asm.emit(", as_int(");
+      asm.emitValue(crb, result);
+      asm.emit("), as_int(");
+      asm.emitValue(crb, result);
+      asm.emit(" + ");
+      asm.emitValue(crb, value);
+      asm.emit(")) != as_int(");
+      asm.emitValue(crb, result);
+      asm.emit("))");
+      asm.delimiter();
+      asm.eol();
+    }
+
+    private void emitPointer(OCLCompilationResultBuilder crb, OCLAssembler asm, String type) {
+      OCLMemorySpace memorySpace = address.getBase().getMemorySpace();
+      asm.emit("(volatile " + memorySpace.name() + " " + type + " *) ");
+      if (memorySpace == OCLMemorySpace.LOCAL || memorySpace == OCLMemorySpace.PRIVATE) {
+        asm.emit("&");
+        address.emit(crb, asm);
+        asm.emit("[");
+        asm.emitValue(crb, address.getIndex());
+        asm.emit("]");
+      } else {
+        address.emit(crb, asm);
+      }
+    }
+
+    private String functionName(OCLKind kind) {
+      String prefix = kind.getSizeInBytes() == 8 ? "atom_" : "atomic_";
+      return prefix
+          + switch (operation) {
+            case ADD -> "add";
+            case MIN -> "min";
+            case MAX -> "max";
+            case AND -> "and";
+            case OR -> "or";
+            case XOR -> "xor";
+            case EXCHANGE -> "xchg";
+            case COMPARE_EXCHANGE -> "cmpxchg";
+          };
+    }
+
+    public AllocatableValue getResult() {
+      return result;
+    }
+
+    public MemoryAccess getAddress() {
+      return address;
+    }
+  }
+
   @Opcode("VSTORE")
   public static class VectorStoreStmt extends AbstractInstruction {
 
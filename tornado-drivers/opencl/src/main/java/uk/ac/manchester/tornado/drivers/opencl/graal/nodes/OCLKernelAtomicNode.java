@@ -0,0 +1,97 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode.Operation;
+
+/**
+ * Atomic read-modify-write of an element in global or local memory. It replaces the {@link
+ * KernelAtomicNode} once the address of the element is known, and returns the value of the element
+ * before the operation.
+ */
+@NodeInfo(shortName = "ATOMIC_RMW")
+public class OCLKernelAtomicNode extends FixedWithNextNode
+    implements LIRLowerable, SingleMemoryKill {
+
+  public static final NodeClass<OCLKernelAtomicNode> TYPE =
+      NodeClass.create(OCLKernelAtomicNode.class);
+
+  @Input(InputType.Association)
+  protected AddressNode address;
+
+  @Input protected ValueNode value;
+  @OptionalInput protected ValueNode expected;
+
+  private final Operation operation;
+
+  public OCLKernelAtomicNode(
+      Operation operation,
+      JavaKind elementKind,
+      AddressNode address,
+      ValueNode expected,
+      ValueNode value) {
+    super(TYPE, StampFactory.forKind(elementKind));
+    this.operation = operation;
+    this.address = address;
+    this.expected = expected;
+    this.value = value;
+  }
+
+  @Override
+  public LocationIdentity getKilledLocationIdentity() {
+    return LocationIdentity.any();
+  }
+
+  @Override
+  public void generate(NodeLIRBuilderTool gen) {
+    LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+    LIRKind lirKind = tool.getLIRKind(stamp);
+    MemoryAccess memoryAccess = (MemoryAccess) gen.operand(address);
+    Value expectedValue = expected == null ? Value.ILLEGAL : gen.operand(expected);
+    Variable result = tool.newVariable(lirKind);
+    tool.append(
+        new OCLLIRStmt.AtomicOperationStmt(
+            operation, result, memoryAccess, expectedValue, gen.operand(value)));
+    gen.setResult(this, result);
+  }
+}
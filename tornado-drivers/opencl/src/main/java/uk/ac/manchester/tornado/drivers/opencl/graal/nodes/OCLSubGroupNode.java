@@ -0,0 +1,147 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.nodes;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLBuiltinTool;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
+
+/**
+ * Subgroup operation of the {@link uk.ac.manchester.tornado.api.KernelContext}. The node is fixed
+ * because all threads of a subgroup must reach the operation together, so it cannot be moved across
+ * control flow.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class OCLSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+  public static final NodeClass<OCLSubGroupNode> TYPE = NodeClass.create(OCLSubGroupNode.class);
+
+  @OptionalInput protected ValueNode value;
+  @OptionalInput protected ValueNode lane;
+
+  protected final Operation operation;
+
+  public OCLSubGroupNode(Operation operation) {
+    this(operation, JavaKind.Int, null, null);
+  }
+
+  public OCLSubGroupNode(Operation operation, JavaKind kind, ValueNode value) {
+    this(operation, kind, value, null);
+  }
+
+  public OCLSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+    super(TYPE, StampFactory.forKind(kind));
+    this.operation = operation;
+    this.value = value;
+    this.lane = lane;
+  }
+
+  public Operation operation() {
+    return operation;
+  }
+
+  @Override
+  public void generate(NodeLIRBuilderTool gen) {
+    LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+    OCLBuiltinTool builtins = ((OCLLIRGenerator) tool).getOCLBuiltinTool();
+    LIRKind lirKind = tool.getLIRKind(stamp);
+    Value result;
+    switch (operation) {
+      case ID:
+        result = builtins.genSubGroupId(lirKind);
+        break;
+      case LOCAL_ID:
+        result = builtins.genSubGroupLocalId(lirKind);
+        break;
+      case SIZE:
+        result = builtins.genSubGroupSize(lirKind);
+        break;
+      case NUM:
+        result = builtins.genNumSubGroups(lirKind);
+        break;
+      case SHUFFLE:
+        result = builtins.genSubGroupShuffle(gen.operand(value), gen.operand(lane));
+        break;
+      case SHUFFLE_XOR:
+        result = builtins.genSubGroupShuffleXor(gen.operand(value), gen.operand(lane));
+        break;
+      case SHUFFLE_DOWN:
+        result = builtins.genSubGroupShuffleDown(gen.operand(value), gen.operand(lane));
+        break;
+      case BROADCAST:
+        result = builtins.genSubGroupBroadcast(gen.operand(value), gen.operand(lane));
+        break;
+      case REDUCE_ADD:
+        result = builtins.genSubGroupReduceAdd(gen.operand(value));
+        break;
+      case REDUCE_MIN:
+        result = builtins.genSubGroupReduceMin(gen.operand(value));
+        break;
+      case REDUCE_MAX:
+        result = builtins.genSubGroupReduceMax(gen.operand(value));
+        break;
+      case EXCLUSIVE_SCAN_ADD:
+        result = builtins.genSubGroupExclusiveScanAdd(gen.operand(value));
+        break;
+      case INCLUSIVE_SCAN_ADD:
+        result = builtins.genSubGroupInclusiveScanAdd(gen.operand(value));
+        break;
+      default:
+        throw shouldNotReachHere();
+    }
+    Variable var = tool.newVariable(lirKind);
+    tool.append(new AssignStmt(var, result));
+    gen.setResult(this, var);
+  }
+
+  public enum Operation {
+    ID,
+    LOCAL_ID,
+    SIZE,
+    NUM,
+    SHUFFLE,
+    SHUFFLE_XOR,
+    SHUFFLE_DOWN,
+    BROADCAST,
+    REDUCE_ADD,
+    REDUCE_MIN,
+    REDUCE_MAX,
+    EXCLUSIVE_SCAN_ADD,
+    INCLUSIVE_SCAN_ADD
+  }
+}
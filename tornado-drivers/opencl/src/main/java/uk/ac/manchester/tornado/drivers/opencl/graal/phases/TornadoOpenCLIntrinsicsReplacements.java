@@ -53,6 +53,8 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIDFixedNode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLBarrierNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLSubGroupNode.Operation;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OpenCLPrintf;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 
@@ -140,6 +142,34 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
             graph.replaceFixed(invoke, groupIdNode);
             break;
           }
+        case "Direct#OpenCLIntrinsics.get_sub_group_id":
+          {
+            OCLSubGroupNode subGroupId = graph.addOrUnique(new OCLSubGroupNode(Operation.ID));
+            graph.replaceFixed(invoke, subGroupId);
+            break;
+          }
+        case "Direct#OpenCLIntrinsics.get_sub_group_local_id":
+          {
+            OCLSubGroupNode subGroupLocalId =
+                graph.addOrUnique(new OCLSubGroupNode(Operation.LOCAL_ID));
+            graph.replaceFixed(invoke, subGroupLocalId);
+            break;
+          }
+        case "Direct#OpenCLIntrinsics.get_num_sub_groups":
+          {
+            OCLSubGroupNode numSubGroups = graph.addOrUnique(new OCLSubGroupNode(Operation.NUM));
+            graph.replaceFixed(invoke, numSubGroups);
+            break;
+          }
+        case "Direct#OpenCLIntrinsics.sub_group_reduce_add":
+          replaceSubGroupReduction(graph, invoke, Operation.REDUCE_ADD);
+          break;
+        case "Direct#OpenCLIntrinsics.sub_group_reduce_min":
+          replaceSubGroupReduction(graph, invoke, Operation.REDUCE_MIN);
+          break;
+        case "Direct#OpenCLIntrinsics.sub_group_reduce_max":
+          replaceSubGroupReduction(graph, invoke, Operation.REDUCE_MAX);
+          break;
         case "Direct#OpenCLIntrinsics.printEmpty":
           OpenCLPrintf printfNode = graph.addOrUnique(new OpenCLPrintf("\"\""));
           graph.replaceFixed(invoke, printfNode);
@@ -148,6 +178,14 @@ public class TornadoOpenCLIntrinsicsReplacements extends BasePhase<TornadoHighTi
     }
   }
 
+  private void replaceSubGroupReduction(
+      StructuredGraph graph, InvokeNode invoke, Operation operation) {
+    ValueNode value = invoke.callTarget().arguments().get(0);
+    OCLSubGroupNode reduction =
+        graph.addOrUnique(new OCLSubGroupNode(operation, value.getStackKind(), value));
+    graph.replaceFixed(invoke, reduction);
+  }
+
   private void lowerLocalInvokeNodeNewArray(
       StructuredGraph graph, int length, JavaKind elementKind, InvokeNode newArray) {
     LocalArrayNode localArrayNode;
@@ -60,6 +60,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoValueTypeReplacement;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoopUnroller;
+import uk.ac.manchester.tornado.drivers.common.compiler.phases.utils.ScalarArguments;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLKernelContextAccessNode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
@@ -299,7 +300,10 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
   }
 
   private void propagateParameters(
-      StructuredGraph graph, ParameterNode parameterNode, Object[] args) {
+      StructuredGraph graph,
+      ParameterNode parameterNode,
+      Object[] args,
+      TornadoHighTierContext context) {
     if (args[parameterNode.index()] != null
         && RuntimeUtilities.isBoxedPrimitiveClass(args[parameterNode.index()].getClass())) {
       /*
@@ -317,8 +321,13 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
             graph.addOrUnique(new OCLKernelContextAccessNode(constantValue));
         parameterNode.replaceAtUsages(kernelContextAccessNode);
         index++;
+      } else if (ScalarArguments.isKernelParameter(
+          context, parameterNode, args[parameterNode.index()])) {
+        // The value is passed as a kernel parameter on each launch
+        return;
       } else {
         var value = args[parameterNode.index()];
+        ScalarArguments.markFolded(context, parameterNode);
         ConstantNode primitiveConstant = createPrimitiveConstantFromObjectParameter(value, graph);
 
         parameterNode.replaceAtAllUsages(primitiveConstant, true);
@@ -377,13 +386,14 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
     boolean hasWork = true;
     this.batchThreads = context.getBatchCompilationConfig().getBatchThreads();
     this.gridScheduling = context.isGridSchedulerEnabled();
+    ScalarArguments.beginSpecialisation(context);
 
     while (hasWork) {
       final Mark mark = graph.getMark();
       if (context.hasArgs()) {
         getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "Before Phase Propagate Parameters");
         for (final ParameterNode param : graph.getNodes(ParameterNode.TYPE).snapshot()) {
-          propagateParameters(graph, param, context.getArgs());
+          propagateParameters(graph, param, context.getArgs(), context);
         }
         getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "After Phase Propagate Parameters");
       }
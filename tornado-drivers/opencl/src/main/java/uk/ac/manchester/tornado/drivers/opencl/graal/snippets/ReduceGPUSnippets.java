@@ -27,6 +27,7 @@ package uk.ac.manchester.tornado.drivers.opencl.graal.snippets;
 
 import jdk.vm.ci.meta.JavaKind;
 import org.graalvm.compiler.api.replacements.Snippet;
+import org.graalvm.compiler.api.replacements.Snippet.ConstantParameter;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.java.NewArrayNode;
@@ -57,780 +58,583 @@ public class ReduceGPUSnippets implements Snippets {
    */
   private static int LOCAL_WORK_GROUP_SIZE = 223;
 
-  @Snippet
-  public static void partialReduceIntAdd(int[] inputArray, int[] outputArray, int gidx) {
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceIntAddCarrierValue(
-      int[] inputArray, int[] outputArray, int gidx, int value) {
-
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    localArray[localIdx] = value;
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceLongAdd(long[] inputArray, long[] outputArray, int gidx) {
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceLongAddCarrierValue(
-      long[] inputArray, long[] outputArray, int gidx, long value) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int myID = localIdx + (localGroupSize * groupID);
-
-    inputArray[myID] = value;
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        inputArray[myID] += inputArray[myID + stride];
-      }
-    }
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = inputArray[myID];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceFloatAdd(float[] inputArray, float[] outputArray, int gidx) {
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceFloatAddCarrierValue(
-      float[] inputArray, float[] outputArray, int gidx, float value) {
-
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int myID = localIdx + (localGroupSize * groupID);
-    localArray[localIdx] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
+  private static final int ADD = 0;
+  private static final int MUL = 1;
+  private static final int MAX = 2;
+  private static final int MIN = 3;
 
   @Snippet
-  public static void partialReduceDoubleAdd(double[] inputArray, double[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  public static void partialReduceIntAdd(
+      int[] inputArray, int[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, inputArray[gidx], ADD, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceDoubleAddCarrierValue(
-      double[] inputArray, double[] outputArray, int gidx, double value) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] += localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceIntMult(int[] inputArray, int[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceIntMultCarrierValue(
-      int[] inputArray, int[] outputArray, int gidx, int value) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceLongMult(long[] inputArray, long[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceLongMultCarrierValue(
-      long[] inputArray, long[] outputArray, int gidx, long value) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int myID = localIdx + (localGroupSize * groupID);
-
-    inputArray[myID] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        inputArray[myID] *= inputArray[myID + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = inputArray[myID];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceFloatMult(float[] inputArray, float[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceFloatMultCarrierValue(
-      float[] inputArray, float[] outputArray, int gidx, float value) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceDoubleMult(double[] inputArray, double[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceDoubleMultCarrierValue(
-      double[] inputArray, double[] outputArray, int gidx, double value) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = value;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] *= localArray[localIdx + stride];
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceIntMax(int[] inputArray, int[] outputArray, int gidx) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
-  }
-
-  @Snippet
-  public static void partialReduceIntMaxCarrierValue(
-      int[] inputArray, int[] outputArray, int gidx, int extra) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = extra;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  public static void partialReduceIntAddCarrierValue(
+      int[] inputArray,
+      int[] outputArray,
+      int gidx,
+      int value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, value, ADD, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceLongMax(long[] inputArray, long[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
-
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
-
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  public static void partialReduceLongAdd(
+      long[] inputArray, long[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, inputArray[gidx], ADD, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceLongMaxCarrierValue(
-      long[] inputArray, long[] outputArray, int gidx, long extra) {
+  public static void partialReduceLongAddCarrierValue(
+      long[] inputArray,
+      long[] outputArray,
+      int gidx,
+      long value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, value, ADD, useSubGroups);
+  }
 
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  @Snippet
+  public static void partialReduceFloatAdd(
+      float[] inputArray, float[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, inputArray[gidx], ADD, useSubGroups);
+  }
 
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+  @Snippet
+  public static void partialReduceFloatAddCarrierValue(
+      float[] inputArray,
+      float[] outputArray,
+      int gidx,
+      float value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, value, ADD, useSubGroups);
+  }
 
-    localArray[localIdx] = extra;
+  @Snippet
+  public static void partialReduceDoubleAdd(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, inputArray[gidx], ADD, useSubGroups);
+  }
 
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceDoubleAddCarrierValue(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      double value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, value, ADD, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceIntMult(
+      int[] inputArray, int[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, inputArray[gidx], MUL, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceFloatMax(float[] inputArray, float[] outputArray, int gidx) {
+  public static void partialReduceIntMultCarrierValue(
+      int[] inputArray,
+      int[] outputArray,
+      int gidx,
+      int value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, value, MUL, useSubGroups);
+  }
 
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  @Snippet
+  public static void partialReduceLongMult(
+      long[] inputArray, long[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, inputArray[gidx], MUL, useSubGroups);
+  }
 
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+  @Snippet
+  public static void partialReduceLongMultCarrierValue(
+      long[] inputArray,
+      long[] outputArray,
+      int gidx,
+      long value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, value, MUL, useSubGroups);
+  }
 
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceFloatMult(
+      float[] inputArray, float[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, inputArray[gidx], MUL, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceFloatMultCarrierValue(
+      float[] inputArray,
+      float[] outputArray,
+      int gidx,
+      float value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, value, MUL, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceFloatMaxCarrierValue(
-      float[] inputArray, float[] outputArray, int gidx, float extra) {
+  public static void partialReduceDoubleMult(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, inputArray[gidx], MUL, useSubGroups);
+  }
 
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  @Snippet
+  public static void partialReduceDoubleMultCarrierValue(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      double value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, value, MUL, useSubGroups);
+  }
 
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+  @Snippet
+  public static void partialReduceIntMax(
+      int[] inputArray, int[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, inputArray[gidx], MAX, useSubGroups);
+  }
 
-    localArray[localIdx] = extra;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceIntMaxCarrierValue(
+      int[] inputArray,
+      int[] outputArray,
+      int gidx,
+      int value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, value, MAX, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceLongMax(
+      long[] inputArray, long[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, inputArray[gidx], MAX, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceDoubleMax(double[] inputArray, double[] outputArray, int gidx) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  public static void partialReduceLongMaxCarrierValue(
+      long[] inputArray,
+      long[] outputArray,
+      int gidx,
+      long value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, value, MAX, useSubGroups);
+  }
 
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+  @Snippet
+  public static void partialReduceFloatMax(
+      float[] inputArray, float[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, inputArray[gidx], MAX, useSubGroups);
+  }
 
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceFloatMaxCarrierValue(
+      float[] inputArray,
+      float[] outputArray,
+      int gidx,
+      float value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, value, MAX, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceDoubleMax(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, inputArray[gidx], MAX, useSubGroups);
   }
 
   @Snippet
   public static void partialReduceDoubleMaxCarrierValue(
-      double[] inputArray, double[] outputArray, int gidx, double extra) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      double value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, value, MAX, useSubGroups);
+  }
 
-    localArray[localIdx] = extra;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.max(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceIntMin(
+      int[] inputArray, int[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, inputArray[gidx], MIN, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceIntMinCarrierValue(
+      int[] inputArray,
+      int[] outputArray,
+      int gidx,
+      int value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceInt(outputArray, value, MIN, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceIntMin(int[] inputArray, int[] outputArray, int gidx) {
+  public static void partialReduceLongMin(
+      long[] inputArray, long[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, inputArray[gidx], MIN, useSubGroups);
+  }
 
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  @Snippet
+  public static void partialReduceLongMinCarrierValue(
+      long[] inputArray,
+      long[] outputArray,
+      int gidx,
+      long value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceLong(outputArray, value, MIN, useSubGroups);
+  }
 
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+  @Snippet
+  public static void partialReduceFloatMin(
+      float[] inputArray, float[] outputArray, int gidx, @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, inputArray[gidx], MIN, useSubGroups);
+  }
 
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+  @Snippet
+  public static void partialReduceFloatMinCarrierValue(
+      float[] inputArray,
+      float[] outputArray,
+      int gidx,
+      float value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceFloat(outputArray, value, MIN, useSubGroups);
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
-    }
+  @Snippet
+  public static void partialReduceDoubleMin(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, inputArray[gidx], MIN, useSubGroups);
   }
 
   @Snippet
-  public static void partialReduceIntMinCarrierValue(
-      int[] inputArray, int[] outputArray, int gidx, int extra) {
+  public static void partialReduceDoubleMinCarrierValue(
+      double[] inputArray,
+      double[] outputArray,
+      int gidx,
+      double value,
+      @ConstantParameter boolean useSubGroups) {
+    reduceDouble(outputArray, value, MIN, useSubGroups);
+  }
+
+  /**
+   * Reduces one value per thread. Each work-group reduces its values, with the sub-group built-ins
+   * when the device provides them, and writes the partial result in <code>outputArray[groupID + 1]
+   * </code>. The runtime combines the partial results in a sequential task.
+   */
+  private static void reduceInt(int[] outputArray, int value, int operation, boolean useSubGroups) {
+    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
     int localIdx = OpenCLIntrinsics.get_local_id(0);
     int localGroupSize = OpenCLIntrinsics.get_local_size(0);
     int groupID = OpenCLIntrinsics.get_group_id(0);
+    boolean subGroups = useSubGroups && operation != MUL;
 
-    int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = extra;
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
-
+    int partial = reduceGroup(localArray, value, operation, subGroups, localIdx, localGroupSize);
     OpenCLIntrinsics.globalBarrier();
     if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+      outputArray[groupID + 1] = partial;
     }
   }
 
-  @Snippet
-  public static void partialReduceLongMin(long[] inputArray, long[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
-
-    localArray[localIdx] = inputArray[gidx];
+  /** The result is only valid in the first thread of the work-group. */
+  private static int reduceGroup(
+      int[] localArray,
+      int value,
+      int operation,
+      boolean useSubGroups,
+      int localIdx,
+      int localGroupSize) {
+    if (useSubGroups) {
+      int subGroupResult = reduceSubGroup(operation, value);
+      if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+        localArray[OpenCLIntrinsics.get_sub_group_id()] = subGroupResult;
+      }
+      OpenCLIntrinsics.localBarrier();
+      int result = localArray[0];
+      if (localIdx == 0) {
+        int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+        for (int i = 1; i < numSubGroups; i++) {
+          result = combine(operation, result, localArray[i]);
+        }
+      }
+      return result;
+    }
 
+    localArray[localIdx] = value;
     for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
       OpenCLIntrinsics.localBarrier();
       if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+        localArray[localIdx] =
+            combine(operation, localArray[localIdx], localArray[localIdx + stride]);
       }
     }
+    return localArray[0];
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+  private static int reduceSubGroup(int operation, int value) {
+    switch (operation) {
+      case MAX:
+        return OpenCLIntrinsics.sub_group_reduce_max(value);
+      case MIN:
+        return OpenCLIntrinsics.sub_group_reduce_min(value);
+      default:
+        return OpenCLIntrinsics.sub_group_reduce_add(value);
     }
   }
 
-  @Snippet
-  public static void partialReduceLongMinCarrierValue(
-      long[] inputArray, long[] outputArray, int gidx, long extra) {
+  private static int combine(int operation, int a, int b) {
+    switch (operation) {
+      case MUL:
+        return a * b;
+      case MAX:
+        return TornadoMath.max(a, b);
+      case MIN:
+        return TornadoMath.min(a, b);
+      default:
+        return a + b;
+    }
+  }
+
+  private static void reduceLong(
+      long[] outputArray, long value, int operation, boolean useSubGroups) {
+    long[] localArray =
+        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
 
     int localIdx = OpenCLIntrinsics.get_local_id(0);
     int localGroupSize = OpenCLIntrinsics.get_local_size(0);
     int groupID = OpenCLIntrinsics.get_group_id(0);
+    boolean subGroups = useSubGroups && operation != MUL;
 
-    long[] localArray =
-        (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+    long partial = reduceGroup(localArray, value, operation, subGroups, localIdx, localGroupSize);
+    OpenCLIntrinsics.globalBarrier();
+    if (localIdx == 0) {
+      outputArray[groupID + 1] = partial;
+    }
+  }
 
-    localArray[localIdx] = extra;
+  /** The result is only valid in the first thread of the work-group. */
+  private static long reduceGroup(
+      long[] localArray,
+      long value,
+      int operation,
+      boolean useSubGroups,
+      int localIdx,
+      int localGroupSize) {
+    if (useSubGroups) {
+      long subGroupResult = reduceSubGroup(operation, value);
+      if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+        localArray[OpenCLIntrinsics.get_sub_group_id()] = subGroupResult;
+      }
+      OpenCLIntrinsics.localBarrier();
+      long result = localArray[0];
+      if (localIdx == 0) {
+        int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+        for (int i = 1; i < numSubGroups; i++) {
+          result = combine(operation, result, localArray[i]);
+        }
+      }
+      return result;
+    }
 
+    localArray[localIdx] = value;
     for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
       OpenCLIntrinsics.localBarrier();
       if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+        localArray[localIdx] =
+            combine(operation, localArray[localIdx], localArray[localIdx + stride]);
       }
     }
+    return localArray[0];
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+  private static long reduceSubGroup(int operation, long value) {
+    switch (operation) {
+      case MAX:
+        return OpenCLIntrinsics.sub_group_reduce_max(value);
+      case MIN:
+        return OpenCLIntrinsics.sub_group_reduce_min(value);
+      default:
+        return OpenCLIntrinsics.sub_group_reduce_add(value);
     }
   }
 
-  @Snippet
-  public static void partialReduceFloatMin(float[] inputArray, float[] outputArray, int gidx) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  private static long combine(int operation, long a, long b) {
+    switch (operation) {
+      case MUL:
+        return a * b;
+      case MAX:
+        return TornadoMath.max(a, b);
+      case MIN:
+        return TornadoMath.min(a, b);
+      default:
+        return a + b;
+    }
+  }
 
+  private static void reduceFloat(
+      float[] outputArray, float value, int operation, boolean useSubGroups) {
     float[] localArray =
         (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
 
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+    int localIdx = OpenCLIntrinsics.get_local_id(0);
+    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
+    int groupID = OpenCLIntrinsics.get_group_id(0);
+    boolean subGroups = useSubGroups && operation != MUL;
 
+    float partial = reduceGroup(localArray, value, operation, subGroups, localIdx, localGroupSize);
     OpenCLIntrinsics.globalBarrier();
     if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+      outputArray[groupID + 1] = partial;
     }
   }
 
-  @Snippet
-  public static void partialReduceFloatMinCarrierValue(
-      float[] inputArray, float[] outputArray, int gidx, float extra) {
-
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    float[] localArray =
-        (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+  /** The result is only valid in the first thread of the work-group. */
+  private static float reduceGroup(
+      float[] localArray,
+      float value,
+      int operation,
+      boolean useSubGroups,
+      int localIdx,
+      int localGroupSize) {
+    if (useSubGroups) {
+      float subGroupResult = reduceSubGroup(operation, value);
+      if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+        localArray[OpenCLIntrinsics.get_sub_group_id()] = subGroupResult;
+      }
+      OpenCLIntrinsics.localBarrier();
+      float result = localArray[0];
+      if (localIdx == 0) {
+        int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+        for (int i = 1; i < numSubGroups; i++) {
+          result = combine(operation, result, localArray[i]);
+        }
+      }
+      return result;
+    }
 
-    localArray[localIdx] = extra;
+    localArray[localIdx] = value;
     for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
       OpenCLIntrinsics.localBarrier();
       if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+        localArray[localIdx] =
+            combine(operation, localArray[localIdx], localArray[localIdx + stride]);
       }
     }
+    return localArray[0];
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+  private static float reduceSubGroup(int operation, float value) {
+    switch (operation) {
+      case MAX:
+        return OpenCLIntrinsics.sub_group_reduce_max(value);
+      case MIN:
+        return OpenCLIntrinsics.sub_group_reduce_min(value);
+      default:
+        return OpenCLIntrinsics.sub_group_reduce_add(value);
     }
   }
 
-  @Snippet
-  public static void partialReduceDoubleMin(double[] inputArray, double[] outputArray, int gidx) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
+  private static float combine(int operation, float a, float b) {
+    switch (operation) {
+      case MUL:
+        return a * b;
+      case MAX:
+        return TornadoMath.max(a, b);
+      case MIN:
+        return TornadoMath.min(a, b);
+      default:
+        return a + b;
+    }
+  }
 
+  private static void reduceDouble(
+      double[] outputArray, double value, int operation, boolean useSubGroups) {
     double[] localArray =
         (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
 
-    localArray[localIdx] = inputArray[gidx];
-    for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
-      OpenCLIntrinsics.localBarrier();
-      if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
-      }
-    }
+    int localIdx = OpenCLIntrinsics.get_local_id(0);
+    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
+    int groupID = OpenCLIntrinsics.get_group_id(0);
+    boolean subGroups = useSubGroups && operation != MUL;
 
+    double partial = reduceGroup(localArray, value, operation, subGroups, localIdx, localGroupSize);
     OpenCLIntrinsics.globalBarrier();
     if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+      outputArray[groupID + 1] = partial;
     }
   }
 
-  @Snippet
-  public static void partialReduceDoubleMinCarrierValue(
-      double[] inputArray, double[] outputArray, int gidx, double extra) {
-    int localIdx = OpenCLIntrinsics.get_local_id(0);
-    int localGroupSize = OpenCLIntrinsics.get_local_size(0);
-    int groupID = OpenCLIntrinsics.get_group_id(0);
-
-    double[] localArray =
-        (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+  /** The result is only valid in the first thread of the work-group. */
+  private static double reduceGroup(
+      double[] localArray,
+      double value,
+      int operation,
+      boolean useSubGroups,
+      int localIdx,
+      int localGroupSize) {
+    if (useSubGroups) {
+      double subGroupResult = reduceSubGroup(operation, value);
+      if (OpenCLIntrinsics.get_sub_group_local_id() == 0) {
+        localArray[OpenCLIntrinsics.get_sub_group_id()] = subGroupResult;
+      }
+      OpenCLIntrinsics.localBarrier();
+      double result = localArray[0];
+      if (localIdx == 0) {
+        int numSubGroups = OpenCLIntrinsics.get_num_sub_groups();
+        for (int i = 1; i < numSubGroups; i++) {
+          result = combine(operation, result, localArray[i]);
+        }
+      }
+      return result;
+    }
 
-    localArray[localIdx] = extra;
+    localArray[localIdx] = value;
     for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
       OpenCLIntrinsics.localBarrier();
       if (localIdx < stride) {
-        localArray[localIdx] = TornadoMath.min(localArray[localIdx], localArray[localIdx + stride]);
+        localArray[localIdx] =
+            combine(operation, localArray[localIdx], localArray[localIdx + stride]);
       }
     }
+    return localArray[0];
+  }
 
-    OpenCLIntrinsics.globalBarrier();
-    if (localIdx == 0) {
-      outputArray[groupID + 1] = localArray[0];
+  private static double reduceSubGroup(int operation, double value) {
+    switch (operation) {
+      case MAX:
+        return OpenCLIntrinsics.sub_group_reduce_max(value);
+      case MIN:
+        return OpenCLIntrinsics.sub_group_reduce_min(value);
+      default:
+        return OpenCLIntrinsics.sub_group_reduce_add(value);
+    }
+  }
+
+  private static double combine(int operation, double a, double b) {
+    switch (operation) {
+      case MUL:
+        return a * b;
+      case MAX:
+        return TornadoMath.max(a, b);
+      case MIN:
+        return TornadoMath.min(a, b);
+      default:
+        return a + b;
     }
   }
 
@@ -945,9 +749,12 @@ public class ReduceGPUSnippets implements Snippets {
 
     Providers providers;
 
-    public Templates(OptionValues options, Providers providers) {
+    private final boolean useSubGroups;
+
+    public Templates(OptionValues options, Providers providers, boolean useSubGroups) {
       super(options, providers);
       this.providers = providers;
+      this.useSubGroups = useSubGroups;
     }
 
     private SnippetInfo snippet(Tuple2<Class<? extends ReduceGPUSnippets>, String> tuple2) {
@@ -1144,6 +951,7 @@ public class ReduceGPUSnippets implements Snippets {
       if (extra != null) {
         args.add("value", extra);
       }
+      args.addConst("useSubGroups", useSubGroups);
       SnippetTemplate template = template(tool, storeAtomicIndexed, args);
       template.instantiate(
           tool.getMetaAccess(), storeAtomicIndexed, SnippetTemplate.DEFAULT_REPLACER, args);
@@ -1173,6 +981,7 @@ public class ReduceGPUSnippets implements Snippets {
       if (extra != null) {
         args.add("value", extra);
       }
+      args.addConst("useSubGroups", useSubGroups);
 
       SnippetTemplate template = template(tool, writeAtomic, args);
       template.instantiate(
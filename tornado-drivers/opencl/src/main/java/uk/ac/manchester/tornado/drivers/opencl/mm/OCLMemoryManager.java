@@ -91,6 +91,10 @@ public class OCLMemoryManager implements TornadoMemoryProvider {
     return deviceContext.getPlatformContext().createBuffer(flags, size);
   }
 
+  public long createSubBuffer(long bufferId, long offset, long size, long flags) {
+    return deviceContext.getPlatformContext().createSubBuffer(bufferId, flags, offset, size);
+  }
+
   public void releaseBuffer(long bufferId) {
     deviceContext.getPlatformContext().releaseBuffer(bufferId);
   }
@@ -99,11 +103,11 @@ public class OCLMemoryManager implements TornadoMemoryProvider {
     return constantPointer;
   }
 
-  long toAtomicAddress() {
+  synchronized long toAtomicAddress() {
     return atomicsRegion;
   }
 
-  void allocateAtomicRegion() {
+  synchronized void allocateAtomicRegion() {
     if (this.atomicsRegion == -1) {
       this.atomicsRegion =
           deviceContext
@@ -115,7 +119,7 @@ public class OCLMemoryManager implements TornadoMemoryProvider {
     }
   }
 
-  void deallocateAtomicRegion() {
+  synchronized void deallocateAtomicRegion() {
     if (this.atomicsRegion != -1) {
       deviceContext.getPlatformContext().releaseBuffer(this.atomicsRegion);
       this.atomicsRegion = -1;
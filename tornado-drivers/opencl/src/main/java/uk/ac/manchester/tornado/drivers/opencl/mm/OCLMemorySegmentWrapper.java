@@ -35,6 +35,8 @@ import uk.ac.manchester.tornado.api.types.images.TornadoImagesInterface;
 import uk.ac.manchester.tornado.api.types.matrix.TornadoMatrixInterface;
 import uk.ac.manchester.tornado.api.types.volumes.TornadoVolumesInterface;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
@@ -44,6 +46,17 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
   private static final int INIT_VALUE = -1;
   private final OCLDeviceContext deviceContext;
   private final long batchSize;
+
+  /**
+   * When set, the buffer is created over the memory segment of the host array ({@code
+   * CL_MEM_USE_HOST_PTR}) instead of being taken from the buffer provider. Transfers to the device
+   * unmap the buffer and transfers to the host map it, so no data is copied on devices that share
+   * memory with the host.
+   */
+  private final boolean hostMapped;
+
+  private long mappedPointer;
+  private long mappedExecutionPlanId;
   private long bufferId;
   private long bufferOffset;
   private boolean onDevice;
@@ -52,8 +65,14 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
   private long subregionSize;
 
   public OCLMemorySegmentWrapper(OCLDeviceContext deviceContext, long batchSize) {
+    this(deviceContext, batchSize, false);
+  }
+
+  public OCLMemorySegmentWrapper(
+      OCLDeviceContext deviceContext, long batchSize, boolean hostMapped) {
     this.deviceContext = deviceContext;
     this.batchSize = batchSize;
+    this.hostMapped = hostMapped;
     this.bufferSize = INIT_VALUE;
     this.bufferId = INIT_VALUE;
     this.bufferOffset = 0;
@@ -63,6 +82,7 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
   public OCLMemorySegmentWrapper(long bufferSize, OCLDeviceContext deviceContext, long batchSize) {
     this.deviceContext = deviceContext;
     this.batchSize = batchSize;
+    this.hostMapped = false;
     this.bufferSize = bufferSize;
     this.bufferId = INIT_VALUE;
     this.bufferOffset = 0;
@@ -113,6 +133,10 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
       long partialReadSize,
       int[] events,
       boolean useDeps) {
+    if (hostMapped) {
+      mapToHost(executionPlanId, (useDeps) ? events : null);
+      return -1;
+    }
     MemorySegment segment;
     segment = getSegmentWithHeader(reference);
     final int returnEvent;
@@ -158,6 +182,11 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
   @Override
   public void write(long executionPlanId, Object reference) {
+    if (hostMapped) {
+      unmapFromHost(null);
+      onDevice = true;
+      return;
+    }
     MemorySegment segment;
     segment = getSegmentWithHeader(reference);
     if (batchSize <= 0) {
@@ -172,6 +201,10 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
   @Override
   public int enqueueRead(
       long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+    if (hostMapped) {
+      mapToHost(executionPlanId, (useDeps) ? events : null);
+      return -1;
+    }
     MemorySegment segment;
     segment = getSegmentWithHeader(reference);
 
@@ -202,6 +235,14 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
       int[] events,
       boolean useDeps) {
     List<Integer> returnEvents = new ArrayList<>();
+    if (hostMapped) {
+      int unmapEvent = unmapFromHost((useDeps) ? events : null);
+      if (unmapEvent != -1) {
+        returnEvents.add(unmapEvent);
+      }
+      onDevice = true;
+      return returnEvents;
+    }
     MemorySegment segment;
     segment = getSegmentWithHeader(reference);
 
@@ -242,13 +283,52 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     return returnEvents;
   }
 
+  @Override
+  public List<Integer> enqueueWriteRegion(
+      long executionPlanId,
+      Object reference,
+      long offset,
+      long numBytes,
+      int[] events,
+      boolean useDeps) {
+    if (batchSize > 0) {
+      return null;
+    }
+    if (hostMapped) {
+      return enqueueWrite(executionPlanId, reference, 0, 0, events, useDeps);
+    }
+    MemorySegment segment = getSegmentWithHeader(reference);
+    List<Integer> returnEvents = new ArrayList<>();
+    returnEvents.add(
+        deviceContext.enqueueWriteBuffer(
+            executionPlanId,
+            toBuffer(),
+            bufferOffset + TornadoNativeArray.ARRAY_HEADER + offset,
+            numBytes,
+            segment.address(),
+            TornadoNativeArray.ARRAY_HEADER + offset,
+            (useDeps) ? events : null));
+    onDevice = true;
+    return returnEvents;
+  }
+
   @Override
   public void allocate(Object reference, long batchSize)
       throws TornadoOutOfMemoryException, TornadoMemoryException {
     MemorySegment segment;
     segment = getSegmentWithHeader(reference);
 
-    if (batchSize <= 0) {
+    if (hostMapped) {
+      bufferSize = segment.byteSize();
+      bufferId =
+          deviceContext
+              .getPlatformContext()
+              .createBuffer(
+                  OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_USE_HOST_PTR,
+                  bufferSize,
+                  segment.address())
+              .getBuffer();
+    } else if (batchSize <= 0) {
       bufferSize = segment.byteSize();
       bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
     } else {
@@ -272,7 +352,12 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
   public void markAsFreeBuffer() throws TornadoMemoryException {
     TornadoInternalError.guarantee(
         bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-    deviceContext.getBufferProvider().markBufferReleased(bufferId);
+    if (hostMapped) {
+      unmapFromHost(null);
+      deviceContext.getPlatformContext().releaseBuffer(bufferId);
+    } else {
+      deviceContext.getBufferProvider().markBufferReleased(bufferId);
+    }
     bufferId = INIT_VALUE;
     bufferSize = INIT_VALUE;
 
@@ -283,9 +368,47 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
   @Override
   public long deallocate() {
+    if (hostMapped) {
+      // The buffer was released with markAsFreeBuffer, and it never belonged to the provider
+      return 0;
+    }
     return deviceContext.getBufferProvider().deallocate();
   }
 
+  /**
+   * Maps the buffer to give the host access to the data written by the device. It blocks until the
+   * data is visible from the host. The buffer stays mapped until the next transfer to the device.
+   */
+  private void mapToHost(long executionPlanId, int[] events) {
+    if (mappedPointer != 0) {
+      return;
+    }
+    mappedPointer =
+        deviceContext.mapBuffer(
+            executionPlanId,
+            bufferId,
+            OCLMapFlags.CL_MAP_READ | OCLMapFlags.CL_MAP_WRITE,
+            0,
+            bufferSize,
+            events);
+    mappedExecutionPlanId = executionPlanId;
+  }
+
+  /**
+   * Returns the ownership of a mapped buffer to the device.
+   *
+   * @return the event of the unmap operation, or -1 if the buffer was not mapped.
+   */
+  private int unmapFromHost(int[] events) {
+    if (mappedPointer == 0) {
+      return -1;
+    }
+    int event =
+        deviceContext.enqueueUnmapBuffer(mappedExecutionPlanId, bufferId, mappedPointer, events);
+    mappedPointer = 0;
+    return event;
+  }
+
   @Override
   public long size() {
     return bufferSize;
@@ -24,6 +24,7 @@
 package uk.ac.manchester.tornado.drivers.opencl.runtime;
 
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDevice;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
 
@@ -45,4 +46,27 @@ public class OCLBufferProvider extends TornadoBufferProvider {
   protected void releaseBuffer(long buffer) {
     ((OCLDeviceContext) deviceContext).getMemoryManager().releaseBuffer(buffer);
   }
+
+  /** OpenCL buffers are opaque handles, so arena regions are split with sub-buffers. */
+  @Override
+  protected long createSubBuffer(long region, long offset, long size) {
+    return ((OCLDeviceContext) deviceContext)
+        .getMemoryManager()
+        .createSubBuffer(region, offset, size, OCLMemFlags.CL_MEM_READ_WRITE);
+  }
+
+  @Override
+  protected void releaseSubBuffer(long subBuffer) {
+    ((OCLDeviceContext) deviceContext).getMemoryManager().releaseBuffer(subBuffer);
+  }
+
+  @Override
+  protected long getSubAllocationAlignment() {
+    if (((OCLDeviceContext) deviceContext).getDevice() instanceof OCLDevice device) {
+      // CL_DEVICE_MEM_BASE_ADDR_ALIGN is expressed in bits
+      long alignment = device.getDeviceMemoryBaseAlignment() / Byte.SIZE;
+      return Math.max(alignment, DEFAULT_SUB_ALLOCATION_ALIGNMENT);
+    }
+    return DEFAULT_SUB_ALLOCATION_ALIGNMENT;
+  }
 }
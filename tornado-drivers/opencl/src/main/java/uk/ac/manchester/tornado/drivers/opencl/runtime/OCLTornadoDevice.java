@@ -61,7 +61,7 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
-import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.opencl.OCLBackendImpl;
 import uk.ac.manchester.tornado.drivers.opencl.OCLCodeCache;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
@@ -90,6 +90,7 @@ import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoJITCache;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
@@ -266,6 +267,21 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     final Access[] taskAccess = taskMeta.getArgumentsAccess();
     System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+    final boolean isFPGA = OCLBackend.isDeviceAnFPGAAccelerator(deviceContext);
+    final String cacheKey =
+        isFPGA
+            ? null
+            : TornadoJITCache.computeKey(
+                executable, this, OCLDeviceContext.checkKernelName(resolvedMethod.getName()));
+    final TornadoJITCache.Entry cachedKernel = TornadoJITCache.lookup(cacheKey);
+    if (cachedKernel != null) {
+      // Install the kernel generated by a previous run
+      taskMeta.setCompiledGraph(resolvedMethod);
+      cachedKernel.restoreDomain(taskMeta);
+      return deviceContext.installCode(
+          taskMeta, task.getId(), cachedKernel.getEntryPoint(), cachedKernel.getCode());
+    }
+
     try {
       OCLProviders providers = (OCLProviders) getBackend().getProviders();
       TornadoProfiler profiler = task.getProfiler();
@@ -297,7 +313,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
       profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
       // Compile the code
       OCLInstalledCode installedCode;
-      if (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext)) {
+      if (isFPGA) {
         // A) for FPGA
         installedCode =
             deviceContext.installCode(
@@ -308,6 +324,16 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
       } else {
         // B) for CPU multi-core or GPU
         installedCode = deviceContext.installCode(result);
+        // Atomics are registered during the compilation, so those kernels are not cached
+        if (checkAtomicsForTask(task) == null && !checkAtomicsParametersForTask(task)) {
+          TornadoJITCache.store(
+              cacheKey,
+              result.getName(),
+              result.getTargetCode(),
+              sketch,
+              result.getMethods(),
+              taskMeta);
+        }
       }
       profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
       profiler.sum(
@@ -594,7 +620,11 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
   }
 
   private XPUBuffer createDeviceBuffer(
-      Class<?> type, Object object, OCLDeviceContext deviceContext, long batchSize) {
+      Class<?> type,
+      Object object,
+      OCLDeviceContext deviceContext,
+      long batchSize,
+      DeviceBufferState state) {
     XPUBuffer result = null;
     if (type.isArray()) {
       if (!type.getComponentType().isArray()) {
@@ -612,6 +642,9 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         result = new AtomicsBuffer(new int[] {}, deviceContext);
       } else if (object.getClass().getAnnotation(Vector.class) != null) {
         result = new OCLVectorWrapper(deviceContext, object, batchSize);
+      } else if (object instanceof TornadoNativeArray
+          && isHostMapped(deviceContext, batchSize, state)) {
+        result = new OCLMemorySegmentWrapper(deviceContext, batchSize, true);
       } else if (object instanceof MemorySegment) {
         result = new OCLMemorySegmentWrapper(deviceContext, batchSize);
       } else if (object instanceof IntArray) {
@@ -639,13 +672,19 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     return result;
   }
 
+  /**
+   * Buffers of execution plans with unified memory are created over the host array when the device
+   * shares its memory with the host. Batches use regions of a device buffer, so they still copy.
+   */
+  private static boolean isHostMapped(
+      OCLDeviceContext deviceContext, long batchSize, DeviceBufferState state) {
+    return state.isUnifiedMemory()
+        && batchSize <= 0
+        && deviceContext.getDevice().hasDeviceUnifiedMemory();
+  }
+
   @Override
-  public synchronized long allocateObjects(
-      Object[] objects, long batchSize, DeviceBufferState[] states) {
-    TornadoBufferProvider bufferProvider = getDeviceContext().getBufferProvider();
-    if (!bufferProvider.isNumFreeBuffersAvailable(objects.length)) {
-      bufferProvider.resetBuffers();
-    }
+  public long allocateObjects(Object[] objects, long batchSize, DeviceBufferState[] states) {
     long allocatedSpace = 0;
     for (int i = 0; i < objects.length; i++) {
       allocatedSpace += allocate(objects[i], batchSize, states[i]);
@@ -653,6 +692,16 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     return allocatedSpace;
   }
 
+  @Override
+  public long getBufferPoolHits() {
+    return getDeviceContext().getBufferProvider().getPoolHits();
+  }
+
+  @Override
+  public long getBufferPoolMisses() {
+    return getDeviceContext().getBufferProvider().getPoolMisses();
+  }
+
   private XPUBuffer newDeviceBufferAllocation(
       Object object, long batchSize, DeviceBufferState deviceObjectState) {
     final XPUBuffer buffer;
@@ -661,7 +710,11 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         "A device memory leak might be occurring.");
     buffer =
         createDeviceBuffer(
-            object.getClass(), object, (OCLDeviceContext) getDeviceContext(), batchSize);
+            object.getClass(),
+            object,
+            (OCLDeviceContext) getDeviceContext(),
+            batchSize,
+            deviceObjectState);
     deviceObjectState.setXPUBuffer(buffer);
     buffer.allocate(object, batchSize);
     return buffer;
@@ -686,7 +739,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
   }
 
   @Override
-  public synchronized long deallocate(DeviceBufferState deviceBufferState) {
+  public long deallocate(DeviceBufferState deviceBufferState) {
     long deallocatedSpace = 0;
     if (deviceBufferState.isLockedBuffer()) {
       return deallocatedSpace;
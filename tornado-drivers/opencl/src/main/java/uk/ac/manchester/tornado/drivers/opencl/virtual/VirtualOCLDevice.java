@@ -178,6 +178,7 @@ public class VirtualOCLDevice implements OCLTargetDevice {
     return deviceAddressBits;
   }
 
+  @Override
   public boolean hasDeviceUnifiedMemory() {
     return false;
   }
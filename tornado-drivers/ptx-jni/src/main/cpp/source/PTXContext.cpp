@@ -91,6 +91,49 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXContext_cuM
     return (jlong) result;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXContext
+ * Method:    cuMemHostRegister
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXContext_cuMemHostRegister
+  (JNIEnv *env, jclass clazz, jlong cuContext, jlong host_ptr, jlong num_bytes) {
+    CUcontext* ctx = (CUcontext*) cuContext;
+    CUresult result = cuCtxSetCurrent(*ctx);
+    LOG_PTX_AND_VALIDATE("cuCtxSetCurrent", result);
+
+    result = cuMemHostRegister((void *) host_ptr, (size_t) num_bytes, CU_MEMHOSTREGISTER_DEVICEMAP);
+    LOG_PTX_AND_VALIDATE("cuMemHostRegister", result);
+    // A null pointer tells the caller to fall back to a device allocation (e.g., when the pages are
+    // already registered by another array)
+    if (result != CUDA_SUCCESS) return 0;
+
+    CUdeviceptr dev_ptr;
+    result = cuMemHostGetDevicePointer(&dev_ptr, (void *) host_ptr, 0);
+    LOG_PTX_AND_VALIDATE("cuMemHostGetDevicePointer", result);
+    if (result != CUDA_SUCCESS) {
+        cuMemHostUnregister((void *) host_ptr);
+        return 0;
+    }
+    return (jlong) dev_ptr;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXContext
+ * Method:    cuMemHostUnregister
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXContext_cuMemHostUnregister
+  (JNIEnv *env, jclass clazz, jlong cuContext, jlong host_ptr) {
+    CUcontext* ctx = (CUcontext*) cuContext;
+    CUresult result = cuCtxSetCurrent(*ctx);
+    LOG_PTX_AND_VALIDATE("cuCtxSetCurrent", result);
+
+    result = cuMemHostUnregister((void *) host_ptr);
+    LOG_PTX_AND_VALIDATE("cuMemHostUnregister", result);
+    return (jlong) result;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXContext
  * Method:    cuCtxSetCurrent
@@ -746,4 +746,62 @@ JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStre
     LOG_PTX_AND_VALIDATE("cuMemcpyHtoDAsyncMemSeg", result);
     record_event(&afterEvent, &stream);
     return wrapper_from_events(env, &beforeEvent, &afterEvent);
-}
\ No newline at end of file
+}
+
+/*
+    Java callback to invoke when the work enqueued on a stream is resolved.
+
+    vm          -- virtual machine the callback belongs to
+    callback    -- global reference to a java.lang.Runnable
+*/
+typedef struct completion_callback {
+    JavaVM *vm;
+    jobject callback;
+} CompletionCallback;
+
+/*
+    Invoked by the CUDA driver, from one of its own threads, once all the work enqueued on the stream before the
+    callback is complete or has failed. The callback must not make CUDA calls. The thread is attached to the JVM as a
+    daemon thread and is not detached, since driver threads are reused.
+*/
+static void CUDA_CB notify_completion(CUstream stream, CUresult stream_status, void *user_data) {
+    CompletionCallback *completion = static_cast<CompletionCallback *>(user_data);
+    JNIEnv *env;
+    if (completion->vm->AttachCurrentThreadAsDaemon(reinterpret_cast<void **>(&env), NULL) == JNI_OK) {
+        jclass klass = env->GetObjectClass(completion->callback);
+        jmethodID run = env->GetMethodID(klass, "run", "()V");
+        env->CallVoidMethod(completion->callback, run);
+        if (env->ExceptionCheck()) {
+            env->ExceptionDescribe();
+            env->ExceptionClear();
+        }
+        env->DeleteLocalRef(klass);
+        env->DeleteGlobalRef(completion->callback);
+    }
+    free(completion);
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuStreamAddCallback
+ * Signature: ([BLjava/lang/Runnable;)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuStreamAddCallback
+  (JNIEnv *env, jclass clazz, jbyteArray stream_wrapper, jobject callback) {
+    CompletionCallback *completion = static_cast<CompletionCallback *>(malloc(sizeof(CompletionCallback)));
+    if (completion == NULL || env->GetJavaVM(&completion->vm) != JNI_OK) {
+        free(completion);
+        return (jlong) CUDA_ERROR_OUT_OF_MEMORY;
+    }
+    completion->callback = env->NewGlobalRef(callback);
+
+    CUstream stream;
+    stream_from_array(env, &stream, stream_wrapper);
+    CUresult result = cuStreamAddCallback(stream, notify_completion, completion, 0);
+    LOG_PTX_AND_VALIDATE("cuStreamAddCallback", result);
+    if (result != CUDA_SUCCESS) {
+        env->DeleteGlobalRef(completion->callback);
+        free(completion);
+    }
+    return (jlong) result;
+}
@@ -329,6 +329,13 @@ JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStre
 JNIEXPORT jobjectArray JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_writeArrayHtoDAsync__JJJJ_3B
 (JNIEnv *, jclass, jlong, jlong, jlong, jlong, jbyteArray);
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuStreamAddCallback
+ * Signature: ([BLjava/lang/Runnable;)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuStreamAddCallback
+  (JNIEnv *, jclass, jbyteArray, jobject);
 
 #ifdef __cplusplus
 }
@@ -49,6 +49,10 @@ public class PTXContext {
 
   private static native long cuMemFree(long cuContext, long devicePtr);
 
+  private static native long cuMemHostRegister(long cuContext, long hostPtr, long numBytes);
+
+  private static native long cuMemHostUnregister(long cuContext, long hostPtr);
+
   private static native long cuCtxSetCurrent(long cuContext);
 
   public void enablePTXContext() {
@@ -80,4 +84,21 @@ public class PTXContext {
   public void freeMemory(long address) {
     cuMemFree(ptxContext, address);
   }
+
+  /**
+   * Page-locks a region of host memory and maps it into the address space of the device.
+   *
+   * @return the device pointer of the mapped region, or 0 if the region could not be registered.
+   */
+  public long registerHostMemory(long hostPointer, long numBytes) {
+    try {
+      return cuMemHostRegister(ptxContext, hostPointer, numBytes);
+    } catch (Exception e) {
+      throw new TornadoBailoutRuntimeException("[Error during host memory registration] ", e);
+    }
+  }
+
+  public void unregisterHostMemory(long hostPointer) {
+    cuMemHostUnregister(ptxContext, hostPointer);
+  }
 }
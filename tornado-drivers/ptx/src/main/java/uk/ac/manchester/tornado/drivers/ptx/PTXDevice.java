@@ -47,6 +47,7 @@ public class PTXDevice implements TornadoTargetDevice {
   private final long constantBufferSize;
   private final long maxAllocationSize;
   private int maxThreadsPerBlock;
+  private final boolean unifiedMemory;
 
   public PTXDevice(int deviceIndex) {
     this.deviceIndex = deviceIndex;
@@ -64,6 +65,9 @@ public class PTXDevice implements TornadoTargetDevice {
     maxGridSizes = initMaxGridSizes();
     maxThreadsPerBlock =
         cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.MAX_THREADS_PER_BLOCK.value());
+    unifiedMemory =
+        cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.INTEGRATED.value()) == 1
+            && cuDeviceGetAttribute(cuDevice, PTXDeviceAttribute.CAN_MAP_HOST_MEMORY.value()) == 1;
     ptxVersion = CUDAVersion.getMaxPTXVersion(cuDriverGetVersion());
     computeCapability = initComputeCapability();
     targetArchitecture = ptxVersion.getArchitecture(computeCapability);
@@ -97,6 +101,13 @@ public class PTXDevice implements TornadoTargetDevice {
     return new CUDAComputeCapability(major, minor);
   }
 
+  /**
+   * @return true for integrated GPUs that can map host memory into the device address space.
+   */
+  public boolean hasDeviceUnifiedMemory() {
+    return unifiedMemory;
+  }
+
   public CUDAComputeCapability getComputeCapability() {
     return computeCapability;
   }
@@ -30,8 +30,6 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.buildKernel
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,7 +76,7 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     memoryManager = new PTXMemoryManager(this);
     bufferProvider = new PTXBufferProvider(this);
     wasReset = false;
-    executionIDs = Collections.synchronizedSet(new HashSet<>());
+    executionIDs = ConcurrentHashMap.newKeySet();
   }
 
   @Override
@@ -328,8 +326,7 @@ public class PTXDeviceContext implements TornadoDeviceContext {
   private byte[] writePTXKernelContextOnDevice(
       long executionPlanId, PTXKernelStackFrame ptxKernelArgs, TaskDataContext meta) {
     int capacity = Long.BYTES + ptxKernelArgs.getCallArguments().size() * Long.BYTES;
-    ByteBuffer args = ByteBuffer.allocate(capacity);
-    args.order(getByteOrder());
+    ByteBuffer args = ptxKernelArgs.getLaunchParameters(capacity, getByteOrder());
 
     // Kernel context pointer
     int kernelContextWriteEventId = ptxKernelArgs.enqueueWrite(executionPlanId);
@@ -341,9 +338,13 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     // Parameters
     for (int argIndex = 0; argIndex < ptxKernelArgs.getCallArguments().size(); argIndex++) {
       KernelStackFrame.CallArgument arg = ptxKernelArgs.getCallArguments().get(argIndex);
-      if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+      if (arg.isReferenceType()) {
+        args.putLong(arg.getReference());
+      } else if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
         args.putLong(address);
         continue;
+      } else if (arg.isPrimitive()) {
+        args.putLong(arg.getPrimitiveBits());
       } else if (isBoxedPrimitive(arg.getValue()) || arg.getValue().getClass().isPrimitive()) {
         if (arg.getValue() instanceof HalfFloat) {
           short halfFloat = ((HalfFloat) arg.getValue()).getHalfFloatValue();
@@ -813,12 +814,7 @@ public class PTXDeviceContext implements TornadoDeviceContext {
 
   private PTXStream getStream(long executionPlanId) {
     executionIDs.add(executionPlanId);
-    if (!streamTable.containsKey(executionPlanId)) {
-      PTXStreamTable ptxStreamTable = new PTXStreamTable();
-      ptxStreamTable.get(device);
-      streamTable.put(executionPlanId, ptxStreamTable);
-    }
-    return streamTable.get(executionPlanId).get(device);
+    return streamTable.computeIfAbsent(executionPlanId, id -> new PTXStreamTable()).get(device);
   }
 
   private PTXStream getStreamIfNeeded(long executionPlanId) {
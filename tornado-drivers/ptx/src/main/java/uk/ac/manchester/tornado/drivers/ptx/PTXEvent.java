@@ -42,12 +42,16 @@ public class PTXEvent implements Event {
    */
   private final byte[][] eventWrapper;
 
+  /** Serialized CUstream the event has been recorded on. */
+  private final byte[] streamWrapper;
+
   private final String description;
   private final String name;
   private boolean isCompleted;
 
-  public PTXEvent(byte[][] bytes, EventDescriptor descriptorId) {
+  public PTXEvent(byte[][] bytes, EventDescriptor descriptorId, byte[] streamWrapper) {
     eventWrapper = bytes;
+    this.streamWrapper = streamWrapper;
     this.description = descriptorId.getNameDescription();
     this.name = String.format("%s: ", description);
     isCompleted = false;
@@ -151,6 +155,17 @@ public class PTXEvent implements Event {
     return getElapsedTimeInSeconds();
   }
 
+  /**
+   * CUDA has no callbacks on events, so the callback is enqueued on the stream the event has been
+   * recorded on. Streams are in order, so the callback is invoked once the event is resolved, and
+   * once the work enqueued after the event and before the callback is resolved.
+   */
+  @Override
+  public boolean addCompletionCallback(Runnable callback) {
+    return PTXStream.cuStreamAddCallback(streamWrapper, callback)
+        == PTXEventStatus.CUDA_SUCCESS.getValue();
+  }
+
   @Override
   public void waitOn() {
     waitForEvents(0);
@@ -40,13 +40,15 @@ public class PTXEventPool {
   private final BitSet retain;
   private int eventIndex;
   private int eventPoolSize;
+  private final byte[] streamWrapper;
 
-  protected PTXEventPool(int poolSize) {
+  protected PTXEventPool(int poolSize, byte[] streamWrapper) {
     this.eventPoolSize = poolSize;
     this.retain = new BitSet(poolSize);
     this.retain.clear();
     this.events = new PTXEvent[poolSize];
     this.eventIndex = 0;
+    this.streamWrapper = streamWrapper;
   }
 
   protected int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
@@ -69,7 +71,7 @@ public class PTXEventPool {
       events[currentEvent].destroy();
       events[currentEvent] = null;
     }
-    events[currentEvent] = new PTXEvent(eventWrapper, descriptorId);
+    events[currentEvent] = new PTXEvent(eventWrapper, descriptorId, streamWrapper);
 
     findNextEventSlot();
     return currentEvent;
@@ -45,7 +45,7 @@ public class PTXStream {
 
   public PTXStream() {
     streamPool = cuCreateStream();
-    this.ptxEventPool = new PTXEventPool(EVENT_WINDOW);
+    this.ptxEventPool = new PTXEventPool(EVENT_WINDOW, streamPool);
   }
 
   // @formatter:off
@@ -171,6 +171,14 @@ public class PTXStream {
 
   private static native long cuStreamSynchronize(byte[] streamWrapper);
 
+  /**
+   * Enqueues a host callback that the driver invokes once all the work enqueued on the stream
+   * before it is resolved.
+   *
+   * @return the CUDA error code of the registration.
+   */
+  static native long cuStreamAddCallback(byte[] streamWrapper, Runnable callback);
+
   private static native byte[][] cuEventCreateAndRecord(
       boolean isProfilingEnabled, byte[] streamWrapper);
 
@@ -38,12 +38,9 @@ public class PTXStreamTable {
     if (Thread.currentThread().threadId() == PTX.SHUTDOW_THREAD_ID_HOOK) {
       return null;
     }
-    if (!deviceStream.containsKey(device)) {
-      ThreadStreamTable threadStreamTable = new ThreadStreamTable();
-      threadStreamTable.get(Thread.currentThread().threadId());
-      deviceStream.put(device, threadStreamTable);
-    }
-    return deviceStream.get(device).get(Thread.currentThread().threadId());
+    return deviceStream
+        .computeIfAbsent(device, d -> new ThreadStreamTable())
+        .get(Thread.currentThread().threadId());
   }
 
   public void cleanup(PTXDevice device) {
@@ -68,11 +65,7 @@ public class PTXStreamTable {
     }
 
     public PTXStream get(long threadId) {
-      if (!streamTable.containsKey(threadId)) {
-        PTXStream stream = new PTXStream();
-        streamTable.put(threadId, stream);
-      }
-      return streamTable.get(threadId);
+      return streamTable.computeIfAbsent(threadId, id -> new PTXStream());
     }
 
     public void cleanup(long threadId) {
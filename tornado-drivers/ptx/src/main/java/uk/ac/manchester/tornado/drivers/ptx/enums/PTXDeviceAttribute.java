@@ -40,6 +40,8 @@ public enum PTXDeviceAttribute {
   MAX_REGISTERS_PER_BLOCK(12), //
   CLOCK_RATE(13), //
   MULTIPROCESSOR_COUNT(16), //
+  INTEGRATED(18), //
+  CAN_MAP_HOST_MEMORY(19), //
   COMPUTE_CAPABILITY_MAJOR(75), //
   COMPUTE_CAPABILITY_MINOR(76); //
 
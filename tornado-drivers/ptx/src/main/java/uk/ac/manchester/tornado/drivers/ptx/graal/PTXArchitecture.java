@@ -67,6 +67,8 @@ public class PTXArchitecture extends Architecture {
   public static PTXBuiltInRegister GridDimY = new PTXBuiltInRegister("%nctaid.y");
   public static PTXBuiltInRegister GridDimZ = new PTXBuiltInRegister("%nctaid.z");
 
+  public static PTXBuiltInRegister LaneID = new PTXBuiltInRegister("%laneid");
+
   public PTXArchitecture(PTXKind wordKind, ByteOrder byteOrder) {
     super(
         "Tornado PTX",
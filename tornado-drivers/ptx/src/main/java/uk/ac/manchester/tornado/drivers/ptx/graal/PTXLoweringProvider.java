@@ -96,12 +96,14 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXKernelAtomicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.calc.DivNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.vector.LoadIndexedVectorNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.snippets.PTXGPUReduceSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
@@ -277,6 +279,8 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
       lowerGlobalGroupSizeNode((GlobalGroupSizeFixedWithNextNode) node);
     } else if (node instanceof LocalGroupSizeFixedWithNextNode) {
       lowerLocalGroupSizeNode((LocalGroupSizeFixedWithNextNode) node);
+    } else if (node instanceof KernelAtomicNode) {
+      lowerKernelAtomicNode((KernelAtomicNode) node);
     } else {
       super.lower(node, tool);
     }
@@ -608,6 +612,29 @@ public class PTXLoweringProvider extends DefaultJavaLoweringProvider {
     return address;
   }
 
+  private void lowerKernelAtomicNode(KernelAtomicNode atomicNode) {
+    StructuredGraph graph = atomicNode.graph();
+    AddressNode address;
+    if (atomicNode.isLocalArray()) {
+      address = createArrayLocalAddress(graph, atomicNode.array(), atomicNode.index());
+    } else if (atomicNode.isJavaArray()) {
+      address =
+          createArrayAddress(
+              graph, atomicNode.array(), atomicNode.getElementKind(), atomicNode.index());
+    } else {
+      address = atomicNode.createNativeArrayAddress();
+    }
+    PTXKernelAtomicNode atomic =
+        graph.add(
+            new PTXKernelAtomicNode(
+                atomicNode.getOperation(),
+                atomicNode.getElementKind(),
+                address,
+                atomicNode.expected(),
+                atomicNode.value()));
+    graph.replaceFixedWithFixed(atomicNode, atomic);
+  }
+
   private AddressNode createArrayLocalAddress(
       StructuredGraph graph, ValueNode array, ValueNode index) {
     return graph.unique(new OffsetAddressNode(array, index));
@@ -36,6 +36,12 @@ public class PTXAssemblerConstants {
   public static final String CONVERT_RN = "cvt.rn";
   public static final String CONVERT_ADDRESS = "cvta";
   public static final String MOVE = "mov";
+  public static final String SHUFFLE_SYNC = "shfl.sync";
+  public static final String REDUX_SYNC = "redux.sync";
+  public static final String ATOM = "atom";
+  public static final String FULL_WARP_MASK = "0xffffffff";
+  public static final int WARP_SIZE = 32;
+  public static final int WARP_SIZE_LOG2 = 5;
   public static final String TEST_NUMBER = "testp.number";
   public static final String TEST_NOTANUMBER = "testp.notanumber";
   public static final String TEST_NORMAL = "testp.normal";
@@ -210,7 +210,8 @@ public class PTXBackend extends XPUBackend<PTXProviders>
 
   @Override
   public LIRGeneratorTool newLIRGenerator(LIRGenerationResult lirGenRes) {
-    return new PTXLIRGenerator(getProviders(), lirGenRes);
+    return new PTXLIRGenerator(
+        getProviders(), lirGenRes, deviceContext.getDevice().getTargetArchitecture());
   }
 
   @Override
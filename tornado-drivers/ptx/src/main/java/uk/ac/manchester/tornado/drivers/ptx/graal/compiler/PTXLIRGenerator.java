@@ -57,6 +57,7 @@ import org.graalvm.compiler.lir.gen.LIRGenerator;
 import org.graalvm.compiler.phases.util.Providers;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.ptx.PTXTargetDescription;
+import uk.ac.manchester.tornado.drivers.ptx.TargetArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXLIRKindTool;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXStamp;
@@ -81,7 +82,8 @@ public class PTXLIRGenerator extends LIRGenerator {
 
   private final Map<String, Variable> parameterAllocations;
 
-  public PTXLIRGenerator(Providers providers, LIRGenerationResult lirGenRes) {
+  public PTXLIRGenerator(
+      Providers providers, LIRGenerationResult lirGenRes, TargetArchitecture targetArchitecture) {
     super(
         new PTXLIRKindTool((PTXTargetDescription) providers.getCodeCache().getTarget()),
         new PTXArithmeticTool(),
@@ -91,7 +93,7 @@ public class PTXLIRGenerator extends LIRGenerator {
         lirGenRes);
     ptxGenTool = new PTXGenTool(this);
     parameterAllocations = new HashMap<>();
-    ptxBuiltinTool = new PTXBuiltinTool();
+    ptxBuiltinTool = new PTXBuiltinTool(targetArchitecture);
   }
 
   public static PTXBinaryOp getConditionalOp(Condition condition) {
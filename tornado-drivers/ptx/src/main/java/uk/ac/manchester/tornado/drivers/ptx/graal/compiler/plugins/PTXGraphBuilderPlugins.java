@@ -70,7 +70,9 @@ import org.graalvm.word.LocationIdentity;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.exceptions.Debug;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
+import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants;
 import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXKind;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXBarrierNode;
@@ -78,8 +80,10 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXSubGroupNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.compiler.KernelAtomicPlugins;
 
 public class PTXGraphBuilderPlugins {
 
@@ -94,6 +98,7 @@ public class PTXGraphBuilderPlugins {
     PTXVectorPlugins.registerPlugins(ps, plugins);
     PTXHalfFloatPlugin.registerPlugins(ps, plugins);
     registerMemoryAccessPlugins(plugins);
+    registerWriteTrackingPlugins(plugins);
     registerKernelContextPlugins(plugins);
   }
 
@@ -332,6 +337,100 @@ public class PTXGraphBuilderPlugins {
     registerLocalBarrier(r);
     registerGlobalBarrier(r);
     localArraysPlugins(r);
+    registerSubGroupPlugins(r);
+    KernelAtomicPlugins.registerKernelAtomicPlugins(r);
+  }
+
+  private static void registerSubGroupPlugins(Registration r) {
+    registerSubGroupQuery(r, "subgroupId", PTXSubGroupNode.Operation.ID);
+    registerSubGroupQuery(r, "subgroupLocalId", PTXSubGroupNode.Operation.LOCAL_ID);
+    r.register(
+        new InvocationPlugin("subgroupSize", InvocationPlugin.Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver) {
+            b.push(
+                JavaKind.Int, ConstantNode.forInt(PTXAssemblerConstants.WARP_SIZE, b.getGraph()));
+            return true;
+          }
+        });
+    registerSubGroupCollectives(r, int.class, JavaKind.Int);
+    registerSubGroupCollectives(r, float.class, JavaKind.Float);
+  }
+
+  private static void registerSubGroupQuery(
+      Registration r, String name, PTXSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver) {
+            b.push(JavaKind.Int, b.append(new PTXSubGroupNode(operation)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupCollectives(Registration r, Class<?> type, JavaKind kind) {
+    registerSubGroupShuffle(r, "shuffle", type, kind, PTXSubGroupNode.Operation.SHUFFLE);
+    registerSubGroupShuffle(r, "shuffleXor", type, kind, PTXSubGroupNode.Operation.SHUFFLE_XOR);
+    registerSubGroupShuffle(r, "shuffleDown", type, kind, PTXSubGroupNode.Operation.SHUFFLE_DOWN);
+    registerSubGroupShuffle(r, "broadcast", type, kind, PTXSubGroupNode.Operation.BROADCAST);
+    registerSubGroupReduction(
+        r, "subgroupReduceAdd", type, kind, PTXSubGroupNode.Operation.REDUCE_ADD);
+    registerSubGroupReduction(
+        r, "subgroupReduceMin", type, kind, PTXSubGroupNode.Operation.REDUCE_MIN);
+    registerSubGroupReduction(
+        r, "subgroupReduceMax", type, kind, PTXSubGroupNode.Operation.REDUCE_MAX);
+    registerSubGroupReduction(
+        r, "subgroupExclusiveScanAdd", type, kind, PTXSubGroupNode.Operation.EXCLUSIVE_SCAN_ADD);
+    registerSubGroupReduction(
+        r, "subgroupInclusiveScanAdd", type, kind, PTXSubGroupNode.Operation.INCLUSIVE_SCAN_ADD);
+  }
+
+  private static void registerSubGroupShuffle(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      PTXSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class, type, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver,
+              ValueNode value,
+              ValueNode lane) {
+            b.push(kind, b.append(new PTXSubGroupNode(operation, kind, value, lane)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupReduction(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      PTXSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class, type) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver,
+              ValueNode value) {
+            b.push(kind, b.append(new PTXSubGroupNode(operation, kind, value)));
+            return true;
+          }
+        });
   }
 
   private static void registerFPIntrinsics(Registration r, Class<?> type, JavaKind kind) {
@@ -552,6 +651,46 @@ public class PTXGraphBuilderPlugins {
     }
   }
 
+  /**
+   * The tracking of host writes of the native arrays (see {@link
+   * TornadoNativeArray#enableWriteTracking()}) has no meaning on the device, so the calls to the
+   * tracking methods are removed from the kernels.
+   */
+  private static void registerWriteTrackingPlugins(InvocationPlugins plugins) {
+    Registration r = new Registration(plugins, TornadoNativeArray.class);
+    r.register(
+        new InvocationPlugin("markWrite", InvocationPlugin.Receiver.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode index) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", InvocationPlugin.Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", InvocationPlugin.Receiver.class, int.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode fromIndex,
+              ValueNode toIndex) {
+            return true;
+          }
+        });
+  }
+
   private static void registerMemoryAccessPlugins(InvocationPlugins plugins) {
     Registration r = new Registration(plugins, MemorySegment.class);
 
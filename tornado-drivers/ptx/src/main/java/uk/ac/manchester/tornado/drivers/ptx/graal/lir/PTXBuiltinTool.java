@@ -37,17 +37,33 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXUna
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXUnaryIntrinsic.SIN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXUnaryIntrinsic.SQRT;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXUnaryIntrinsic.TANH;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.WARP_SIZE;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.WARP_SIZE_LOG2;
 
+import jdk.vm.ci.meta.JavaConstant;
 import jdk.vm.ci.meta.Value;
 import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.lir.ConstantValue;
 import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.ptx.TargetArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
+import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt.ShuffleStmt.ShuffleMode;
 
 public class PTXBuiltinTool {
 
+  /** The redux.sync instruction is available from sm_80. */
+  private static final int WARP_REDUCTION_MIN_MAJOR = 8;
+
+  private final TargetArchitecture targetArchitecture;
+
+  public PTXBuiltinTool(TargetArchitecture targetArchitecture) {
+    this.targetArchitecture = targetArchitecture;
+  }
+
   public Value genFloatACos(Value input) {
     unimplemented();
     return null;
@@ -438,6 +454,129 @@ public class PTXBuiltinTool {
     return new PTXUnary.Intrinsic(POPCOUNT, LIRKind.value(value.getPlatformKind()), value);
   }
 
+  /**
+   * Linear identifier of the thread in the block divided by the warp size. The %warpid register is
+   * not used because it identifies the physical warp, which may change during the execution.
+   */
+  public Value genSubGroupId(
+      LIRGeneratorTool gen, Value tidX, Value tidY, Value tidZ, Value ntidX, Value ntidY) {
+    Logger.traceBuildLIR(Logger.BACKEND.PTX, "genSubGroupId");
+    LIRKind kind = LIRKind.value(PTXKind.U32);
+    Variable plane = gen.newVariable(kind);
+    gen.append(
+        new PTXLIRStmt.AssignStmt(
+            plane, new PTXTernary.Expr(PTXAssembler.PTXTernaryOp.MAD_LO, kind, ntidY, tidZ, tidY)));
+    Variable linear = gen.newVariable(kind);
+    gen.append(
+        new PTXLIRStmt.AssignStmt(
+            linear,
+            new PTXTernary.Expr(PTXAssembler.PTXTernaryOp.MAD_LO, kind, plane, ntidX, tidX)));
+    return new PTXBinary.Expr(
+        PTXBinaryOp.BITWISE_RIGHT_SHIFT, kind, linear, intConstant(WARP_SIZE_LOG2));
+  }
+
+  public Value genWarpShuffle(LIRGeneratorTool gen, ShuffleMode mode, Value value, Value lane) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.PTX, "genWarpShuffle: shfl.sync.%s(%s, %s)", mode, value, lane);
+    Variable result = gen.newVariable(LIRKind.value(value.getPlatformKind()));
+    gen.append(
+        new PTXLIRStmt.ShuffleStmt(mode, result, Value.ILLEGAL, asRegister(gen, value), lane));
+    return result;
+  }
+
+  public Value genWarpReduceAdd(LIRGeneratorTool gen, Value value) {
+    return genWarpReduce(gen, value, "add", PTXBinaryOp.ADD);
+  }
+
+  public Value genWarpReduceMin(LIRGeneratorTool gen, Value value) {
+    return genWarpReduce(gen, value, "min", PTXAssembler.PTXBinaryIntrinsic.INT_MIN);
+  }
+
+  public Value genWarpReduceMax(LIRGeneratorTool gen, Value value) {
+    return genWarpReduce(gen, value, "max", PTXAssembler.PTXBinaryIntrinsic.INT_MAX);
+  }
+
+  /**
+   * Reduction across the warp. The 32-bit integer reductions use redux.sync when the device
+   * supports it; the other reductions exchange the partial results with a butterfly pattern of
+   * shuffles, so all threads of the warp receive the result.
+   */
+  private Value genWarpReduce(
+      LIRGeneratorTool gen, Value value, String reduxOperation, PTXBinaryOp combine) {
+    Logger.traceBuildLIR(Logger.BACKEND.PTX, "genWarpReduce: %s(%s)", reduxOperation, value);
+    LIRKind kind = LIRKind.value(value.getPlatformKind());
+    if (value.getPlatformKind() == PTXKind.S32
+        && targetArchitecture.getMajor() >= WARP_REDUCTION_MIN_MAJOR) {
+      Variable result = gen.newVariable(kind);
+      gen.append(new PTXLIRStmt.ReduxStmt(reduxOperation, result, asRegister(gen, value)));
+      return result;
+    }
+    Value accumulator = asRegister(gen, value);
+    for (int offset = WARP_SIZE / 2; offset > 0; offset >>= 1) {
+      Value other = genWarpShuffle(gen, ShuffleMode.BFLY, accumulator, intConstant(offset));
+      Variable partial = gen.newVariable(kind);
+      gen.append(
+          new PTXLIRStmt.AssignStmt(
+              partial, new PTXBinary.Expr(combine, kind, accumulator, other)));
+      accumulator = partial;
+    }
+    return accumulator;
+  }
+
+  /**
+   * Inclusive prefix sum across the warp (Hillis-Steele). At every step, the threads whose source
+   * lane is outside the warp keep their partial sum.
+   */
+  public Value genWarpInclusiveScanAdd(LIRGeneratorTool gen, Value value) {
+    Logger.traceBuildLIR(Logger.BACKEND.PTX, "genWarpInclusiveScanAdd: %s", value);
+    LIRKind kind = LIRKind.value(value.getPlatformKind());
+    Value accumulator = asRegister(gen, value);
+    for (int offset = 1; offset < WARP_SIZE; offset <<= 1) {
+      Variable other = gen.newVariable(kind);
+      Variable inRange = gen.newVariable(LIRKind.value(PTXKind.PRED));
+      gen.append(
+          new PTXLIRStmt.ShuffleStmt(
+              ShuffleMode.UP, other, inRange, accumulator, intConstant(offset)));
+      Variable sum = gen.newVariable(kind);
+      gen.append(
+          new PTXLIRStmt.AssignStmt(
+              sum, new PTXBinary.Expr(PTXBinaryOp.ADD, kind, accumulator, other)));
+      Variable partial = gen.newVariable(kind);
+      gen.append(
+          new PTXLIRStmt.AssignStmt(
+              partial,
+              new PTXTernary.Expr(
+                  PTXAssembler.PTXTernaryOp.SELP, kind, sum, accumulator, inRange)));
+      accumulator = partial;
+    }
+    return accumulator;
+  }
+
+  /** Exclusive prefix sum: the inclusive sum of the previous lane, and 0 for the first lane. */
+  public Value genWarpExclusiveScanAdd(LIRGeneratorTool gen, Value value) {
+    Logger.traceBuildLIR(Logger.BACKEND.PTX, "genWarpExclusiveScanAdd: %s", value);
+    LIRKind kind = LIRKind.value(value.getPlatformKind());
+    Value inclusive = genWarpInclusiveScanAdd(gen, value);
+    Variable previous = gen.newVariable(kind);
+    Variable inRange = gen.newVariable(LIRKind.value(PTXKind.PRED));
+    gen.append(
+        new PTXLIRStmt.ShuffleStmt(ShuffleMode.UP, previous, inRange, inclusive, intConstant(1)));
+    JavaConstant zero =
+        ((PTXKind) value.getPlatformKind()).isFloating()
+            ? JavaConstant.FLOAT_0
+            : JavaConstant.INT_0;
+    return new PTXTernary.Expr(
+        PTXAssembler.PTXTernaryOp.SELP, kind, previous, new ConstantValue(kind, zero), inRange);
+  }
+
+  private static Value asRegister(LIRGeneratorTool gen, Value value) {
+    return value instanceof ConstantValue ? gen.emitMove(value) : value;
+  }
+
+  private static ConstantValue intConstant(int value) {
+    return new ConstantValue(LIRKind.value(PTXKind.S32), JavaConstant.forInt(value));
+  }
+
   public Value genIntClamp(Value x, Value y, Value z) {
     TornadoInternalError.unimplemented();
     return null;
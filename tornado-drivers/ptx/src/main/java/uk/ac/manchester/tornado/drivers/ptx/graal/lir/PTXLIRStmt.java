@@ -31,16 +31,20 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBin
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp.MUL_LO;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXBinaryOp.SUB;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.ASSIGN;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.ATOM;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.COMMA;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CONVERT;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CONVERT_RN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CURLY_BRACKETS_CLOSE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.CURLY_BRACKETS_OPEN;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.DOT;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.FULL_WARP_MASK;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.GLOBAL_MEM_MODIFIER;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.MOVE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.NEGATION;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.OP_GUARD;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.REDUX_SYNC;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SHUFFLE_SYNC;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SPACE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SQUARE_BRACKETS_CLOSE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SQUARE_BRACKETS_OPEN;
@@ -52,6 +56,7 @@ import java.nio.charset.StandardCharsets;
 import jdk.vm.ci.meta.Value;
 import org.graalvm.compiler.lir.ConstantValue;
 import org.graalvm.compiler.lir.LIRInstruction;
+import org.graalvm.compiler.lir.LIRInstruction.OperandFlag;
 import org.graalvm.compiler.lir.LIRInstructionClass;
 import org.graalvm.compiler.lir.Opcode;
 import org.graalvm.compiler.lir.Variable;
@@ -61,6 +66,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXNullaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.meta.PTXMemorySpace;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode.Operation;
 
 public class PTXLIRStmt {
 
@@ -789,6 +795,195 @@ public class PTXLIRStmt {
     }
   }
 
+  /**
+   * Exchange of a 32-bit value between the threads of a warp:
+   *
+   * <p>{@code shfl.sync.mode.b32 result|predicate, value, lane, clamp, membermask;}
+   *
+   * <p>The optional predicate is set when the source lane is within the warp.
+   */
+  @Opcode("SHFL")
+  public static class ShuffleStmt extends AbstractInstruction {
+    public static final LIRInstructionClass<ShuffleStmt> TYPE =
+        LIRInstructionClass.create(ShuffleStmt.class);
+
+    @Def protected Value result;
+
+    @Def({OperandFlag.REG, OperandFlag.ILLEGAL})
+    protected Value predicate;
+
+    @Use protected Value value;
+    @Use protected Value lane;
+    private final ShuffleMode mode;
+
+    public ShuffleStmt(ShuffleMode mode, Value result, Value predicate, Value value, Value lane) {
+      super(TYPE);
+      this.mode = mode;
+      this.result = result;
+      this.predicate = predicate;
+      this.value = value;
+      this.lane = lane;
+    }
+
+    @Override
+    public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+      asm.emitSymbol(TAB);
+      asm.emit(SHUFFLE_SYNC + DOT + mode.name + DOT + PTXKind.B32);
+      asm.emitSymbol(TAB);
+      asm.emitValue(result);
+      if (!Value.ILLEGAL.equals(predicate)) {
+        asm.emitSymbol("|");
+        asm.emitValue(predicate);
+      }
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emitValue(value);
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emitValue(lane);
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emit(mode.clamp);
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emit(FULL_WARP_MASK);
+      asm.delimiter();
+      asm.eol();
+    }
+
+    public enum ShuffleMode {
+      IDX("idx", "0x1f"),
+      BFLY("bfly", "0x1f"),
+      DOWN("down", "0x1f"),
+      UP("up", "0x0");
+
+      private final String name;
+      private final String clamp;
+
+      ShuffleMode(String name, String clamp) {
+        this.name = name;
+        this.clamp = clamp;
+      }
+    }
+  }
+
+  /**
+   * Atomic read-modify-write of an element in global or shared memory. It returns the value of the
+   * element before the operation:
+   *
+   * <p>{@code atom.space.op.type result, [address], value;}
+   */
+  @Opcode("ATOM")
+  public static class AtomicOperationStmt extends AbstractInstruction {
+    public static final LIRInstructionClass<AtomicOperationStmt> TYPE =
+        LIRInstructionClass.create(AtomicOperationStmt.class);
+
+    @Def protected Variable result;
+    @Use protected PTXUnary.MemoryAccess address;
+
+    @Use({OperandFlag.REG, OperandFlag.CONST, OperandFlag.ILLEGAL})
+    protected Value expected;
+
+    @Use protected Value value;
+    private final Operation operation;
+
+    public AtomicOperationStmt(
+        Operation operation,
+        Variable result,
+        PTXUnary.MemoryAccess address,
+        Value expected,
+        Value value) {
+      super(TYPE);
+      this.operation = operation;
+      this.result = result;
+      this.address = address;
+      this.expected = expected;
+      this.value = value;
+    }
+
+    @Override
+    public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+      asm.emitSymbol(TAB);
+      asm.emit(ATOM);
+      asm.emitSymbol(DOT);
+      asm.emit(address.getBase().memorySpace.getName());
+      asm.emitSymbol(DOT);
+      asm.emit(operationName());
+      asm.emitSymbol(DOT);
+      asm.emit(operandType((PTXKind) result.getPlatformKind()).toString());
+      asm.emitSymbol(TAB);
+      asm.emitValue(result);
+      asm.emitSymbol(COMMA + SPACE);
+      address.emit(crb, asm, null);
+      if (operation == Operation.COMPARE_EXCHANGE) {
+        asm.emitSymbol(COMMA + SPACE);
+        asm.emitValue(expected);
+      }
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emitValue(value);
+      asm.delimiter();
+      asm.eol();
+    }
+
+    private String operationName() {
+      return switch (operation) {
+        case ADD -> "add";
+        case MIN -> "min";
+        case MAX -> "max";
+        case AND -> "and";
+        case OR -> "or";
+        case XOR -> "xor";
+        case EXCHANGE -> "exch";
+        case COMPARE_EXCHANGE -> "cas";
+      };
+    }
+
+    /**
+     * The 64-bit addition is only defined for unsigned operands, and the bitwise operations,
+     * exchanges and compare-exchanges take untyped operands.
+     */
+    private PTXKind operandType(PTXKind kind) {
+      boolean is64Bit = kind.getSizeInBytes() == 8;
+      return switch (operation) {
+        case ADD -> kind.isFloating() ? kind : (is64Bit ? PTXKind.U64 : PTXKind.S32);
+        case MIN, MAX -> kind;
+        default -> is64Bit ? PTXKind.B64 : PTXKind.B32;
+      };
+    }
+  }
+
+  /**
+   * Reduction of a 32-bit integer across the threads of a warp, available from sm_80:
+   *
+   * <p>{@code redux.sync.op.s32 result, value, membermask;}
+   */
+  @Opcode("REDUX")
+  public static class ReduxStmt extends AbstractInstruction {
+    public static final LIRInstructionClass<ReduxStmt> TYPE =
+        LIRInstructionClass.create(ReduxStmt.class);
+
+    @Def protected Value result;
+    @Use protected Value value;
+    private final String operation;
+
+    public ReduxStmt(String operation, Value result, Value value) {
+      super(TYPE);
+      this.operation = operation;
+      this.result = result;
+      this.value = value;
+    }
+
+    @Override
+    public void emitCode(PTXCompilationResultBuilder crb, PTXAssembler asm) {
+      asm.emitSymbol(TAB);
+      asm.emit(REDUX_SYNC + DOT + operation + DOT + result.getPlatformKind());
+      asm.emitSymbol(TAB);
+      asm.emitValue(result);
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emitValue(value);
+      asm.emitSymbol(COMMA + SPACE);
+      asm.emit(FULL_WARP_MASK);
+      asm.delimiter();
+      asm.eol();
+    }
+  }
+
   @Opcode("PRINTF_STRING_STMT")
   public static class PrintfStringDeclarationStmt extends AbstractInstruction {
 
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.ptx.graal.nodes;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXLIRGenerator;
+import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXNodeLIRBuilder;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXBuiltinTool;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt;
+import uk.ac.manchester.tornado.drivers.ptx.graal.lir.PTXLIRStmt.ShuffleStmt.ShuffleMode;
+
+/**
+ * Subgroup (warp) operation of the {@link uk.ac.manchester.tornado.api.KernelContext}. The node is
+ * fixed because all threads of a warp must reach the operation together, so it cannot be moved
+ * across control flow.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class PTXSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+  public static final NodeClass<PTXSubGroupNode> TYPE = NodeClass.create(PTXSubGroupNode.class);
+
+  @OptionalInput protected ValueNode value;
+  @OptionalInput protected ValueNode lane;
+
+  protected final Operation operation;
+
+  public PTXSubGroupNode(Operation operation) {
+    this(operation, JavaKind.Int, null, null);
+  }
+
+  public PTXSubGroupNode(Operation operation, JavaKind kind, ValueNode value) {
+    this(operation, kind, value, null);
+  }
+
+  public PTXSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+    super(TYPE, StampFactory.forKind(kind));
+    this.operation = operation;
+    this.value = value;
+    this.lane = lane;
+  }
+
+  public Operation operation() {
+    return operation;
+  }
+
+  @Override
+  public void generate(NodeLIRBuilderTool gen) {
+    Logger.traceBuildLIR(Logger.BACKEND.PTX, "emitSubGroupOperation: %s", operation);
+    LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+    PTXBuiltinTool builtins = ((PTXLIRGenerator) tool).getPtxBuiltinTool();
+    PTXNodeLIRBuilder ptxNodeBuilder = (PTXNodeLIRBuilder) gen;
+    LIRKind lirKind = tool.getLIRKind(stamp);
+    Value result;
+    switch (operation) {
+      case ID:
+        result =
+            builtins.genSubGroupId(
+                tool,
+                ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.ThreadIDX),
+                ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.ThreadIDY),
+                ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.ThreadIDZ),
+                ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.BlockDimX),
+                ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.BlockDimY));
+        break;
+      case LOCAL_ID:
+        result = ptxNodeBuilder.getBuiltInAllocation(PTXArchitecture.LaneID);
+        break;
+      case SHUFFLE:
+      case BROADCAST:
+        result =
+            builtins.genWarpShuffle(tool, ShuffleMode.IDX, gen.operand(value), gen.operand(lane));
+        break;
+      case SHUFFLE_XOR:
+        result =
+            builtins.genWarpShuffle(tool, ShuffleMode.BFLY, gen.operand(value), gen.operand(lane));
+        break;
+      case SHUFFLE_DOWN:
+        result =
+            builtins.genWarpShuffle(tool, ShuffleMode.DOWN, gen.operand(value), gen.operand(lane));
+        break;
+      case REDUCE_ADD:
+        result = builtins.genWarpReduceAdd(tool, gen.operand(value));
+        break;
+      case REDUCE_MIN:
+        result = builtins.genWarpReduceMin(tool, gen.operand(value));
+        break;
+      case REDUCE_MAX:
+        result = builtins.genWarpReduceMax(tool, gen.operand(value));
+        break;
+      case EXCLUSIVE_SCAN_ADD:
+        result = builtins.genWarpExclusiveScanAdd(tool, gen.operand(value));
+        break;
+      case INCLUSIVE_SCAN_ADD:
+        result = builtins.genWarpInclusiveScanAdd(tool, gen.operand(value));
+        break;
+      default:
+        throw shouldNotReachHere();
+    }
+    Variable var = tool.newVariable(lirKind);
+    tool.append(new PTXLIRStmt.AssignStmt(var, result));
+    gen.setResult(this, var);
+  }
+
+  public enum Operation {
+    ID,
+    LOCAL_ID,
+    SHUFFLE,
+    SHUFFLE_XOR,
+    SHUFFLE_DOWN,
+    BROADCAST,
+    REDUCE_ADD,
+    REDUCE_MIN,
+    REDUCE_MAX,
+    EXCLUSIVE_SCAN_ADD,
+    INCLUSIVE_SCAN_ADD
+  }
+}
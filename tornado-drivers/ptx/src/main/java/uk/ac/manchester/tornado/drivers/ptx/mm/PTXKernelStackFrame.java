@@ -23,7 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx.mm;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.HashMap;
 import java.util.List;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
@@ -32,13 +33,14 @@ import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFrame {
 
   public static final int RESERVED_SLOTS = 3;
-  private final ArrayList<CallArgument> callArguments;
+  private final CallArgumentList callArguments;
+  private ByteBuffer launchParameters;
 
   private boolean isValid;
 
   public PTXKernelStackFrame(long address, int numArgs, PTXDeviceContext deviceContext) {
     super(address, RESERVED_SLOTS << 3, 0, deviceContext);
-    this.callArguments = new ArrayList<>(numArgs);
+    this.callArguments = new CallArgumentList(numArgs);
 
     buffer.clear();
     this.isValid = true;
@@ -46,7 +48,12 @@ public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFra
 
   @Override
   public void addCallArgument(Object value, boolean isReferenceType) {
-    callArguments.add(new CallArgument(value, isReferenceType));
+    callArguments.add(value, isReferenceType);
+  }
+
+  @Override
+  public void addReferenceArgument(long buffer) {
+    callArguments.addReference(buffer);
   }
 
   @Override
@@ -59,6 +66,22 @@ public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFra
     return callArguments;
   }
 
+  /**
+   * Returns the buffer in which the parameters of a kernel launch are written. The driver copies
+   * the parameters when the kernel is launched, so the same buffer is reused by every launch.
+   *
+   * @param capacity Size in bytes of the parameters.
+   * @param byteOrder Byte order of the device.
+   * @return the cleared buffer, backed by an array of exactly {@code capacity} bytes.
+   */
+  public ByteBuffer getLaunchParameters(int capacity, ByteOrder byteOrder) {
+    if (launchParameters == null || launchParameters.capacity() != capacity) {
+      launchParameters = ByteBuffer.allocate(capacity).order(byteOrder);
+    }
+    launchParameters.clear();
+    return launchParameters;
+  }
+
   @Override
   public void write(long executionPlanId) {
     super.write(executionPlanId);
@@ -86,6 +109,18 @@ public class PTXKernelStackFrame extends PTXByteBuffer implements KernelStackFra
     }
   }
 
+  @Override
+  public void setKernelContext(long[] globalWork) {
+    buffer.clear();
+    for (int i = 0; i < RESERVED_SLOTS; i++) {
+      if (globalWork != null && i < globalWork.length) {
+        buffer.putLong((int) globalWork[i]);
+      } else {
+        buffer.putLong(0);
+      }
+    }
+  }
+
   @Override
   public boolean isValid() {
     return isValid;
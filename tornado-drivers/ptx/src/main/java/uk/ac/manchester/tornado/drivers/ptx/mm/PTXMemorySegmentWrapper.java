@@ -46,14 +46,29 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
   private final PTXDeviceContext deviceContext;
   private final long batchSize;
   private final TornadoLogger logger;
+
+  /**
+   * When set, the memory segment of the host array is page-locked and mapped into the device
+   * address space, so the kernels access the host memory directly and the transfers do not copy any
+   * data. It falls back to a device buffer if the host memory cannot be registered.
+   */
+  private boolean hostMapped;
+
+  private long hostPointer;
   private long bufferId;
   private long bufferOffset;
   private long bufferSize;
   private long setSubRegionSize;
 
   public PTXMemorySegmentWrapper(PTXDeviceContext deviceContext, long batchSize) {
+    this(deviceContext, batchSize, false);
+  }
+
+  public PTXMemorySegmentWrapper(
+      PTXDeviceContext deviceContext, long batchSize, boolean hostMapped) {
     this.deviceContext = deviceContext;
     this.batchSize = batchSize;
+    this.hostMapped = hostMapped;
     this.bufferSize = INIT_VALUE;
     this.bufferId = INIT_VALUE;
     this.bufferOffset = 0;
@@ -113,6 +128,11 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
       long partialReadSize,
       int[] events,
       boolean useDeps) {
+    if (hostMapped) {
+      // The kernels write into host memory, so only wait for them to finish
+      deviceContext.sync(executionPlanId);
+      return -1;
+    }
     MemorySegment segment = getSegmentWithHeader(reference);
 
     final int returnEvent;
@@ -152,6 +172,9 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
 
   @Override
   public void write(long executionPlanId, Object reference) {
+    if (hostMapped) {
+      return;
+    }
     MemorySegment segment = getSegmentWithHeader(reference);
 
     if (batchSize <= 0) {
@@ -166,6 +189,10 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
   @Override
   public int enqueueRead(
       long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+    if (hostMapped) {
+      deviceContext.sync(executionPlanId);
+      return -1;
+    }
     MemorySegment segment = getSegmentWithHeader(reference);
 
     final int returnEvent;
@@ -200,6 +227,9 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
       int[] events,
       boolean useDeps) {
     List<Integer> returnEvents = new ArrayList<>();
+    if (hostMapped) {
+      return returnEvents;
+    }
 
     MemorySegment segment = getSegmentWithHeader(reference);
 
@@ -236,12 +266,52 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
     return returnEvents;
   }
 
+  @Override
+  public List<Integer> enqueueWriteRegion(
+      long executionPlanId,
+      Object reference,
+      long offset,
+      long numBytes,
+      int[] events,
+      boolean useDeps) {
+    if (batchSize > 0) {
+      return null;
+    }
+    List<Integer> returnEvents = new ArrayList<>();
+    if (hostMapped) {
+      return returnEvents;
+    }
+    MemorySegment segment = getSegmentWithHeader(reference);
+    returnEvents.add(
+        deviceContext.enqueueWriteBuffer(
+            executionPlanId,
+            toBuffer() + TornadoNativeArray.ARRAY_HEADER + offset,
+            numBytes,
+            segment.address(),
+            TornadoNativeArray.ARRAY_HEADER + offset,
+            (useDeps) ? events : null));
+    return returnEvents;
+  }
+
   @Override
   public void allocate(Object reference, long batchSize)
       throws TornadoOutOfMemoryException, TornadoMemoryException {
     MemorySegment segment = getSegmentWithHeader(reference);
 
-    if (batchSize <= 0 && segment != null) {
+    if (hostMapped) {
+      hostPointer = segment.address();
+      bufferId =
+          deviceContext
+              .getDevice()
+              .getPTXContext()
+              .registerHostMemory(hostPointer, segment.byteSize());
+      // Fall back to a device buffer if the pages could not be registered
+      hostMapped = bufferId != 0;
+    }
+
+    if (hostMapped) {
+      bufferSize = segment.byteSize();
+    } else if (batchSize <= 0 && segment != null) {
       bufferSize = segment.byteSize();
       bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
     } else {
@@ -265,7 +335,11 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
   public void markAsFreeBuffer() throws TornadoMemoryException {
     TornadoInternalError.guarantee(
         bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-    deviceContext.getBufferProvider().markBufferReleased(bufferId);
+    if (hostMapped) {
+      deviceContext.getDevice().getPTXContext().unregisterHostMemory(hostPointer);
+    } else {
+      deviceContext.getBufferProvider().markBufferReleased(bufferId);
+    }
     bufferId = INIT_VALUE;
     bufferSize = INIT_VALUE;
 
@@ -276,6 +350,10 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
 
   @Override
   public long deallocate() {
+    if (hostMapped) {
+      // The host memory was unregistered with markAsFreeBuffer
+      return 0;
+    }
     return deviceContext.getBufferProvider().deallocate();
   }
 
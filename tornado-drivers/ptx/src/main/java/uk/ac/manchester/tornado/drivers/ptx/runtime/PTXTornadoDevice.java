@@ -57,7 +57,7 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
-import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.ptx.PTX;
 import uk.ac.manchester.tornado.drivers.ptx.PTXBackendImpl;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDevice;
@@ -82,6 +82,7 @@ import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoJITCache;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
@@ -185,9 +186,24 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     final Access[] taskAccess = taskMeta.getArgumentsAccess();
     System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+    final String kernelName = buildKernelName(resolvedMethod.getName(), executable);
+    final boolean isCached = deviceContext.isCached(resolvedMethod.getName(), executable);
+    final String cacheKey =
+        isCached ? null : TornadoJITCache.computeKey(executable, this, kernelName);
+    final TornadoJITCache.Entry cachedKernel = TornadoJITCache.lookup(cacheKey);
+    if (cachedKernel != null) {
+      // Install the kernel generated by a previous run
+      cachedKernel.restoreDomain(taskMeta);
+      return deviceContext.installCode(
+          cachedKernel.getEntryPoint(),
+          cachedKernel.getCode(),
+          resolvedMethod.getName(),
+          taskMeta.isPrintKernelEnabled());
+    }
+
     try {
       PTXCompilationResult result;
-      if (!deviceContext.isCached(resolvedMethod.getName(), executable)) {
+      if (!isCached) {
         PTXProviders providers = (PTXProviders) getBackend().getProviders();
         profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
         result =
@@ -197,10 +213,15 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         profiler.sum(
             ProfilerType.TOTAL_GRAAL_COMPILE_TIME,
             profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
+        TornadoJITCache.store(
+            cacheKey,
+            result.getName(),
+            result.getTargetCode(),
+            sketch,
+            result.getMethods(),
+            taskMeta);
       } else {
-        result =
-            new PTXCompilationResult(
-                buildKernelName(resolvedMethod.getName(), executable), taskMeta);
+        result = new PTXCompilationResult(kernelName, taskMeta);
       }
 
       profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
@@ -265,7 +286,8 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     return getDeviceContext().getInstalledCode(functionName);
   }
 
-  private XPUBuffer createDeviceBuffer(Class<?> type, Object object, long batchSize) {
+  private XPUBuffer createDeviceBuffer(
+      Class<?> type, Object object, long batchSize, DeviceBufferState state) {
     XPUBuffer result = null;
     if (type.isArray()) {
 
@@ -282,6 +304,8 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     } else if (!type.isPrimitive()) {
       if (object.getClass().getAnnotation(Vector.class) != null) {
         result = new PTXVectorWrapper(getDeviceContext(), object, batchSize);
+      } else if (object instanceof TornadoNativeArray && isHostMapped(batchSize, state)) {
+        result = new PTXMemorySegmentWrapper(getDeviceContext(), batchSize, true);
       } else if (object instanceof MemorySegment) {
         result = new PTXMemorySegmentWrapper(getDeviceContext(), batchSize);
       } else if (object instanceof IntArray) {
@@ -309,13 +333,18 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     return result;
   }
 
+  /**
+   * Buffers of execution plans with unified memory map the host array into the device on integrated
+   * GPUs. Batches use regions of a device buffer, so they still copy.
+   */
+  private boolean isHostMapped(long batchSize, DeviceBufferState state) {
+    return state.isUnifiedMemory()
+        && batchSize <= 0
+        && getDeviceContext().getDevice().hasDeviceUnifiedMemory();
+  }
+
   @Override
-  public synchronized long allocateObjects(
-      Object[] objects, long batchSize, DeviceBufferState[] states) {
-    TornadoBufferProvider bufferProvider = getDeviceContext().getBufferProvider();
-    if (!bufferProvider.isNumFreeBuffersAvailable(objects.length)) {
-      bufferProvider.resetBuffers();
-    }
+  public long allocateObjects(Object[] objects, long batchSize, DeviceBufferState[] states) {
     long allocatedSpace = 0;
     for (int i = 0; i < objects.length; i++) {
       allocatedSpace += allocate(objects[i], batchSize, states[i]);
@@ -323,6 +352,16 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     return allocatedSpace;
   }
 
+  @Override
+  public long getBufferPoolHits() {
+    return getDeviceContext().getBufferProvider().getPoolHits();
+  }
+
+  @Override
+  public long getBufferPoolMisses() {
+    return getDeviceContext().getBufferProvider().getPoolMisses();
+  }
+
   @Override
   public long allocate(Object object, long batchSize, DeviceBufferState state) {
     final XPUBuffer buffer;
@@ -330,7 +369,7 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
       TornadoInternalError.guarantee(
           state.isAtomicRegionPresent() || !state.hasObjectBuffer(),
           "A device memory leak might be occurring.");
-      buffer = createDeviceBuffer(object.getClass(), object, batchSize);
+      buffer = createDeviceBuffer(object.getClass(), object, batchSize, state);
       state.setXPUBuffer(buffer);
       buffer.allocate(object, batchSize);
     } else {
@@ -343,7 +382,7 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
   }
 
   @Override
-  public synchronized long deallocate(DeviceBufferState deviceBufferState) {
+  public long deallocate(DeviceBufferState deviceBufferState) {
     long deallocatedSpace = 0;
     if (deviceBufferState.isLockedBuffer()) {
       return deallocatedSpace;
@@ -77,6 +77,7 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpCapability;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConstant;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpDecorate;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtInstImport;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtension;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpLabel;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpMemoryModel;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpName;
@@ -131,9 +132,12 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVReferenceMapBuilder;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVKernelAtomicNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.mm.SPIRVKernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.backend.XPUBackend;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
 public class SPIRVBackend extends XPUBackend<SPIRVProviders>
@@ -348,11 +352,13 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
           new SPIRVModule( //
               new SPIRVHeader( //
                   SPIRV_HEADER_VALUES.SPIRV_MAJOR_VERSION, //
-                  SPIRV_HEADER_VALUES.SPIRV_MINOR_VERSION, //
+                  usesSubGroupOperations(lir)
+                      ? SPIRV_HEADER_VALUES.SPIRV_SUBGROUP_MINOR_VERSION
+                      : SPIRV_HEADER_VALUES.SPIRV_MINOR_VERSION, //
                   SPIRV_HEADER_VALUES.SPIRV_GENERATOR_ID, //
                   SPIRV_HEADER_VALUES
                       .SPIRV_INITIAL_BOUND, // The bound will be filled once the code-gen is
-                                            // finished
+                  // finished
                   SPIRV_HEADER_VALUES.SPIRV_SCHEMA)); //
 
       // Instance the object for SPIR-V primitives handler
@@ -401,6 +407,57 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
     fp16CapabilityEnabled = true;
   }
 
+  private static boolean usesSubGroupOperations(LIR lir) {
+    ControlFlowGraph cfg = (ControlFlowGraph) lir.getControlFlowGraph();
+    return cfg.graph.getNodes().filter(SPIRVSubGroupNode.class).isNotEmpty();
+  }
+
+  private void emitSubGroupCapabilities(SPIRVModule module) {
+    // The OpGroupNonUniform* instructions are only available from SPIR-V 1.3
+    module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniform()));
+    module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformArithmetic()));
+    module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformShuffle()));
+    module.add(new SPIRVOpCapability(SPIRVCapability.GroupNonUniformShuffleRelative()));
+  }
+
+  private static boolean usesInt64Atomics(LIR lir) {
+    ControlFlowGraph cfg = (ControlFlowGraph) lir.getControlFlowGraph();
+    return cfg.graph
+        .getNodes()
+        .filter(SPIRVKernelAtomicNode.class)
+        .filter(atomic -> atomic.getStackKind() == JavaKind.Long)
+        .isNotEmpty();
+  }
+
+  private static boolean usesFloatAtomicMinMax(LIR lir, JavaKind kind) {
+    ControlFlowGraph cfg = (ControlFlowGraph) lir.getControlFlowGraph();
+    return cfg.graph
+        .getNodes()
+        .filter(SPIRVKernelAtomicNode.class)
+        .filter(atomic -> atomic.getStackKind() == kind)
+        .filter(
+            atomic ->
+                atomic.getOperation() == KernelAtomicNode.Operation.MIN
+                    || atomic.getOperation() == KernelAtomicNode.Operation.MAX)
+        .isNotEmpty();
+  }
+
+  private void emitFloatAtomicMinMaxCapabilities(SPIRVModule module, LIR lir) {
+    boolean usesFloat = usesFloatAtomicMinMax(lir, JavaKind.Float);
+    boolean usesDouble = usesFloatAtomicMinMax(lir, JavaKind.Double);
+    if (usesFloat) {
+      module.add(new SPIRVOpCapability(SPIRVCapability.AtomicFloat32MinMaxEXT()));
+    }
+    if (usesDouble) {
+      module.add(new SPIRVOpCapability(SPIRVCapability.AtomicFloat64MinMaxEXT()));
+    }
+    if (usesFloat || usesDouble) {
+      // OpAtomicFMinEXT and OpAtomicFMaxEXT are not part of the core specification
+      module.add(
+          new SPIRVOpExtension(new SPIRVLiteralString("SPV_EXT_shader_atomic_float_min_max")));
+    }
+  }
+
   private void emitSPIRVCapabilities(SPIRVModule module) {
     // Emit Capabilities
     module.add(
@@ -588,6 +645,16 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
       SPIRVSymbolTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE.name, id);
       asm.builtinTable.put(SPIRVThreadBuiltIn.WORKGROUP_SIZE, id);
     }
+
+    // Register the subgroup built-ins
+    for (SPIRVSubGroupNode subGroupNode : cfg.graph.getNodes().filter(SPIRVSubGroupNode.class)) {
+      SPIRVThreadBuiltIn builtIn = subGroupNode.getBuiltIn();
+      if (builtIn != null && !asm.builtinTable.containsKey(builtIn)) {
+        SPIRVId id = asm.emitDecorateOpenCLBuiltin(module, builtIn);
+        SPIRVSymbolTable.put(builtIn.name, id);
+        asm.builtinTable.put(builtIn, id);
+      }
+    }
   }
 
   private void emitPrologueForMainKernel(
@@ -869,6 +936,8 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
    * %spirv_BuiltinGlobalSize = OpVariable %ptr_Input_v3long Input
    * </code>
    *
+   * <p>Subgroup built-ins are scalar, and they are declared as a pointer to uint.
+   *
    * @param asm {@link SPIRVAssembler}
    */
   public void emitBuiltinVariables(SPIRVAssembler asm) {
@@ -876,12 +945,14 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
         asm.primitives.getPtrOpTypePointerWithStorage(
             SPIRVKind.OP_TYPE_VECTOR3_INT_64, SPIRVStorageClass.Input());
     for (Map.Entry<SPIRVThreadBuiltIn, SPIRVId> entry : asm.getBuiltinTableEntrySet()) {
+      SPIRVId type =
+          entry.getKey().isScalar()
+              ? asm.primitives.getPtrOpTypePointerWithStorage(
+                  SPIRVKind.OP_TYPE_INT_32, SPIRVStorageClass.Input())
+              : ptrV3ulong;
       asm.module.add(
           new SPIRVOpVariable(
-              ptrV3ulong,
-              entry.getValue(),
-              SPIRVStorageClass.Input(),
-              new SPIRVOptionalOperand<>()));
+              type, entry.getValue(), SPIRVStorageClass.Input(), new SPIRVOptionalOperand<>()));
     }
   }
 
@@ -898,6 +969,13 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
     }
 
     emitSPIRVCapabilities(module);
+    if (usesSubGroupOperations(lir)) {
+      emitSubGroupCapabilities(module);
+    }
+    if (usesInt64Atomics(lir)) {
+      module.add(new SPIRVOpCapability(SPIRVCapability.Int64Atomics()));
+    }
+    emitFloatAtomicMinMaxCapabilities(module, lir);
     emitImportOpenCL(asm, module);
     emitOpenCLAddressingMode(module);
     emitOpSourceForOpenCL(module, SPIRV_HEADER_VALUES.SPIRV_VERSION_FOR_OPENCL);
@@ -1011,6 +1089,7 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders>
     public static final int SPIRV_VERSION_FOR_OPENCL = 300000;
     public static final int SPIRV_MAJOR_VERSION = 1;
     public static final int SPIRV_MINOR_VERSION = 2;
+    public static final int SPIRV_SUBGROUP_MINOR_VERSION = 3;
     public static final int SPIRV_GENERATOR_ID = 32;
     public static final int SPIRV_INITIAL_BOUND = 0;
     public static final int SPIRV_SCHEMA = 0;
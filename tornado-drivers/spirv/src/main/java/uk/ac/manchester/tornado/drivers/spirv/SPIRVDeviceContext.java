@@ -23,8 +23,6 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
@@ -74,7 +72,7 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
   protected SPIRVDeviceContext(SPIRVDevice device, SPIRVContext context) {
     init(device);
     this.spirvContext = context;
-    this.executionIds = Collections.synchronizedSet(new HashSet<>());
+    this.executionIds = ConcurrentHashMap.newKeySet();
   }
 
   private void init(SPIRVDevice device) {
@@ -542,11 +540,8 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
   }
 
   private SPIRVEventPool getEventPool(long executionPlanId) {
-    if (!spirvEventPool.containsKey(executionPlanId)) {
-      SPIRVEventPool eventPool = new SPIRVEventPool(TornadoOptions.EVENT_WINDOW);
-      spirvEventPool.put(executionPlanId, eventPool);
-    }
-    return spirvEventPool.get(executionPlanId);
+    return spirvEventPool.computeIfAbsent(
+        executionPlanId, id -> new SPIRVEventPool(TornadoOptions.EVENT_WINDOW));
   }
 
   public int enqueueWriteBuffer(
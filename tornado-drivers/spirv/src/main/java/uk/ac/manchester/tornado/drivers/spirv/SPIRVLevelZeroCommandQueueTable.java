@@ -49,13 +49,8 @@ public class SPIRVLevelZeroCommandQueueTable {
   }
 
   public SPIRVLevelZeroCommandQueue get(SPIRVDevice device, LevelZeroContext levelZeroContext) {
-    if (!deviceCommandMap.containsKey(device)) {
-      ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-      table.get(Thread.currentThread().threadId(), device, levelZeroContext);
-      deviceCommandMap.put(device, table);
-    }
     return deviceCommandMap
-        .get(device)
+        .computeIfAbsent(device, d -> new ThreadCommandQueueTable())
         .get(Thread.currentThread().threadId(), device, levelZeroContext);
   }
 
@@ -82,16 +77,15 @@ public class SPIRVLevelZeroCommandQueueTable {
 
     public SPIRVLevelZeroCommandQueue get(
         long threadId, SPIRVDevice device, LevelZeroContext levelZeroContext) {
-      if (!commandQueueMap.containsKey(threadId)) {
-        // Create Command Queue and Command List
-        LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, device);
-        LevelZeroCommandList commandList = createCommandList(levelZeroContext, device);
-        SPIRVLevelZeroCommandQueue spirvLevelZeroCommandQueue =
-            new SPIRVLevelZeroCommandQueue(
+      return commandQueueMap.computeIfAbsent(
+          threadId,
+          id -> {
+            // Create Command Queue and Command List
+            LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, device);
+            LevelZeroCommandList commandList = createCommandList(levelZeroContext, device);
+            return new SPIRVLevelZeroCommandQueue(
                 commandQueue, commandList, (LevelZeroDevice) device.getDeviceRuntime());
-        commandQueueMap.put(threadId, spirvLevelZeroCommandQueue);
-      }
-      return commandQueueMap.get(threadId);
+          });
     }
 
     private LevelZeroCommandQueue createCommandQueue(
@@ -99,14 +99,9 @@ public class SPIRVLevelZeroContext extends SPIRVContext {
   @Override
   public SPIRVLevelZeroCommandQueue getCommandQueueForDevice(
       long executionPlanId, int deviceIndex) {
-    if (!commmandQueueTable.containsKey(executionPlanId)) {
-      SPIRVDevice device = devices.get(deviceIndex);
-      SPIRVLevelZeroCommandQueueTable spirvCommandQueueTable =
-          new SPIRVLevelZeroCommandQueueTable();
-      spirvCommandQueueTable.get(device, levelZeroContext);
-      commmandQueueTable.put(executionPlanId, spirvCommandQueueTable);
-    }
-    return commmandQueueTable.get(executionPlanId).get(devices.get(deviceIndex), levelZeroContext);
+    return commmandQueueTable
+        .computeIfAbsent(executionPlanId, id -> new SPIRVLevelZeroCommandQueueTable())
+        .get(devices.get(deviceIndex), levelZeroContext);
   }
 
   private ZeDeviceMemAllocDescriptor createDeviceDescription() {
@@ -39,12 +39,9 @@ public class SPIRVOCLCommandQueueTable {
   }
 
   public OCLCommandQueue get(SPIRVOCLDevice device, OCLContext context) {
-    if (!deviceCommandMap.containsKey(device)) {
-      ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-      table.get(Thread.currentThread().threadId(), device, context);
-      deviceCommandMap.put(device, table);
-    }
-    return deviceCommandMap.get(device).get(Thread.currentThread().threadId(), device, context);
+    return deviceCommandMap
+        .computeIfAbsent(device, d -> new ThreadCommandQueueTable())
+        .get(Thread.currentThread().threadId(), device, context);
   }
 
   public void cleanup(SPIRVOCLDevice device) {
@@ -68,22 +65,20 @@ public class SPIRVOCLCommandQueueTable {
     }
 
     public OCLCommandQueue get(long threadId, SPIRVOCLDevice device, OCLContext context) {
-      if (!commandQueueMap.containsKey(threadId)) {
-        final int deviceVersion = device.deviceVersion();
-        long commandProperties = context.getProperties();
-        long commandQueuePtr;
-        try {
-          commandQueuePtr =
-              context.clCreateCommandQueue(
-                  context.getContextId(), device.getId(), commandProperties);
-        } catch (OCLException e) {
-          throw new TornadoRuntimeException(e);
-        }
-        OCLCommandQueue commandQueue =
-            new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
-        commandQueueMap.put(threadId, commandQueue);
+      return commandQueueMap.computeIfAbsent(threadId, id -> createCommandQueue(device, context));
+    }
+
+    private static OCLCommandQueue createCommandQueue(SPIRVOCLDevice device, OCLContext context) {
+      final int deviceVersion = device.deviceVersion();
+      long commandProperties = context.getProperties();
+      long commandQueuePtr;
+      try {
+        commandQueuePtr =
+            context.clCreateCommandQueue(context.getContextId(), device.getId(), commandProperties);
+      } catch (OCLException e) {
+        throw new TornadoRuntimeException(e);
       }
-      return commandQueueMap.get(threadId);
+      return new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
     }
 
     public void cleanup(long threadId) {
@@ -26,8 +26,6 @@ package uk.ac.manchester.tornado.drivers.spirv;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.EVENT_WINDOW;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,7 +55,7 @@ public class SPIRVOCLContext extends SPIRVContext {
 
     commmandQueueTable = new ConcurrentHashMap<>();
     oclEventPool = new ConcurrentHashMap<>();
-    executionIDs = Collections.synchronizedSet(new HashSet<>());
+    executionIDs = ConcurrentHashMap.newKeySet();
 
     // Create a command queue per device;
     for (int deviceIndex = 0; deviceIndex < devices.size(); deviceIndex++) {
@@ -88,23 +86,13 @@ public class SPIRVOCLContext extends SPIRVContext {
   }
 
   public OCLCommandQueue getCommandQueue(long executionPlanId, int deviceIndex) {
-    if (!commmandQueueTable.containsKey(executionPlanId)) {
-      SPIRVDevice device = devices.get(deviceIndex);
-      SPIRVOCLCommandQueueTable oclCommandQueueTable = new SPIRVOCLCommandQueueTable();
-      oclCommandQueueTable.get((SPIRVOCLDevice) device, (OCLContext) oclContext);
-      commmandQueueTable.put(executionPlanId, oclCommandQueueTable);
-    }
     return commmandQueueTable
-        .get(executionPlanId)
+        .computeIfAbsent(executionPlanId, id -> new SPIRVOCLCommandQueueTable())
         .get((SPIRVOCLDevice) devices.get(deviceIndex), (OCLContext) oclContext);
   }
 
   public OCLEventPool getOCLEventPool(long executionPlanId) {
-    if (!oclEventPool.containsKey(executionPlanId)) {
-      OCLEventPool eventPool = new OCLEventPool(EVENT_WINDOW);
-      oclEventPool.put(executionPlanId, eventPool);
-    }
-    return oclEventPool.get(executionPlanId);
+    return oclEventPool.computeIfAbsent(executionPlanId, id -> new OCLEventPool(EVENT_WINDOW));
   }
 
   @Override
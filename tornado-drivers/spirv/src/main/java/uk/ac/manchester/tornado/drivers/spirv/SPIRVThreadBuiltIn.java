@@ -32,6 +32,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalGroupSizeNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdFixedNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 
 /** OpenCL Thread Built-ins for SPIR-V. */
 public enum SPIRVThreadBuiltIn {
@@ -54,7 +55,15 @@ public enum SPIRVThreadBuiltIn {
       SPIRVBuiltIn.WorkgroupSize(),
       LocalGroupSizeNode.class,
       LocalThreadSizeNode.class),
-  GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null);
+  GROUP_ID("spirv_BuiltInWorkgroupId", SPIRVBuiltIn.WorkgroupId(), GroupIdNode.class, null),
+  SUBGROUP_ID("spirv_BuiltInSubgroupId", SPIRVBuiltIn.SubgroupId(), SPIRVSubGroupNode.class, null),
+  SUBGROUP_LOCAL_ID(
+      "spirv_BuiltInSubgroupLocalInvocationId",
+      SPIRVBuiltIn.SubgroupLocalInvocationId(),
+      SPIRVSubGroupNode.class,
+      null),
+  SUBGROUP_SIZE(
+      "spirv_BuiltInSubgroupSize", SPIRVBuiltIn.SubgroupSize(), SPIRVSubGroupNode.class, null);
   // @formatter:on
 
   String name;
@@ -88,4 +97,12 @@ public enum SPIRVThreadBuiltIn {
   public Class<? extends Node> getOptionalNodeClass() {
     return optionalNodeClass;
   }
+
+  /**
+   * Subgroup built-ins are declared as a scalar uint, while the rest of the thread built-ins are
+   * declared as a vector of 3 ulong elements.
+   */
+  public boolean isScalar() {
+    return this == SUBGROUP_ID || this == SUBGROUP_LOCAL_ID || this == SUBGROUP_SIZE;
+  }
 }
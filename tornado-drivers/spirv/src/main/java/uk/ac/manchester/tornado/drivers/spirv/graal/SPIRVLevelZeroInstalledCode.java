@@ -95,7 +95,8 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
       int kernelParamIndex = argIndex + 1;
       KernelStackFrame.CallArgument arg = callWrapper.getCallArguments().get(argIndex);
 
-      if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+      if (!arg.isReferenceType()
+          && arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
         result =
             levelZeroKernel.zeKernelSetArgumentValue(
                 kernel.getPtrZeKernelHandle(),
@@ -106,7 +107,8 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
         continue;
       }
 
-      if (RuntimeUtilities.isBoxedPrimitive(arg.getValue())
+      if (arg.isReferenceType()
+          || RuntimeUtilities.isBoxedPrimitive(arg.getValue())
           || arg.getValue().getClass().isPrimitive()) {
         if (!arg.isReferenceType()) {
           continue;
@@ -116,7 +118,7 @@ public class SPIRVLevelZeroInstalledCode extends SPIRVInstalledCode {
                 kernel.getPtrZeKernelHandle(),
                 kernelParamIndex,
                 Sizeof.LONG.getNumBytes(),
-                ((Number) arg.getValue()).longValue());
+                arg.getReference());
         LevelZeroUtils.errorLog("zeKernelSetArgumentValue", result);
       } else {
         TornadoInternalError.shouldNotReachHere();
@@ -90,6 +90,7 @@ import org.graalvm.compiler.phases.util.Providers;
 import org.graalvm.compiler.replacements.DefaultJavaLoweringProvider;
 import org.graalvm.compiler.replacements.SnippetCounter;
 import org.graalvm.word.LocationIdentity;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.LoadIndexedVectorNode;
 import uk.ac.manchester.tornado.drivers.providers.TornadoMemoryOrder;
@@ -103,10 +104,12 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GroupIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalArrayNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadIdNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.LocalThreadSizeNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVKernelAtomicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.snippets.ReduceGPUSnippets;
 import uk.ac.manchester.tornado.runtime.TornadoVMConfigAccess;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GetGroupIdFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.GlobalGroupSizeFixedWithNextNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.LocalGroupSizeFixedWithNextNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.NewArrayNonVirtualizableNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
@@ -210,6 +213,8 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
       lowerGlobalGroupSizeNode((GlobalGroupSizeFixedWithNextNode) node);
     } else if (node instanceof LocalGroupSizeFixedWithNextNode) {
       lowerLocalGroupSizeNode((LocalGroupSizeFixedWithNextNode) node);
+    } else if (node instanceof KernelAtomicNode) {
+      lowerKernelAtomicNode((KernelAtomicNode) node);
     } else {
       super.lower(node, tool);
     }
@@ -357,6 +362,35 @@ public class SPIRVLoweringProvider extends DefaultJavaLoweringProvider {
     graph.replaceFixedWithFloating(localGroupSizeNode, localThreadSizeNode);
   }
 
+  private void lowerKernelAtomicNode(KernelAtomicNode atomicNode) {
+    if (atomicNode.getElementKind() == JavaKind.Float
+        && atomicNode.getOperation() == KernelAtomicNode.Operation.ADD) {
+      // OpAtomicFAddEXT requires the SPV_EXT_shader_atomic_float_add extension
+      throw new TornadoBailoutRuntimeException(
+          "Atomic additions of float values are not supported by the SPIR-V backend");
+    }
+    StructuredGraph graph = atomicNode.graph();
+    AddressNode address;
+    if (atomicNode.isLocalArray()) {
+      address = createArrayLocalAddress(graph, atomicNode.array(), atomicNode.index());
+    } else if (atomicNode.isJavaArray()) {
+      address =
+          createArrayAddress(
+              graph, atomicNode.array(), atomicNode.getElementKind(), atomicNode.index());
+    } else {
+      address = atomicNode.createNativeArrayAddress();
+    }
+    SPIRVKernelAtomicNode atomic =
+        graph.add(
+            new SPIRVKernelAtomicNode(
+                atomicNode.getOperation(),
+                atomicNode.getElementKind(),
+                address,
+                atomicNode.expected(),
+                atomicNode.value()));
+    graph.replaceFixedWithFixed(atomicNode, atomic);
+  }
+
   private void lowerFloatConvertNode(FloatConvertNode floatConvert) {
     final StructuredGraph graph = floatConvert.graph();
     final CastNode asFloat =
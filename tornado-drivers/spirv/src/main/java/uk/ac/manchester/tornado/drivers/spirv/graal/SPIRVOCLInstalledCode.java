@@ -116,7 +116,8 @@ public class SPIRVOCLInstalledCode extends SPIRVInstalledCode {
       int kernelParamIndex = argIndex + 1;
       KernelStackFrame.CallArgument arg = callWrapper.getCallArguments().get(argIndex);
 
-      if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+      if (!arg.isReferenceType()
+          && arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
         status =
             dispatcher.clSetKernelArg(
                 kernelPointer, kernelParamIndex, Sizeof.LONG.getNumBytes(), callWrapper.toBuffer());
@@ -124,7 +125,8 @@ public class SPIRVOCLInstalledCode extends SPIRVInstalledCode {
         continue;
       }
 
-      if (RuntimeUtilities.isBoxedPrimitive(arg.getValue())
+      if (arg.isReferenceType()
+          || RuntimeUtilities.isBoxedPrimitive(arg.getValue())
           || arg.getValue().getClass().isPrimitive()) {
         if (!arg.isReferenceType()) {
           // In OpenCL, we need to set the argument. But it is set as buffer pointer. So we add the
@@ -138,10 +140,7 @@ public class SPIRVOCLInstalledCode extends SPIRVInstalledCode {
         } else {
           status =
               dispatcher.clSetKernelArg(
-                  kernelPointer,
-                  kernelParamIndex,
-                  Sizeof.LONG.getNumBytes(),
-                  ((Number) arg.getValue()).longValue());
+                  kernelPointer, kernelParamIndex, Sizeof.LONG.getNumBytes(), arg.getReference());
         }
         checkStatus(status, "clSetKernelArg");
       } else {
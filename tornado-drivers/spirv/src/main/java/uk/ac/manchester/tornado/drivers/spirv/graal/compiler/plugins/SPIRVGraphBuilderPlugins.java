@@ -66,6 +66,7 @@ import org.graalvm.compiler.replacements.InlineDuringParsingPlugin;
 import org.graalvm.word.LocationIdentity;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVArchitecture;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVKind;
@@ -75,9 +76,11 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsic
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntUnaryIntrinsicNode;
+import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVSubGroupNode;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SlotsBaseAddressNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.directives.CompilerInternals;
+import uk.ac.manchester.tornado.runtime.graal.compiler.KernelAtomicPlugins;
 
 public class SPIRVGraphBuilderPlugins {
 
@@ -110,6 +113,7 @@ public class SPIRVGraphBuilderPlugins {
     SPIRVHalfFloatPlugins.registerPlugins(plugins, invocationPlugins);
     // Register plugins for Off-Heap Arrays with Panama
     registerMemoryAccessPlugins(invocationPlugins);
+    registerWriteTrackingPlugins(invocationPlugins);
   }
 
   private static void registerOpenCLBuiltinPlugins(InvocationPlugins plugins) {
@@ -168,6 +172,89 @@ public class SPIRVGraphBuilderPlugins {
     registerLocalBarrier(r);
     registerGlobalBarrier(r);
     localArraysPlugins(r);
+    registerSubGroupPlugins(r);
+    KernelAtomicPlugins.registerKernelAtomicPlugins(r);
+  }
+
+  private static void registerSubGroupPlugins(Registration r) {
+    registerSubGroupQuery(r, "subgroupId", SPIRVSubGroupNode.Operation.ID);
+    registerSubGroupQuery(r, "subgroupLocalId", SPIRVSubGroupNode.Operation.LOCAL_ID);
+    registerSubGroupQuery(r, "subgroupSize", SPIRVSubGroupNode.Operation.SIZE);
+    registerSubGroupCollectives(r, int.class, JavaKind.Int);
+    registerSubGroupCollectives(r, float.class, JavaKind.Float);
+  }
+
+  private static void registerSubGroupQuery(
+      Registration r, String name, SPIRVSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver) {
+            b.push(JavaKind.Int, b.append(new SPIRVSubGroupNode(operation)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupCollectives(Registration r, Class<?> type, JavaKind kind) {
+    registerSubGroupShuffle(r, "shuffle", type, kind, SPIRVSubGroupNode.Operation.SHUFFLE);
+    registerSubGroupShuffle(r, "shuffleXor", type, kind, SPIRVSubGroupNode.Operation.SHUFFLE_XOR);
+    registerSubGroupShuffle(r, "shuffleDown", type, kind, SPIRVSubGroupNode.Operation.SHUFFLE_DOWN);
+    registerSubGroupShuffle(r, "broadcast", type, kind, SPIRVSubGroupNode.Operation.BROADCAST);
+    registerSubGroupReduction(
+        r, "subgroupReduceAdd", type, kind, SPIRVSubGroupNode.Operation.REDUCE_ADD);
+    registerSubGroupReduction(
+        r, "subgroupReduceMin", type, kind, SPIRVSubGroupNode.Operation.REDUCE_MIN);
+    registerSubGroupReduction(
+        r, "subgroupReduceMax", type, kind, SPIRVSubGroupNode.Operation.REDUCE_MAX);
+    registerSubGroupReduction(
+        r, "subgroupExclusiveScanAdd", type, kind, SPIRVSubGroupNode.Operation.EXCLUSIVE_SCAN_ADD);
+    registerSubGroupReduction(
+        r, "subgroupInclusiveScanAdd", type, kind, SPIRVSubGroupNode.Operation.INCLUSIVE_SCAN_ADD);
+  }
+
+  private static void registerSubGroupShuffle(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      SPIRVSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class, type, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver,
+              ValueNode value,
+              ValueNode lane) {
+            b.push(kind, b.append(new SPIRVSubGroupNode(operation, kind, value, lane)));
+            return true;
+          }
+        });
+  }
+
+  private static void registerSubGroupReduction(
+      Registration r,
+      String name,
+      Class<?> type,
+      JavaKind kind,
+      SPIRVSubGroupNode.Operation operation) {
+    r.register(
+        new InvocationPlugin(name, InvocationPlugin.Receiver.class, type) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              InvocationPlugin.Receiver receiver,
+              ValueNode value) {
+            b.push(kind, b.append(new SPIRVSubGroupNode(operation, kind, value)));
+            return true;
+          }
+        });
   }
 
   private static void registerLocalBarrier(Registration r) {
@@ -547,6 +634,46 @@ public class SPIRVGraphBuilderPlugins {
     }
   }
 
+  /**
+   * The tracking of host writes of the native arrays (see {@link
+   * TornadoNativeArray#enableWriteTracking()}) has no meaning on the device, so the calls to the
+   * tracking methods are removed from the kernels.
+   */
+  private static void registerWriteTrackingPlugins(InvocationPlugins plugins) {
+    Registration r = new Registration(plugins, TornadoNativeArray.class);
+    r.register(
+        new InvocationPlugin("markWrite", InvocationPlugin.Receiver.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode index) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", InvocationPlugin.Receiver.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver) {
+            return true;
+          }
+        });
+    r.register(
+        new InvocationPlugin("markDirty", InvocationPlugin.Receiver.class, int.class, int.class) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode fromIndex,
+              ValueNode toIndex) {
+            return true;
+          }
+        });
+  }
+
   private static void registerMemoryAccessPlugins(InvocationPlugins plugins) {
     Registration r = new Registration(plugins, MemorySegment.class);
 
@@ -35,6 +35,9 @@ import org.graalvm.compiler.lir.Variable;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVInstruction;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpDecorate;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtInst;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformShuffle;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformShuffleDown;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformShuffleXor;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpIEqual;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpINotEqual;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpLoad;
@@ -400,6 +403,59 @@ public class SPIRVBinary {
     }
   }
 
+  /**
+   * Exchange of a value between the work-items of a subgroup. The broadcast is also emitted as a
+   * shuffle because {@code OpGroupNonUniformBroadcast} requires a constant lane before SPIR-V 1.5,
+   * while the lane of a shuffle only has to be dynamically uniform.
+   *
+   * <p>Equivalent OpenCL Code: <code>
+   * int x = sub_group_shuffle_xor(value, mask);
+   * </code> <code>
+   * %x = OpGroupNonUniformShuffleXor %uint %uint_3 %value %mask
+   * </code>
+   */
+  public static class SubGroupShuffle extends BinaryConsumer {
+
+    /** Execution scope {@code Subgroup} of the SPIR-V specification. */
+    private static final String SUBGROUP_SCOPE = "3";
+
+    private final Mode mode;
+
+    public SubGroupShuffle(Mode mode, LIRKind valueKind, Value value, Value lane) {
+      super(null, null, valueKind, value, lane);
+      this.mode = mode;
+    }
+
+    @Override
+    public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+      Logger.traceCodeGen(
+          Logger.BACKEND.SPIRV, "emit SubGroupShuffle: " + mode + " (" + x + "," + y + ")");
+
+      SPIRVId type = asm.primitives.getTypePrimitive(getSPIRVPlatformKind());
+      SPIRVId value = loadSPIRVId(crb, asm, x);
+      SPIRVId lane = loadSPIRVId(crb, asm, y);
+      SPIRVId scope = asm.lookUpConstant(SUBGROUP_SCOPE, SPIRVKind.OP_TYPE_INT_32);
+
+      SPIRVId result = asm.module.getNextId();
+      SPIRVInstruction instruction =
+          switch (mode) {
+            case SHUFFLE -> new SPIRVOpGroupNonUniformShuffle(type, result, scope, value, lane);
+            case SHUFFLE_XOR ->
+                new SPIRVOpGroupNonUniformShuffleXor(type, result, scope, value, lane);
+            case SHUFFLE_DOWN ->
+                new SPIRVOpGroupNonUniformShuffleDown(type, result, scope, value, lane);
+          };
+      asm.currentBlockScope().add(instruction);
+      asm.registerLIRInstructionValue(this, result);
+    }
+
+    public enum Mode {
+      SHUFFLE,
+      SHUFFLE_XOR,
+      SHUFFLE_DOWN
+    }
+  }
+
   public static class VectorOperation extends BinaryConsumer {
 
     public VectorOperation(SPIRVBinaryOp opcode, LIRKind lirKind, Value x, Value y) {
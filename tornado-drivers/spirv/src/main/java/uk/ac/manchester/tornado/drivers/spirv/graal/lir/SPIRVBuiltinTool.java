@@ -29,6 +29,7 @@ import jdk.vm.ci.meta.Value;
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.lir.Variable;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVThreadBuiltIn;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 public class SPIRVBuiltinTool {
@@ -558,4 +559,55 @@ public class SPIRVBuiltinTool {
     unimplemented();
     return null;
   }
+
+  public Value genSubGroupBuiltin(SPIRVThreadBuiltIn builtIn, Variable result, LIRKind lirKind) {
+    Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "gen: %s", builtIn.getName());
+    return new SPIRVUnary.SubGroupBuiltinCallForSPIRV(builtIn, result, lirKind);
+  }
+
+  public Value genSubGroupShuffle(Value value, Value lane) {
+    Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "gen: sub_group_shuffle(%s, %s)", value, lane);
+    return new SPIRVBinary.SubGroupShuffle(
+        SPIRVBinary.SubGroupShuffle.Mode.SHUFFLE,
+        LIRKind.value(value.getPlatformKind()),
+        value,
+        lane);
+  }
+
+  public Value genSubGroupShuffleXor(Value value, Value mask) {
+    Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "gen: sub_group_shuffle_xor(%s, %s)", value, mask);
+    return new SPIRVBinary.SubGroupShuffle(
+        SPIRVBinary.SubGroupShuffle.Mode.SHUFFLE_XOR,
+        LIRKind.value(value.getPlatformKind()),
+        value,
+        mask);
+  }
+
+  public Value genSubGroupShuffleDown(Value value, Value delta) {
+    Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "gen: sub_group_shuffle_down(%s, %s)", value, delta);
+    return new SPIRVBinary.SubGroupShuffle(
+        SPIRVBinary.SubGroupShuffle.Mode.SHUFFLE_DOWN,
+        LIRKind.value(value.getPlatformKind()),
+        value,
+        delta);
+  }
+
+  public Value genSubGroupBroadcast(Value value, Value lane) {
+    Logger.traceBuildLIR(Logger.BACKEND.SPIRV, "gen: sub_group_broadcast(%s, %s)", value, lane);
+    return new SPIRVBinary.SubGroupShuffle(
+        SPIRVBinary.SubGroupShuffle.Mode.SHUFFLE,
+        LIRKind.value(value.getPlatformKind()),
+        value,
+        lane);
+  }
+
+  public Value genSubGroupCollective(
+      SPIRVUnary.SubGroupCollective.Operation operation,
+      SPIRVUnary.SubGroupCollective.GroupOperation groupOperation,
+      Value value) {
+    Logger.traceBuildLIR(
+        Logger.BACKEND.SPIRV, "gen: sub_group_%s_%s(%s)", groupOperation, operation, value);
+    return new SPIRVUnary.SubGroupCollective(
+        operation, groupOperation, LIRKind.value(value.getPlatformKind()), value);
+  }
 }
@@ -30,10 +30,22 @@ import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.Value;
 import org.graalvm.compiler.lir.ConstantValue;
 import org.graalvm.compiler.lir.LIRInstruction;
+import org.graalvm.compiler.lir.LIRInstruction.OperandFlag;
 import org.graalvm.compiler.lir.LIRInstructionClass;
 import org.graalvm.compiler.lir.Opcode;
 import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVInstruction;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicAnd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicCompareExchange;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicExchange;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicFMaxEXT;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicFMinEXT;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicIAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicOr;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicSMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicSMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpAtomicXor;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConvertUToPtr;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtInst;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpInBoundsPtrAccessChain;
@@ -57,6 +69,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVNodeLIRBuilder
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SPIRVAddressCast;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode.Operation;
 
 public class SPIRVLIRStmt {
 
@@ -1721,4 +1734,150 @@ public class SPIRVLIRStmt {
       emitStoreIfNeeded(asm, loadId, spirvKind);
     }
   }
+
+  @Opcode("ATOMIC_RMW")
+  public static class AtomicOperationStmt extends AbstractIndexedLoadAccess {
+
+    public static final LIRInstructionClass<AtomicOperationStmt> TYPE =
+        LIRInstructionClass.create(AtomicOperationStmt.class);
+
+    /** Memory scope {@code Device} of the SPIR-V specification. */
+    private static final String DEVICE_SCOPE = "1";
+
+    /** Memory semantics {@code None} of the SPIR-V specification. */
+    private static final String RELAXED_SEMANTICS = "0";
+
+    @Use protected SPIRVUnary.AbstractMemoryAccess address;
+
+    @Use({OperandFlag.REG, OperandFlag.CONST, OperandFlag.ILLEGAL})
+    protected Value expected;
+
+    @Use protected Value value;
+
+    private final Operation operation;
+
+    public AtomicOperationStmt(
+        Operation operation,
+        AllocatableValue result,
+        SPIRVUnary.AbstractMemoryAccess address,
+        Value expected,
+        Value value) {
+      super(TYPE, result);
+      this.operation = operation;
+      this.address = address;
+      this.expected = expected;
+      this.value = value;
+    }
+
+    private SPIRVId emitPointer(
+        SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, SPIRVKind spirvKind) {
+      if (address instanceof SPIRVUnary.MemoryIndexedAccess indexedAccess) {
+        indexedAccess.emitForLoad(asm, spirvKind);
+        return asm.lookUpLIRInstructions(indexedAccess);
+      }
+
+      // Global memory: the address is an unsigned long that is converted to a pointer
+      asm.emitValue(crb, address.getValue());
+      SPIRVId addressId = asm.lookUpLIRInstructions(address.getValue());
+      if (!TornadoOptions.OPTIMIZE_LOAD_STORE_SPIRV) {
+        SPIRVId loadId = asm.module.getNextId();
+        asm.currentBlockScope()
+            .add(
+                new SPIRVOpLoad( //
+                    asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_64), //
+                    loadId, //
+                    addressId, //
+                    new SPIRVOptionalOperand<>(
+                        SPIRVMemoryAccess.Aligned(
+                            new SPIRVLiteralInteger(SPIRVKind.OP_TYPE_INT_64.getByteCount())))));
+        addressId = loadId;
+      }
+      SPIRVId pointerId = asm.module.getNextId();
+      asm.currentBlockScope()
+          .add(
+              new SPIRVOpConvertUToPtr(
+                  asm.primitives.getPtrToCrossWorkGroupPrimitive(spirvKind), pointerId, addressId));
+      return pointerId;
+    }
+
+    private SPIRVId loadOperand(SPIRVAssembler asm, Value operand) {
+      SPIRVKind spirvKind = (SPIRVKind) operand.getPlatformKind();
+      if (operand instanceof ConstantValue constantValue) {
+        return asm.lookUpConstant(constantValue.getConstant().toValueString(), spirvKind);
+      }
+      SPIRVId operandId = asm.lookUpLIRInstructions(operand);
+      if (TornadoOptions.OPTIMIZE_LOAD_STORE_SPIRV) {
+        if (asm.isPhiAcrossBlocksPresent((AllocatableValue) operand)) {
+          return asm.getPhiIdAcrossBlock((AllocatableValue) operand);
+        }
+        return operandId;
+      }
+      SPIRVId loadId = asm.module.getNextId();
+      asm.currentBlockScope()
+          .add(
+              new SPIRVOpLoad( //
+                  asm.primitives.getTypePrimitive(spirvKind), //
+                  loadId, //
+                  operandId, //
+                  new SPIRVOptionalOperand<>(
+                      SPIRVMemoryAccess.Aligned(
+                          new SPIRVLiteralInteger(spirvKind.getByteCount())))));
+      return loadId;
+    }
+
+    /**
+     * It emits a relaxed <code>OpAtomic*</code> instruction, with {@code Device} scope and empty
+     * memory semantics.
+     *
+     * <p>The minimum and maximum of integers are signed, as Java integers. The minimum and maximum
+     * of floating-point values use <code>OpAtomicFMinEXT</code> and <code>OpAtomicFMaxEXT</code>,
+     * for which the backend declares the {@code SPV_EXT_shader_atomic_float_min_max} extension.
+     */
+    @Override
+    protected void emitCode(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+      Logger.traceCodeGen(
+          Logger.BACKEND.SPIRV,
+          "emit AtomicOperationStmt " + operation + " in address: " + address);
+
+      SPIRVKind spirvKind = (SPIRVKind) result.getPlatformKind();
+      SPIRVId type = asm.primitives.getTypePrimitive(spirvKind);
+      SPIRVId pointer = emitPointer(crb, asm, spirvKind);
+      SPIRVId scope = asm.lookUpConstant(DEVICE_SCOPE, SPIRVKind.OP_TYPE_INT_32);
+      SPIRVId semantics = asm.lookUpConstant(RELAXED_SEMANTICS, SPIRVKind.OP_TYPE_INT_32);
+      SPIRVId valueId = loadOperand(asm, value);
+
+      SPIRVId atomicId = asm.module.getNextId();
+      SPIRVInstruction instruction =
+          switch (operation) {
+            case ADD -> new SPIRVOpAtomicIAdd(type, atomicId, pointer, scope, semantics, valueId);
+            case MIN ->
+                spirvKind.isFloatingPoint()
+                    ? new SPIRVOpAtomicFMinEXT(type, atomicId, pointer, scope, semantics, valueId)
+                    : new SPIRVOpAtomicSMin(type, atomicId, pointer, scope, semantics, valueId);
+            case MAX ->
+                spirvKind.isFloatingPoint()
+                    ? new SPIRVOpAtomicFMaxEXT(type, atomicId, pointer, scope, semantics, valueId)
+                    : new SPIRVOpAtomicSMax(type, atomicId, pointer, scope, semantics, valueId);
+            case AND -> new SPIRVOpAtomicAnd(type, atomicId, pointer, scope, semantics, valueId);
+            case OR -> new SPIRVOpAtomicOr(type, atomicId, pointer, scope, semantics, valueId);
+            case XOR -> new SPIRVOpAtomicXor(type, atomicId, pointer, scope, semantics, valueId);
+            case EXCHANGE ->
+                new SPIRVOpAtomicExchange(type, atomicId, pointer, scope, semantics, valueId);
+            case COMPARE_EXCHANGE ->
+                new SPIRVOpAtomicCompareExchange(
+                    type,
+                    atomicId,
+                    pointer,
+                    scope,
+                    semantics,
+                    semantics,
+                    valueId,
+                    loadOperand(asm, expected));
+          };
+      asm.currentBlockScope().add(instruction);
+
+      asm.emitValue(crb, result);
+      emitStoreIfNeeded(asm, atomicId, spirvKind);
+    }
+  }
 }
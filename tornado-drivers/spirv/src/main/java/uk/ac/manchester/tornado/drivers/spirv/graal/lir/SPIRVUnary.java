@@ -34,6 +34,7 @@ import org.graalvm.compiler.lir.LIRInstruction.Use;
 import org.graalvm.compiler.lir.Opcode;
 import org.graalvm.compiler.lir.Variable;
 import uk.ac.manchester.beehivespirvtoolkit.lib.SPIRVInstScope;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVInstruction;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpCompositeExtract;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpControlBarrier;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConvertFToS;
@@ -43,12 +44,19 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpConvertUToPt
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpExtInst;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpFConvert;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpFNegate;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformFAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformFMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformFMin;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformIAdd;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformSMax;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpGroupNonUniformSMin;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpInBoundsPtrAccessChain;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpLoad;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpReturnValue;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpSConvert;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpSNegate;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.SPIRVOpUConvert;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVGroupOperation;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVId;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralExtInstInteger;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralInteger;
@@ -704,6 +712,132 @@ public class SPIRVUnary {
     }
   }
 
+  /**
+   * Load of a subgroup built-in. Subgroup built-ins are scalar, so, unlike {@link
+   * ThreadBuiltinCallForSPIRV}, there is no dimension to extract.
+   *
+   * <p>Equivalent OpenCL Code: <code>
+   * uint id = get_sub_group_id();
+   * </code> <code>
+   * %call = OpLoad %uint %__spirv_BuiltInSubgroupId Aligned 4
+   * </code>
+   */
+  public static class SubGroupBuiltinCallForSPIRV extends UnaryConsumer {
+
+    protected SPIRVThreadBuiltIn builtIn;
+
+    public SubGroupBuiltinCallForSPIRV(
+        SPIRVThreadBuiltIn builtIn, Variable result, LIRKind valueKind) {
+      super(null, result, valueKind, null);
+      this.builtIn = builtIn;
+    }
+
+    @Override
+    public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+      Logger.traceCodeGen(Logger.BACKEND.SPIRV, "emit Compute-SPIRV Intrinsic: " + builtIn);
+
+      SPIRVId uint = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_INT_32);
+
+      // All builtins have to be registered previous to this call
+      SPIRVId idSPIRVBuiltin = asm.builtinTable.get(builtIn);
+
+      SPIRVId load = obtainPhiValueIdIfNeeded(asm);
+      asm.currentBlockScope()
+          .add(
+              new SPIRVOpLoad( //
+                  uint, //
+                  load, //
+                  idSPIRVBuiltin, //
+                  new SPIRVOptionalOperand<>( //
+                      SPIRVMemoryAccess.Aligned(new SPIRVLiteralInteger(4))) //
+                  ));
+
+      // Store will be performed in the Assigment, if enabled.
+      asm.registerLIRInstructionValue(this, load);
+    }
+  }
+
+  /**
+   * Reduction or scan across the work-items of a subgroup.
+   *
+   * <p>Equivalent OpenCL Code: <code>
+   * int sum = sub_group_reduce_add(value);
+   * </code> <code>
+   * %sum = OpGroupNonUniformIAdd %uint %uint_3 Reduce %value
+   * </code>
+   */
+  public static class SubGroupCollective extends UnaryConsumer {
+
+    /** Execution scope {@code Subgroup} of the SPIR-V specification. */
+    private static final String SUBGROUP_SCOPE = "3";
+
+    private final Operation operation;
+    private final GroupOperation groupOperation;
+
+    public SubGroupCollective(
+        Operation operation, GroupOperation groupOperation, LIRKind valueKind, Value value) {
+      super(null, null, valueKind, value);
+      this.operation = operation;
+      this.groupOperation = groupOperation;
+    }
+
+    @Override
+    public void emit(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm) {
+      Logger.traceCodeGen(
+          Logger.BACKEND.SPIRV,
+          "emit SubGroupCollective: " + operation + " " + groupOperation + " (" + value + ")");
+
+      SPIRVKind spirvKind = getSPIRVPlatformKind();
+      SPIRVId type = asm.primitives.getTypePrimitive(spirvKind);
+      SPIRVId input = loadSPIRVId(crb, asm, value);
+      SPIRVId scope = asm.lookUpConstant(SUBGROUP_SCOPE, SPIRVKind.OP_TYPE_INT_32);
+      SPIRVGroupOperation group =
+          switch (groupOperation) {
+            case REDUCE -> SPIRVGroupOperation.Reduce();
+            case INCLUSIVE_SCAN -> SPIRVGroupOperation.InclusiveScan();
+            case EXCLUSIVE_SCAN -> SPIRVGroupOperation.ExclusiveScan();
+          };
+
+      SPIRVId result = asm.module.getNextId();
+      boolean isFloat = spirvKind.isFloatingPoint();
+      SPIRVInstruction instruction =
+          switch (operation) {
+            case ADD ->
+                isFloat
+                    ? new SPIRVOpGroupNonUniformFAdd(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>())
+                    : new SPIRVOpGroupNonUniformIAdd(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>());
+            case MIN ->
+                isFloat
+                    ? new SPIRVOpGroupNonUniformFMin(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>())
+                    : new SPIRVOpGroupNonUniformSMin(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>());
+            case MAX ->
+                isFloat
+                    ? new SPIRVOpGroupNonUniformFMax(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>())
+                    : new SPIRVOpGroupNonUniformSMax(
+                        type, result, scope, group, input, new SPIRVOptionalOperand<>());
+          };
+      asm.currentBlockScope().add(instruction);
+      asm.registerLIRInstructionValue(this, result);
+    }
+
+    public enum Operation {
+      ADD,
+      MIN,
+      MAX
+    }
+
+    public enum GroupOperation {
+      REDUCE,
+      INCLUSIVE_SCAN,
+      EXCLUSIVE_SCAN
+    }
+  }
+
   public abstract static class AbstractExtend extends UnaryConsumer {
 
     protected AbstractExtend(SPIRVUnaryOp opcode, Variable result, LIRKind valueKind, Value value) {
@@ -0,0 +1,152 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import uk.ac.manchester.tornado.drivers.spirv.SPIRVThreadBuiltIn;
+import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVLIRGenerator;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVBuiltinTool;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVLIRStmt;
+import uk.ac.manchester.tornado.drivers.spirv.graal.lir.SPIRVUnary.SubGroupCollective;
+
+/**
+ * Subgroup operation of the {@link uk.ac.manchester.tornado.api.KernelContext}. The node is fixed
+ * because all threads of a subgroup must reach the operation together, so it cannot be moved across
+ * control flow.
+ */
+@NodeInfo(nameTemplate = "{p#operation/s}")
+public class SPIRVSubGroupNode extends FixedWithNextNode implements LIRLowerable {
+
+  public static final NodeClass<SPIRVSubGroupNode> TYPE = NodeClass.create(SPIRVSubGroupNode.class);
+
+  @OptionalInput protected ValueNode value;
+  @OptionalInput protected ValueNode lane;
+
+  protected final Operation operation;
+
+  public SPIRVSubGroupNode(Operation operation) {
+    this(operation, JavaKind.Int, null, null);
+  }
+
+  public SPIRVSubGroupNode(Operation operation, JavaKind kind, ValueNode value) {
+    this(operation, kind, value, null);
+  }
+
+  public SPIRVSubGroupNode(Operation operation, JavaKind kind, ValueNode value, ValueNode lane) {
+    super(TYPE, StampFactory.forKind(kind));
+    this.operation = operation;
+    this.value = value;
+    this.lane = lane;
+  }
+
+  public Operation operation() {
+    return operation;
+  }
+
+  /**
+   * @return the SPIR-V built-in variable read by this node, or {@code null} if the operation is a
+   *     collective.
+   */
+  public SPIRVThreadBuiltIn getBuiltIn() {
+    return switch (operation) {
+      case ID -> SPIRVThreadBuiltIn.SUBGROUP_ID;
+      case LOCAL_ID -> SPIRVThreadBuiltIn.SUBGROUP_LOCAL_ID;
+      case SIZE -> SPIRVThreadBuiltIn.SUBGROUP_SIZE;
+      default -> null;
+    };
+  }
+
+  @Override
+  public void generate(NodeLIRBuilderTool gen) {
+    LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+    SPIRVBuiltinTool builtins = ((SPIRVLIRGenerator) tool).getSpirvBuiltinTool();
+    LIRKind lirKind = tool.getLIRKind(stamp);
+    Variable result = tool.newVariable(lirKind);
+    Value operationValue =
+        switch (operation) {
+          case ID, LOCAL_ID, SIZE -> builtins.genSubGroupBuiltin(getBuiltIn(), result, lirKind);
+          case SHUFFLE -> builtins.genSubGroupShuffle(gen.operand(value), gen.operand(lane));
+          case SHUFFLE_XOR -> builtins.genSubGroupShuffleXor(gen.operand(value), gen.operand(lane));
+          case SHUFFLE_DOWN ->
+              builtins.genSubGroupShuffleDown(gen.operand(value), gen.operand(lane));
+          case BROADCAST -> builtins.genSubGroupBroadcast(gen.operand(value), gen.operand(lane));
+          case REDUCE_ADD ->
+              builtins.genSubGroupCollective(
+                  SubGroupCollective.Operation.ADD,
+                  SubGroupCollective.GroupOperation.REDUCE,
+                  gen.operand(value));
+          case REDUCE_MIN ->
+              builtins.genSubGroupCollective(
+                  SubGroupCollective.Operation.MIN,
+                  SubGroupCollective.GroupOperation.REDUCE,
+                  gen.operand(value));
+          case REDUCE_MAX ->
+              builtins.genSubGroupCollective(
+                  SubGroupCollective.Operation.MAX,
+                  SubGroupCollective.GroupOperation.REDUCE,
+                  gen.operand(value));
+          case EXCLUSIVE_SCAN_ADD ->
+              builtins.genSubGroupCollective(
+                  SubGroupCollective.Operation.ADD,
+                  SubGroupCollective.GroupOperation.EXCLUSIVE_SCAN,
+                  gen.operand(value));
+          case INCLUSIVE_SCAN_ADD ->
+              builtins.genSubGroupCollective(
+                  SubGroupCollective.Operation.ADD,
+                  SubGroupCollective.GroupOperation.INCLUSIVE_SCAN,
+                  gen.operand(value));
+          default -> throw shouldNotReachHere();
+        };
+    tool.append(new SPIRVLIRStmt.AssignStmt(result, operationValue));
+    gen.setResult(this, result);
+  }
+
+  public enum Operation {
+    ID,
+    LOCAL_ID,
+    SIZE,
+    SHUFFLE,
+    SHUFFLE_XOR,
+    SHUFFLE_DOWN,
+    BROADCAST,
+    REDUCE_ADD,
+    REDUCE_MIN,
+    REDUCE_MAX,
+    EXCLUSIVE_SCAN_ADD,
+    INCLUSIVE_SCAN_ADD
+  }
+}
@@ -61,6 +61,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.analysis.TornadoValueTypeReplacement;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoopUnroller;
+import uk.ac.manchester.tornado.drivers.common.compiler.phases.utils.ScalarArguments;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVKernelContextAccessNode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
@@ -297,7 +298,10 @@ public class TornadoTaskSpecialization extends BasePhase<TornadoHighTierContext>
   }
 
   private void propagateParameters(
-      StructuredGraph graph, ParameterNode parameterNode, Object[] args) {
+      StructuredGraph graph,
+      ParameterNode parameterNode,
+      Object[] args,
+      TornadoHighTierContext context) {
     if (args[parameterNode.index()] != null
         && RuntimeUtilities.isBoxedPrimitiveClass(args[parameterNode.index()].getClass())) {
       /*
@@ -316,7 +320,9 @@ public class TornadoTaskSpecialization extends BasePhase<TornadoHighTierContext>
         parameterNode.replaceAtUsages(kernelContextAccessNode);
         index++;
       } else {
+        // Scalars are always folded, since the kernel parameters are pointers in SPIR-V
         var value = args[parameterNode.index()];
+        ScalarArguments.markFolded(context, parameterNode);
         ConstantNode primitiveConstant = createPrimitiveConstantFromObjectParameter(value, graph);
 
         parameterNode.replaceAtAllUsages(primitiveConstant, true);
@@ -379,13 +385,14 @@ public class TornadoTaskSpecialization extends BasePhase<TornadoHighTierContext>
     boolean hasWork = true;
     this.batchThreads = context.getBatchCompilationConfig().getBatchThreads();
     this.gridScheduling = context.isGridSchedulerEnabled();
+    ScalarArguments.beginSpecialisation(context);
 
     while (hasWork) {
       final Graph.Mark mark = graph.getMark();
       if (context.hasArgs()) {
         getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "Before Phase Propagate Parameters");
         for (final ParameterNode param : graph.getNodes(ParameterNode.TYPE)) {
-          propagateParameters(graph, param, context.getArgs());
+          propagateParameters(graph, param, context.getArgs(), context);
         }
         getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "After Phase Propagate Parameters");
       }
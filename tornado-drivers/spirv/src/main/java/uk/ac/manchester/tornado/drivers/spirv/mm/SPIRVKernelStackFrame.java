@@ -23,7 +23,6 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv.mm;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
@@ -33,20 +32,25 @@ public class SPIRVKernelStackFrame extends SPIRVByteBuffer implements KernelStac
 
   public static final int RESERVED_SLOTS = 3;
 
-  private final ArrayList<CallArgument> callArguments;
+  private final CallArgumentList callArguments;
 
   private boolean isValid;
 
   public SPIRVKernelStackFrame(long bufferId, int numArgs, SPIRVDeviceContext device) {
     super(device, bufferId, 0, RESERVED_SLOTS << 3);
-    this.callArguments = new ArrayList<>(numArgs);
+    this.callArguments = new CallArgumentList(numArgs);
     buffer.clear();
     this.isValid = true;
   }
 
   @Override
   public void addCallArgument(Object value, boolean isReferenceType) {
-    callArguments.add(new CallArgument(value, isReferenceType));
+    callArguments.add(value, isReferenceType);
+  }
+
+  @Override
+  public void addReferenceArgument(long buffer) {
+    callArguments.addReference(buffer);
   }
 
   @Override
@@ -96,4 +100,16 @@ public class SPIRVKernelStackFrame extends SPIRVByteBuffer implements KernelStac
       }
     }
   }
+
+  @Override
+  public void setKernelContext(long[] globalWork) {
+    buffer.clear();
+    for (int i = 0; i < RESERVED_SLOTS; i++) {
+      if (globalWork != null && i < globalWork.length) {
+        buffer.putLong((int) globalWork[i]);
+      } else {
+        buffer.putLong(0);
+      }
+    }
+  }
 }
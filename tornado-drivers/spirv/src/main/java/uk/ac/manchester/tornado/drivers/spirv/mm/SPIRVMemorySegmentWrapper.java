@@ -237,6 +237,31 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
     return returnEvents;
   }
 
+  @Override
+  public List<Integer> enqueueWriteRegion(
+      long executionPlanId,
+      Object reference,
+      long offset,
+      long numBytes,
+      int[] events,
+      boolean useDeps) {
+    if (batchSize > 0) {
+      return null;
+    }
+    MemorySegment segment = getSegmentWithHeader(reference);
+    List<Integer> returnEvents = new ArrayList<>();
+    returnEvents.add(
+        spirvDeviceContext.enqueueWriteBuffer(
+            executionPlanId,
+            toBuffer(),
+            bufferOffset + TornadoNativeArray.ARRAY_HEADER + offset,
+            numBytes,
+            segment.address(),
+            TornadoNativeArray.ARRAY_HEADER + offset,
+            (useDeps) ? events : null));
+    return returnEvents;
+  }
+
   @Override
   public void allocate(Object reference, long batchSize)
       throws TornadoOutOfMemoryException, TornadoMemoryException {
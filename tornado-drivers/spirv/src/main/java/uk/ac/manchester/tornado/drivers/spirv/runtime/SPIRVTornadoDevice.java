@@ -48,7 +48,6 @@ import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.tensors.Tensor;
-import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.opencl.mm.AtomicsBuffer;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVBackend;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVBackendImpl;
@@ -72,6 +71,7 @@ import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoJITCache;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
@@ -168,6 +168,15 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
 
     System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+    final String cacheKey = TornadoJITCache.computeKey(task, this, resolvedMethod.getName());
+    final TornadoJITCache.Entry cachedKernel = TornadoJITCache.lookup(cacheKey);
+    if (cachedKernel != null) {
+      // Install the SPIR-V binary generated by a previous run
+      cachedKernel.restoreDomain(taskMeta);
+      return deviceContext.installBinary(
+          taskMeta, task.getId(), cachedKernel.getEntryPoint(), cachedKernel.getCode());
+    }
+
     try {
       SPIRVCompilationResult result;
       // Compile the code and insert the SPIR-V binary into the code cache
@@ -183,6 +192,13 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
 
       profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
       TornadoInstalledCode installedCode = deviceContext.installBinary(result);
+      TornadoJITCache.store(
+          cacheKey,
+          result.getName(),
+          result.getSPIRVBinary(),
+          sketch,
+          result.getMethods(),
+          taskMeta);
       profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
       profiler.sum(
           ProfilerType.TOTAL_DRIVER_COMPILE_TIME,
@@ -356,12 +372,7 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
   }
 
   @Override
-  public synchronized long allocateObjects(
-      Object[] objects, long batchSize, DeviceBufferState[] states) {
-    TornadoBufferProvider bufferProvider = getDeviceContext().getBufferProvider();
-    if (!bufferProvider.isNumFreeBuffersAvailable(objects.length)) {
-      bufferProvider.resetBuffers();
-    }
+  public long allocateObjects(Object[] objects, long batchSize, DeviceBufferState[] states) {
     long allocatedSpace = 0;
     for (int i = 0; i < objects.length; i++) {
       allocatedSpace += allocate(objects[i], batchSize, states[i]);
@@ -369,6 +380,16 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
     return allocatedSpace;
   }
 
+  @Override
+  public long getBufferPoolHits() {
+    return getDeviceContext().getBufferProvider().getPoolHits();
+  }
+
+  @Override
+  public long getBufferPoolMisses() {
+    return getDeviceContext().getBufferProvider().getPoolMisses();
+  }
+
   private XPUBuffer createNewBufferAllocation(
       Object object, long batchSize, DeviceBufferState state) {
     final XPUBuffer buffer;
@@ -400,7 +421,7 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
   }
 
   @Override
-  public synchronized long deallocate(DeviceBufferState deviceBufferState) {
+  public long deallocate(DeviceBufferState deviceBufferState) {
     long deallocatedSpace = 0;
     if (deviceBufferState.isLockedBuffer()) {
       return deallocatedSpace;
@@ -2,6 +2,7 @@ import uk.ac.manchester.tornado.runtime.TornadoBackendProvider;
 
 open module tornado.runtime {
   requires java.logging;
+  requires jdk.management;
   requires jdk.unsupported;
   requires org.graalvm.collections;
   requires transitive jdk.internal.vm.ci;
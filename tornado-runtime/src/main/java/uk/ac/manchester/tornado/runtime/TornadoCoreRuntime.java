@@ -74,6 +74,22 @@ public final class TornadoCoreRuntime implements TornadoRuntime {
       };
   private static final ExecutorService EXECUTOR =
       Executors.newFixedThreadPool(TornadoOptions.TORNADO_SKETCHER_THREADS, executorThreadFactory);
+  private static final ThreadFactory compilerThreadFactory =
+      new ThreadFactory() {
+        private int threadId = 0;
+
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, String.format("TornadoCompilerThread - %d", threadId));
+          thread.setDaemon(true);
+          threadId++;
+          return thread;
+        }
+      };
+
+  // Compilations wait on sketches, so they do not share the threads of the sketcher
+  private static final ExecutorService COMPILER_EXECUTOR =
+      Executors.newFixedThreadPool(TornadoOptions.TORNADO_COMPILER_THREADS, compilerThreadFactory);
   private static final TornadoCoreRuntime runtime = new TornadoCoreRuntime();
   private static final JVMMapping JVM = new JVMMapping();
   private static final int DEFAULT_DRIVER = 0;
@@ -124,6 +140,10 @@ public final class TornadoCoreRuntime implements TornadoRuntime {
     return EXECUTOR;
   }
 
+  public static ExecutorService getTornadoCompilerExecutor() {
+    return COMPILER_EXECUTOR;
+  }
+
   public static JVMCIBackend getVMBackend() {
     return runtime.vmBackend;
   }
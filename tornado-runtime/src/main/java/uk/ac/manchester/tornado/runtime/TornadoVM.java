@@ -56,9 +56,17 @@ public class TornadoVM {
 
   private TornadoProfiler timeProfiler;
 
-  private final TornadoVMBytecodeResult[] tornadoVMBytecodes;
+  private final TornadoGraph tornadoGraph;
 
-  private final TornadoVMInterpreter[] tornadoVMInterpreters;
+  private TornadoVMBytecodeResult[] tornadoVMBytecodes;
+
+  private TornadoVMInterpreter[] tornadoVMInterpreters;
+
+  private GridScheduler gridScheduler;
+
+  // Accumulated execution time and number of chunks per device of a sharded batch
+  private double[] shardExecutionTimes;
+  private long[] shardProcessedChunks;
 
   /**
    * It constructs a new TornadoVM instance.
@@ -74,6 +82,7 @@ public class TornadoVM {
       TornadoProfiler timeProfiler) {
     this.executionContext = executionContext;
     this.timeProfiler = timeProfiler;
+    this.tornadoGraph = tornadoGraph;
     this.tornadoVMBytecodes = TornadoVMGraphCompiler.compile(tornadoGraph, executionContext);
     this.tornadoVMInterpreters = new TornadoVMInterpreter[executionContext.getValidContextSize()];
     bindBytecodesToInterpreters();
@@ -104,15 +113,96 @@ public class TornadoVM {
    * @return An {@link Event} indicating the completion of execution.
    */
   public Event execute(boolean isParallel, TornadoProfiler profiler) {
+    return execute(isParallel, profiler, false);
+  }
+
+  /**
+   * It executes the interpreter manager either concurrently in multiple threads or in
+   * single-threaded mode. Non-blocking executions run the bytecodes compiled with non-blocking
+   * transfers from the device to the host, which are compiled the first time they are needed.
+   *
+   * @param isNonBlocking true to return once all the operations are enqueued on the devices.
+   * @return An {@link Event} indicating the completion of execution.
+   */
+  public Event execute(boolean isParallel, TornadoProfiler profiler, boolean isNonBlocking) {
     // Set the profiler for all interpreters
     this.timeProfiler = profiler;
     Arrays.stream(tornadoVMInterpreters)
         .forEach(tornadoVMInterpreter -> tornadoVMInterpreter.setTimeProfiler(timeProfiler));
 
+    if (isNonBlocking && !tornadoVMInterpreters[0].hasNonBlockingBytecodes()) {
+      TornadoVMBytecodeResult[] nonBlockingBytecodes =
+          TornadoVMGraphCompiler.compileNonBlocking(tornadoGraph, executionContext);
+      for (int i = 0; i < tornadoVMInterpreters.length; i++) {
+        tornadoVMInterpreters[i].linkNonBlockingBytecodes(nonBlockingBytecodes[i]);
+      }
+    }
+
+    Event event;
     if (shouldInterpreterRunInParallel(isParallel)) {
-      return executeInterpreterThreadManager(isParallel);
+      event = executeInterpreterThreadManager(isParallel, isNonBlocking);
     } else {
-      return executeInterpreterSingleThreaded();
+      event = executeInterpreterSingleThreaded(isNonBlocking);
+    }
+
+    // The time of a non-blocking execution does not include the work of the devices
+    if (executionContext.isBatchSharded() && !isNonBlocking) {
+      rebalanceBatchShards();
+    }
+    return event;
+  }
+
+  private static Event executeInterpreter(TornadoVMInterpreter interpreter, boolean isNonBlocking) {
+    return isNonBlocking ? interpreter.executeNonBlocking() : interpreter.execute();
+  }
+
+  /**
+   * It updates the throughput (chunks per second) of each device of a sharded batch with the time
+   * measured in the last execution. If the distribution of chunks that corresponds to the new
+   * throughputs is different from the current one, the bytecodes are regenerated, so the next
+   * execution gives more chunks to the faster devices.
+   */
+  private void rebalanceBatchShards() {
+    final int numContexts = tornadoVMInterpreters.length;
+    if (shardExecutionTimes == null) {
+      shardExecutionTimes = new double[numContexts];
+      shardProcessedChunks = new long[numContexts];
+    }
+
+    int numChunks = 0;
+    for (int i = 0; i < numContexts; i++) {
+      int chunks = tornadoVMBytecodes[i].getNumBatchChunks();
+      numChunks += chunks;
+      double elapsed = tornadoVMInterpreters[i].getLastExecutionTime();
+      if (chunks > 0 && elapsed > 0) {
+        shardExecutionTimes[i] += elapsed;
+        shardProcessedChunks[i] += chunks;
+      }
+    }
+
+    double[] weights = new double[numContexts];
+    for (int i = 0; i < numContexts; i++) {
+      if (shardExecutionTimes[i] > 0) {
+        weights[i] = shardProcessedChunks[i] / shardExecutionTimes[i];
+      }
+    }
+
+    int[] boundaries = TornadoVMGraphCompiler.computeBatchShards(numChunks, numContexts, weights);
+    boolean isDistributionChanged = false;
+    for (int i = 0; i < numContexts; i++) {
+      if (boundaries[i + 1] - boundaries[i] != tornadoVMBytecodes[i].getNumBatchChunks()) {
+        isDistributionChanged = true;
+        break;
+      }
+    }
+
+    if (isDistributionChanged) {
+      executionContext.setBatchShardWeights(weights);
+      tornadoVMBytecodes = TornadoVMGraphCompiler.compile(tornadoGraph, executionContext);
+      bindBytecodesToInterpreters();
+      if (gridScheduler != null) {
+        setGridScheduler(gridScheduler);
+      }
     }
   }
 
@@ -126,8 +216,10 @@ public class TornadoVM {
     return calculateNumberOfJavaThreads(isParallel) != 1;
   }
 
-  private Event executeInterpreterSingleThreaded() {
-    Arrays.stream(tornadoVMInterpreters).forEach(TornadoVMInterpreter::execute);
+  private Event executeInterpreterSingleThreaded(boolean isNonBlocking) {
+    for (TornadoVMInterpreter tornadoVMInterpreter : tornadoVMInterpreters) {
+      executeInterpreter(tornadoVMInterpreter, isNonBlocking);
+    }
     return new EmptyEvent();
   }
 
@@ -137,7 +229,7 @@ public class TornadoVM {
    *
    * @return An {@link Event} indicating the completion of execution.
    */
-  private Event executeInterpreterThreadManager(boolean isParallel) {
+  private Event executeInterpreterThreadManager(boolean isParallel, boolean isNonBlocking) {
     // Create a thread pool with a fixed number of threads
     int numberOfJavaThreads = calculateNumberOfJavaThreads(isParallel);
     ExecutorService executor = Executors.newFixedThreadPool(numberOfJavaThreads);
@@ -147,7 +239,8 @@ public class TornadoVM {
 
     // Submit each task to the thread pool
     for (TornadoVMInterpreter tornadoVMInterpreter : tornadoVMInterpreters) {
-      Future<?> future = executor.submit(tornadoVMInterpreter::execute);
+      Future<?> future =
+          executor.submit(() -> executeInterpreter(tornadoVMInterpreter, isNonBlocking));
       futures.add(future);
     }
     // Wait for all tasks to complete
@@ -177,10 +270,22 @@ public class TornadoVM {
   }
 
   private boolean shouldRunConcurrently(boolean isTaskGraphConcurrent) {
-    return (isTaskGraphConcurrent || TornadoOptions.CONCURRENT_INTERPRETERS)
+    return (isTaskGraphConcurrent
+            || TornadoOptions.CONCURRENT_INTERPRETERS
+            || executionContext.isBatchSharded())
         && (executionContext.getValidContextSize() > 1);
   }
 
+  /**
+   * @return Bytes allocated on the Java heap by the LAUNCH bytecodes of the last execution of all
+   *     interpreters.
+   */
+  public long getLaunchAllocatedBytes() {
+    return Arrays.stream(tornadoVMInterpreters)
+        .mapToLong(TornadoVMInterpreter::getLaunchAllocatedBytes)
+        .sum();
+  }
+
   public void executeActionOnInterpreters(Consumer<TornadoVMInterpreter> action) {
     Arrays.stream(tornadoVMInterpreters).forEach(action::accept);
   }
@@ -189,6 +294,10 @@ public class TornadoVM {
     executeActionOnInterpreters(TornadoVMInterpreter::clearInstalledCode);
   }
 
+  public void invalidateGraphCapture() {
+    executeActionOnInterpreters(TornadoVMInterpreter::invalidateGraphCapture);
+  }
+
   public void dumpProfiles() {
     executeActionOnInterpreters(TornadoVMInterpreter::dumpProfiles);
   }
@@ -209,7 +318,12 @@ public class TornadoVM {
     executeActionOnInterpreters(TornadoVMInterpreter::warmup);
   }
 
+  public void compileAsync() {
+    executeActionOnInterpreters(TornadoVMInterpreter::compileAsync);
+  }
+
   public void setGridScheduler(GridScheduler gridScheduler) {
+    this.gridScheduler = gridScheduler;
     Arrays.stream(tornadoVMInterpreters)
         .forEach(interpreter -> interpreter.setGridScheduler(gridScheduler));
   }
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Completes futures when the device events they depend on are resolved. The completion callbacks of
+ * the drivers ({@code clSetEventCallback} for OpenCL and {@code cuStreamAddCallback} for PTX) are
+ * used when every event provides them, so no thread waits for the device.
+ *
+ * <p>For the backends without completion callbacks, a single daemon thread, started on first use,
+ * queries the status of the events of all the executions in flight, so asynchronous executions do
+ * not park one thread each. The thread waits without polling when there are no executions in
+ * flight.
+ *
+ * <p>Futures are completed from the common fork-join pool, so the continuations of the callers run
+ * neither on driver threads nor on the polling thread.
+ */
+public final class EventCompletionMonitor {
+
+  private EventCompletionMonitor() {}
+
+  /**
+   * Returns a future that is completed when all the events are complete. It is completed
+   * exceptionally if any event reports an error.
+   *
+   * @param events Events to monitor.
+   * @return {@link CompletableFuture}
+   */
+  public static CompletableFuture<Void> whenComplete(List<Event> events) {
+    final PendingExecution execution =
+        new PendingExecution(List.copyOf(events), new CompletableFuture<>());
+    if (!execution.poll() && !execution.addCompletionCallbacks()) {
+      Poller.INSTANCE.submitted.add(execution);
+    }
+    return execution.future;
+  }
+
+  /** Fallback for the events without completion callbacks. */
+  private static final class Poller {
+
+    private static final long POLL_INTERVAL_NANOS =
+        TimeUnit.MICROSECONDS.toNanos(TornadoOptions.ASYNC_POLL_INTERVAL);
+
+    private static final Poller INSTANCE = new Poller();
+
+    private final BlockingQueue<PendingExecution> submitted = new LinkedBlockingQueue<>();
+
+    private Poller() {
+      Thread thread = new Thread(this::monitor, "TornadoEventCompletionMonitor");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    private void monitor() {
+      final List<PendingExecution> inFlight = new ArrayList<>();
+      while (!Thread.currentThread().isInterrupted()) {
+        try {
+          if (inFlight.isEmpty()) {
+            inFlight.add(submitted.take());
+          }
+          submitted.drainTo(inFlight);
+          inFlight.removeIf(PendingExecution::poll);
+          if (!inFlight.isEmpty()) {
+            LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private record PendingExecution(List<Event> events, CompletableFuture<Void> future) {
+
+    /**
+     * Registers a completion callback on every event. The future is resolved on the common
+     * fork-join pool once the last callback has been invoked, since the callbacks run on driver
+     * threads that must not call back into the driver.
+     *
+     * @return false if an event does not provide completion callbacks. The callbacks already
+     *     registered are then left to expire, and the execution must be polled.
+     */
+    private boolean addCompletionCallbacks() {
+      final AtomicInteger unresolved = new AtomicInteger(events.size());
+      final Runnable callback =
+          () -> {
+            if (unresolved.decrementAndGet() == 0) {
+              ForkJoinPool.commonPool().execute(this::resolve);
+            }
+          };
+      for (Event event : events) {
+        if (!event.addCompletionCallback(callback)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Completes the future once all the callbacks have been invoked. */
+    private void resolve() {
+      if (!poll()) {
+        // A driver reported a callback before the status of its event has been updated
+        Poller.INSTANCE.submitted.add(this);
+      }
+    }
+
+    /**
+     * Queries the status of the events, and completes the future when all the events are complete.
+     *
+     * @return true if the future has been completed.
+     */
+    private boolean poll() {
+      try {
+        for (Event event : events) {
+          final TornadoExecutionStatus status = event.getStatus();
+          if (status == TornadoExecutionStatus.ERROR) {
+            future.completeExceptionally(
+                new TornadoRuntimeException("[ERROR] Device event failed: " + event.getName()));
+            return true;
+          } else if (status != TornadoExecutionStatus.COMPLETE) {
+            return false;
+          }
+        }
+        ForkJoinPool.commonPool().execute(() -> future.complete(null));
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+      return true;
+    }
+  }
+}
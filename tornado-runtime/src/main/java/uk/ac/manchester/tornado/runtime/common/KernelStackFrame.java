@@ -23,25 +23,146 @@
  */
 package uk.ac.manchester.tornado.runtime.common;
 
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
 
 public interface KernelStackFrame {
 
+  /**
+   * Shared marker for the {@link KernelContextArgument}, so launching a kernel does not allocate.
+   */
+  KernelContextArgument KERNEL_CONTEXT_ARGUMENT = new KernelContextArgument();
+
   // Marks an argument of type KernelContext being passed explicitly as a parameter.
   class KernelContextArgument {}
 
+  /**
+   * Argument of a kernel call. Reference arguments keep the native buffer as a primitive value, so
+   * pushing them does not box. Constant arguments also keep the bits of their primitive value, so
+   * backends write them into the call buffer without unboxing. Instances are reused across launches
+   * by {@link CallArgumentList}.
+   */
   class CallArgument {
-    private final Object value;
-    private final boolean isReferenceType;
+    private Object value;
+    private long reference;
+    private boolean isReferenceType;
+    private JavaKind primitiveKind;
+    private long primitiveBits;
 
     public CallArgument(Object value, boolean isReferenceType) {
-      this.value = value;
-      this.isReferenceType = isReferenceType;
+      set(value, isReferenceType);
+    }
+
+    void set(Object value, boolean isReferenceType) {
+      if (isReferenceType && value instanceof Long buffer) {
+        setReference(buffer);
+      } else {
+        this.value = value;
+        this.isReferenceType = isReferenceType;
+        this.primitiveKind = isReferenceType ? null : decodePrimitive(value);
+      }
+    }
+
+    void setReference(long reference) {
+      this.value = null;
+      this.reference = reference;
+      this.isReferenceType = true;
+      this.primitiveKind = null;
+    }
+
+    /** Stores the bits of a boxed primitive and returns its kind, or null for other values. */
+    private JavaKind decodePrimitive(Object value) {
+      switch (value) {
+        case Byte byteValue -> {
+          primitiveBits = byteValue;
+          return JavaKind.Byte;
+        }
+        case Character charValue -> {
+          primitiveBits = charValue;
+          return JavaKind.Char;
+        }
+        case Short shortValue -> {
+          primitiveBits = shortValue;
+          return JavaKind.Short;
+        }
+        case HalfFloat halfFloat -> {
+          primitiveBits = halfFloat.getHalfFloatValue();
+          return JavaKind.Short;
+        }
+        case Integer intValue -> {
+          primitiveBits = intValue;
+          return JavaKind.Int;
+        }
+        case Float floatValue -> {
+          primitiveBits = Float.floatToRawIntBits(floatValue);
+          return JavaKind.Float;
+        }
+        case Long longValue -> {
+          primitiveBits = longValue;
+          return JavaKind.Long;
+        }
+        case Double doubleValue -> {
+          primitiveBits = Double.doubleToRawLongBits(doubleValue);
+          return JavaKind.Double;
+        }
+        case null, default -> {
+          return null;
+        }
+      }
+    }
+
+    /**
+     * @return true if the argument is a constant of a primitive type (or a {@link HalfFloat}).
+     */
+    public boolean isPrimitive() {
+      return primitiveKind != null;
     }
 
+    /**
+     * Writes the value of a primitive argument into the call buffer, using the size of its type.
+     *
+     * @param buffer Call buffer.
+     */
+    public void writePrimitive(ByteBuffer buffer) {
+      switch (primitiveKind) {
+        case Byte -> buffer.put((byte) primitiveBits);
+        case Char, Short -> buffer.putShort((short) primitiveBits);
+        case Int, Float -> buffer.putInt((int) primitiveBits);
+        default -> buffer.putLong(primitiveBits);
+      }
+    }
+
+    /**
+     * Returns the bits of a primitive argument in the low bytes of a long. Floating-point values
+     * keep their IEEE-754 representation, since kernels load the parameter with its own type. Half
+     * floats return their 16-bit representation.
+     */
+    public long getPrimitiveBits() {
+      return switch (primitiveKind) {
+        case Float -> primitiveBits & 0xFFFFFFFFL;
+        default -> primitiveBits;
+      };
+    }
+
+    /**
+     * Returns the value of the argument. For reference arguments, the native buffer is boxed: use
+     * {@link #getReference()} in launch paths.
+     */
     public Object getValue() {
-      return value;
+      return (isReferenceType && value == null) ? Long.valueOf(reference) : value;
+    }
+
+    /**
+     * @return the native buffer of a reference argument.
+     */
+    public long getReference() {
+      return reference;
     }
 
     public boolean isReferenceType() {
@@ -49,14 +170,90 @@ public interface KernelStackFrame {
     }
   }
 
+  /**
+   * List of call arguments that keeps its {@link CallArgument} slots after {@link #clear()}, so the
+   * arguments of each launch are written into the slots of the previous one.
+   */
+  final class CallArgumentList extends AbstractList<CallArgument> {
+    private CallArgument[] slots;
+    private int size;
+
+    public CallArgumentList(int capacity) {
+      slots = new CallArgument[Math.max(capacity, 1)];
+    }
+
+    public void add(Object value, boolean isReferenceType) {
+      nextSlot().set(value, isReferenceType);
+    }
+
+    public void addReference(long reference) {
+      nextSlot().setReference(reference);
+    }
+
+    private CallArgument nextSlot() {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      if (slots[size] == null) {
+        slots[size] = new CallArgument(null, false);
+      }
+      return slots[size++];
+    }
+
+    @Override
+    public CallArgument get(int index) {
+      Objects.checkIndex(index, size);
+      return slots[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      for (int i = 0; i < size; i++) {
+        // Do not keep the constants of the last launch alive
+        slots[i].set(null, false);
+      }
+      size = 0;
+    }
+  }
+
   void reset();
 
   List<CallArgument> getCallArguments();
 
   void addCallArgument(Object value, boolean isReferenceType);
 
+  /**
+   * Adds a reference argument (e.g., an array or a panama segment) using its native buffer.
+   *
+   * @param buffer Native buffer of the argument.
+   */
+  default void addReferenceArgument(long buffer) {
+    addCallArgument(buffer, true);
+  }
+
   void setKernelContext(HashMap<Integer, Integer> map);
 
+  /**
+   * Sets the thread deployment of the kernel context from the global work of a {@link
+   * uk.ac.manchester.tornado.api.WorkerGrid}.
+   *
+   * @param globalWork Global work per dimension, or null if no grid is used.
+   */
+  default void setKernelContext(long[] globalWork) {
+    HashMap<Integer, Integer> threadDeploy = new HashMap<>();
+    if (globalWork != null) {
+      for (int i = 0; i < globalWork.length; i++) {
+        threadDeploy.put(i, (int) globalWork[i]);
+      }
+    }
+    setKernelContext(threadDeploy);
+  }
+
   boolean isValid();
 
   void invalidate();
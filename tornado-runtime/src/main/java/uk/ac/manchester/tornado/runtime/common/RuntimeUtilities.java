@@ -33,6 +33,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -65,6 +66,24 @@ public final class RuntimeUtilities {
 
   private RuntimeUtilities() {}
 
+  /**
+   * @return Bytes allocated on the Java heap by the current thread since it started, or 0 if the
+   *     JVM does not support the measurement.
+   */
+  public static long getCurrentThreadAllocatedBytes() {
+    com.sun.management.ThreadMXBean threadBean = ThreadAllocationCounter.THREAD_BEAN;
+    return (threadBean != null) ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+  }
+
+  /** Holder, so the management beans are only loaded when allocations are measured. */
+  private static final class ThreadAllocationCounter {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+        (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported())
+            ? bean
+            : null;
+  }
+
   public static long parseSize(String size) {
     if (size.endsWith("B")) {
       int index = size.indexOf("B");
@@ -0,0 +1,492 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import org.graalvm.compiler.nodes.Invoke;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.domain.Domain;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
+
+/**
+ * Persistent, content-addressed cache of generated kernels, shared by the OpenCL, PTX and SPIR-V
+ * backends. It is enabled with {@link TornadoOptions#JIT_CACHE}.
+ *
+ * <p>The key of an entry is a SHA-256 digest of everything the JIT compiler specialises on: the
+ * class file of the task method, the values of the scalar arguments and the sizes of the array
+ * arguments, the batch and grid-scheduler configuration, the target device and the TornadoVM
+ * options. Each entry also records the class files of the inlined and invoked methods, so a change
+ * in a callee invalidates the entry. On a hit, the backend installs the stored source (OpenCL C or
+ * PTX) or SPIR-V binary directly, skipping the Graal compilation tiers. Device binaries are left to
+ * the driver program caches.
+ */
+public final class TornadoJITCache {
+
+  private static final int MAGIC = 0x544a4954;
+
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String ENTRY_SUFFIX = ".tjc";
+
+  private static final String CACHE_OPTION_PREFIX = "tornado.jit.cache";
+
+  private static final int MAX_FINGERPRINT_DEPTH = 4;
+
+  private static final Map<Class<?>, String> CLASS_HASHES = new ConcurrentHashMap<>();
+
+  private static final AtomicLong HITS = new AtomicLong();
+
+  private static final AtomicLong MISSES = new AtomicLong();
+
+  private static final TornadoLogger logger = new TornadoLogger(TornadoJITCache.class);
+
+  private static volatile String environmentDigest;
+
+  private TornadoJITCache() {}
+
+  /**
+   * Code stored in the cache for a task, together with the parallel domain discovered when it was
+   * compiled.
+   */
+  public static final class Entry {
+    private final String entryPoint;
+    private final byte[] code;
+    private final DomainTree domain;
+
+    Entry(String entryPoint, byte[] code, DomainTree domain) {
+      this.entryPoint = entryPoint;
+      this.code = code;
+      this.domain = domain;
+    }
+
+    public String getEntryPoint() {
+      return entryPoint;
+    }
+
+    public byte[] getCode() {
+      return code;
+    }
+
+    /**
+     * Sets the parallel domain of the cached kernel into the task meta-data, as the shape analysis
+     * would do during compilation.
+     */
+    public void restoreDomain(TaskDataContext meta) {
+      if (domain != null && meta.getDomain() == null) {
+        meta.setDomain(domain);
+      }
+    }
+  }
+
+  public static boolean isEnabled() {
+    return TornadoOptions.JIT_CACHE;
+  }
+
+  public static long getHits() {
+    return HITS.get();
+  }
+
+  public static long getMisses() {
+    return MISSES.get();
+  }
+
+  /**
+   * Computes the cache key of a task for a given device.
+   *
+   * @param task Task to be compiled.
+   * @param device Target device.
+   * @param entryPoint Name of the kernel entry point, as generated by the backend.
+   * @return The hexadecimal key, or {@code null} if the task cannot be cached (e.g. one of its
+   *     arguments cannot be fingerprinted, or the method has no class file).
+   */
+  public static String computeKey(CompilableTask task, TornadoXPUDevice device, String entryPoint) {
+    if (!isEnabled()) {
+      return null;
+    }
+    final Method method = task.getMethod();
+    final String classHash = hashClass(method.getDeclaringClass());
+    if (classHash == null) {
+      return null;
+    }
+
+    final TaskDataContext meta = task.meta();
+    final StringBuilder sb = new StringBuilder(getEnvironmentDigest());
+    sb.append("|device=")
+        .append(device.getTornadoVMBackend())
+        .append(';')
+        .append(device.getPlatformName())
+        .append(';')
+        .append(device.getDeviceName())
+        .append(';')
+        .append(device.getDescription());
+    sb.append("|method=").append(method.toGenericString()).append(';').append(classHash);
+    sb.append("|entry=").append(entryPoint);
+    sb.append("|batch=")
+        .append((meta.getNumThreads() > 0) ? meta.getNumThreads() : task.getBatchThreads())
+        .append(';')
+        .append(task.getBatchNumber())
+        .append(';')
+        .append(task.getBatchSize());
+    sb.append("|grid=").append(task.isGridSchedulerEnabled());
+    sb.append("|runtime=").append(meta.getRuntimeScalarArguments());
+    sb.append("|args=");
+    for (Object arg : task.getArguments()) {
+      if (!fingerprint(sb, arg, 0, new IdentityHashMap<>())) {
+        return null;
+      }
+      sb.append(',');
+    }
+    return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Looks up a kernel in the cache. The entry is only returned if the class files of all the
+   * methods it was compiled from are unchanged.
+   *
+   * @param key Key obtained from {@link #computeKey}. If {@code null}, it is a miss.
+   * @return The cached entry, or {@code null}.
+   */
+  public static Entry lookup(String key) {
+    if (key == null) {
+      return null;
+    }
+    final Path file = resolveEntry(key);
+    if (!Files.isRegularFile(file)) {
+      MISSES.incrementAndGet();
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        MISSES.incrementAndGet();
+        return null;
+      }
+      final String entryPoint = in.readUTF();
+      final int numDependencies = in.readInt();
+      for (int i = 0; i < numDependencies; i++) {
+        final String className = in.readUTF();
+        final String storedHash = in.readUTF();
+        if (!storedHash.equals(hashClass(loadClass(className)))) {
+          logger.info("JIT cache entry %s is stale: %s has changed", key, className);
+          MISSES.incrementAndGet();
+          return null;
+        }
+      }
+      final DomainTree domain = readDomain(in);
+      final byte[] code = new byte[in.readInt()];
+      in.readFully(code);
+      HITS.incrementAndGet();
+      logger.info("JIT cache hit for %s (%s)", entryPoint, key);
+      return new Entry(entryPoint, code, domain);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Unable to read JIT cache entry %s: %s", file, e.getMessage());
+      MISSES.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Stores the code generated for a task. The write is atomic, so concurrent processes sharing the
+   * cache directory never observe a partial entry.
+   *
+   * @param key Key obtained from {@link #computeKey}. If {@code null}, nothing is stored.
+   * @param entryPoint Name of the kernel entry point.
+   * @param code Generated source or binary.
+   * @param sketch Sketch of the task method, used to record the inlined and invoked methods.
+   * @param compiledMethods Methods reported by the backend compilation result.
+   * @param meta Meta-data of the compiled task.
+   */
+  public static void store(
+      String key,
+      String entryPoint,
+      byte[] code,
+      Sketch sketch,
+      ResolvedJavaMethod[] compiledMethods,
+      TaskDataContext meta) {
+    if (key == null || code == null) {
+      return;
+    }
+    final Map<String, String> dependencies = collectDependencies(sketch, compiledMethods);
+    if (dependencies == null) {
+      return;
+    }
+    try {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream(code.length + 256);
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(entryPoint);
+        out.writeInt(dependencies.size());
+        for (Map.Entry<String, String> dependency : dependencies.entrySet()) {
+          out.writeUTF(dependency.getKey());
+          out.writeUTF(dependency.getValue());
+        }
+        writeDomain(out, meta.getDomain());
+        out.writeInt(code.length);
+        out.write(code);
+      }
+      final Path file = resolveEntry(key);
+      Files.createDirectories(file.getParent());
+      final Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+      Files.write(tmp, bytes.toByteArray());
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.warn("Unable to store JIT cache entry %s: %s", key, e.getMessage());
+    }
+  }
+
+  private static Path resolveEntry(String key) {
+    return Paths.get(TornadoOptions.JIT_CACHE_DIR, key + ENTRY_SUFFIX);
+  }
+
+  private static Map<String, String> collectDependencies(
+      Sketch sketch, ResolvedJavaMethod[] compiledMethods) {
+    final List<ResolvedJavaMethod> methods = new ArrayList<>();
+    final StructuredGraph graph = (StructuredGraph) sketch.getGraph();
+    methods.add(graph.method());
+    methods.addAll(graph.getMethods());
+    for (Invoke invoke : graph.getInvokes()) {
+      methods.add(invoke.getTargetMethod());
+    }
+    if (compiledMethods != null) {
+      methods.addAll(List.of(compiledMethods));
+    }
+
+    final Map<String, String> dependencies = new TreeMap<>();
+    for (ResolvedJavaMethod method : methods) {
+      if (method == null) {
+        continue;
+      }
+      final String className = method.getDeclaringClass().toJavaName();
+      if (dependencies.containsKey(className) || isCoveredByRuntimeVersion(className)) {
+        continue;
+      }
+      final String hash = hashClass(loadClass(className));
+      if (hash == null) {
+        // Hidden or generated classes cannot be validated in a later run
+        return null;
+      }
+      dependencies.put(className, hash);
+    }
+    return dependencies;
+  }
+
+  private static boolean isCoveredByRuntimeVersion(String className) {
+    return className.startsWith("java.")
+        || className.startsWith("jdk.")
+        || className.startsWith("sun.");
+  }
+
+  private static Class<?> loadClass(String className) {
+    try {
+      return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+  }
+
+  private static String hashClass(Class<?> klass) {
+    if (klass == null || klass.isHidden()) {
+      return null;
+    }
+    return CLASS_HASHES.computeIfAbsent(
+        klass,
+        k -> {
+          try (InputStream in =
+              k.getResourceAsStream("/" + k.getName().replace('.', '/') + ".class")) {
+            return (in == null) ? null : sha256(in.readAllBytes());
+          } catch (IOException e) {
+            return null;
+          }
+        });
+  }
+
+  /**
+   * Appends the values the task specialisation folds into the kernel: boxed scalars, array lengths
+   * and the primitive and final fields of objects.
+   */
+  private static boolean fingerprint(
+      StringBuilder sb, Object value, int depth, IdentityHashMap<Object, Boolean> visited) {
+    if (value == null) {
+      sb.append("null");
+      return true;
+    }
+    final Class<?> klass = value.getClass();
+    sb.append(klass.getName()).append(':');
+    if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      if (value instanceof AtomicInteger || value instanceof AtomicLong) {
+        // Atomics are registered as a side effect of the compilation
+        return false;
+      }
+      sb.append(value);
+      return true;
+    } else if (value instanceof TornadoNativeArray nativeArray) {
+      sb.append(nativeArray.getSize());
+      return true;
+    } else if (value instanceof KernelContext) {
+      return true;
+    } else if (klass.isArray()) {
+      sb.append(java.lang.reflect.Array.getLength(value));
+      return true;
+    } else if (value instanceof String) {
+      sb.append(value);
+      return true;
+    } else if (depth >= MAX_FINGERPRINT_DEPTH
+        || visited.put(value, Boolean.TRUE) != null
+        || isCoveredByRuntimeVersion(klass.getName())) {
+      return false;
+    }
+
+    sb.append('{');
+    try {
+      for (Class<?> k = klass; k != null && k != Object.class; k = k.getSuperclass()) {
+        for (Field field : k.getDeclaredFields()) {
+          final int modifiers = field.getModifiers();
+          if (Modifier.isStatic(modifiers)) {
+            continue;
+          }
+          if (field.getType().isPrimitive()) {
+            field.setAccessible(true);
+            sb.append(field.getName()).append('=').append(field.get(value)).append(';');
+          } else if (Modifier.isFinal(modifiers)) {
+            field.setAccessible(true);
+            sb.append(field.getName()).append('=');
+            if (!fingerprint(sb, field.get(value), depth + 1, visited)) {
+              return false;
+            }
+            sb.append(';');
+          }
+        }
+      }
+    } catch (IllegalAccessException | RuntimeException e) {
+      return false;
+    }
+    sb.append('}');
+    return true;
+  }
+
+  /**
+   * Digest of the JVM version, the TornadoVM runtime build and all TornadoVM options, except the
+   * options of the cache itself. It is computed once per process.
+   */
+  private static String getEnvironmentDigest() {
+    String digest = environmentDigest;
+    if (digest == null) {
+      final StringBuilder sb = new StringBuilder();
+      sb.append(FORMAT_VERSION).append('|').append(Runtime.version());
+      sb.append('|').append(codeSourceStamp(TornadoJITCache.class));
+      final Properties properties = System.getProperties();
+      final Map<String, String> options = new TreeMap<>();
+      for (String name : properties.stringPropertyNames()) {
+        if (name.startsWith("tornado.") && !name.startsWith(CACHE_OPTION_PREFIX)) {
+          options.put(name, properties.getProperty(name));
+        }
+      }
+      options.forEach((k, v) -> sb.append('|').append(k).append('=').append(v));
+      digest = sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+      environmentDigest = digest;
+    }
+    return digest;
+  }
+
+  private static String codeSourceStamp(Class<?> klass) {
+    final CodeSource codeSource = klass.getProtectionDomain().getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return "";
+    }
+    try {
+      final Path path = Paths.get(codeSource.getLocation().toURI());
+      return path + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      return codeSource.getLocation().toString();
+    }
+  }
+
+  private static void writeDomain(DataOutputStream out, DomainTree domain) throws IOException {
+    if (domain == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(domain.getDepth());
+    for (int i = 0; i < domain.getDepth(); i++) {
+      final IntDomain intDomain = (IntDomain) domain.get(i);
+      out.writeInt(intDomain.getOffset());
+      out.writeInt(intDomain.getStep());
+      out.writeInt(intDomain.cardinality());
+    }
+  }
+
+  private static DomainTree readDomain(DataInputStream in) throws IOException {
+    final int depth = in.readInt();
+    if (depth < 0) {
+      return null;
+    }
+    final DomainTree domain = new DomainTree(depth);
+    for (int i = 0; i < depth; i++) {
+      final Domain intDomain = new IntDomain(in.readInt(), in.readInt(), in.readInt());
+      domain.set(i, intDomain);
+    }
+    return domain;
+  }
+
+  private static String sha256(byte[] input) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
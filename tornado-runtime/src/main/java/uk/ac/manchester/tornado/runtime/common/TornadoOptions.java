@@ -96,6 +96,28 @@ public class TornadoOptions {
   public static final int SPIRV_BACKEND_PRIORITY =
       Integer.parseInt(Tornado.getProperty("tornado.spirv.priority", "11"));
 
+  /**
+   * Priority of the JVM Backend. The higher the number, the more priority over the rest of the
+   * backends. The JVM backend has the lowest priority by default, so it is only selected as the
+   * default backend when no accelerator backend is available.
+   */
+  public static final int JVM_BACKEND_PRIORITY =
+      Integer.parseInt(Tornado.getProperty("tornado.jvm.priority", "-1"));
+
+  /**
+   * Number of worker threads used by the JVM Backend to run parallel loops and kernels. It uses the
+   * number of visible cores at runtime by default.
+   */
+  public static final int JVM_BACKEND_THREADS =
+      getIntValue(
+          "tornado.jvm.threads", String.valueOf(Runtime.getRuntime().availableProcessors()));
+
+  /**
+   * Number of consecutive iterations of a parallel loop that a worker thread of the JVM Backend
+   * executes before moving to its next block of iterations.
+   */
+  public static final int JVM_BACKEND_BLOCK_SIZE = getIntValue("tornado.jvm.block.size", "256");
+
   /** Check if the FPGA emulation mode has been set. */
   public static final boolean FPGA_EMULATION = isFPGAEmulation();
 
@@ -189,6 +211,52 @@ public class TornadoOptions {
   public static final int TORNADO_SKETCHER_THREADS =
       Integer.parseInt(getProperty("tornado.sketcher.threads", "4"));
 
+  /**
+   * Sets the number of threads used to compile tasks ahead of their first launch, when the eager
+   * compilation of an execution plan is enabled. Default is 4.
+   */
+  public static final int TORNADO_COMPILER_THREADS =
+      Integer.parseInt(getProperty("tornado.compiler.threads", "4"));
+
+  /**
+   * Interval, in microseconds, between two queries of the status of the device events of the
+   * asynchronous executions in flight, for the backends without completion callbacks. Default is
+   * 20.
+   */
+  public static final long ASYNC_POLL_INTERVAL =
+      Long.parseLong(getProperty("tornado.async.poll.interval", "20"));
+
+  /**
+   * Maximum number of sketches kept by the sketcher cache. When the limit is exceeded, the
+   * least-recently-used sketches are evicted and built again on their next use. Default is 4096.
+   */
+  public static final int SKETCHER_CACHE_MAX_ENTRIES =
+      Integer.parseInt(getProperty("tornado.sketcher.cache.maxentries", "4096"));
+
+  /**
+   * Maximum estimated memory retained by the graphs of the sketcher cache. When the limit is
+   * exceeded, the least-recently-used sketches are evicted. Default is 512MB.
+   */
+  public static final long SKETCHER_CACHE_MAX_MEMORY =
+      RuntimeUtilities.parseSize(getProperty("tornado.sketcher.cache.maxmemory", "512MB"));
+
+  /**
+   * It compiles the scalar arguments of all tasks as constants of the generated kernels, so each
+   * combination of values produces a specialised kernel. By default, scalars are passed as kernel
+   * parameters, unless they are selected with {@code
+   * TornadoExecutionPlan#withSpecialisation(String, int...)}. Default is False.
+   */
+  public static final boolean SPECIALISATION = getBooleanValue("tornado.specialisation", FALSE);
+
+  /**
+   * Maximum number of specialised kernels kept per task. Batch sizes and the selected scalar
+   * arguments are compiled as constants, so each combination of values produces a different kernel.
+   * Once the limit is reached, the task runs a generic kernel that takes the scalars as parameters,
+   * instead of compiling new variants. Default is 4.
+   */
+  public static final int SPECIALISATION_VARIANTS =
+      Integer.parseInt(getProperty("tornado.specialisation.variants", "4"));
+
   /**
    * It enables automatic discovery and parallelization of loops. Please note that this option is
    * experimental and may cause issues if enabled.
@@ -278,6 +346,58 @@ public class TornadoOptions {
   public static final boolean ENABLE_STREAM_OUT_BLOCKING =
       getBooleanValue("tornado.enable.streamOut.blocking", TRUE);
 
+  /**
+   * Number of device buffers used per object when running batches. With two or more buffers, the
+   * copy-in of the next batch and the copy-out of the previous one are issued while the kernel of
+   * the current batch runs. The default value is 1 (no pipelining).
+   */
+  public static final int BATCH_PIPELINE_BUFFERS =
+      getIntValue("tornado.batch.pipeline.buffers", "1");
+
+  /**
+   * Option to round device buffer allocations up to the next power of two, so released buffers can
+   * be reused by any later allocation of the same size class. False by default.
+   */
+  public static final boolean BUFFER_POOL_ROUND_UP =
+      getBooleanValue("tornado.buffer.pool.roundup", FALSE);
+
+  /**
+   * Maximum number of bytes kept in the pool of released device buffers. When the limit is
+   * exceeded, the largest free buffers are returned to the driver. By default, it is set to the
+   * device memory limit (no trimming).
+   */
+  public static final long BUFFER_POOL_MAX_FREE_BYTES =
+      RuntimeUtilities.parseSize(
+          System.getProperty(
+              "tornado.buffer.pool.maxfree", System.getProperty("tornado.device.memory", "1GB")));
+
+  /**
+   * Option to sub-allocate small device buffers from large native regions, so task-graphs with many
+   * small arrays perform a single driver allocation per region. False by default.
+   */
+  public static final boolean BUFFER_ARENA = getBooleanValue("tornado.buffer.arena", FALSE);
+
+  /**
+   * Size of each native region used when {@link #BUFFER_ARENA} is enabled. Buffers of up to a
+   * quarter of this size are sub-allocated. It is set to 32MB by default.
+   */
+  public static final long BUFFER_ARENA_REGION_SIZE =
+      RuntimeUtilities.parseSize(System.getProperty("tornado.buffer.arena.size", "32MB"));
+
+  /**
+   * Option to store the kernels generated by the JIT compiler in a persistent cache, so later runs
+   * of the same application skip the Graal compilation. False by default.
+   */
+  public static final boolean JIT_CACHE = getBooleanValue("tornado.jit.cache", FALSE);
+
+  /**
+   * Directory of the persistent JIT cache. It can be shared by several processes. It is set to
+   * {@code ~/.tornadovm/jit-cache} by default.
+   */
+  public static final String JIT_CACHE_DIR =
+      getProperty(
+          "tornado.jit.cache.dir", System.getProperty("user.home") + "/.tornadovm/jit-cache");
+
   /**
    * Option to run concurrently on multiple device in single or multi-backend configuration. False
    * by default.
@@ -319,6 +439,16 @@ public class TornadoOptions {
     return TornadoOptions.TORNADO_PROFILER_LOG || getBooleanValue(PROFILER_LOG, FALSE);
   }
 
+  /**
+   * Pipelined batches rely on the event dependencies between bytecodes, since the transfers of a
+   * batch and the kernel of another batch are only ordered by their events.
+   *
+   * @return boolean.
+   */
+  public static boolean isBatchPipelineEnabled() {
+    return BATCH_PIPELINE_BUFFERS > 1;
+  }
+
   /** Option to reuse device buffers every time a task-graph is executed. True by default. */
   public static boolean isReusedBuffersEnabled() {
     return getBooleanValue("tornado.reuse.device.buffers", TRUE);
@@ -364,6 +494,15 @@ public class TornadoOptions {
   /** Enable BIFS Math operations. Disabled by default. */
   public static final boolean TORNADO_ENABLE_BIFS = getBooleanValue("tornado.bifs.enable", FALSE);
 
+  /**
+   * Measure the bytes allocated on the Java heap while the interpreter runs LAUNCH bytecodes. The
+   * value of the last execution is reported by {@link
+   * uk.ac.manchester.tornado.api.TornadoProfilerResult#getLaunchAllocatedBytes()}. Disabled by
+   * default.
+   */
+  public static final boolean LAUNCH_ALLOCATION_COUNTER =
+      getBooleanValue("tornado.vm.launch.allocations", FALSE);
+
   /** Enable VM Dependency Path. Disabled by default. This option is only for testing. */
   public static final boolean VM_USE_DEPS = getBooleanValue("tornado.vm.deps", FALSE);
 
@@ -154,6 +154,27 @@ public interface TornadoXPUDevice extends TornadoDevice {
    */
   void setAtomicRegion(XPUBuffer bufferAtomics);
 
+  /**
+   * It returns the number of device buffer allocations of the calling thread that were served from
+   * the pool of released buffers. Since the counter is per thread, the difference before and after
+   * an allocation call is the outcome of that call alone.
+   *
+   * @return long
+   */
+  default long getBufferPoolHits() {
+    return 0;
+  }
+
+  /**
+   * It returns the number of device buffer allocations of the calling thread that required a new
+   * buffer from the driver.
+   *
+   * @return long
+   */
+  default long getBufferPoolMisses() {
+    return 0;
+  }
+
   /**
    * It returns from the sketch of a task whether the loop index is written in the output buffer.
    *
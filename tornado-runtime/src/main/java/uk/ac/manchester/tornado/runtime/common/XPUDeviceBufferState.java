@@ -25,6 +25,8 @@ package uk.ac.manchester.tornado.runtime.common;
 
 import static uk.ac.manchester.tornado.runtime.common.RuntimeUtilities.humanReadableByteCount;
 
+import java.util.Arrays;
+import java.util.function.Consumer;
 import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 
@@ -36,6 +38,16 @@ public class XPUDeviceBufferState implements DeviceBufferState {
   private boolean bufferHasContent;
   private boolean lockBuffer;
   private long partialSize;
+  private boolean unifiedMemory;
+
+  private XPUBuffer[] pipelineBuffers;
+  private boolean[] pipelineContents;
+  private int pipelineSlot;
+
+  /** Write epoch of the host array when it was last copied to {@link #syncedBuffer}. */
+  private long syncedWriteEpoch = -1;
+
+  private XPUBuffer syncedBuffer;
 
   @Override
   public void setXPUBuffer(XPUBuffer value) {
@@ -111,6 +123,73 @@ public class XPUDeviceBufferState implements DeviceBufferState {
     return this.partialSize;
   }
 
+  @Override
+  public boolean isUnifiedMemory() {
+    return unifiedMemory;
+  }
+
+  @Override
+  public void setUnifiedMemory(boolean unifiedMemory) {
+    this.unifiedMemory = unifiedMemory;
+  }
+
+  /**
+   * It selects the device buffer used by a pipelined batch. The buffer of the current slot is kept
+   * aside, and the buffer previously stored for the new slot (if any) becomes the active one.
+   *
+   * @param slot Index of the buffer slot.
+   */
+  public void selectPipelineSlot(int slot) {
+    if (slot == pipelineSlot) {
+      return;
+    }
+    if (pipelineBuffers == null || slot >= pipelineBuffers.length) {
+      int size = Math.max(slot, pipelineSlot) + 1;
+      pipelineBuffers =
+          pipelineBuffers == null ? new XPUBuffer[size] : Arrays.copyOf(pipelineBuffers, size);
+      pipelineContents =
+          pipelineContents == null ? new boolean[size] : Arrays.copyOf(pipelineContents, size);
+    }
+    pipelineBuffers[pipelineSlot] = xpuBuffer;
+    pipelineContents[pipelineSlot] = bufferHasContent;
+    xpuBuffer = pipelineBuffers[slot];
+    bufferHasContent = pipelineContents[slot];
+    pipelineBuffers[slot] = null;
+    pipelineSlot = slot;
+  }
+
+  /**
+   * It runs an action on the device buffer of every slot of a pipelined batch, including the active
+   * one, and leaves the first slot as the active one. It is used to release the buffers of all
+   * slots when the object is released from the device.
+   *
+   * @param action Action to run with the state of each slot that holds a device buffer.
+   */
+  public void forEachPipelineSlot(Consumer<XPUDeviceBufferState> action) {
+    final int numSlots = pipelineBuffers == null ? 1 : pipelineBuffers.length;
+    for (int slot = numSlots - 1; slot >= 0; slot--) {
+      selectPipelineSlot(slot);
+      if (hasObjectBuffer()) {
+        action.accept(this);
+      }
+    }
+  }
+
+  /**
+   * It returns the write epoch of a native array with write tracking at the time it was last copied
+   * to the current device buffer.
+   *
+   * @return the write epoch, or -1 if the current buffer does not hold a copy of the array.
+   */
+  public long getSyncedWriteEpoch() {
+    return (bufferHasContent && syncedBuffer == xpuBuffer) ? syncedWriteEpoch : -1;
+  }
+
+  public void setSyncedWriteEpoch(long writeEpoch) {
+    this.syncedWriteEpoch = writeEpoch;
+    this.syncedBuffer = xpuBuffer;
+  }
+
   public XPUDeviceBufferState createSnapshot() {
     XPUDeviceBufferState xpuDeviceBufferState = new XPUDeviceBufferState();
     xpuDeviceBufferState.setLockBuffer(this.isLockedBuffer());
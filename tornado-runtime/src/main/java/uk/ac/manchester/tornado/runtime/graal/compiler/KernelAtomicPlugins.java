@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.compiler;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode.Operation;
+
+/**
+ * Plugins of the atomic methods of the {@link KernelContext}. They are shared by all backends,
+ * which lower the resulting {@link KernelAtomicNode} to their own atomic instructions.
+ */
+public class KernelAtomicPlugins {
+
+  private KernelAtomicPlugins() {}
+
+  public static void registerKernelAtomicPlugins(Registration r) {
+    for (Operation operation : Operation.values()) {
+      registerKernelAtomic(r, operation, IntArray.class, int.class, JavaKind.Int);
+      registerKernelAtomic(r, operation, int[].class, int.class, JavaKind.Int);
+      registerKernelAtomic(r, operation, LongArray.class, long.class, JavaKind.Long);
+      registerKernelAtomic(r, operation, long[].class, long.class, JavaKind.Long);
+      registerKernelAtomic(r, operation, FloatArray.class, float.class, JavaKind.Float);
+      registerKernelAtomic(r, operation, float[].class, float.class, JavaKind.Float);
+    }
+  }
+
+  private static void registerKernelAtomic(
+      Registration r, Operation operation, Class<?> arrayType, Class<?> type, JavaKind kind) {
+    if (!operation.supports(kind)) {
+      return;
+    }
+    if (operation == Operation.COMPARE_EXCHANGE) {
+      registerCompareExchange(r, arrayType, type, kind);
+      return;
+    }
+    String name = operation.getMethodName();
+    r.register(
+        new InvocationPlugin(name, Receiver.class, arrayType, int.class, type) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode array,
+              ValueNode index,
+              ValueNode value) {
+            b.addPush(kind, new KernelAtomicNode(operation, kind, array, index, value));
+            return true;
+          }
+        });
+  }
+
+  private static void registerCompareExchange(
+      Registration r, Class<?> arrayType, Class<?> type, JavaKind kind) {
+    String name = Operation.COMPARE_EXCHANGE.getMethodName();
+    r.register(
+        new InvocationPlugin(name, Receiver.class, arrayType, int.class, type, type) {
+          @Override
+          public boolean apply(
+              GraphBuilderContext b,
+              ResolvedJavaMethod targetMethod,
+              Receiver receiver,
+              ValueNode array,
+              ValueNode index,
+              ValueNode expected,
+              ValueNode desired) {
+            b.addPush(
+                kind,
+                new KernelAtomicNode(
+                    Operation.COMPARE_EXCHANGE, kind, array, index, expected, desired));
+            return true;
+          }
+        });
+  }
+}
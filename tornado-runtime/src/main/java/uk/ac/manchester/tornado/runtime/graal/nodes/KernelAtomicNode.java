@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graal.nodes;
+
+import jdk.vm.ci.code.CodeUtil;
+import jdk.vm.ci.meta.JavaKind;
+import org.graalvm.compiler.core.common.type.ObjectStamp;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
+import org.graalvm.compiler.nodes.spi.Lowerable;
+import org.graalvm.compiler.nodes.spi.LoweringTool;
+import org.graalvm.word.LocationIdentity;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkLocalArray;
+
+/**
+ * Atomic read-modify-write of an array element, created for the atomic methods of the {@link
+ * KernelContext}. The node returns the value of the element before the operation.
+ *
+ * <p>The array is a native array (e.g., IntArray), a Java array passed as a parameter, or a local
+ * array. During lowering, each backend computes the address of the element and replaces this node
+ * with its own atomic instruction.
+ */
+@NodeInfo(shortName = "AtomicRMW")
+public class KernelAtomicNode extends FixedWithNextNode implements Lowerable, SingleMemoryKill {
+
+  public static final NodeClass<KernelAtomicNode> TYPE = NodeClass.create(KernelAtomicNode.class);
+
+  @Input ValueNode array;
+  @Input ValueNode index;
+  @Input ValueNode value;
+  @OptionalInput ValueNode expected;
+
+  private final Operation operation;
+  private final JavaKind elementKind;
+
+  public KernelAtomicNode(
+      Operation operation,
+      JavaKind elementKind,
+      ValueNode array,
+      ValueNode index,
+      ValueNode value) {
+    this(operation, elementKind, array, index, null, value);
+  }
+
+  public KernelAtomicNode(
+      Operation operation,
+      JavaKind elementKind,
+      ValueNode array,
+      ValueNode index,
+      ValueNode expected,
+      ValueNode value) {
+    super(TYPE, StampFactory.forKind(elementKind));
+    this.operation = operation;
+    this.elementKind = elementKind;
+    this.array = array;
+    this.index = index;
+    this.expected = expected;
+    this.value = value;
+  }
+
+  public Operation getOperation() {
+    return operation;
+  }
+
+  public JavaKind getElementKind() {
+    return elementKind;
+  }
+
+  public ValueNode array() {
+    return array;
+  }
+
+  public ValueNode index() {
+    return index;
+  }
+
+  public ValueNode value() {
+    return value;
+  }
+
+  public ValueNode expected() {
+    return expected;
+  }
+
+  public boolean isLocalArray() {
+    return array instanceof MarkLocalArray;
+  }
+
+  public boolean isJavaArray() {
+    return array.stamp(NodeView.DEFAULT) instanceof ObjectStamp objectStamp
+        && objectStamp.type() != null
+        && objectStamp.type().isArray();
+  }
+
+  /**
+   * The buffer of a native array starts with the header of the array, so the offset of the element
+   * is computed in the same way as for the reads of the native array.
+   */
+  public AddressNode createNativeArrayAddress() {
+    StructuredGraph graph = graph();
+    ValueNode wordIndex = graph.addOrUnique(new SignExtendNode(index, 64));
+    ValueNode scaledIndex =
+        graph.addOrUnique(
+            new LeftShiftNode(
+                wordIndex, ConstantNode.forInt(CodeUtil.log2(elementKind.getByteCount()), graph)));
+    ValueNode offset =
+        graph.addOrUnique(
+            new AddNode(
+                ConstantNode.forLong(TornadoOptions.PANAMA_OBJECT_HEADER_SIZE, graph),
+                scaledIndex));
+    return graph.addOrUnique(new OffsetAddressNode(array, offset));
+  }
+
+  @Override
+  public LocationIdentity getKilledLocationIdentity() {
+    return LocationIdentity.any();
+  }
+
+  @Override
+  public void lower(LoweringTool loweringTool) {
+    loweringTool.getLowerer().lower(this, loweringTool);
+  }
+
+  public enum Operation {
+    ADD("atomicAdd"),
+    MIN("atomicMin"),
+    MAX("atomicMax"),
+    AND("atomicAnd"),
+    OR("atomicOr"),
+    XOR("atomicXor"),
+    EXCHANGE("atomicExchange"),
+    COMPARE_EXCHANGE("atomicCompareExchange");
+
+    private final String methodName;
+
+    Operation(String methodName) {
+      this.methodName = methodName;
+    }
+
+    /** Name of the method of the {@link KernelContext}. */
+    public String getMethodName() {
+      return methodName;
+    }
+
+    /** Float elements only support additions and exchanges. */
+    public boolean supports(JavaKind kind) {
+      return kind != JavaKind.Float || this == ADD || this == EXCHANGE;
+    }
+  }
+}
@@ -57,6 +57,7 @@ import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
 import org.graalvm.compiler.phases.BasePhase;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.graal.nodes.KernelAtomicNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelStrideNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
@@ -237,6 +238,10 @@ public class TornadoDataflowAnalysis extends BasePhase<TornadoSketchTierContext>
         isReadField = true;
       } else if (currentNode instanceof MarkVectorStore) {
         isWritten = true;
+      } else if (currentNode instanceof KernelAtomicNode) {
+        // Atomics read and write the element they update
+        isRead = true;
+        isWritten = true;
       } else if (isNodeFromKnownObject(currentNode)) {
         // All known objects are passed by reference -> R/W (e.g., Atomics)
         isRead = true;
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.graph;
+
+/**
+ * Open-addressing hash table from objects to their index in the tables of the {@link
+ * TornadoExecutionContext}. Indexes are stored as primitive ints, and lookups take constant time.
+ *
+ * <p>An identity index compares the keys by reference, so two different objects are never merged
+ * into the same slot even if their hash codes collide or their contents are equal. An equality
+ * index compares the keys with {@link Object#equals}, which is used for constants and tasks.
+ */
+final class ObjectIndex {
+
+  static final int NOT_FOUND = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final boolean identity;
+  private Object[] keys;
+  private int[] values;
+  private int size;
+
+  private ObjectIndex(boolean identity, Object[] keys, int[] values, int size) {
+    this.identity = identity;
+    this.keys = keys;
+    this.values = values;
+    this.size = size;
+  }
+
+  static ObjectIndex identity() {
+    return new ObjectIndex(true, new Object[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0);
+  }
+
+  static ObjectIndex equality() {
+    return new ObjectIndex(false, new Object[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0);
+  }
+
+  /**
+   * @return the index of the key, or {@link #NOT_FOUND}.
+   */
+  int get(Object key) {
+    int slot = findSlot(key);
+    return keys[slot] == null ? NOT_FOUND : values[slot];
+  }
+
+  void put(Object key, int value) {
+    int slot = findSlot(key);
+    if (keys[slot] == null) {
+      keys[slot] = key;
+      size++;
+    }
+    values[slot] = value;
+    if (size * 2 > keys.length) {
+      resize(keys.length * 2);
+    }
+  }
+
+  void remove(Object key) {
+    int slot = findSlot(key);
+    if (keys[slot] == null) {
+      return;
+    }
+    keys[slot] = null;
+    size--;
+
+    // Shift back the entries of the same probe sequence, so lookups do not stop at the hole.
+    int mask = keys.length - 1;
+    int hole = slot;
+    int next = slot;
+    while (true) {
+      next = (next + 1) & mask;
+      Object candidate = keys[next];
+      if (candidate == null) {
+        return;
+      }
+      int home = hash(candidate) & mask;
+      boolean reachable =
+          (hole <= next) ? (hole < home && home <= next) : (hole < home || home <= next);
+      if (!reachable) {
+        keys[hole] = candidate;
+        values[hole] = values[next];
+        keys[next] = null;
+        hole = next;
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  ObjectIndex copy() {
+    return new ObjectIndex(identity, keys.clone(), values.clone(), size);
+  }
+
+  private int findSlot(Object key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != null && !matches(keys[slot], key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private boolean matches(Object stored, Object key) {
+    return identity ? stored == key : stored.equals(key);
+  }
+
+  private int hash(Object key) {
+    int h = (identity ? System.identityHashCode(key) : key.hashCode()) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private void resize(int capacity) {
+    Object[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new Object[capacity];
+    values = new int[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
@@ -29,13 +29,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
@@ -72,15 +71,20 @@ public class TornadoExecutionContext {
   private ScheduleContext meta;
   private KernelStackFrame[] kernelStackFrame;
   private List<SchedulableTask> tasks;
+  private ObjectIndex taskIndex;
   private List<Object> constants;
-  private Map<Integer, Integer> objectMap;
+  private ObjectIndex constantIndex;
+  private ObjectIndex objectIndex;
   private List<Object> objects;
   private List<LocalObjectState> objectState;
   private List<TornadoXPUDevice> devices;
   private TornadoXPUDevice[] taskToDeviceMapTable;
   private int nextTask;
   private long batchSize;
+  private double[] batchShardWeights;
   private long executionPlanMemoryLimit;
+  private boolean isGraphCapture;
+  private boolean isUnifiedMemory;
   private Set<TornadoXPUDevice> lastDevices;
   private boolean redeployOnDevice;
   private boolean defaultScheduler;
@@ -90,13 +94,16 @@ public class TornadoExecutionContext {
 
   private long executionPlanId; // This is set at runtime. Thus, no need to clone this value.
   private long currentDeviceMemoryUsage;
+  private final AtomicLong graphReplays = new AtomicLong();
 
   public TornadoExecutionContext(String id) {
     name = id;
     meta = new ScheduleContext(name);
     tasks = new ArrayList<>();
+    taskIndex = ObjectIndex.equality();
     constants = new ArrayList<>();
-    objectMap = new HashMap<>();
+    constantIndex = ObjectIndex.equality();
+    objectIndex = ObjectIndex.identity();
     objects = new ArrayList<>();
     objectState = new ArrayList<>();
     devices = new ArrayList<>(INITIAL_DEVICE_CAPACITY);
@@ -120,18 +127,20 @@ public class TornadoExecutionContext {
     int index;
     if (parameter.getClass().isPrimitive()
         || RuntimeUtilities.isBoxedPrimitiveClass(parameter.getClass())) {
-      index = constants.indexOf(parameter);
-      if (index == -1) {
+      index = constantIndex.get(parameter);
+      if (index == ObjectIndex.NOT_FOUND) {
         index = constants.size();
         constants.add(parameter);
+        constantIndex.put(parameter, index);
       }
-    } else if (objectMap.containsKey(parameter.hashCode())) {
-      index = objectMap.get(parameter.hashCode());
     } else {
-      index = objects.size();
-      objects.add(parameter);
-      objectMap.put(parameter.hashCode(), index);
-      objectState.add(index, new LocalObjectState(parameter));
+      index = objectIndex.get(parameter);
+      if (index == ObjectIndex.NOT_FOUND) {
+        index = objects.size();
+        objects.add(parameter);
+        objectIndex.put(parameter, index);
+        objectState.add(index, new LocalObjectState(parameter));
+      }
     }
     return index;
   }
@@ -144,6 +153,24 @@ public class TornadoExecutionContext {
     this.batchSize = size;
   }
 
+  /**
+   * Batches are sharded when the execution plan runs on more than one device. In this case, each
+   * device runs all tasks of the graph over its own range of chunks.
+   *
+   * @return true if the chunks of a batch are distributed across multiple devices.
+   */
+  public boolean isBatchSharded() {
+    return batchSize != INIT_VALUE && getValidContextSize() > 1;
+  }
+
+  public double[] getBatchShardWeights() {
+    return batchShardWeights;
+  }
+
+  public void setBatchShardWeights(double[] weights) {
+    this.batchShardWeights = weights;
+  }
+
   public long getExecutionPlanMemoryLimit() {
     return executionPlanMemoryLimit;
   }
@@ -152,6 +179,34 @@ public class TornadoExecutionContext {
     this.executionPlanMemoryLimit = memoryLimitSize;
   }
 
+  public boolean isGraphCaptureEnabled() {
+    return isGraphCapture;
+  }
+
+  public void setGraphCapture(boolean isGraphCapture) {
+    this.isGraphCapture = isGraphCapture;
+  }
+
+  /**
+   * @return Number of executions of this context that replayed a captured graph instead of running
+   *     the bytecode interpreter.
+   */
+  public long getGraphReplays() {
+    return graphReplays.get();
+  }
+
+  public void incrementGraphReplays() {
+    graphReplays.incrementAndGet();
+  }
+
+  public boolean isUnifiedMemoryEnabled() {
+    return isUnifiedMemory;
+  }
+
+  public void setUnifiedMemory(boolean isUnifiedMemory) {
+    this.isUnifiedMemory = isUnifiedMemory;
+  }
+
   public boolean isMemoryLimited() {
     return getExecutionPlanMemoryLimit() != INIT_VALUE;
   }
@@ -211,12 +266,17 @@ public class TornadoExecutionContext {
     int index;
     if (oldObj.getClass().isPrimitive()
         || RuntimeUtilities.isBoxedPrimitiveClass(oldObj.getClass())) {
-      index = constants.indexOf(oldObj);
+      index = constantIndex.get(oldObj);
       constants.set(index, newObj);
+      constantIndex.remove(oldObj);
+      int existing = constantIndex.get(newObj);
+      if (existing == ObjectIndex.NOT_FOUND || existing > index) {
+        constantIndex.put(newObj, index);
+      }
     } else {
-      int oldIndex = objectMap.get(oldObj.hashCode());
+      int oldIndex = objectIndex.get(oldObj);
       LocalObjectState oldLocalObjectState = objectState.remove(oldIndex);
-      objectMap.remove(oldObj.hashCode());
+      objectIndex.remove(oldObj);
       objects.remove(oldIndex);
 
       /* Copy stream-in/out information to the new local object state */
@@ -227,7 +287,7 @@ public class TornadoExecutionContext {
 
       index = oldIndex;
       objects.add(index, newObj);
-      objectMap.put(newObj.hashCode(), index);
+      objectIndex.put(newObj, index);
       objectState.add(index, newLocalObjectState);
     }
     return index;
@@ -244,16 +304,23 @@ public class TornadoExecutionContext {
   }
 
   public int addTask(SchedulableTask task) {
-    int index = tasks.indexOf(task);
-    if (index == -1) {
+    int index = taskIndex.get(task);
+    if (index == ObjectIndex.NOT_FOUND) {
       index = tasks.size();
       tasks.add(task);
+      taskIndex.put(task, index);
     }
     return index;
   }
 
   public void setTask(int index, SchedulableTask task) {
-    tasks.set(index, task);
+    SchedulableTask oldTask = tasks.set(index, task);
+    if (taskIndex.get(oldTask) == index) {
+      taskIndex.remove(oldTask);
+    }
+    if (taskIndex.get(task) == ObjectIndex.NOT_FOUND) {
+      taskIndex.put(task, index);
+    }
   }
 
   public List<Object> getConstants() {
@@ -606,12 +673,14 @@ public class TornadoExecutionContext {
     TornadoExecutionContext newExecutionContext = new TornadoExecutionContext(this.getId());
 
     newExecutionContext.tasks = new ArrayList<>(tasks);
+    newExecutionContext.taskIndex = taskIndex.copy();
 
     newExecutionContext.kernelStackFrame = this.kernelStackFrame.clone();
 
     newExecutionContext.constants = new ArrayList<>(this.constants);
+    newExecutionContext.constantIndex = constantIndex.copy();
 
-    newExecutionContext.objectMap = new HashMap<>(objectMap);
+    newExecutionContext.objectIndex = objectIndex.copy();
 
     newExecutionContext.objects = new ArrayList<>(objects);
 
@@ -632,6 +701,10 @@ public class TornadoExecutionContext {
     newExecutionContext.profiler = this.profiler;
     newExecutionContext.nextTask = this.nextTask;
     newExecutionContext.executionPlanMemoryLimit = this.executionPlanMemoryLimit;
+    newExecutionContext.isGraphCapture = this.isGraphCapture;
+    newExecutionContext.isUnifiedMemory = this.isUnifiedMemory;
+    newExecutionContext.batchShardWeights =
+        this.batchShardWeights == null ? null : this.batchShardWeights.clone();
 
     return newExecutionContext;
   }
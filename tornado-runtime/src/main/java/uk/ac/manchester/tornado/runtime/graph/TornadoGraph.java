@@ -22,10 +22,10 @@
  */
 package uk.ac.manchester.tornado.runtime.graph;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
 
 /**
@@ -79,7 +79,7 @@ public class TornadoGraph {
   }
 
   private void resize() {
-    TornadoInternalError.unimplemented("Tornado Graph resize not implemented yet.");
+    nodes = Arrays.copyOf(nodes, nodes.length * 2);
   }
 
   public <T extends AbstractNode> BitSet filter(Class<T> type) {
@@ -141,6 +141,9 @@ public class TornadoGraphBuilder {
     }
 
     final List<LocalObjectState> states = executionContext.getObjectStates();
+    for (LocalObjectState state : states) {
+      state.setWrittenOnDevice(false);
+    }
 
     boolean shouldExit = false;
     while (!shouldExit && buffer.hasRemaining()) {
@@ -176,6 +179,7 @@ public class TornadoGraphBuilder {
 
         final AbstractNode nextAccessNode;
         if (accesses[argIndex] == Access.WRITE_ONLY || accesses[argIndex] == Access.READ_WRITE) {
+          states.get(variableIndex).setWrittenOnDevice(true);
           final DependentReadNode depRead = new DependentReadNode(context);
           final ObjectNode value;
           if (objectNodes[variableIndex] instanceof ObjectNode) {
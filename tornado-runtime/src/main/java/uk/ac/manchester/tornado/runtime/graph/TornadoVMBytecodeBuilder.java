@@ -57,10 +57,13 @@ public class TornadoVMBytecodeBuilder {
    * It constructs a new TornadoVMBytecodeBuilder instance. Initializes the byte array to hold the
    * bytecode with the maximum bytecode size. Initializes the TornadoVMBytecodeAssembler with the
    * byte array.
+   *
+   * @param isSingleContext true if the bytecodes of all the devices are emitted in this builder.
+   * @param isNonBlockingCopyOut true to emit non-blocking transfers from the device to the host.
    */
-  public TornadoVMBytecodeBuilder(boolean isSingleContext) {
+  public TornadoVMBytecodeBuilder(boolean isSingleContext, boolean isNonBlockingCopyOut) {
     code = new byte[MAX_TORNADO_VM_BYTECODE_SIZE];
-    bitcodeASM = new TornadoVMBytecodeAssembler(code);
+    bitcodeASM = new TornadoVMBytecodeAssembler(code, isNonBlockingCopyOut);
     this.isSingleContext = isSingleContext;
   }
 
@@ -141,6 +144,10 @@ public class TornadoVMBytecodeBuilder {
     bitcodeASM.addDependency(dep);
   }
 
+  public void emitBatchBufferSlot(int slot) {
+    bitcodeASM.batchBufferSlot(slot);
+  }
+
   public void dump() {
     bitcodeASM.dump();
   }
@@ -159,16 +166,22 @@ public class TornadoVMBytecodeBuilder {
 
   private static class TornadoVMBytecodeAssembler {
     private final ByteBuffer buffer;
+    private final TornadoVMBytecodes copyOutBytecode;
     private int lastCopyOutPosition;
 
     /**
      * It constructs a new {@link TornadoVMBytecodeAssembler} instance.
      *
      * @param code The byte array to hold the assembled bytecode.
+     * @param isNonBlockingCopyOut true to emit non-blocking transfers from the device to the host.
      */
-    TornadoVMBytecodeAssembler(byte[] code) {
+    TornadoVMBytecodeAssembler(byte[] code, boolean isNonBlockingCopyOut) {
       buffer = ByteBuffer.wrap(code);
       buffer.order(ByteOrder.LITTLE_ENDIAN);
+      copyOutBytecode =
+          isNonBlockingCopyOut
+              ? TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING
+              : TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS;
     }
 
     public int position() {
@@ -195,6 +208,11 @@ public class TornadoVMBytecodeBuilder {
       buffer.putInt(index);
     }
 
+    void batchBufferSlot(int slot) {
+      buffer.put(TornadoVMBytecodes.BATCH_BUFFER_SLOT.value);
+      buffer.putInt(slot);
+    }
+
     public void context(int index) {
       buffer.put(TornadoVMBytecodes.CONTEXT.value);
       buffer.putInt(index);
@@ -232,7 +250,7 @@ public class TornadoVMBytecodeBuilder {
 
     void transferToHost(int obj, int dep, long offset, long size) {
       lastCopyOutPosition = buffer.position();
-      buffer.put(TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value);
+      buffer.put(copyOutBytecode.value);
       buffer.putInt(obj);
       buffer.putInt(dep);
       buffer.putLong(offset);
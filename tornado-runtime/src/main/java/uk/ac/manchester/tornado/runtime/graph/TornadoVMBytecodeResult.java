@@ -39,6 +39,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 public class TornadoVMBytecodeResult {
   private final byte[] bytecode;
   private final ByteBuffer buffer;
+  private int numBatchChunks;
 
   /**
    * Constructs a new TornadoVMBytecodeResult object with the given bytecode and size.
@@ -61,6 +62,20 @@ public class TornadoVMBytecodeResult {
     return bytecode;
   }
 
+  /**
+   * Returns the number of batch chunks processed by this bytecode. It is 0 when batches are not
+   * enabled.
+   *
+   * @return the number of chunks
+   */
+  public int getNumBatchChunks() {
+    return numBatchChunks;
+  }
+
+  void setNumBatchChunks(int numBatchChunks) {
+    this.numBatchChunks = numBatchChunks;
+  }
+
   /**
    * Sets up the bytecode buffer using the given bytecode array and size. The buffer is set to
    * little-endian byte order and its limit is set to the given size.
@@ -156,7 +156,28 @@ public enum TornadoVMBytecodes {
    * DEALLOC(obj,dest)
    * </code>
    */
-  DEALLOC((byte) 24);
+  DEALLOC((byte) 24),
+
+  /**
+   * Select the device buffer slot used by the following bytecodes of a pipelined batch. Each slot
+   * holds its own device buffer per object, so consecutive batches do not share device memory.
+   *
+   * <p>Format: <code>
+   * BATCH_BUFFER_SLOT(slot)
+   * </code>
+   */
+  BATCH_BUFFER_SLOT((byte) 25),
+
+  /**
+   * Send data from Device -> Host in every execution of the task-graph without waiting for the
+   * transfer to complete. It is only emitted for asynchronous executions, which end with a BARRIER
+   * instead of a blocking transfer, so the host is not blocked until the results are available.
+   *
+   * <p>Format: <code>
+   * TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING(obj, src, dest)
+   * </code>
+   */
+  TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING((byte) 26);
 
   final byte value;
 
@@ -30,8 +30,13 @@ import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.ContextOpNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyInNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.StreamInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
 
 public class TornadoVMGraphCompiler {
   /**
@@ -43,11 +48,25 @@ public class TornadoVMGraphCompiler {
    */
   public static TornadoVMBytecodeResult[] compile(
       TornadoGraph graph, TornadoExecutionContext executionContext) {
-    return compileTornadoGraphToTornadoBytecodes(graph, executionContext);
+    return compileTornadoGraphToTornadoBytecodes(graph, executionContext, false);
   }
 
-  private static TornadoVMBytecodeResult[] compileTornadoGraphToTornadoBytecodes(
+  /**
+   * It generates the TornadoVM byte-codes for asynchronous executions of a Tornado Task Graph. The
+   * transfers from the device to the host do not block, and the bytecodes end with a barrier, so
+   * the interpreter returns as soon as all the operations are enqueued.
+   *
+   * @param graph TornadoVM execution Graph.
+   * @param executionContext TornadoVM execution executionContext.
+   * @return {@link TornadoVMBytecodeBuilder[]}
+   */
+  public static TornadoVMBytecodeResult[] compileNonBlocking(
       TornadoGraph graph, TornadoExecutionContext executionContext) {
+    return compileTornadoGraphToTornadoBytecodes(graph, executionContext, true);
+  }
+
+  private static TornadoVMBytecodeResult[] compileTornadoGraphToTornadoBytecodes(
+      TornadoGraph graph, TornadoExecutionContext executionContext, boolean isNonBlocking) {
     final boolean isSingleContextCompilation = shouldGenerateSingleBytecode(executionContext);
 
     final int numContexts = isSingleContextCompilation ? 1 : executionContext.getValidContextSize();
@@ -63,16 +82,31 @@ public class TornadoVMGraphCompiler {
 
     new TornadoLogger().debug("Compiling bytecodes...");
 
+    // With batches, every context runs the whole graph over its own range of chunks
+    final boolean isBatchEnabled =
+        executionContext.getBatchSize() != TornadoExecutionContext.INIT_VALUE;
+    final BatchChunks batchChunks = isBatchEnabled ? computeBatchChunks(executionContext) : null;
+    final int[] shardBoundaries =
+        isBatchEnabled
+            ? computeBatchShards(
+                batchChunks.size(), numContexts, executionContext.getBatchShardWeights())
+            : null;
+
     for (int i = 0; i < tornadoVMBytecodeResults.length; i++) {
 
       TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder =
-          new TornadoVMBytecodeBuilder(isSingleContextCompilation);
+          new TornadoVMBytecodeBuilder(isSingleContextCompilation || isBatchEnabled, isNonBlocking);
+
+      // Each buffer slot of a pipelined batch has its own event lists
+      final int numBatchBuffers =
+          isBatchEnabled ? getNumBatchBuffers(shardBoundaries[i + 1] - shardBoundaries[i]) : 1;
+      final int numEventLists = intermediateTornadoGraph.getNumberOfDependencies() + 1;
 
       // Generate Context + BEGIN bytecode
-      tornadoVMBytecodeBuilder.begin(1, 1, intermediateTornadoGraph.getNumberOfDependencies() + 1);
+      tornadoVMBytecodeBuilder.begin(1, 1, numEventLists * numBatchBuffers);
 
       // Generate bytecodes with no batches
-      if (executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE) {
+      if (!isBatchEnabled) {
         scheduleAndEmitTornadoVMBytecodes(
             tornadoVMBytecodeBuilder,
             graph,
@@ -81,16 +115,26 @@ public class TornadoVMGraphCompiler {
             0,
             0,
             i,
-            executionContext);
+            executionContext,
+            BatchStage.ALL,
+            0);
       } else {
         // Generate bytecodes for batch processing.
         // It splits the iteration space and the input arrays into batches
         scheduleBatchDependentBytecodes(
-            executionContext, tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph);
+            executionContext,
+            tornadoVMBytecodeBuilder,
+            graph,
+            intermediateTornadoGraph,
+            batchChunks,
+            shardBoundaries[i],
+            shardBoundaries[i + 1],
+            numBatchBuffers,
+            numEventLists);
       }
 
       // Last operation -> perform synchronisation
-      if (TornadoOptions.ENABLE_STREAM_OUT_BLOCKING) {
+      if (TornadoOptions.ENABLE_STREAM_OUT_BLOCKING && !isNonBlocking) {
         synchronizeOperationLastByteCode(
             tornadoVMBytecodeBuilder, intermediateTornadoGraph.getNumberOfDependencies());
       } else {
@@ -103,6 +147,9 @@ public class TornadoVMGraphCompiler {
       tornadoVMBytecodeResults[i] =
           new TornadoVMBytecodeResult(
               tornadoVMBytecodeBuilder.getCode(), tornadoVMBytecodeBuilder.getCodeSize());
+      if (isBatchEnabled) {
+        tornadoVMBytecodeResults[i].setNumBatchChunks(shardBoundaries[i + 1] - shardBoundaries[i]);
+      }
     }
 
     if (executionContext.meta().isDebug()) {
@@ -113,58 +160,192 @@ public class TornadoVMGraphCompiler {
   }
 
   private static boolean shouldGenerateSingleBytecode(TornadoExecutionContext executionContext) {
-    boolean isSingleDeviceExecution = executionContext.getValidContextSize() == 1;
-    boolean isBatchEnabled = executionContext.getBatchSize() != -1;
+    return executionContext.getValidContextSize() == 1;
+  }
 
-    if (isBatchEnabled && !isSingleDeviceExecution) {
-      throw new TornadoRuntimeException(
-          "[UNSUPPORTED] Batches can only be enabled for single device execution");
+  /**
+   * It splits the chunks of a batch into one contiguous range per context. The number of chunks of
+   * each context is proportional to its weight (e.g., the measured throughput of the device). Each
+   * context gets at least one chunk when there are enough chunks, so its throughput can still be
+   * measured.
+   *
+   * @param numChunks Total number of chunks.
+   * @param numContexts Number of contexts (devices).
+   * @param weights Weight per context. If null, all contexts get the same weight.
+   * @return An array of {@code numContexts + 1} entries, in which the context {@code i} runs the
+   *     chunks in the range {@code [boundaries[i], boundaries[i + 1])}.
+   */
+  public static int[] computeBatchShards(int numChunks, int numContexts, double[] weights) {
+    int[] numChunksPerContext = new int[numContexts];
+    double totalWeight = 0;
+    for (int i = 0; i < numContexts; i++) {
+      totalWeight += getShardWeight(weights, i);
     }
 
-    return isSingleDeviceExecution;
+    int minChunks = numChunks >= numContexts ? 1 : 0;
+    int assigned = 0;
+    for (int i = 0; i < numContexts; i++) {
+      double share = (getShardWeight(weights, i) / totalWeight) * numChunks;
+      numChunksPerContext[i] = Math.max(minChunks, (int) Math.floor(share));
+      assigned += numChunksPerContext[i];
+    }
+
+    // Adjust the rounding error: give or take chunks starting from the heaviest contexts
+    while (assigned != numChunks) {
+      int heaviest = -1;
+      for (int i = 0; i < numContexts; i++) {
+        boolean canTake = assigned < numChunks || numChunksPerContext[i] > minChunks;
+        if (canTake
+            && (heaviest == -1 || getShardWeight(weights, i) > getShardWeight(weights, heaviest))) {
+          heaviest = i;
+        }
+      }
+      if (assigned < numChunks) {
+        numChunksPerContext[heaviest]++;
+        assigned++;
+      } else {
+        numChunksPerContext[heaviest]--;
+        assigned--;
+      }
+    }
+
+    int[] boundaries = new int[numContexts + 1];
+    for (int i = 0; i < numContexts; i++) {
+      boundaries[i + 1] = boundaries[i] + numChunksPerContext[i];
+    }
+    return boundaries;
   }
 
-  private static void scheduleBatchDependentBytecodes(
-      TornadoExecutionContext executionContext,
-      TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder,
-      TornadoGraph graph,
-      IntermediateTornadoGraph intermediateTornadoGraph) {
+  private static double getShardWeight(double[] weights, int context) {
+    return (weights == null || context >= weights.length || weights[context] <= 0)
+        ? 1.0
+        : weights[context];
+  }
+
+  private static int getNumBatchBuffers(int numChunks) {
+    return Math.max(1, Math.min(TornadoOptions.BATCH_PIPELINE_BUFFERS, numChunks));
+  }
+
+  private static BatchChunks computeBatchChunks(TornadoExecutionContext executionContext) {
     final long batchSize = executionContext.getBatchSize();
 
     BatchConfiguration batchConfiguration =
         BatchConfiguration.computeChunkSizes(executionContext, batchSize);
 
+    final boolean hasRemainingChunk = batchConfiguration.getRemainingChunkSize() != 0;
+    final int numChunks = batchConfiguration.getTotalChunks() + (hasRemainingChunk ? 1 : 0);
+    final BatchChunks chunks =
+        new BatchChunks(new long[numChunks], new long[numChunks], new long[numChunks]);
+
     long offset = 0;
     long numberOfThreads = batchSize / batchConfiguration.getNumBytesType();
     for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
       offset = (batchSize * i);
-      scheduleAndEmitTornadoVMBytecodes(
-          tornadoVMBytecodeBuilder,
-          graph,
-          intermediateTornadoGraph,
-          offset,
-          batchSize,
-          numberOfThreads,
-          1,
-          executionContext);
+      chunks.offsets[i] = offset;
+      chunks.sizes[i] = batchSize;
+      chunks.threads[i] = numberOfThreads;
     }
     // Last chunk
-    if (batchConfiguration.getRemainingChunkSize() != 0) {
+    if (hasRemainingChunk) {
       offset += (batchSize);
       numberOfThreads =
           batchConfiguration.getRemainingChunkSize() / batchConfiguration.getNumBytesType();
       long realBatchSize =
           batchConfiguration.getTotalChunks() == 0 ? 0 : batchConfiguration.getRemainingChunkSize();
       long realOffsetSize = batchConfiguration.getTotalChunks() == 0 ? 0 : offset;
+      chunks.offsets[numChunks - 1] = realOffsetSize;
+      chunks.sizes[numChunks - 1] = realBatchSize;
+      chunks.threads[numChunks - 1] = numberOfThreads;
+    }
+    return chunks;
+  }
+
+  private static void scheduleBatchDependentBytecodes(
+      TornadoExecutionContext executionContext,
+      TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder,
+      TornadoGraph graph,
+      IntermediateTornadoGraph intermediateTornadoGraph,
+      BatchChunks chunks,
+      int firstChunk,
+      int endChunk,
+      int numBuffers,
+      int numEventLists) {
+    final int numChunks = endChunk - firstChunk;
+    if (numBuffers < 2) {
+      for (int i = firstChunk; i < endChunk; i++) {
+        scheduleAndEmitTornadoVMBytecodes(
+            tornadoVMBytecodeBuilder,
+            graph,
+            intermediateTornadoGraph,
+            chunks.offsets[i],
+            chunks.sizes[i],
+            chunks.threads[i],
+            1,
+            executionContext,
+            BatchStage.ALL,
+            0);
+      }
+      return;
+    }
+
+    // Pipelined batches: each chunk uses the buffer slot (chunk % numBuffers) and the event lists
+    // of
+    // that slot. While the kernel of chunk i runs, the host reads back chunk i - 1 and then copies
+    // in chunk i + numBuffers - 1, which reuses the slot of chunk i - 1. The copy-out is blocking,
+    // so the slot is free by the time its next copy-in is issued.
+    final PipelineStageEmitter emitter =
+        new PipelineStageEmitter(
+            tornadoVMBytecodeBuilder,
+            graph,
+            intermediateTornadoGraph,
+            executionContext,
+            chunks,
+            firstChunk,
+            numBuffers,
+            numEventLists);
+    for (int i = 0; i < numBuffers - 1; i++) {
+      emitter.emit(i, BatchStage.COPY_IN);
+    }
+    for (int i = 0; i < numChunks; i++) {
+      emitter.emit(i, BatchStage.COMPUTE);
+      if (i > 0) {
+        emitter.emit(i - 1, BatchStage.COPY_OUT);
+      }
+      int prefetchChunk = i + numBuffers - 1;
+      if (prefetchChunk < numChunks) {
+        emitter.emit(prefetchChunk, BatchStage.COPY_IN);
+      }
+    }
+    emitter.emit(numChunks - 1, BatchStage.COPY_OUT);
+    // Leave the buffer states pointing to the first slot for the following executions
+    tornadoVMBytecodeBuilder.emitBatchBufferSlot(0);
+  }
+
+  /** Emits the stages of the chunks of a pipelined batch, each one in its buffer slot. */
+  private record PipelineStageEmitter(
+      TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder,
+      TornadoGraph graph,
+      IntermediateTornadoGraph intermediateTornadoGraph,
+      TornadoExecutionContext executionContext,
+      BatchChunks chunks,
+      int firstChunk,
+      int numBuffers,
+      int numEventLists) {
+
+    void emit(int chunk, BatchStage stage) {
+      final int slot = chunk % numBuffers;
+      tornadoVMBytecodeBuilder.emitBatchBufferSlot(slot);
       scheduleAndEmitTornadoVMBytecodes(
           tornadoVMBytecodeBuilder,
           graph,
           intermediateTornadoGraph,
-          realOffsetSize,
-          realBatchSize,
-          numberOfThreads,
+          chunks.offsets[firstChunk + chunk],
+          chunks.sizes[firstChunk + chunk],
+          chunks.threads[firstChunk + chunk],
           1,
-          executionContext);
+          executionContext,
+          stage,
+          slot * numEventLists);
     }
   }
 
@@ -187,7 +368,9 @@ public class TornadoVMGraphCompiler {
       long bufferBatchSize,
       long nThreads,
       int id,
-      TornadoExecutionContext executionContext) {
+      TornadoExecutionContext executionContext,
+      BatchStage stage,
+      int eventListBase) {
     final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
     final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
 
@@ -203,7 +386,7 @@ public class TornadoVMGraphCompiler {
         if (current instanceof DependentReadNode) {
           continue;
         }
-        depLists[i] = index;
+        depLists[i] = eventListBase + index;
         index++;
       }
     }
@@ -217,9 +400,11 @@ public class TornadoVMGraphCompiler {
 
           if (outstandingDeps.isEmpty()) {
             final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
+            final boolean emitInStage = stage.includes(asyncNode);
 
-            if (shouldEmitAsyncNodeForTheCurrentContext(
-                id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
+            if (emitInStage
+                && shouldEmitAsyncNodeForTheCurrentContext(
+                    id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
               try {
                 tornadoVMBytecodeBuilder.emitAsyncNode(
                     asyncNode,
@@ -239,7 +424,7 @@ public class TornadoVMGraphCompiler {
               if (j == i) {
                 continue;
               }
-              if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
+              if (emitInStage && dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
                 tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
               }
             }
@@ -275,4 +460,32 @@ public class TornadoVMGraphCompiler {
             && id < executionContext.getDevices().size()
             && asyncNode.getContext().getDevice() == executionContext.getDevices().get(id));
   }
+
+  /** Groups of bytecodes of a batch that can be emitted separately to pipeline the batches. */
+  private enum BatchStage {
+    ALL,
+    COPY_IN,
+    COMPUTE,
+    COPY_OUT;
+
+    boolean includes(ContextOpNode node) {
+      return switch (this) {
+        case ALL -> true;
+        case COPY_IN ->
+            node instanceof AllocateMultipleBuffersNode
+                || node instanceof AllocateNode
+                || node instanceof CopyInNode
+                || node instanceof StreamInNode;
+        case COMPUTE -> node instanceof TaskNode;
+        case COPY_OUT -> !COPY_IN.includes(node) && !COMPUTE.includes(node);
+      };
+    }
+  }
+
+  /** Offset, size in bytes and number of threads of each chunk of a batch. */
+  private record BatchChunks(long[] offsets, long[] sizes, long[] threads) {
+    int size() {
+      return offsets.length;
+    }
+  }
 }
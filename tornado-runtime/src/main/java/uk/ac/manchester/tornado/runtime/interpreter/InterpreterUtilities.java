@@ -23,6 +23,7 @@
  */
 package uk.ac.manchester.tornado.runtime.interpreter;
 
+import java.util.List;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.runtime.common.ColoursTerminal;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
@@ -54,4 +55,24 @@ public class InterpreterUtilities {
     }
     return ColoursTerminal.YELLOW + " " + device + " " + ColoursTerminal.RESET;
   }
+
+  /**
+   * It returns a single event that completes when all the events of a data transfer complete, so
+   * the transfer can be added as a dependency of the following bytecodes.
+   *
+   * @return the event, or -1 if the transfer did not enqueue any command.
+   */
+  static int joinEvents(TornadoXPUDevice device, long executionPlanId, List<Integer> events) {
+    if (events == null || events.isEmpty()) {
+      return -1;
+    }
+    if (events.size() == 1) {
+      return events.getFirst();
+    }
+    final int[] waitList = new int[events.size()];
+    for (int i = 0; i < waitList.length; i++) {
+      waitList[i] = events.get(i);
+    }
+    return device.enqueueMarker(executionPlanId, waitList);
+  }
 }
@@ -0,0 +1,354 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
+
+/**
+ * A recording of the device operations that a {@link TornadoVMInterpreter} issues in one execution
+ * of a task-graph: data transfers, kernel launches, markers and event dependencies. Once the
+ * recording is complete, the interpreter replays it instead of running its instructions, so the
+ * checks of the data transfer modes, the compilation checks and the argument marshalling are not
+ * repeated.
+ *
+ * <p>Operations are recorded with their device buffer states and kernel stack frames already
+ * resolved. The recording is only valid while the buffer of each state stays the same and the
+ * installed code of each launch is not invalidated, which is checked before each replay. All
+ * operations go through the {@link TornadoXPUDevice} and {@link TornadoInstalledCode} interfaces.
+ */
+final class TornadoVMGraphCapture {
+
+  private final TornadoXPUDevice device;
+  private final long executionPlanId;
+  private final boolean useDependencies;
+  private final int[][] events;
+  private final int[] eventsIndexes;
+
+  private final List<Operation> operations;
+  private final List<XPUDeviceBufferState> states;
+  private final List<XPUBuffer> buffers;
+  private final List<WorkerGrid> workerGrids;
+  private final List<long[][]> workerGridDimensions;
+  private final List<TornadoInstalledCode> installedCodes;
+  private boolean isAborted;
+
+  TornadoVMGraphCapture(
+      TornadoXPUDevice device,
+      long executionPlanId,
+      boolean useDependencies,
+      int[][] events,
+      int[] eventsIndexes) {
+    this.device = device;
+    this.executionPlanId = executionPlanId;
+    this.useDependencies = useDependencies;
+    this.events = events;
+    this.eventsIndexes = eventsIndexes;
+    this.operations = new ArrayList<>();
+    this.states = new ArrayList<>();
+    this.buffers = new ArrayList<>();
+    this.workerGrids = new ArrayList<>();
+    this.workerGridDimensions = new ArrayList<>();
+    this.installedCodes = new ArrayList<>();
+  }
+
+  /**
+   * Stops the recording. It is used when the execution runs an operation that cannot be replayed.
+   */
+  void abort() {
+    isAborted = true;
+  }
+
+  boolean isAborted() {
+    return isAborted;
+  }
+
+  int getNumOperations() {
+    return operations.size();
+  }
+
+  /**
+   * Registers the buffer of a device state used by the recorded operations. The replay is not valid
+   * once the state points to a different buffer.
+   */
+  void addBufferState(XPUDeviceBufferState state) {
+    if (!isAborted && !states.contains(state)) {
+      states.add(state);
+      buffers.add(state.getXPUBuffer());
+    }
+  }
+
+  /**
+   * Registers the worker grid of a recorded launch. The kernel context of the launch is written
+   * with the global work of the grid, so the replay is not valid once the dimensions of the grid
+   * change.
+   */
+  void addWorkerGrid(WorkerGrid workerGrid) {
+    if (!isAborted && workerGrid != null && !workerGrids.contains(workerGrid)) {
+      workerGrids.add(workerGrid);
+      workerGridDimensions.add(getDimensions(workerGrid));
+    }
+  }
+
+  private static long[][] getDimensions(WorkerGrid workerGrid) {
+    final long[] localWork = workerGrid.getLocalWork();
+    return new long[][] {
+      workerGrid.getGlobalWork().clone(),
+      localWork != null ? localWork.clone() : null,
+      workerGrid.getGlobalOffset().clone()
+    };
+  }
+
+  private static boolean hasDimensions(WorkerGrid workerGrid, long[][] dimensions) {
+    return Arrays.equals(workerGrid.getGlobalWork(), dimensions[0])
+        && Arrays.equals(workerGrid.getLocalWork(), dimensions[1])
+        && Arrays.equals(workerGrid.getGlobalOffset(), dimensions[2]);
+  }
+
+  void recordStreamIn(
+      Object object,
+      XPUDeviceBufferState state,
+      long sizeBatch,
+      long offset,
+      int eventList,
+      int[] waitList,
+      boolean isTracked) {
+    addBufferState(state);
+    if (isTracked) {
+      record(new TrackedStreamIn((TornadoNativeArray) object, state, eventList, waitList));
+    } else {
+      record(new StreamIn(object, state, sizeBatch, offset, eventList, waitList));
+    }
+  }
+
+  void recordStreamOut(
+      Object object,
+      XPUDeviceBufferState state,
+      long offset,
+      int eventList,
+      int[] waitList,
+      boolean isLastEvent) {
+    addBufferState(state);
+    record(new StreamOut(object, state, offset, eventList, waitList, isLastEvent));
+  }
+
+  void recordLaunch(
+      TornadoInstalledCode installedCode,
+      KernelStackFrame stackFrame,
+      TaskDataContext dataContext,
+      long batchThreads,
+      int eventList,
+      int[] waitList) {
+    if (!isAborted && !installedCodes.contains(installedCode)) {
+      installedCodes.add(installedCode);
+    }
+    record(new Launch(installedCode, stackFrame, dataContext, batchThreads, eventList, waitList));
+  }
+
+  void recordDependency(int eventList) {
+    record(new Dependency(eventList));
+  }
+
+  void recordBarrier(int eventList, int[] waitList) {
+    record(new Barrier(eventList, waitList));
+  }
+
+  private void record(Operation operation) {
+    if (!isAborted) {
+      operations.add(operation);
+    }
+  }
+
+  /**
+   * Checks that the recorded device buffers are still bound to their states, and that the installed
+   * code and the worker grids of the recorded launches are unchanged. The reset flag of the device
+   * context is not used, because it is shared by all execution plans of the device: a reset of
+   * another plan only affects this recording if it invalidates the installed code.
+   *
+   * @return true if the recording can be replayed.
+   */
+  boolean isValid() {
+    if (isAborted) {
+      return false;
+    }
+    for (TornadoInstalledCode installedCode : installedCodes) {
+      if (!installedCode.isValid()) {
+        return false;
+      }
+    }
+    for (int i = 0; i < states.size(); i++) {
+      if (states.get(i).getXPUBuffer() != buffers.get(i)) {
+        return false;
+      }
+    }
+    for (int i = 0; i < workerGrids.size(); i++) {
+      if (!hasDimensions(workerGrids.get(i), workerGridDimensions.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Issues the recorded operations to the device. The event lists must be cleared before.
+   *
+   * @param profiler Profiler of the current execution, attached to the launched tasks.
+   * @return the last event of the replay.
+   */
+  int replay(TornadoProfiler profiler) {
+    int lastEvent = -1;
+    for (Operation operation : operations) {
+      lastEvent = operation.replay(this, lastEvent, profiler);
+    }
+    return lastEvent;
+  }
+
+  private void resetEventIndexes(int eventList) {
+    if (eventList != -1) {
+      eventsIndexes[eventList] = 0;
+    }
+  }
+
+  private int transferEvent(List<Integer> events) {
+    return useDependencies ? InterpreterUtilities.joinEvents(device, executionPlanId, events) : -1;
+  }
+
+  private interface Operation {
+    int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler);
+  }
+
+  private record StreamIn(
+      Object object,
+      XPUDeviceBufferState state,
+      long sizeBatch,
+      long offset,
+      int eventList,
+      int[] waitList)
+      implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      final List<Integer> events =
+          capture.device.streamIn(
+              capture.executionPlanId, object, sizeBatch, offset, state, waitList);
+      capture.resetEventIndexes(eventList);
+      return capture.transferEvent(events);
+    }
+  }
+
+  private record TrackedStreamIn(
+      TornadoNativeArray array, XPUDeviceBufferState state, int eventList, int[] waitList)
+      implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      final List<Integer> events =
+          TornadoVMTrackedTransfer.streamIn(
+              capture.device, capture.executionPlanId, array, state, waitList);
+      capture.resetEventIndexes(eventList);
+      return capture.transferEvent(events);
+    }
+  }
+
+  private record StreamOut(
+      Object object,
+      XPUDeviceBufferState state,
+      long offset,
+      int eventList,
+      int[] waitList,
+      boolean isLastEvent)
+      implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      final int readEvent =
+          capture.device.streamOutBlocking(
+              capture.executionPlanId, object, offset, state, waitList);
+      if (!isLastEvent) {
+        return lastEvent;
+      }
+      capture.resetEventIndexes(eventList);
+      return readEvent;
+    }
+  }
+
+  private record Launch(
+      TornadoInstalledCode installedCode,
+      KernelStackFrame stackFrame,
+      TaskDataContext dataContext,
+      long batchThreads,
+      int eventList,
+      int[] waitList)
+      implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      dataContext.attachProfiler(profiler);
+      try {
+        final int launchEvent =
+            capture.useDependencies
+                ? installedCode.launchWithDependencies(
+                    capture.executionPlanId, stackFrame, null, dataContext, batchThreads, waitList)
+                : installedCode.launchWithoutDependencies(
+                    capture.executionPlanId, stackFrame, null, dataContext, batchThreads);
+        capture.resetEventIndexes(eventList);
+        return launchEvent;
+      } catch (Exception e) {
+        throw new TornadoBailoutRuntimeException(
+            "Bailout from the replay of a LAUNCH: \nReason: " + e, e);
+      }
+    }
+  }
+
+  private record Dependency(int eventList) implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      if (capture.useDependencies && lastEvent != -1) {
+        TornadoInternalError.guarantee(
+            capture.eventsIndexes[eventList] < capture.events[eventList].length,
+            "event list is too small");
+        capture.events[eventList][capture.eventsIndexes[eventList]] = lastEvent;
+        capture.eventsIndexes[eventList]++;
+      }
+      return lastEvent;
+    }
+  }
+
+  private record Barrier(int eventList, int[] waitList) implements Operation {
+    @Override
+    public int replay(TornadoVMGraphCapture capture, int lastEvent, TornadoProfiler profiler) {
+      final int markerEvent = capture.device.enqueueMarker(capture.executionPlanId, waitList);
+      capture.resetEventIndexes(eventList);
+      return markerEvent;
+    }
+  }
+}
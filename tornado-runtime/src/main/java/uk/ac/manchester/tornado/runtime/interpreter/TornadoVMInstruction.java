@@ -0,0 +1,93 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
+
+/**
+ * A TornadoVM bytecode decoded by the {@link TornadoVMInterpreter}. The interpreter links its
+ * bytecode stream once, when it is created, into an array of instructions, so each execution of the
+ * task-graph iterates over the instructions instead of parsing the bytecode buffer again.
+ *
+ * <p>Only the operands used by the bytecode of the instruction are set. Wait lists are resolved at
+ * link time, since the event lists of the interpreter are reused across executions.
+ */
+final class TornadoVMInstruction {
+
+  final TornadoVMBytecodes bytecode;
+
+  /** Object index of DEALLOC and TRANSFER bytecodes. */
+  int objectIndex;
+
+  /** Event list of TRANSFER, LAUNCH, ADD_DEPENDENCY and BARRIER bytecodes. */
+  int eventList = -1;
+
+  /** Events to wait for, or null when dependencies are not used. */
+  int[] waitList;
+
+  long offset;
+
+  /** Batch size of ALLOC and TRANSFER bytecodes, or the number of threads of a LAUNCH. */
+  long size;
+
+  /**
+   * Whether the object of a TRANSFER_HOST_TO_DEVICE_ALWAYS is copied on every execution regardless
+   * of the write tracking of native arrays, because a task may write it on the device.
+   */
+  boolean writtenOnDevice;
+
+  /** Pipeline slot of a BATCH_BUFFER_SLOT bytecode. */
+  int slot;
+
+  /** Objects of an ALLOC bytecode, and the arrays reused to pass them to the device. */
+  int[] objectIndexes;
+
+  Object[] objects;
+  XPUDeviceBufferState[] objectStates;
+
+  /** Operands of a LAUNCH bytecode. */
+  int callWrapperIndex;
+
+  int taskIndex;
+
+  /**
+   * Position of a LAUNCH among the launches of the same task. When the task-graph runs in batches,
+   * it is the number of the batch processed by the launch.
+   */
+  int batchIndex;
+
+  /** Arguments of a LAUNCH: whether each one is a constant, and its constant or object index. */
+  boolean[] isConstantArgument;
+
+  int[] argumentIndexes;
+
+  TornadoVMInstruction(TornadoVMBytecodes bytecode) {
+    this.bytecode = bytecode;
+  }
+
+  int getNumArgs() {
+    return argumentIndexes.length;
+  }
+}
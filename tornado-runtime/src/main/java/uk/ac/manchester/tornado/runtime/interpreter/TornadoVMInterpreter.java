@@ -24,19 +24,26 @@
 package uk.ac.manchester.tornado.runtime.interpreter;
 
 import static uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus.COMPLETE;
+import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.LAUNCH_ALLOCATION_COUNTER;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VM_USE_DEPS;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
@@ -49,8 +56,12 @@ import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TaskContextInterface;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -60,6 +71,7 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
 import uk.ac.manchester.tornado.runtime.tasks.DataObjectState;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
@@ -74,6 +86,8 @@ public class TornadoVMInterpreter {
   private static final Event EMPTY_EVENT = new EmptyEvent();
 
   private static final int MAX_EVENTS = TornadoOptions.MAX_EVENTS;
+  // The batch size and the batch number come before the scalar arguments in the specialisation
+  private static final int SPECIALISATION_BATCH_VALUES = 2;
   private final boolean useDependencies;
 
   private final List<Object> objects;
@@ -84,6 +98,21 @@ public class TornadoVMInterpreter {
   private final int[] eventsIndexes;
   private final TornadoXPUDevice interpreterDevice;
   private final TornadoInstalledCode[] installedCodes;
+  private final Future<?>[] pendingCompilations;
+  private final List<Map<SpecialisationKey, TornadoInstalledCode>> specialisedVariants;
+  private final int[][] scalarArguments;
+  private final long[][] specialisationValues;
+  private final int[][] specialisationSlots;
+  private final SpecialisationKey[] specialisationKeys;
+  private final TornadoInstalledCode[] genericVariants;
+  private final int[][] genericSlots;
+  private final SpecialisationKey[] genericKeys;
+  private final boolean[] compilingGeneric;
+  private final byte[] loopIndexInWrite;
+  private final TornadoVMInstruction[] instructions;
+  private TornadoVMInstruction[] nonBlockingInstructions;
+  private TornadoVMGraphCapture graphCapture;
+  private TornadoVMGraphCapture recording;
 
   private final List<Object> constants;
   private final List<SchedulableTask> taskExecutionContexts;
@@ -93,6 +122,8 @@ public class TornadoVMInterpreter {
   private final TornadoExecutionContext graphExecutionContext;
   private final TornadoVMBytecodeResult bytecodeResult;
   private double totalTime;
+  private double lastExecutionTime;
+  private long launchAllocatedBytes;
   private long invocations;
   private boolean finishedWarmup;
 
@@ -120,7 +151,7 @@ public class TornadoVMInterpreter {
     assert device != null;
     this.interpreterDevice = device;
 
-    useDependencies = VM_USE_DEPS;
+    useDependencies = VM_USE_DEPS || TornadoOptions.isBatchPipelineEnabled();
     totalTime = 0;
     invocations = 0;
 
@@ -128,13 +159,39 @@ public class TornadoVMInterpreter {
 
     this.bytecodeResult.getLong(); // Skips bytes not needed
 
-    kernelStackFrame = graphExecutionContext.getKernelStackFrame();
+    // Interpreters of a sharded batch launch the same tasks on different devices, so they cannot
+    // share the kernel stack frames.
+    kernelStackFrame =
+        graphExecutionContext.isBatchSharded()
+            ? new KernelStackFrame[graphExecutionContext.getKernelStackFrame().length]
+            : graphExecutionContext.getKernelStackFrame();
     events = new int[this.bytecodeResult.getInt()][MAX_EVENTS];
     eventsIndexes = new int[events.length];
 
-    localTaskList = graphExecutionContext.getTasksForDevice(interpreterDevice.getDeviceContext());
+    localTaskList =
+        graphExecutionContext.isBatchSharded()
+            ? graphExecutionContext.getTasks()
+            : graphExecutionContext.getTasksForDevice(interpreterDevice.getDeviceContext());
 
     installedCodes = new TornadoInstalledCode[localTaskList.size()];
+    pendingCompilations = new Future<?>[localTaskList.size()];
+    specialisedVariants = new ArrayList<>(localTaskList.size());
+    for (int i = 0; i < localTaskList.size(); i++) {
+      specialisedVariants.add(new HashMap<>());
+    }
+    scalarArguments = new int[localTaskList.size()][];
+    specialisationValues = new long[localTaskList.size()][];
+    for (int i = 0; i < localTaskList.size(); i++) {
+      scalarArguments[i] = scalarArguments(localTaskList.get(i));
+      specialisationValues[i] = new long[SPECIALISATION_BATCH_VALUES + scalarArguments[i].length];
+    }
+    specialisationSlots = new int[localTaskList.size()][];
+    specialisationKeys = new SpecialisationKey[localTaskList.size()];
+    genericVariants = new TornadoInstalledCode[localTaskList.size()];
+    genericSlots = new int[localTaskList.size()][];
+    genericKeys = new SpecialisationKey[localTaskList.size()];
+    compilingGeneric = new boolean[localTaskList.size()];
+    loopIndexInWrite = new byte[graphExecutionContext.getTasks().size()];
 
     for (int i = 0; i < events.length; i++) {
       Arrays.fill(events[i], -1);
@@ -147,15 +204,20 @@ public class TornadoVMInterpreter {
     objects = graphExecutionContext.getObjects();
     dataObjectStates = new DataObjectState[objects.size()];
     fetchGlobalStates();
+    if (graphExecutionContext.isBatchSharded()) {
+      // Create the buffer states of this device before the interpreters run concurrently
+      for (int i = 0; i < objects.size(); i++) {
+        resolveObjectState(i);
+      }
+    }
 
-    rewindBufferToBegin();
+    rewindBufferToBegin(bytecodeResult);
+    instructions = linkBytecodes(bytecodeResult);
 
     constants = graphExecutionContext.getConstants();
     taskExecutionContexts = graphExecutionContext.getTasks();
 
     logger.debug("interpreter for device %s is ready to go", device.toString());
-
-    this.bytecodeResult.mark();
   }
 
   public void setTimeProfiler(TornadoProfiler tornadoProfiler) {
@@ -170,26 +232,171 @@ public class TornadoVMInterpreter {
     }
   }
 
-  private void rewindBufferToBegin() {
-    byte op = bytecodeResult.get();
+  private void rewindBufferToBegin(TornadoVMBytecodeResult code) {
+    byte op = code.get();
     while (op != TornadoVMBytecodes.BEGIN.value()) {
       TornadoInternalError.guarantee(
           op == TornadoVMBytecodes.CONTEXT.value(), "invalid code: 0x%x", op);
-      final int deviceIndex = bytecodeResult.getInt();
+      final int deviceIndex = code.getInt();
       assert deviceIndex == interpreterDevice.getDeviceContext().getDeviceIndex();
       logger.debug("loading context %s", interpreterDevice.toString());
       final long t0 = System.nanoTime();
       interpreterDevice.ensureLoaded(graphExecutionContext.getExecutionPlanId());
       final long t1 = System.nanoTime();
       logger.debug("loaded in %.9f s", (t1 - t0) * 1e-9);
-      op = bytecodeResult.get();
+      op = code.get();
+    }
+  }
+
+  /**
+   * It decodes the bytecodes that follow BEGIN into the instruction table of the interpreter. The
+   * bytecode buffer is parsed only once, and each execution iterates over the linked instructions.
+   *
+   * @return the decoded instructions, ending with END.
+   */
+  private TornadoVMInstruction[] linkBytecodes(TornadoVMBytecodeResult code) {
+    final List<TornadoVMInstruction> linked = new ArrayList<>();
+    final int[] launchesPerTask = new int[graphExecutionContext.getTasks().size()];
+    while (code.hasRemaining()) {
+      final byte op = code.get();
+      final TornadoVMInstruction instruction;
+      if (op == TornadoVMBytecodes.ALLOC.value()) {
+        instruction = new TornadoVMInstruction(TornadoVMBytecodes.ALLOC);
+        instruction.size = code.getLong();
+        final int numObjects = code.getInt();
+        instruction.objectIndexes = new int[numObjects];
+        for (int i = 0; i < numObjects; i++) {
+          instruction.objectIndexes[i] = code.getInt();
+        }
+        instruction.objects = new Object[numObjects];
+        instruction.objectStates = new XPUDeviceBufferState[numObjects];
+      } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
+        instruction = new TornadoVMInstruction(TornadoVMBytecodes.DEALLOC);
+        instruction.objectIndex = code.getInt();
+      } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
+        instruction = linkTransfer(code, TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE);
+      } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
+        instruction = linkTransfer(code, TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS);
+        instruction.writtenOnDevice =
+            graphExecutionContext
+                .getLocalStateObject(objects.get(instruction.objectIndex))
+                .isWrittenOnDevice();
+      } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
+        instruction = linkTransfer(code, TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS);
+      } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
+        instruction =
+            linkTransfer(code, TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING);
+      } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING.value()) {
+        instruction =
+            linkTransfer(code, TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING);
+      } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
+        instruction = linkLaunch(code);
+        instruction.batchIndex = launchesPerTask[instruction.taskIndex]++;
+      } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
+        instruction = new TornadoVMInstruction(TornadoVMBytecodes.ADD_DEPENDENCY);
+        instruction.eventList = code.getInt();
+      } else if (op == TornadoVMBytecodes.BARRIER.value()) {
+        instruction = new TornadoVMInstruction(TornadoVMBytecodes.BARRIER);
+        instruction.eventList = code.getInt();
+        instruction.waitList = resolveWaitList(instruction.eventList);
+      } else if (op == TornadoVMBytecodes.BATCH_BUFFER_SLOT.value()) {
+        instruction = new TornadoVMInstruction(TornadoVMBytecodes.BATCH_BUFFER_SLOT);
+        instruction.slot = code.getInt();
+      } else if (op == TornadoVMBytecodes.END.value()) {
+        linked.add(new TornadoVMInstruction(TornadoVMBytecodes.END));
+        break;
+      } else {
+        throwErrorInterpreter(op);
+        return null;
+      }
+      linked.add(instruction);
+    }
+    logger.debug("linked %d bytecodes", linked.size());
+    return linked.toArray(new TornadoVMInstruction[0]);
+  }
+
+  private TornadoVMInstruction linkTransfer(
+      TornadoVMBytecodeResult code, TornadoVMBytecodes bytecode) {
+    final TornadoVMInstruction instruction = new TornadoVMInstruction(bytecode);
+    instruction.objectIndex = code.getInt();
+    instruction.eventList = code.getInt();
+    instruction.offset = code.getLong();
+    instruction.size = code.getLong();
+    instruction.waitList = resolveWaitList(instruction.eventList);
+    return instruction;
+  }
+
+  private TornadoVMInstruction linkLaunch(TornadoVMBytecodeResult code) {
+    final TornadoVMInstruction instruction = new TornadoVMInstruction(TornadoVMBytecodes.LAUNCH);
+    instruction.callWrapperIndex = code.getInt();
+    instruction.taskIndex = code.getInt();
+    final int numArgs = code.getInt();
+    instruction.eventList = code.getInt();
+    instruction.offset = code.getLong();
+    instruction.size = code.getLong();
+    instruction.waitList = resolveWaitList(instruction.eventList);
+    instruction.isConstantArgument = new boolean[numArgs];
+    instruction.argumentIndexes = new int[numArgs];
+    for (int i = 0; i < numArgs; i++) {
+      final byte argType = code.get();
+      if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
+        instruction.isConstantArgument[i] = true;
+      } else if (argType != TornadoVMBytecodes.PUSH_REFERENCE_ARGUMENT.value()) {
+        TornadoInternalError.shouldNotReachHere();
+      }
+      instruction.argumentIndexes[i] = code.getInt();
     }
+    return instruction;
+  }
+
+  private int[] resolveWaitList(int eventList) {
+    return (useDependencies && eventList != -1) ? events[eventList] : null;
+  }
+
+  /**
+   * It links the bytecodes compiled for asynchronous executions, which are run by {@link
+   * #executeNonBlocking()}.
+   *
+   * @param nonBlockingBytecodeResult The {@link TornadoVMBytecodeResult} compiled with non-blocking
+   *     transfers from the device to the host.
+   */
+  public void linkNonBlockingBytecodes(TornadoVMBytecodeResult nonBlockingBytecodeResult) {
+    nonBlockingBytecodeResult.getLong(); // Skips bytes not needed
+    nonBlockingBytecodeResult.getInt();
+    rewindBufferToBegin(nonBlockingBytecodeResult);
+    nonBlockingInstructions = linkBytecodes(nonBlockingBytecodeResult);
+  }
+
+  public boolean hasNonBlockingBytecodes() {
+    return nonBlockingInstructions != null;
   }
 
   public void setGridScheduler(GridScheduler gridScheduler) {
+    if (gridScheduler != this.gridScheduler) {
+      // Launches recorded with the previous scheduler are not valid anymore
+      this.graphCapture = null;
+    }
     this.gridScheduler = gridScheduler;
   }
 
+  /**
+   * It returns the elapsed time, in seconds, of the last execution of the bytecodes (excluding
+   * warmup).
+   *
+   * @return double
+   */
+  public double getLastExecutionTime() {
+    return lastExecutionTime;
+  }
+
+  /**
+   * @return Bytes allocated on the Java heap by the LAUNCH bytecodes of the last execution. It is
+   *     only measured with {@link TornadoOptions#LAUNCH_ALLOCATION_COUNTER}.
+   */
+  public long getLaunchAllocatedBytes() {
+    return launchAllocatedBytes;
+  }
+
   public void printTimes() {
     System.out.printf(
         "bc: complete %d iterations - %.9f s mean and %.9f s total%n",
@@ -242,15 +449,70 @@ public class TornadoVMInterpreter {
   }
 
   public void warmup() {
-    execute(true);
+    execute(true, false);
     finishedWarmup = true;
   }
 
+  /**
+   * It submits the compilation of every task of this interpreter to the compiler executor of the
+   * {@link TornadoCoreRuntime}, and returns without waiting. The launch of a task waits for its
+   * compilation to finish.
+   *
+   * <p>The tasks are compiled in order in the calling thread when the profiler is enabled, since it
+   * is not thread-safe, and for FPGAs and sharded batches, which compile tasks in order.
+   */
+  public void compileAsync() {
+    if (timeProfiler instanceof TimeProfiler
+        || graphExecutionContext.isBatchSharded()
+        || interpreterDevice.getDeviceContext().isPlatformFPGA()) {
+      warmup();
+      return;
+    }
+    for (final TornadoVMInstruction instruction : instructions) {
+      if (instruction.bytecode != TornadoVMBytecodes.LAUNCH) {
+        continue;
+      }
+      final int localTaskIndex = globalToLocalTaskIndex(instruction.taskIndex);
+      if (pendingCompilations[localTaskIndex] != null
+          || !shouldCompile(installedCodes[localTaskIndex])) {
+        continue;
+      }
+      pendingCompilations[localTaskIndex] =
+          TornadoCoreRuntime.getTornadoCompilerExecutor()
+              .submit(
+                  () -> {
+                    interpreterDevice.enableThreadSharing();
+                    compileTaskFromBytecodeToBinary(instruction);
+                  });
+    }
+  }
+
+  private void awaitPendingCompilation(int localTaskIndex) {
+    final Future<?> pendingCompilation = pendingCompilations[localTaskIndex];
+    if (pendingCompilation == null) {
+      return;
+    }
+    pendingCompilations[localTaskIndex] = null;
+    try {
+      pendingCompilation.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TornadoRuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new TornadoRuntimeException(e);
+    }
+  }
+
   private boolean isMemoryLimitEnabled() {
     return graphExecutionContext.isMemoryLimited();
   }
 
-  private Event execute(boolean isWarmup) {
+  private Event execute(boolean isWarmup, boolean isNonBlocking) {
     isWarmup = isWarmup || VIRTUAL_DEVICE_ENABLED;
     interpreterDevice.enableThreadSharing();
 
@@ -263,6 +525,9 @@ public class TornadoVMInterpreter {
     final long t0 = System.nanoTime();
     int lastEvent = -1;
     initWaitEventList();
+    if (!isWarmup) {
+      launchAllocatedBytes = 0;
+    }
 
     StringBuilder tornadoVMBytecodeList = null;
     if (TornadoOptions.PRINT_BYTECODES) {
@@ -277,113 +542,103 @@ public class TornadoVMInterpreter {
           .append("\n");
     }
 
-    while (bytecodeResult.hasRemaining()) {
-      final byte op = bytecodeResult.get();
-      if (op == TornadoVMBytecodes.ALLOC.value()) {
-        final long sizeBatch = bytecodeResult.getLong();
-        final int argSize = bytecodeResult.getInt();
-        final int[] args = new int[argSize];
-        for (int i = 0; i < argSize; i++) {
-          args[i] = bytecodeResult.getInt();
-        }
-        if (isWarmup) {
-          continue;
-        }
-        lastEvent = executeAlloc(tornadoVMBytecodeList, args, sizeBatch);
-      } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
-        final int objectIndex = bytecodeResult.getInt();
-        if (isWarmup) {
-          continue;
-        }
-        lastEvent = executeDeAlloc(tornadoVMBytecodeList, objectIndex);
-      } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
-        final int objectIndex = bytecodeResult.getInt();
-        final int eventList = bytecodeResult.getInt();
-        final long offset = bytecodeResult.getLong();
-        final long sizeBatch = bytecodeResult.getLong();
-        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-        if (isWarmup) {
-          continue;
-        }
-        transferHostToDeviceOnce(
-            tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-      } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
-        final int objectIndex = bytecodeResult.getInt();
-        final int eventList = bytecodeResult.getInt();
-        final long offset = bytecodeResult.getLong();
-        final long sizeBatch = bytecodeResult.getLong();
-        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-        if (isWarmup) {
-          continue;
-        }
-        transferHostToDeviceAlways(
-            tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-      } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
-        final int objectIndex = bytecodeResult.getInt();
-        final int eventList = bytecodeResult.getInt();
-        final long offset = bytecodeResult.getLong();
-        final long sizeBatch = bytecodeResult.getLong();
-        final int[] waitList = (useDependencies) ? events[eventList] : null;
-        if (isWarmup) {
-          continue;
-        }
-        lastEvent =
-            transferDeviceToHost(
-                tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-      } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
-        final int objectIndex = bytecodeResult.getInt();
-        final int eventList = bytecodeResult.getInt();
-        final long offset = bytecodeResult.getLong();
-        final long sizeBatch = bytecodeResult.getLong();
-        final int[] waitList = (useDependencies) ? events[eventList] : null;
-        if (isWarmup) {
-          continue;
-        }
-        transferDeviceToHostBlocking(
-            tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
-      } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
-        final int callWrapperIndex = bytecodeResult.getInt();
-        final int taskIndex = bytecodeResult.getInt();
-        final int numArgs = bytecodeResult.getInt();
-        final int eventList = bytecodeResult.getInt();
-        final long offset = bytecodeResult.getLong();
-        final long batchThreads = bytecodeResult.getLong();
-        XPUExecutionFrame info =
-            compileTaskFromBytecodeToBinary(
-                callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
-        if (isWarmup) {
-          popArgumentsFromCall(numArgs);
-          continue;
-        }
-        lastEvent =
-            executeLaunch(
-                tornadoVMBytecodeList, numArgs, eventList, taskIndex, batchThreads, offset, info);
-      } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
-        final int eventList = bytecodeResult.getInt();
-        if (isWarmup) {
-          continue;
-        }
-        executeDependency(tornadoVMBytecodeList, lastEvent, eventList);
-      } else if (op == TornadoVMBytecodes.BARRIER.value()) {
-        final int eventList = bytecodeResult.getInt();
-        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-        if (isWarmup) {
+    // Recordings replay blocking transfers, so non-blocking executions are always interpreted
+    recording = null;
+    if (!isWarmup && !isNonBlocking && prepareGraphCapture()) {
+      lastEvent = graphCapture.replay(timeProfiler);
+      graphExecutionContext.incrementGraphReplays();
+    } else {
+      final TornadoVMInstruction[] code = isNonBlocking ? nonBlockingInstructions : instructions;
+      for (final TornadoVMInstruction instruction : code) {
+        if (isWarmup && instruction.bytecode != TornadoVMBytecodes.LAUNCH) {
           continue;
         }
-        lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
-      } else if (op == TornadoVMBytecodes.END.value()) {
-        if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
-          tornadoVMBytecodeList
-              .append("bc: ")
-              .append(InterpreterUtilities.debugHighLightBC("END\n"))
-              .append("\n");
+        switch (instruction.bytecode) {
+          case ALLOC -> lastEvent = executeAlloc(tornadoVMBytecodeList, instruction);
+          case DEALLOC ->
+              lastEvent = executeDeAlloc(tornadoVMBytecodeList, instruction.objectIndex);
+          case TRANSFER_HOST_TO_DEVICE_ONCE ->
+              lastEvent =
+                  transferHostToDeviceOnce(
+                      tornadoVMBytecodeList,
+                      instruction.objectIndex,
+                      instruction.offset,
+                      instruction.eventList,
+                      instruction.size,
+                      instruction.waitList);
+          case TRANSFER_HOST_TO_DEVICE_ALWAYS ->
+              lastEvent =
+                  transferHostToDeviceAlways(
+                      tornadoVMBytecodeList,
+                      instruction.objectIndex,
+                      instruction.offset,
+                      instruction.eventList,
+                      instruction.size,
+                      instruction.waitList,
+                      instruction.writtenOnDevice);
+          case TRANSFER_DEVICE_TO_HOST_ALWAYS, TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING ->
+              lastEvent =
+                  transferDeviceToHost(
+                      tornadoVMBytecodeList,
+                      instruction.bytecode,
+                      instruction.objectIndex,
+                      instruction.offset,
+                      instruction.eventList,
+                      instruction.size,
+                      instruction.waitList);
+          case TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING ->
+              transferDeviceToHostBlocking(
+                  tornadoVMBytecodeList,
+                  instruction.objectIndex,
+                  instruction.offset,
+                  instruction.eventList,
+                  instruction.size,
+                  instruction.waitList);
+          case LAUNCH -> {
+            final long allocatedBytes =
+                LAUNCH_ALLOCATION_COUNTER ? RuntimeUtilities.getCurrentThreadAllocatedBytes() : 0;
+            if (graphExecutionContext.isBatchSharded()) {
+              lastEvent = executeShardedLaunch(tornadoVMBytecodeList, instruction, isWarmup);
+            } else {
+              awaitPendingCompilation(globalToLocalTaskIndex(instruction.taskIndex));
+              KernelStackFrame stackFrame = compileTaskFromBytecodeToBinary(instruction);
+              if (!isWarmup) {
+                lastEvent = executeLaunch(tornadoVMBytecodeList, instruction, stackFrame);
+              }
+            }
+            if (LAUNCH_ALLOCATION_COUNTER && !isWarmup) {
+              launchAllocatedBytes +=
+                  RuntimeUtilities.getCurrentThreadAllocatedBytes() - allocatedBytes;
+            }
+          }
+          case ADD_DEPENDENCY ->
+              executeDependency(tornadoVMBytecodeList, lastEvent, instruction.eventList);
+          case BARRIER ->
+              lastEvent =
+                  executeBarrier(
+                      tornadoVMBytecodeList, instruction.eventList, instruction.waitList);
+          case BATCH_BUFFER_SLOT -> executeBatchBufferSlot(tornadoVMBytecodeList, instruction.slot);
+          case END -> {
+            if (TornadoOptions.PRINT_BYTECODES) {
+              tornadoVMBytecodeList
+                  .append("bc: ")
+                  .append(InterpreterUtilities.debugHighLightBC("END\n"))
+                  .append("\n");
+            }
+          }
+          default -> throwErrorInterpreter(instruction.bytecode.value());
         }
-        break;
-      } else {
-        throwErrorInterpreter(op);
       }
     }
 
+    if (recording != null) {
+      if (!recording.isAborted()) {
+        logger.debug("captured %d device operations", recording.getNumOperations());
+        graphCapture = recording;
+      }
+      recording = null;
+    }
+
     Event barrier = EMPTY_EVENT;
     if (!isWarmup) {
       if (useDependencies) {
@@ -401,6 +656,7 @@ public class TornadoVMInterpreter {
     final double elapsed = (t1 - t0) * 1e-9;
     if (!isWarmup) {
       totalTime += elapsed;
+      lastExecutionTime = elapsed;
       invocations++;
     }
 
@@ -410,8 +666,6 @@ public class TornadoVMInterpreter {
           elapsed, invocations, (totalTime / invocations));
     }
 
-    bytecodeResult.reset();
-
     if (TornadoOptions.PRINT_BYTECODES) {
       System.out.println(tornadoVMBytecodeList);
     }
@@ -419,18 +673,63 @@ public class TornadoVMInterpreter {
     return barrier;
   }
 
+  /**
+   * It prepares the graph capture of the execution. If there is a valid recording of a previous
+   * execution, it is replayed. Otherwise, a new recording starts when the task-graph can be
+   * captured, and the interpreter fills it while it runs the instructions.
+   *
+   * @return true if the execution can replay a recording.
+   */
+  private boolean prepareGraphCapture() {
+    if (!graphExecutionContext.isGraphCaptureEnabled()) {
+      graphCapture = null;
+      return false;
+    }
+    if (graphCapture != null) {
+      if (graphCapture.isValid()) {
+        return true;
+      }
+      logger.debug("graph capture invalidated, recording again");
+      graphCapture = null;
+    }
+    if (isGraphCaptureSupported()) {
+      recording =
+          new TornadoVMGraphCapture(
+              interpreterDevice,
+              graphExecutionContext.getExecutionPlanId(),
+              useDependencies,
+              events,
+              eventsIndexes);
+    }
+    return false;
+  }
+
+  /**
+   * A replay skips the printing of bytecodes, the profiler metrics and the batch bookkeeping, so
+   * these executions are always interpreted.
+   */
+  private boolean isGraphCaptureSupported() {
+    return !TornadoOptions.PRINT_BYTECODES
+        && !TornadoOptions.isProfilerEnabled()
+        && bytecodeResult.getNumBatchChunks() == 0
+        && !graphExecutionContext.isBatchSharded();
+  }
+
   private void initWaitEventList() {
     for (int[] waitList : events) {
       Arrays.fill(waitList, -1);
     }
   }
 
-  private int executeAlloc(StringBuilder tornadoVMBytecodeList, int[] args, long sizeBatch) {
-    Object[] objects = new Object[args.length];
-    XPUDeviceBufferState[] objectStates = new XPUDeviceBufferState[args.length];
+  private int executeAlloc(StringBuilder tornadoVMBytecodeList, TornadoVMInstruction instruction) {
+    final int[] args = instruction.objectIndexes;
+    final Object[] objects = instruction.objects;
+    final XPUDeviceBufferState[] objectStates = instruction.objectStates;
+    final long sizeBatch = instruction.size;
     for (int i = 0; i < objects.length; i++) {
       objects[i] = this.objects.get(args[i]);
       objectStates[i] = resolveObjectState(args[i]);
+      objectStates[i].setUnifiedMemory(graphExecutionContext.isUnifiedMemoryEnabled());
 
       if (TornadoOptions.PRINT_BYTECODES) {
         String verbose =
@@ -444,7 +743,13 @@ public class TornadoVMInterpreter {
       }
     }
 
+    // The pool counters are per thread, so other plans allocating on the same device do not count
+    final long poolHits = interpreterDevice.getBufferPoolHits();
+    final long poolMisses = interpreterDevice.getBufferPoolMisses();
     long allocationsTotalSize = interpreterDevice.allocateObjects(objects, sizeBatch, objectStates);
+    if (recording != null) {
+      recordAllocatedStates(objects, objectStates);
+    }
 
     graphExecutionContext.setCurrentDeviceMemoryUsage(allocationsTotalSize);
 
@@ -456,11 +761,36 @@ public class TornadoVMInterpreter {
             TimeProfiler.NO_TASK_NAME,
             objectState.getXPUBuffer().size());
       }
+      timeProfiler.addValueToMetric(
+          ProfilerType.BUFFER_POOL_HITS,
+          TimeProfiler.NO_TASK_NAME,
+          interpreterDevice.getBufferPoolHits() - poolHits);
+      timeProfiler.addValueToMetric(
+          ProfilerType.BUFFER_POOL_MISSES,
+          TimeProfiler.NO_TASK_NAME,
+          interpreterDevice.getBufferPoolMisses() - poolMisses);
     }
 
     return -1;
   }
 
+  /**
+   * A replay skips ALLOC and DEALLOC bytecodes, so it is only valid if the device buffers stay
+   * allocated across executions, as it happens with the buffers locked by the task-graph.
+   */
+  private void recordAllocatedStates(Object[] objects, XPUDeviceBufferState[] objectStates) {
+    for (int i = 0; i < objects.length; i++) {
+      if (isObjectKernelContext(objects[i])) {
+        continue;
+      }
+      if (!objectStates[i].isLockedBuffer()) {
+        recording.abort();
+        return;
+      }
+      recording.addBufferState(objectStates[i]);
+    }
+  }
+
   private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, final int objectIndex) {
     Object object = objects.get(objectIndex);
 
@@ -475,6 +805,8 @@ public class TornadoVMInterpreter {
       tornadoVMBytecodeList.append(verbose).append("\n");
     }
 
+    // In a pipelined batch, each chunk releases the buffer of its own slot. The buffers of the
+    // other slots may still be in use by the chunks in flight.
     final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
     long spaceDeallocated = interpreterDevice.deallocate(objectState);
     // Update current device area use
@@ -483,7 +815,7 @@ public class TornadoVMInterpreter {
     return -1;
   }
 
-  private void transferHostToDeviceOnce(
+  private int transferHostToDeviceOnce(
       StringBuilder tornadoVMBytecodeList,
       final int objectIndex,
       final long offset,
@@ -493,7 +825,7 @@ public class TornadoVMInterpreter {
     Object object = objects.get(objectIndex);
 
     if (isObjectKernelContext(object)) {
-      return;
+      return -1;
     }
 
     final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
@@ -550,19 +882,24 @@ public class TornadoVMInterpreter {
         timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
       }
     }
+    return useDependencies
+        ? InterpreterUtilities.joinEvents(
+            interpreterDevice, graphExecutionContext.getExecutionPlanId(), allEvents)
+        : -1;
   }
 
-  private void transferHostToDeviceAlways(
+  private int transferHostToDeviceAlways(
       StringBuilder tornadoVMBytecodeList,
       final int objectIndex,
       final long offset,
       final int eventList,
       final long sizeBatch,
-      final int[] waitList) {
+      final int[] waitList,
+      final boolean writtenOnDevice) {
     Object object = objects.get(objectIndex);
 
     if (isObjectKernelContext(object)) {
-      return;
+      return -1;
     }
 
     if (TornadoOptions.PRINT_BYTECODES && isNotObjectAtomic(object)) {
@@ -571,16 +908,39 @@ public class TornadoVMInterpreter {
     }
 
     final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
-    List<Integer> allEvents =
-        interpreterDevice.streamIn(
-            graphExecutionContext.getExecutionPlanId(),
-            object,
-            sizeBatch,
-            offset,
-            objectState,
-            waitList);
+    final boolean isTracked =
+        !writtenOnDevice
+            && sizeBatch <= 0
+            && offset == 0
+            && object instanceof TornadoNativeArray nativeArray
+            && nativeArray.isWriteTrackingEnabled();
+    List<Integer> allEvents;
+    if (isTracked) {
+      allEvents =
+          TornadoVMTrackedTransfer.streamIn(
+              interpreterDevice,
+              graphExecutionContext.getExecutionPlanId(),
+              (TornadoNativeArray) object,
+              objectState,
+              waitList);
+    } else {
+      allEvents =
+          interpreterDevice.streamIn(
+              graphExecutionContext.getExecutionPlanId(),
+              object,
+              sizeBatch,
+              offset,
+              objectState,
+              waitList);
+      // The device copy may differ from the pages tracked in a previous execution
+      objectState.setSyncedWriteEpoch(-1);
+    }
 
     resetEventIndexes(eventList);
+    if (recording != null) {
+      recording.recordStreamIn(
+          object, objectState, sizeBatch, offset, eventList, waitList, isTracked);
+    }
 
     if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
       for (Integer e : allEvents) {
@@ -600,10 +960,15 @@ public class TornadoVMInterpreter {
         timeProfiler.setTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME, dispatchValue);
       }
     }
+    return useDependencies
+        ? InterpreterUtilities.joinEvents(
+            interpreterDevice, graphExecutionContext.getExecutionPlanId(), allEvents)
+        : -1;
   }
 
   private int transferDeviceToHost(
       StringBuilder tornadoVMBytecodeList,
+      final TornadoVMBytecodes bytecode,
       final int objectIndex,
       final long offset,
       final int eventList,
@@ -619,7 +984,7 @@ public class TornadoVMInterpreter {
       String verbose =
           String.format(
               "bc: "
-                  + InterpreterUtilities.debugHighLightBC("TRANSFER_DEVICE_TO_HOST_ALWAYS")
+                  + InterpreterUtilities.debugHighLightBC(bytecode.name())
                   + "[0x%x] %s on %s, size=%d, offset=%d [event list=%d]",
               object.hashCode(),
               object,
@@ -631,11 +996,22 @@ public class TornadoVMInterpreter {
     }
 
     final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+    final long executionPlanId = graphExecutionContext.getExecutionPlanId();
+    // Atomics and partial copies are updated on the host once the read completes
+    final boolean isNonBlocking =
+        bytecode == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_NON_BLOCKING
+            && !objectState.isAtomicRegionPresent()
+            && objectState.getPartialCopySize() == 0;
     int readEvent =
-        interpreterDevice.streamOutBlocking(
-            graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        isNonBlocking
+            ? interpreterDevice.streamOut(executionPlanId, object, offset, objectState, waitList)
+            : interpreterDevice.streamOutBlocking(
+                executionPlanId, object, offset, objectState, waitList);
 
     resetEventIndexes(eventList);
+    if (recording != null) {
+      recording.recordStreamOut(object, objectState, offset, eventList, waitList, true);
+    }
 
     if (TornadoOptions.isProfilerEnabled() && readEvent != -1) {
       Event event =
@@ -691,6 +1067,9 @@ public class TornadoVMInterpreter {
     final int readEvent =
         interpreterDevice.streamOutBlocking(
             graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+    if (recording != null) {
+      recording.recordStreamOut(object, objectState, offset, eventList, waitList, false);
+    }
 
     if (TornadoOptions.isProfilerEnabled() && readEvent != -1) {
       Event event =
@@ -712,19 +1091,212 @@ public class TornadoVMInterpreter {
     resetEventIndexes(eventList);
   }
 
-  private boolean isRecompilationNeededForLastBatch(
-      int taskIndex, SchedulableTask task, long batchThreads) {
-    return (!shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)])
-        && task.getBatchThreads() != 0
-        && task.getBatchThreads() != batchThreads);
+  /**
+   * Batch sizes, the scalar arguments selected for specialisation and, for tasks that write the
+   * loop index, the offset of the batch are compiled as constants in the generated kernels. Other
+   * scalars are passed as kernel parameters, unless the compiler needs their value (e.g., the bound
+   * of a parallel loop). This method selects the kernel compiled for the current values. If there
+   * is none, the task is marked to be compiled again. Once {@link
+   * TornadoOptions#SPECIALISATION_VARIANTS} variants are kept, a generic kernel that takes all the
+   * scalars as parameters is compiled and reused instead.
+   *
+   * <p>The values are compared with the ones of the previous launch, kept as raw bits in an array
+   * of the task, so launches with the same values do not allocate. The keys of the variants are
+   * only created when the values change.
+   */
+  private void selectSpecialisedVariant(
+      SchedulableTask task, int taskIndex, long batchThreads, int batchNumber) {
+    final int localTaskIndex = globalToLocalTaskIndex(taskIndex);
+    final boolean firstCompilation = specialisationKeys[localTaskIndex] == null;
+    if (!updateSpecialisationValues(task, localTaskIndex, batchThreads, batchNumber)
+        && !firstCompilation) {
+      return;
+    }
+    if (firstCompilation || shouldCompile(installedCodes[localTaskIndex])) {
+      prepareCompilation(task, localTaskIndex, isVariantCacheFull(localTaskIndex));
+      return;
+    }
+    final TornadoInstalledCode variant = findVariant(localTaskIndex);
+    if (variant != null) {
+      installedCodes[localTaskIndex] = variant;
+    } else {
+      prepareCompilation(task, localTaskIndex, isVariantCacheFull(localTaskIndex));
+      // The current kernel is kept as a variant, so it is not invalidated
+      task.forceCompilation();
+      installedCodes[localTaskIndex] = null;
+    }
+  }
+
+  /** Looks up a kernel compiled for the current values, specialised first. */
+  private TornadoInstalledCode findVariant(int localTaskIndex) {
+    if (specialisationSlots[localTaskIndex] != null) {
+      final TornadoInstalledCode variant =
+          specialisedVariants
+              .get(localTaskIndex)
+              .get(createKey(localTaskIndex, specialisationSlots[localTaskIndex]));
+      if (variant != null && variant.isValid()) {
+        return variant;
+      }
+    }
+    final TornadoInstalledCode generic = genericVariants[localTaskIndex];
+    if (generic != null
+        && generic.isValid()
+        && genericKeys[localTaskIndex].equals(
+            createKey(localTaskIndex, genericSlots[localTaskIndex]))) {
+      return generic;
+    }
+    return null;
+  }
+
+  private boolean isVariantCacheFull(int localTaskIndex) {
+    return specialisedVariants.get(localTaskIndex).size() >= TornadoOptions.SPECIALISATION_VARIANTS;
+  }
+
+  /**
+   * Sets the scalar arguments that the next compilation of the task passes as kernel parameters:
+   * the ones not selected for specialisation or, for the generic kernel, all of them.
+   */
+  private void prepareCompilation(SchedulableTask task, int localTaskIndex, boolean generic) {
+    compilingGeneric[localTaskIndex] = generic;
+    if (!(task instanceof CompilableTask compilableTask)) {
+      return;
+    }
+    final TaskDataContext meta = compilableTask.meta();
+    final BitSet selected = meta.getSpecialisedArguments();
+    final BitSet runtime = new BitSet();
+    for (int argument : scalarArguments[localTaskIndex]) {
+      final boolean specialised =
+          !generic && (selected != null ? selected.get(argument) : TornadoOptions.SPECIALISATION);
+      if (!specialised) {
+        runtime.set(argument);
+      }
+    }
+    meta.setRuntimeScalarArguments(runtime);
+  }
+
+  /**
+   * Writes the values that select the variant of the task.
+   *
+   * @return true if any value is different from the previous launch.
+   */
+  private boolean updateSpecialisationValues(
+      SchedulableTask task, int localTaskIndex, long batchThreads, int batchNumber) {
+    final long[] values = specialisationValues[localTaskIndex];
+    final int[] arguments = scalarArguments[localTaskIndex];
+    final Object[] taskArguments = task.getArguments();
+    boolean changed = setValue(values, 0, batchThreads);
+    changed |= setValue(values, 1, batchNumber);
+    for (int i = 0; i < arguments.length; i++) {
+      changed |=
+          setValue(
+              values,
+              SPECIALISATION_BATCH_VALUES + i,
+              getPrimitiveBits(taskArguments[arguments[i]]));
+    }
+    return changed;
+  }
+
+  private static boolean setValue(long[] values, int index, long value) {
+    if (values[index] == value) {
+      return false;
+    }
+    values[index] = value;
+    return true;
+  }
+
+  /** Indexes of the scalar arguments of the task. */
+  private static int[] scalarArguments(SchedulableTask task) {
+    if (!(task instanceof CompilableTask)) {
+      return new int[0];
+    }
+    final Object[] arguments = task.getArguments();
+    return IntStream.range(0, arguments.length)
+        .filter(i -> RuntimeUtilities.isBoxedPrimitive(arguments[i]))
+        .toArray();
+  }
+
+  private static long getPrimitiveBits(Object value) {
+    return switch (value) {
+      case Boolean booleanValue -> booleanValue ? 1 : 0;
+      case Byte byteValue -> byteValue;
+      case Character charValue -> charValue;
+      case Short shortValue -> shortValue;
+      case HalfFloat halfFloat -> halfFloat.getHalfFloatValue();
+      case Integer intValue -> intValue;
+      case Float floatValue -> Float.floatToIntBits(floatValue);
+      case Long longValue -> longValue;
+      case Double doubleValue -> Double.doubleToLongBits(doubleValue);
+      default ->
+          throw new TornadoRuntimeException(
+              "[ERROR] Unsupported scalar argument: " + value.getClass().getName());
+    };
   }
 
-  private boolean currentBatchUsesThreadId(int currentBatch, boolean indexInWrite) {
-    return (currentBatch > 0 && indexInWrite);
+  /**
+   * Creates the key of a variant from the batch values and the values of the scalar arguments in
+   * the given positions of {@link #scalarArguments}.
+   */
+  private SpecialisationKey createKey(int localTaskIndex, int[] slots) {
+    final long[] values = specialisationValues[localTaskIndex];
+    final long[] key = Arrays.copyOf(values, SPECIALISATION_BATCH_VALUES + slots.length);
+    for (int i = 0; i < slots.length; i++) {
+      key[SPECIALISATION_BATCH_VALUES + i] = values[SPECIALISATION_BATCH_VALUES + slots[i]];
+    }
+    return new SpecialisationKey(key);
+  }
+
+  /** Values of a launch for which a variant of a task was compiled. */
+  private record SpecialisationKey(long[] values) {
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof SpecialisationKey key && Arrays.equals(values, key.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+  }
+
+  /**
+   * Keeps the kernel just compiled for the task. It is keyed by the scalar arguments the compiler
+   * folded as constants. If that is unknown, e.g., the kernel was loaded from the JIT cache, all
+   * the scalar arguments are part of the key.
+   */
+  private void storeSpecialisedVariant(SchedulableTask task, int localTaskIndex) {
+    final BitSet folded =
+        (task instanceof CompilableTask compilableTask)
+            ? compilableTask.meta().getFoldedScalarArguments()
+            : null;
+    final int[] arguments = scalarArguments[localTaskIndex];
+    final int[] slots =
+        IntStream.range(0, arguments.length)
+            .filter(i -> folded == null || folded.get(arguments[i]))
+            .toArray();
+    final SpecialisationKey key = createKey(localTaskIndex, slots);
+    final TornadoInstalledCode installedCode = installedCodes[localTaskIndex];
+    specialisationKeys[localTaskIndex] = key;
+    if (!compilingGeneric[localTaskIndex]) {
+      specialisationSlots[localTaskIndex] = slots;
+      specialisedVariants.get(localTaskIndex).put(key, installedCode);
+      return;
+    }
+    // The generic kernel is only compiled again if the values it folds change
+    final TornadoInstalledCode previous = genericVariants[localTaskIndex];
+    genericVariants[localTaskIndex] = installedCode;
+    genericSlots[localTaskIndex] = slots;
+    genericKeys[localTaskIndex] = key;
+    // Some backends return the same installed code for all the variants of a task
+    if (previous != null
+        && previous != installedCode
+        && previous.isValid()
+        && !specialisedVariants.get(localTaskIndex).containsValue(previous)) {
+      previous.invalidate();
+    }
   }
 
   private void updateBatchThreads(
-      SchedulableTask task, long batchThreads, boolean indexInWrite, int currentBatch) {
+      SchedulableTask task, long batchThreads, boolean indexInWrite, int batchNumber) {
     // Set the batch size in the task information
     task.setBatchThreads(batchThreads);
 
@@ -736,7 +1308,7 @@ public class TornadoVMInterpreter {
     }
 
     if (batchThreads != 0) {
-      task.setBatchNumber(currentBatch);
+      task.setBatchNumber(batchNumber);
     }
   }
 
@@ -753,12 +1325,26 @@ public class TornadoVMInterpreter {
         graphExecutionContext.meta().getCompilerFlags(TornadoVMBackendType.SPIRV));
   }
 
-  private XPUExecutionFrame compileTaskFromBytecodeToBinary(
-      final int callWrapperIndex,
-      final int numArgs,
-      final int eventList,
-      final int taskIndex,
-      final long batchThreads) {
+  /**
+   * Returns whether the loop index of a task is written in an output buffer. The value is obtained
+   * from the sketch of the task the first time and then cached. It is not cached for sharded
+   * batches, since the task is launched on several devices.
+   */
+  private boolean isLoopIndexInWrite(SchedulableTask task, int taskIndex, boolean redeploy) {
+    if (graphExecutionContext.isBatchSharded()) {
+      return interpreterDevice.loopIndexInWrite(task);
+    }
+    if (loopIndexInWrite[taskIndex] == 0 || redeploy) {
+      loopIndexInWrite[taskIndex] = interpreterDevice.loopIndexInWrite(task) ? (byte) 1 : (byte) -1;
+    }
+    return loopIndexInWrite[taskIndex] == 1;
+  }
+
+  private KernelStackFrame compileTaskFromBytecodeToBinary(final TornadoVMInstruction instruction) {
+    final int callWrapperIndex = instruction.callWrapperIndex;
+    final int numArgs = instruction.getNumArgs();
+    final int taskIndex = instruction.taskIndex;
+    final long batchThreads = instruction.size;
 
     if (interpreterDevice.getDeviceContext().wasReset() && finishedWarmup) {
       throw new TornadoFailureException(
@@ -771,23 +1357,24 @@ public class TornadoVMInterpreter {
         resolveCallWrapper(
             callWrapperIndex, numArgs, kernelStackFrame, interpreterDevice, redeployOnDevice);
 
-    final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
     final SchedulableTask task = taskExecutionContexts.get(taskIndex);
-    int currentBatch = task.getBatchNumber();
     TaskContextInterface meta = task.meta();
     updateMeta(meta);
 
-    boolean indexInWrite = interpreterDevice.loopIndexInWrite(task);
-    // Check if a different batch size was used for the same kernel or
-    // if the loop index is written in the output buffer, and we are not in the first batch.
-    // If any is true, then the kernel needs to be recompiled.
-    if (isRecompilationNeededForLastBatch(taskIndex, task, batchThreads)
-        || currentBatchUsesThreadId(currentBatch, indexInWrite)) {
-      task.forceCompilation();
-      installedCodes[globalToLocalTaskIndex(taskIndex)].invalidate();
+    boolean indexInWrite = isLoopIndexInWrite(task, taskIndex, redeployOnDevice);
+    if (indexInWrite && batchThreads != 0 && graphExecutionContext.isBatchSharded()) {
+      throw new TornadoRuntimeException(
+          "[UNSUPPORTED] Batches that write the loop index cannot be sharded across devices: "
+              + task.getFullName());
     }
+    // If the loop index is written in the output buffer, the offset of the batch is compiled in
+    // the kernel, so each batch runs its own kernel.
+    final int batchNumber = (indexInWrite && batchThreads != 0) ? instruction.batchIndex : 0;
 
-    updateBatchThreads(task, batchThreads, indexInWrite, currentBatch);
+    // Select the kernel compiled for the current batch and scalar values.
+    selectSpecialisedVariant(task, taskIndex, batchThreads, batchNumber);
+
+    updateBatchThreads(task, batchThreads, indexInWrite, batchNumber);
 
     task.enableDefaultThreadScheduler(graphExecutionContext.useDefaultThreadScheduler());
 
@@ -817,12 +1404,8 @@ public class TornadoVMInterpreter {
         }
 
         installedCodes[globalToLocalTaskIndex(taskIndex)] = interpreterDevice.installCode(task);
+        storeSpecialisedVariant(task, globalToLocalTaskIndex(taskIndex));
         profilerUpdateForPreCompiledTask(task);
-        // After the compilation has been completed, increment
-        // the batch number of the task and update it.
-        if (indexInWrite && batchThreads != 0) {
-          task.setBatchNumber(++currentBatch);
-        }
       } catch (TornadoBailoutRuntimeException e) {
         throw new TornadoBailoutRuntimeException(
             "Unable to compile "
@@ -844,28 +1427,44 @@ public class TornadoVMInterpreter {
                 + Arrays.toString(e.getStackTrace()));
       }
     }
-    return new XPUExecutionFrame(callWrapper, waitList);
+    return callWrapper;
   }
 
-  private void popArgumentsFromCall(int numArgs) {
-    for (int i = 0; i < numArgs; i++) {
-      bytecodeResult.get();
-      bytecodeResult.getInt();
+  /**
+   * When a batch is sharded across devices, all interpreters run the same tasks. The task is bound
+   * to the device of this interpreter only while the kernel is compiled and launched, and the task
+   * is locked in the meantime, since its metadata is shared with the other interpreters.
+   */
+  private int executeShardedLaunch(
+      StringBuilder tornadoVMBytecodeList, TornadoVMInstruction instruction, boolean isWarmup) {
+    final SchedulableTask task = taskExecutionContexts.get(instruction.taskIndex);
+    synchronized (task) {
+      final TornadoDevice taskDevice = task.getDevice();
+      task.setDevice(interpreterDevice);
+      try {
+        KernelStackFrame stackFrame = compileTaskFromBytecodeToBinary(instruction);
+        if (isWarmup) {
+          return -1;
+        }
+        return executeLaunch(tornadoVMBytecodeList, instruction, stackFrame);
+      } finally {
+        task.setDevice(taskDevice);
+      }
     }
   }
 
   private int executeLaunch(
       StringBuilder tornadoVMBytecodeList,
-      final int numArgs,
-      final int eventList,
-      final int taskIndex,
-      final long batchThreads,
-      final long offset,
-      XPUExecutionFrame executionFrame) {
-
+      final TornadoVMInstruction instruction,
+      final KernelStackFrame stackFrame) {
+
+    final int numArgs = instruction.getNumArgs();
+    final int eventList = instruction.eventList;
+    final int taskIndex = instruction.taskIndex;
+    final long batchThreads = instruction.size;
+    final long offset = instruction.offset;
     final SchedulableTask task = taskExecutionContexts.get(taskIndex);
-    KernelStackFrame stackFrame = executionFrame.stackFrame;
-    int[] waitList = executionFrame.waitList;
+    final int[] waitList = instruction.waitList;
 
     if (installedCodes[globalToLocalTaskIndex(taskIndex)] == null) {
       // After warming-up, it is possible to get a null pointer in the task-cache due
@@ -886,32 +1485,25 @@ public class TornadoVMInterpreter {
             ? prebuiltTask.getAtomics()
             : interpreterDevice.checkAtomicsForTask(task);
 
-    HashMap<Integer, Integer> threadDeploy = new HashMap<>();
-    if (gridScheduler != null && gridScheduler.get(task.getId()) != null) {
-      WorkerGrid workerGrid = gridScheduler.get(task.getId());
-      long[] global = workerGrid.getGlobalWork();
-      int i = 0;
-      for (long maxThread : global) {
-        threadDeploy.put(i++, (int) maxThread);
-      }
-    }
+    final WorkerGrid workerGrid = (gridScheduler != null) ? gridScheduler.get(task.getId()) : null;
     stackFrame.reset();
-    stackFrame.setKernelContext(threadDeploy);
+    stackFrame.setKernelContext(workerGrid != null ? workerGrid.getGlobalWork() : null);
 
     XPUBuffer bufferAtomics = null;
 
     for (int i = 0; i < numArgs; i++) {
-      final byte argType = bytecodeResult.get();
-      final int argIndex = bytecodeResult.getInt();
-
-      if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
-        // Add a constant argument
-        stackFrame.addCallArgument(constants.get(argIndex), false);
-      } else if (argType == TornadoVMBytecodes.PUSH_REFERENCE_ARGUMENT.value()) {
-
+      final int argIndex = instruction.argumentIndexes[i];
+
+      if (instruction.isConstantArgument[i]) {
+        // Add a constant argument. The value is read from the task, since scalar arguments can
+        // be updated from the execution plan.
+        stackFrame.addCallArgument(
+            (task instanceof CompilableTask) ? task.getArguments()[i] : constants.get(argIndex),
+            false);
+      } else {
         if (isObjectKernelContext(objects.get(argIndex))) {
           // Mark a kernel context
-          stackFrame.addCallArgument(new KernelStackFrame.KernelContextArgument(), false);
+          stackFrame.addCallArgument(KernelStackFrame.KERNEL_CONTEXT_ARGUMENT, false);
           continue;
         }
 
@@ -921,18 +1513,20 @@ public class TornadoVMInterpreter {
 
         if (!isObjectInAtomicRegion(objectState, interpreterDevice, task)) {
           // Add a reference (arrays, vector types, panama regions)
-          stackFrame.addCallArgument(objectState.getXPUBuffer().toBuffer(), true);
+          stackFrame.addReferenceArgument(objectState.getXPUBuffer().toBuffer());
         } else {
           atomicsArray =
               interpreterDevice.updateAtomicRegionAndObjectState(
                   task, atomicsArray, i, objects.get(argIndex), objectState);
         }
-      } else {
-        TornadoInternalError.shouldNotReachHere();
       }
     }
 
     if (atomicsArray != null) {
+      if (recording != null) {
+        // The atomics buffer is written before each launch
+        recording.abort();
+      }
       bufferAtomics = interpreterDevice.createOrReuseAtomicsBuffer(atomicsArray);
       List<Integer> allEvents =
           bufferAtomics.enqueueWrite(
@@ -1001,6 +1595,11 @@ public class TornadoVMInterpreter {
                     batchThreads);
 
         resetEventIndexes(eventList);
+        if (recording != null) {
+          recording.recordLaunch(
+              installedCode, stackFrame, dataContext, batchThreads, eventList, waitList);
+          recording.addWorkerGrid(workerGrid);
+        }
         return lastEvent;
 
       } catch (Exception e) {
@@ -1032,6 +1631,9 @@ public class TornadoVMInterpreter {
       events[eventList][eventsIndexes[eventList]] = lastEvent;
       eventsIndexes[eventList]++;
     }
+    if (recording != null) {
+      recording.recordDependency(eventList);
+    }
   }
 
   private int executeBarrier(StringBuilder tornadoVMBytecodeList, int eventList, int[] waitList) {
@@ -1046,9 +1648,23 @@ public class TornadoVMInterpreter {
         interpreterDevice.enqueueMarker(graphExecutionContext.getExecutionPlanId(), waitList);
 
     resetEventIndexes(eventList);
+    if (recording != null) {
+      recording.recordBarrier(eventList, waitList);
+    }
     return lastEvent;
   }
 
+  private void executeBatchBufferSlot(StringBuilder tornadoVMBytecodeList, int slot) {
+    if (TornadoOptions.PRINT_BYTECODES) {
+      tornadoVMBytecodeList.append(
+          String.format(
+              "bc: " + InterpreterUtilities.debugHighLightBC("BATCH_BUFFER_SLOT") + " %d%n", slot));
+    }
+    for (int i = 0; i < objects.size(); i++) {
+      resolveObjectState(i).selectPipelineSlot(slot);
+    }
+  }
+
   private void throwErrorInterpreter(byte op) {
     if (graphExecutionContext.meta().isDebug()) {
       logger.debug("bc: invalid op 0x%x(%d)", op, op);
@@ -1130,25 +1746,40 @@ public class TornadoVMInterpreter {
   }
 
   public void compile() {
-    execute(true);
+    execute(true, false);
   }
 
   public Event execute() {
-    return execute(false);
+    return execute(false, false);
+  }
+
+  /**
+   * It runs the bytecodes linked with {@link #linkNonBlockingBytecodes(TornadoVMBytecodeResult)}.
+   * It returns once all the operations are enqueued on the device, without waiting for the
+   * transfers to the host to complete.
+   *
+   * @return An {@link Event} indicating the completion of execution.
+   */
+  public Event executeNonBlocking() {
+    return execute(false, true);
   }
 
   public void clearInstalledCode() {
+    for (int i = 0; i < pendingCompilations.length; i++) {
+      awaitPendingCompilation(i);
+    }
     Arrays.fill(installedCodes, null);
+    Arrays.fill(specialisationKeys, null);
+    Arrays.fill(specialisationSlots, null);
+    Arrays.fill(genericVariants, null);
+    Arrays.fill(genericSlots, null);
+    Arrays.fill(genericKeys, null);
+    specialisedVariants.forEach(Map::clear);
   }
 
-  private static class XPUExecutionFrame {
-    private KernelStackFrame stackFrame;
-    private int[] waitList;
-
-    XPUExecutionFrame(KernelStackFrame callWrapper, int[] waitList) {
-      this.stackFrame = callWrapper;
-      this.waitList = waitList;
-    }
+  /** Discards the recorded launches, e.g., because the arguments of a task have changed. */
+  public void invalidateGraphCapture() {
+    graphCapture = null;
   }
 
   private static class DebugInterpreter {
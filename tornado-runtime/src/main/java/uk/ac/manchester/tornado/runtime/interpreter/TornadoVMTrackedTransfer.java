@@ -0,0 +1,110 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+
+/**
+ * Host to device transfers of native arrays with write tracking enabled (see {@link
+ * TornadoNativeArray#enableWriteTracking()}). The device buffer state keeps the write epoch of the
+ * array at the time of the last copy, so the transfer is skipped when the host did not modify the
+ * array since then, and only the modified pages are copied otherwise.
+ *
+ * <p>It is only used for arrays that no task of the task-graph writes on the device, since a
+ * skipped transfer would otherwise keep the values written by the device.
+ */
+final class TornadoVMTrackedTransfer {
+
+  private TornadoVMTrackedTransfer() {}
+
+  /**
+   * It copies the pages of the array modified since the last copy to the device buffer of the given
+   * state.
+   *
+   * @return The events of the copies, or null if the array was not modified.
+   */
+  static List<Integer> streamIn(
+      TornadoXPUDevice device,
+      long executionPlanId,
+      TornadoNativeArray array,
+      XPUDeviceBufferState state,
+      int[] waitList) {
+    final long syncedEpoch = state.getSyncedWriteEpoch();
+    final List<Integer> events;
+    if (syncedEpoch < 0) {
+      events = device.streamIn(executionPlanId, array, 0, 0, state, waitList);
+    } else if (!array.hasWritesSince(syncedEpoch)) {
+      return null;
+    } else {
+      events = streamInModifiedPages(device, executionPlanId, array, state, syncedEpoch, waitList);
+    }
+    state.setSyncedWriteEpoch(array.advanceWriteEpoch());
+    return events;
+  }
+
+  private static List<Integer> streamInModifiedPages(
+      TornadoXPUDevice device,
+      long executionPlanId,
+      TornadoNativeArray array,
+      XPUDeviceBufferState state,
+      long syncedEpoch,
+      int[] waitList) {
+    final XPUBuffer buffer = state.getXPUBuffer();
+    final int numPages = array.getNumWriteTrackingPages();
+    final long numBytes = array.getNumBytesOfSegment();
+    final List<Integer> events = new ArrayList<>();
+    int page = 0;
+    while (page < numPages) {
+      if (!array.isPageWrittenSince(page, syncedEpoch)) {
+        page++;
+        continue;
+      }
+      final int firstPage = page;
+      while (page < numPages && array.isPageWrittenSince(page, syncedEpoch)) {
+        page++;
+      }
+      if (firstPage == 0 && page == numPages) {
+        // All pages were modified
+        return device.streamIn(executionPlanId, array, 0, 0, state, waitList);
+      }
+      final long offset = (long) firstPage * TornadoNativeArray.WRITE_TRACKING_PAGE_SIZE;
+      final long end =
+          Math.min((long) page * TornadoNativeArray.WRITE_TRACKING_PAGE_SIZE, numBytes);
+      final List<Integer> regionEvents =
+          buffer.enqueueWriteRegion(
+              executionPlanId, array, offset, end - offset, waitList, waitList != null);
+      if (regionEvents == null) {
+        // The buffer does not support partial copies
+        return device.streamIn(executionPlanId, array, 0, 0, state, waitList);
+      }
+      events.addAll(regionEvents);
+    }
+    return events;
+  }
+}
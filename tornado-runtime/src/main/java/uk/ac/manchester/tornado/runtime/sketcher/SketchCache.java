@@ -0,0 +1,270 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.sketcher;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import org.graalvm.compiler.graph.Graph;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+
+/**
+ * Bounded cache of the sketches built by the {@link TornadoSketcher}.
+ *
+ * <p>Entries are indexed by method, backend and device, and they are grouped per declaring class
+ * through a {@link ClassValue}. Therefore, the cache does not keep classes alive: when a class is
+ * unloaded, its sketches are collected with it. The cache only keeps weak references to the entries
+ * for the least-recently-used eviction, which is triggered when the number of sketches or their
+ * estimated footprint exceed the configured limits.
+ *
+ * <p>The entries are values of the {@link ClassValue}, so they must not reference it (JDK-8136353).
+ * They only reference the {@link Footprint} of the cache, which does not hold the class value.
+ */
+final class SketchCache {
+
+  /** Rough estimation of the bytes retained by each node of a sketch graph. */
+  private static final long BYTES_PER_NODE = 256;
+
+  private final ClassValue<Map<Key, Entry>> entriesPerClass =
+      new ClassValue<>() {
+        @Override
+        protected Map<Key, Entry> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private final ReferenceQueue<Entry> collectedEntries = new ReferenceQueue<>();
+  private final Footprint footprint;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  SketchCache(int maxEntries, long maxBytes) {
+    this.footprint = new Footprint(maxEntries, maxBytes);
+  }
+
+  /**
+   * Returns the sketch of the method for the given backend and device, or null if it has not been
+   * requested or it has been evicted. The lookup is not counted: the compiler looks up the sketch
+   * of a task several times, after requesting it through {@link #getOrBuild}, which counts the hits
+   * and misses of the cache.
+   */
+  Future<Sketch> get(ResolvedJavaMethod method, int driverIndex, int deviceIndex) {
+    Entry entry = entriesOf(method).get(new Key(method, driverIndex, deviceIndex));
+    if (entry == null) {
+      return null;
+    }
+    entry.touch();
+    return entry.sketch;
+  }
+
+  /**
+   * Returns the sketch of the method for the given backend and device. If it is not in the cache,
+   * the sketch is built asynchronously by the executor.
+   */
+  Future<Sketch> getOrBuild(
+      ResolvedJavaMethod method,
+      int driverIndex,
+      int deviceIndex,
+      Callable<Sketch> builder,
+      Executor executor) {
+    expungeCollectedEntries();
+    Map<Key, Entry> owner = entriesOf(method);
+    Key key = new Key(method, driverIndex, deviceIndex);
+    Entry entry = owner.get(key);
+    if (entry == null) {
+      Entry newEntry = new Entry(owner, key, builder, footprint, collectedEntries);
+      entry = owner.putIfAbsent(key, newEntry);
+      if (entry == null) {
+        misses.incrementAndGet();
+        footprint.add(newEntry.reference);
+        executor.execute(newEntry.sketch);
+        footprint.evictIfNeeded();
+        return newEntry.sketch;
+      }
+    }
+    hits.incrementAndGet();
+    entry.touch();
+    return entry.sketch;
+  }
+
+  long getHits() {
+    return hits.get();
+  }
+
+  long getMisses() {
+    return misses.get();
+  }
+
+  long getEvictions() {
+    return footprint.evictions.get();
+  }
+
+  int size() {
+    return footprint.entries.size();
+  }
+
+  long getBytesInUse() {
+    return footprint.bytesInUse.get();
+  }
+
+  private Map<Key, Entry> entriesOf(ResolvedJavaMethod method) {
+    return entriesPerClass.get(
+        TornadoCoreRuntime.getVMRuntime().getMirror(method.getDeclaringClass()));
+  }
+
+  /** Releases the accounting of the entries collected with their classes. */
+  private void expungeCollectedEntries() {
+    Reference<? extends Entry> reference;
+    while ((reference = collectedEntries.poll()) != null) {
+      footprint.release((EntryReference) reference);
+    }
+  }
+
+  private record Key(ResolvedJavaMethod method, int driverIndex, int deviceIndex) {}
+
+  /** Number and estimated size of the cached sketches, and the eviction when they exceed limits. */
+  private static final class Footprint {
+
+    private final Set<EntryReference> entries = ConcurrentHashMap.newKeySet();
+    private final Object evictionLock = new Object();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final AtomicLong bytesInUse = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private Footprint(int maxEntries, long maxBytes) {
+      this.maxEntries = maxEntries;
+      this.maxBytes = maxBytes;
+    }
+
+    private void add(EntryReference reference) {
+      entries.add(reference);
+    }
+
+    private void onSketchBuilt(EntryReference reference, Sketch sketch) {
+      Graph graph = sketch.getGraph();
+      long bytes = graph == null ? 0 : graph.getNodeCount() * BYTES_PER_NODE;
+      if (bytes > 0 && entries.contains(reference)) {
+        reference.bytes = bytes;
+        bytesInUse.addAndGet(bytes);
+        evictIfNeeded();
+      }
+    }
+
+    private boolean exceedsLimits() {
+      return entries.size() > maxEntries || bytesInUse.get() > maxBytes;
+    }
+
+    /**
+     * Removes the least-recently-used sketches until the cache is within its limits. Sketches that
+     * are still being built are not evicted.
+     */
+    private void evictIfNeeded() {
+      if (!exceedsLimits()) {
+        return;
+      }
+      synchronized (evictionLock) {
+        List<Entry> candidates = new ArrayList<>(entries.size());
+        for (EntryReference reference : entries) {
+          Entry entry = reference.get();
+          if (entry != null && entry.sketch.isDone()) {
+            candidates.add(entry);
+          }
+        }
+        candidates.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+        for (Entry entry : candidates) {
+          if (!exceedsLimits()) {
+            break;
+          }
+          if (entry.owner.remove(entry.key, entry) && release(entry.reference)) {
+            evictions.incrementAndGet();
+          }
+        }
+      }
+    }
+
+    private boolean release(EntryReference reference) {
+      if (entries.remove(reference)) {
+        bytesInUse.addAndGet(-reference.bytes);
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static final class Entry {
+
+    private final Map<Key, Entry> owner;
+    private final Key key;
+    private final FutureTask<Sketch> sketch;
+    private final EntryReference reference;
+    private volatile long lastAccess;
+
+    private Entry(
+        Map<Key, Entry> owner,
+        Key key,
+        Callable<Sketch> builder,
+        Footprint footprint,
+        ReferenceQueue<Entry> queue) {
+      this.owner = owner;
+      this.key = key;
+      this.reference = new EntryReference(this, queue);
+      final EntryReference entryReference = reference;
+      this.sketch =
+          new FutureTask<>(
+              () -> {
+                Sketch result = builder.call();
+                footprint.onSketchBuilt(entryReference, result);
+                return result;
+              });
+      touch();
+    }
+
+    private void touch() {
+      lastAccess = System.nanoTime();
+    }
+  }
+
+  private static final class EntryReference extends WeakReference<Entry> {
+
+    private volatile long bytes;
+
+    private EntryReference(Entry entry, ReferenceQueue<Entry> queue) {
+      super(entry, queue);
+    }
+  }
+}
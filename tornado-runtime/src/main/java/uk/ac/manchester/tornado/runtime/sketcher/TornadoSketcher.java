@@ -31,15 +31,13 @@ import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContex
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getOptions;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getTornadoExecutor;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaType;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import org.graalvm.compiler.debug.DebugCloseable;
 import org.graalvm.compiler.debug.DebugContext;
@@ -57,57 +55,38 @@ import org.graalvm.compiler.phases.common.DeadCodeEliminationPhase;
 import org.graalvm.compiler.phases.tiers.HighTierContext;
 import org.graalvm.compiler.phases.util.Providers;
 import uk.ac.manchester.tornado.api.common.Access;
-import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.OCLTokens;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSketchTier;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoSketchTierContext;
 
 public class TornadoSketcher {
 
   private static final AtomicInteger sketchId = new AtomicInteger(0);
-  private static final Map<ResolvedJavaMethod, List<TornadoSketcherCacheEntry>> cache =
-      new ConcurrentHashMap<>();
+  private static final SketchCache cache =
+      new SketchCache(
+          TornadoOptions.SKETCHER_CACHE_MAX_ENTRIES, TornadoOptions.SKETCHER_CACHE_MAX_MEMORY);
   private static final TimerKey Sketcher = DebugContext.timer("Sketcher");
   private static final OptimisticOptimizations optimisticOpts = OptimisticOptimizations.ALL;
   private static TornadoLogger logger = new TornadoLogger();
 
-  private static boolean cacheContainsSketch(
-      ResolvedJavaMethod method, int driverIndex, int deviceIndex) {
-    List<TornadoSketcherCacheEntry> entries = cache.get(method);
-    if (entries == null) {
-      return false;
-    }
-
-    synchronized (entries) {
-      for (TornadoSketcherCacheEntry entry : entries) {
-        if (entry.matchesDriverAndDevice(driverIndex, deviceIndex)) {
-          return true;
-        }
-      }
-    }
-    return false;
-  }
-
   public static Sketch lookup(ResolvedJavaMethod resolvedMethod, int driverIndex, int deviceIndex) {
-    Sketch sketch = null;
-    guarantee(cache.containsKey(resolvedMethod), "cache miss for: %s", resolvedMethod.getName());
-    List<TornadoSketcherCacheEntry> entries = cache.get(resolvedMethod);
+    Future<Sketch> sketchFuture = cache.get(resolvedMethod, driverIndex, deviceIndex);
+    if (sketchFuture == null) {
+      // The sketch has been evicted from the cache, so it is built again
+      sketchFuture = buildSketch(createRequest(resolvedMethod, driverIndex, deviceIndex));
+    }
+    Sketch sketch;
     try {
-      synchronized (entries) {
-        for (TornadoSketcherCacheEntry entry : entries) {
-          if (entry.matchesDriverAndDevice(driverIndex, deviceIndex)) {
-            sketch = entry.getSketchFuture().get();
-            break;
-          }
-        }
-      }
+      sketch = sketchFuture.get();
       guarantee(
           sketch != null,
           "No sketch available for %d:%d %s",
@@ -133,18 +112,52 @@ public class TornadoSketcher {
     return sketch;
   }
 
-  static void buildSketch(SketchRequest request) {
-    if (cacheContainsSketch(request.resolvedMethod, request.driverIndex, request.deviceIndex)) {
-      return;
-    }
-    List<TornadoSketcherCacheEntry> sketches =
-        cache.computeIfAbsent(
-            request.resolvedMethod,
-            k ->
-                Collections.synchronizedList(
-                    new ArrayList<>(TornadoVMBackendType.values().length)));
-    Future<Sketch> result = getTornadoExecutor().submit(new TornadoSketcherCallable(request));
-    sketches.add(new TornadoSketcherCacheEntry(request.driverIndex, request.deviceIndex, result));
+  static Future<Sketch> buildSketch(SketchRequest request) {
+    return cache.getOrBuild(
+        request.resolvedMethod,
+        request.driverIndex,
+        request.deviceIndex,
+        new TornadoSketcherCallable(request),
+        getTornadoExecutor());
+  }
+
+  private static SketchRequest createRequest(
+      ResolvedJavaMethod resolvedMethod, int driverIndex, int deviceIndex) {
+    TornadoAcceleratorBackend backend =
+        TornadoCoreRuntime.getTornadoRuntime().getBackend(driverIndex);
+    TornadoSuitesProvider suites = backend.getSuitesProvider();
+    return new SketchRequest(
+        resolvedMethod,
+        backend.getProviders(),
+        suites.getGraphBuilderSuite(),
+        suites.getSketchTier(),
+        driverIndex,
+        deviceIndex);
+  }
+
+  /** Number of sketch requests served by the sketcher cache. */
+  public static long getCacheHits() {
+    return cache.getHits();
+  }
+
+  /** Number of sketch requests that had to build a new sketch. */
+  public static long getCacheMisses() {
+    return cache.getMisses();
+  }
+
+  /** Number of sketches evicted from the sketcher cache. */
+  public static long getCacheEvictions() {
+    return cache.getEvictions();
+  }
+
+  /** Number of sketches currently held by the sketcher cache. */
+  public static int getCacheSize() {
+    return cache.size();
+  }
+
+  /** Estimated number of bytes retained by the sketches of the sketcher cache. */
+  public static long getCacheMemoryUsage() {
+    return cache.getBytesInUse();
   }
 
   @SuppressWarnings("checkstyle:LineLength")
@@ -155,6 +168,9 @@ public class TornadoSketcher {
       TornadoSketchTier sketchTier,
       int backendIndex,
       int deviceIndex) {
+    if (sketchTier == null) {
+      return buildHostSketch(resolvedMethod);
+    }
     logger.info("Building sketch of %s", resolvedMethod.getName());
     TornadoCompilerIdentifier id =
         new TornadoCompilerIdentifier(
@@ -246,6 +262,22 @@ public class TornadoSketcher {
     }
   }
 
+  /**
+   * Builds a sketch for backends that run the original Java bytecodes of the task (e.g., the JVM
+   * backend) and, therefore, do not provide a sketch tier. No Graal graph is built and the accesses
+   * are conservative: all reference parameters are marked as {@link Access#READ_WRITE}.
+   */
+  private static Sketch buildHostSketch(ResolvedJavaMethod resolvedMethod) {
+    logger.info("Building host sketch of %s", resolvedMethod.getName());
+    JavaType[] parameterTypes = resolvedMethod.toParameterTypes();
+    Access[] methodAccesses = new Access[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      methodAccesses[i] =
+          parameterTypes[i].getJavaKind() == JavaKind.Object ? Access.READ_WRITE : Access.NONE;
+    }
+    return new Sketch(null, methodAccesses, false);
+  }
+
   /**
    * Merges the {@param calleeAccesses} into the {@param callerAccesses}. For example, given the two
    * {@link Access} arrays below, a merge will look like:
@@ -277,28 +309,6 @@ public class TornadoSketcher {
     }
   }
 
-  private static final class TornadoSketcherCacheEntry {
-
-    private final int driverIndex;
-    private final int deviceIndex;
-    private final Future<Sketch> sketchFuture;
-
-    private TornadoSketcherCacheEntry(
-        int driverIndex, int deviceIndex, Future<Sketch> sketchFuture) {
-      this.driverIndex = driverIndex;
-      this.deviceIndex = deviceIndex;
-      this.sketchFuture = sketchFuture;
-    }
-
-    public boolean matchesDriverAndDevice(int driverIndex, int deviceIndex) {
-      return this.driverIndex == driverIndex && this.deviceIndex == deviceIndex;
-    }
-
-    public Future<Sketch> getSketchFuture() {
-      return sketchFuture;
-    }
-  }
-
   private static class TornadoSketcherCallable implements Callable<Sketch> {
     private final SketchRequest request;
 
@@ -44,6 +44,9 @@ public class LocalObjectState {
   /** Identifies a variable (or parameter) is used for stream-out (device -> host). */
   private boolean streamOut;
 
+  /** Identifies a variable (or parameter) that may be written by a task on the device. */
+  private boolean writtenOnDevice;
+
   /**
    * For each variable, we need to keep track of all devices in which there is a shadow copy. This
    * is achieved by using the {@link DataObjectState} object.
@@ -87,6 +90,14 @@ public class LocalObjectState {
     this.streamOut = streamOut;
   }
 
+  public boolean isWrittenOnDevice() {
+    return writtenOnDevice;
+  }
+
+  public void setWrittenOnDevice(boolean writtenOnDevice) {
+    this.writtenOnDevice = writtenOnDevice;
+  }
+
   public DataObjectState getDataObjectState() {
     return dataObjectState;
   }
@@ -106,6 +117,7 @@ public class LocalObjectState {
     newLocalObjectState.streamIn = this.streamIn;
     newLocalObjectState.streamOut = this.streamOut;
     newLocalObjectState.forceStreamIn = this.forceStreamIn;
+    newLocalObjectState.writtenOnDevice = this.writtenOnDevice;
     newLocalObjectState.dataObjectState = dataObjectState.clone();
     return newLocalObjectState;
   }
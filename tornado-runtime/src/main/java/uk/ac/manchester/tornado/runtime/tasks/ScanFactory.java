@@ -0,0 +1,460 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Scan;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task4;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Multi-level prefix scan used for task parameters annotated with {@link Scan}. The array is split
+ * into about sqrt(n) blocks: each block is scanned in parallel, the block totals are scanned with
+ * log2 parallel steps, and every element outside the first block is then combined with the total of
+ * the blocks before it.
+ *
+ * <p>Kernels are not overloaded by element type: backends cache compiled code by task and method
+ * name, so two graphs with the same task names but different array types would share a kernel.
+ */
+class ScanFactory {
+
+  private static final String ERROR_MESSAGE = "[ERROR] Scan data type not supported yet: ";
+
+  private static final int SUM = 0;
+  private static final int MIN = 1;
+  private static final int MAX = 2;
+
+  private static int intIdentity(final int operation) {
+    if (operation == MIN) {
+      return Integer.MAX_VALUE;
+    } else if (operation == MAX) {
+      return Integer.MIN_VALUE;
+    }
+    return 0;
+  }
+
+  private static int combine(final int operation, int a, int b) {
+    if (operation == MIN) {
+      return Math.min(a, b);
+    } else if (operation == MAX) {
+      return Math.max(a, b);
+    }
+    return a + b;
+  }
+
+  private static void scanIntBlocks(
+      IntArray array,
+      IntArray blockSums,
+      final int blockSize,
+      final int operation,
+      final int exclusive) {
+    for (@Parallel int block = 0; block < blockSums.getSize(); block++) {
+      int start = block * blockSize;
+      int end = Math.min(start + blockSize, array.getSize());
+      int acc = intIdentity(operation);
+      for (int i = start; i < end; i++) {
+        int next = combine(operation, acc, array.get(i));
+        array.set(i, exclusive == 1 ? acc : next);
+        acc = next;
+      }
+      blockSums.set(block, acc);
+    }
+  }
+
+  private static void scanIntBlockSumsStep(
+      IntArray input, IntArray output, final int stride, final int operation) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(
+          i, i < stride ? input.get(i) : combine(operation, input.get(i - stride), input.get(i)));
+    }
+  }
+
+  private static void addIntBlockOffsets(
+      IntArray array, IntArray blockSums, final int blockSize, final int operation) {
+    for (@Parallel int i = blockSize; i < array.getSize(); i++) {
+      array.set(i, combine(operation, blockSums.get(i / blockSize - 1), array.get(i)));
+    }
+  }
+
+  private static long longIdentity(final int operation) {
+    if (operation == MIN) {
+      return Long.MAX_VALUE;
+    } else if (operation == MAX) {
+      return Long.MIN_VALUE;
+    }
+    return 0;
+  }
+
+  private static long combine(final int operation, long a, long b) {
+    if (operation == MIN) {
+      return Math.min(a, b);
+    } else if (operation == MAX) {
+      return Math.max(a, b);
+    }
+    return a + b;
+  }
+
+  private static void scanLongBlocks(
+      LongArray array,
+      LongArray blockSums,
+      final int blockSize,
+      final int operation,
+      final int exclusive) {
+    for (@Parallel int block = 0; block < blockSums.getSize(); block++) {
+      int start = block * blockSize;
+      int end = Math.min(start + blockSize, array.getSize());
+      long acc = longIdentity(operation);
+      for (int i = start; i < end; i++) {
+        long next = combine(operation, acc, array.get(i));
+        array.set(i, exclusive == 1 ? acc : next);
+        acc = next;
+      }
+      blockSums.set(block, acc);
+    }
+  }
+
+  private static void scanLongBlockSumsStep(
+      LongArray input, LongArray output, final int stride, final int operation) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(
+          i, i < stride ? input.get(i) : combine(operation, input.get(i - stride), input.get(i)));
+    }
+  }
+
+  private static void addLongBlockOffsets(
+      LongArray array, LongArray blockSums, final int blockSize, final int operation) {
+    for (@Parallel int i = blockSize; i < array.getSize(); i++) {
+      array.set(i, combine(operation, blockSums.get(i / blockSize - 1), array.get(i)));
+    }
+  }
+
+  private static float floatIdentity(final int operation) {
+    if (operation == MIN) {
+      return Float.MAX_VALUE;
+    } else if (operation == MAX) {
+      return -Float.MAX_VALUE;
+    }
+    return 0;
+  }
+
+  private static float combine(final int operation, float a, float b) {
+    if (operation == MIN) {
+      return Math.min(a, b);
+    } else if (operation == MAX) {
+      return Math.max(a, b);
+    }
+    return a + b;
+  }
+
+  private static void scanFloatBlocks(
+      FloatArray array,
+      FloatArray blockSums,
+      final int blockSize,
+      final int operation,
+      final int exclusive) {
+    for (@Parallel int block = 0; block < blockSums.getSize(); block++) {
+      int start = block * blockSize;
+      int end = Math.min(start + blockSize, array.getSize());
+      float acc = floatIdentity(operation);
+      for (int i = start; i < end; i++) {
+        float next = combine(operation, acc, array.get(i));
+        array.set(i, exclusive == 1 ? acc : next);
+        acc = next;
+      }
+      blockSums.set(block, acc);
+    }
+  }
+
+  private static void scanFloatBlockSumsStep(
+      FloatArray input, FloatArray output, final int stride, final int operation) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(
+          i, i < stride ? input.get(i) : combine(operation, input.get(i - stride), input.get(i)));
+    }
+  }
+
+  private static void addFloatBlockOffsets(
+      FloatArray array, FloatArray blockSums, final int blockSize, final int operation) {
+    for (@Parallel int i = blockSize; i < array.getSize(); i++) {
+      array.set(i, combine(operation, blockSums.get(i / blockSize - 1), array.get(i)));
+    }
+  }
+
+  private static double doubleIdentity(final int operation) {
+    if (operation == MIN) {
+      return Double.MAX_VALUE;
+    } else if (operation == MAX) {
+      return -Double.MAX_VALUE;
+    }
+    return 0;
+  }
+
+  private static double combine(final int operation, double a, double b) {
+    if (operation == MIN) {
+      return Math.min(a, b);
+    } else if (operation == MAX) {
+      return Math.max(a, b);
+    }
+    return a + b;
+  }
+
+  private static void scanDoubleBlocks(
+      DoubleArray array,
+      DoubleArray blockSums,
+      final int blockSize,
+      final int operation,
+      final int exclusive) {
+    for (@Parallel int block = 0; block < blockSums.getSize(); block++) {
+      int start = block * blockSize;
+      int end = Math.min(start + blockSize, array.getSize());
+      double acc = doubleIdentity(operation);
+      for (int i = start; i < end; i++) {
+        double next = combine(operation, acc, array.get(i));
+        array.set(i, exclusive == 1 ? acc : next);
+        acc = next;
+      }
+      blockSums.set(block, acc);
+    }
+  }
+
+  private static void scanDoubleBlockSumsStep(
+      DoubleArray input, DoubleArray output, final int stride, final int operation) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(
+          i, i < stride ? input.get(i) : combine(operation, input.get(i - stride), input.get(i)));
+    }
+  }
+
+  private static void addDoubleBlockOffsets(
+      DoubleArray array, DoubleArray blockSums, final int blockSize, final int operation) {
+    for (@Parallel int i = blockSize; i < array.getSize(); i++) {
+      array.set(i, combine(operation, blockSums.get(i / blockSize - 1), array.get(i)));
+    }
+  }
+
+  private static int operationCode(Scan.Operation operation) {
+    return switch (operation) {
+      case SUM -> SUM;
+      case MIN -> MIN;
+      case MAX -> MAX;
+    };
+  }
+
+  /**
+   * Scans the block totals in ceil(log2(numBlocks)) parallel steps (Hillis-Steele). Each step
+   * combines every total with the one {@code stride} positions before it, and the steps alternate
+   * between the two buffers.
+   *
+   * @return the buffer that holds the scanned totals after the last step.
+   */
+  private static <T> T addBlockSumsSteps(
+      TornadoTaskGraph graph,
+      String sumsName,
+      Task4<T, T, Integer, Integer> step,
+      T blockSums,
+      T buffer,
+      int numBlocks,
+      int operation) {
+    T input = blockSums;
+    T output = buffer;
+    for (int stride = 1, k = 0; stride < numBlocks; stride *= 2, k++) {
+      graph.addTask(
+          TaskPackage.createPackage(sumsName + k, step, input, output, stride, operation));
+      T scanned = output;
+      output = input;
+      input = scanned;
+    }
+    return input;
+  }
+
+  private static int blockSize(int size) {
+    return Math.max(1, (int) Math.ceil(Math.sqrt(size)));
+  }
+
+  /**
+   * Appends the scan passes over {@code array} after task {@code taskName}.
+   *
+   * @param graph task-graph in which the scan tasks are registered.
+   * @param array native array written by the task and annotated with {@link Scan}.
+   * @param scan annotation with the operator and whether the scan is inclusive.
+   * @param taskName name of the task that produces the array.
+   */
+  static void handleScan(TornadoTaskGraph graph, Object array, Scan scan, String taskName) {
+    final int operation = operationCode(scan.operation());
+    final int exclusive = scan.inclusive() ? 0 : 1;
+    final String blocksName = taskName + "_scanBlocks";
+    final String sumsName = taskName + "_scanBlockSums";
+    final String offsetsName = taskName + "_scanOffsets";
+
+    switch (array.getClass().getTypeName()) {
+      case "uk.ac.manchester.tornado.api.types.arrays.IntArray" -> {
+        IntArray intArray = (IntArray) array;
+        int blockSize = blockSize(intArray.getSize());
+        int numBlocks = numBlocks(intArray.getSize(), blockSize);
+        IntArray blockSums = new IntArray(numBlocks);
+        IntArray buffer = new IntArray(numBlocks);
+        graph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, buffer);
+        graph.addTask(
+            TaskPackage.createPackage(
+                blocksName,
+                ScanFactory::scanIntBlocks,
+                intArray,
+                blockSums,
+                blockSize,
+                operation,
+                exclusive));
+        IntArray scannedSums =
+            addBlockSumsSteps(
+                graph,
+                sumsName,
+                ScanFactory::scanIntBlockSumsStep,
+                blockSums,
+                buffer,
+                numBlocks,
+                operation);
+        graph.addTask(
+            TaskPackage.createPackage(
+                offsetsName,
+                ScanFactory::addIntBlockOffsets,
+                intArray,
+                scannedSums,
+                blockSize,
+                operation));
+      }
+      case "uk.ac.manchester.tornado.api.types.arrays.LongArray" -> {
+        LongArray longArray = (LongArray) array;
+        int blockSize = blockSize(longArray.getSize());
+        int numBlocks = numBlocks(longArray.getSize(), blockSize);
+        LongArray blockSums = new LongArray(numBlocks);
+        LongArray buffer = new LongArray(numBlocks);
+        graph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, buffer);
+        graph.addTask(
+            TaskPackage.createPackage(
+                blocksName,
+                ScanFactory::scanLongBlocks,
+                longArray,
+                blockSums,
+                blockSize,
+                operation,
+                exclusive));
+        LongArray scannedSums =
+            addBlockSumsSteps(
+                graph,
+                sumsName,
+                ScanFactory::scanLongBlockSumsStep,
+                blockSums,
+                buffer,
+                numBlocks,
+                operation);
+        graph.addTask(
+            TaskPackage.createPackage(
+                offsetsName,
+                ScanFactory::addLongBlockOffsets,
+                longArray,
+                scannedSums,
+                blockSize,
+                operation));
+      }
+      case "uk.ac.manchester.tornado.api.types.arrays.FloatArray" -> {
+        FloatArray floatArray = (FloatArray) array;
+        int blockSize = blockSize(floatArray.getSize());
+        int numBlocks = numBlocks(floatArray.getSize(), blockSize);
+        FloatArray blockSums = new FloatArray(numBlocks);
+        FloatArray buffer = new FloatArray(numBlocks);
+        graph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, buffer);
+        graph.addTask(
+            TaskPackage.createPackage(
+                blocksName,
+                ScanFactory::scanFloatBlocks,
+                floatArray,
+                blockSums,
+                blockSize,
+                operation,
+                exclusive));
+        FloatArray scannedSums =
+            addBlockSumsSteps(
+                graph,
+                sumsName,
+                ScanFactory::scanFloatBlockSumsStep,
+                blockSums,
+                buffer,
+                numBlocks,
+                operation);
+        graph.addTask(
+            TaskPackage.createPackage(
+                offsetsName,
+                ScanFactory::addFloatBlockOffsets,
+                floatArray,
+                scannedSums,
+                blockSize,
+                operation));
+      }
+      case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray" -> {
+        DoubleArray doubleArray = (DoubleArray) array;
+        int blockSize = blockSize(doubleArray.getSize());
+        int numBlocks = numBlocks(doubleArray.getSize(), blockSize);
+        DoubleArray blockSums = new DoubleArray(numBlocks);
+        DoubleArray buffer = new DoubleArray(numBlocks);
+        graph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, buffer);
+        graph.addTask(
+            TaskPackage.createPackage(
+                blocksName,
+                ScanFactory::scanDoubleBlocks,
+                doubleArray,
+                blockSums,
+                blockSize,
+                operation,
+                exclusive));
+        DoubleArray scannedSums =
+            addBlockSumsSteps(
+                graph,
+                sumsName,
+                ScanFactory::scanDoubleBlockSumsStep,
+                blockSums,
+                buffer,
+                numBlocks,
+                operation);
+        graph.addTask(
+            TaskPackage.createPackage(
+                offsetsName,
+                ScanFactory::addDoubleBlockOffsets,
+                doubleArray,
+                scannedSums,
+                blockSize,
+                operation));
+      }
+      default -> throw new TornadoRuntimeException(ERROR_MESSAGE + array.getClass().getTypeName());
+    }
+  }
+
+  private static int numBlocks(int size, int blockSize) {
+    return Math.max(1, (size + blockSize - 1) / blockSize);
+  }
+}
@@ -29,6 +29,7 @@ import static uk.ac.manchester.tornado.api.profiler.ProfilerType.TOTAL_COPY_OUT_
 import static uk.ac.manchester.tornado.api.profiler.ProfilerType.TOTAL_KERNEL_TIME;
 
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
@@ -36,6 +37,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,9 +47,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
@@ -63,6 +67,7 @@ import uk.ac.manchester.tornado.api.TornadoBackend;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoRuntime;
 import uk.ac.manchester.tornado.api.TornadoTaskGraphInterface;
+import uk.ac.manchester.tornado.api.annotations.Scan;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -107,6 +112,7 @@ import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
 import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
+import uk.ac.manchester.tornado.runtime.common.EventCompletionMonitor;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -161,6 +167,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
   private ByteBuffer hlBuffer;
   private TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder;
   private long batchSizeBytes = -1;
+  private List<TornadoXPUDevice> batchDevices = new ArrayList<>();
   private long memoryLimitSizeBytes = -1;
 
   private TornadoVM vm; // One TornadoVM instance per TornadoExecutionPlan
@@ -202,9 +209,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
   private ProfilerMode profilerMode;
 
   private boolean isConcurrentDevicesEnabled;
+  // Set while executeAsync runs the task-graph, so the copy-outs do not block
+  private boolean isNonBlockingExecution;
   private long executionPlanId;
   private boolean bailout;
 
+  // Activity of the sketcher cache for the tasks added since the last execution
+  private long pendingSketchHits;
+  private long pendingSketchMisses;
+  private long pendingSketchEvictions;
+
   /**
    * Task Schedule implementation that uses GPU/FPGA and multicore backends. This constructor must
    * be public. It is invoked using the reflection API.
@@ -664,6 +678,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     // The graph object is used when rewriting task-graphs (e.g., reductions)
     newTaskGraph.compilationGraph = this.compilationGraph;
 
+    newTaskGraph.pendingSketchHits = this.pendingSketchHits;
+    newTaskGraph.pendingSketchMisses = this.pendingSketchMisses;
+    newTaskGraph.pendingSketchEvictions = this.pendingSketchEvictions;
+
     return newTaskGraph;
   }
 
@@ -719,6 +737,26 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     meta().disablePrintKernel();
   }
 
+  @Override
+  public void withGraphCapture() {
+    executionContext.setGraphCapture(true);
+  }
+
+  @Override
+  public void withoutGraphCapture() {
+    executionContext.setGraphCapture(false);
+  }
+
+  @Override
+  public void withUnifiedMemory() {
+    executionContext.setUnifiedMemory(true);
+  }
+
+  @Override
+  public void withoutUnifiedMemory() {
+    executionContext.setUnifiedMemory(false);
+  }
+
   @Override
   public void withGridScheduler(GridScheduler gridScheduler) {
     this.gridScheduler = gridScheduler;
@@ -730,6 +768,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     return executionContext.getCurrentDeviceMemoryUsage();
   }
 
+  @Override
+  public long getGraphReplayCount() {
+    return executionContext.getGraphReplays();
+  }
+
   @Override
   public void withCompilerFlags(TornadoVMBackendType backendType, String compilerFlags) {
     executionContext.meta().setCompilerFlags(backendType, compilerFlags);
@@ -746,6 +789,36 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     return getProfilerValue(ALLOCATION_BYTES);
   }
 
+  @Override
+  public long getBufferPoolHits() {
+    return getProfilerValue(ProfilerType.BUFFER_POOL_HITS);
+  }
+
+  @Override
+  public long getBufferPoolMisses() {
+    return getProfilerValue(ProfilerType.BUFFER_POOL_MISSES);
+  }
+
+  @Override
+  public long getSketcherCacheHits() {
+    return getProfilerValue(ProfilerType.SKETCHER_CACHE_HITS);
+  }
+
+  @Override
+  public long getSketcherCacheMisses() {
+    return getProfilerValue(ProfilerType.SKETCHER_CACHE_MISSES);
+  }
+
+  @Override
+  public long getSketcherCacheEvictions() {
+    return getProfilerValue(ProfilerType.SKETCHER_CACHE_EVICTIONS);
+  }
+
+  @Override
+  public long getLaunchAllocatedBytes() {
+    return (vm != null) ? vm.getLaunchAllocatedBytes() : 0;
+  }
+
   @Override
   public SchedulableTask getTask(String id) {
     return executionContext.getTask(id);
@@ -851,6 +924,59 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
   }
 
+  @Override
+  public void setScalarArgument(String taskName, int parameterIndex, Object value) {
+    for (SchedulableTask task : executionContext.getTasks()) {
+      if (!task.getId().equals(taskName) || !(task instanceof CompilableTask)) {
+        continue;
+      }
+      final Object[] arguments = task.getArguments();
+      if (parameterIndex < 0 || parameterIndex >= arguments.length) {
+        throw new TornadoRuntimeException(
+            "[ERROR] Task " + taskName + " does not have a parameter with index " + parameterIndex);
+      }
+      final Object current = arguments[parameterIndex];
+      if (!RuntimeUtilities.isBoxedPrimitive(current)
+          || value == null
+          || value.getClass() != current.getClass()) {
+        throw new TornadoRuntimeException(
+            "[ERROR] Parameter "
+                + parameterIndex
+                + " of task "
+                + taskName
+                + " is not a scalar of type "
+                + (value == null ? "null" : value.getClass().getSimpleName()));
+      }
+      arguments[parameterIndex] = value;
+      // Recorded launches pass the previous value
+      vmTable.values().forEach(TornadoVM::invalidateGraphCapture);
+    }
+  }
+
+  @Override
+  public void setSpecialisedArguments(String taskName, int[] parameterIndexes) {
+    for (SchedulableTask task : executionContext.getTasks()) {
+      if (!task.getId().equals(taskName) || !(task instanceof CompilableTask compilableTask)) {
+        continue;
+      }
+      final Object[] arguments = task.getArguments();
+      final BitSet specialised = new BitSet(arguments.length);
+      for (int parameterIndex : parameterIndexes) {
+        if (parameterIndex < 0
+            || parameterIndex >= arguments.length
+            || !RuntimeUtilities.isBoxedPrimitive(arguments[parameterIndex])) {
+          throw new TornadoRuntimeException(
+              "[ERROR] Parameter " + parameterIndex + " of task " + taskName + " is not a scalar");
+        }
+        specialised.set(parameterIndex);
+      }
+      compilableTask.meta().setSpecialisedArguments(specialised);
+      // The kernels compiled so far fold a different set of arguments
+      task.forceCompilation();
+      vmTable.values().forEach(TornadoVM::clearInstalledCode);
+    }
+  }
+
   @Override
   public TornadoXPUDevice getDeviceForTask(String id) {
     return executionContext.getDeviceForTask(id);
@@ -869,22 +995,41 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
       final ResolvedJavaMethod resolvedMethod =
           TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
       final TaskDataContext taskMetaData = compilableTask.meta();
-      new SketchRequest(
-              resolvedMethod,
-              providers,
-              suites.getGraphBuilderSuite(),
-              suites.getSketchTier(),
-              taskMetaData.getBackendIndex(),
-              taskMetaData.getDeviceIndex())
-          .run();
-
-      Sketch sketchGraph =
-          TornadoSketcher.lookup(
-              resolvedMethod, taskMetaData.getBackendIndex(), taskMetaData.getDeviceIndex());
+      Sketch sketchGraph = requestSketch(resolvedMethod, providers, suites, taskMetaData);
       this.compilationGraph = sketchGraph.getGraph();
     }
   }
 
+  /**
+   * Requests the sketch of a task method. Sketches are requested when tasks are added or moved to
+   * another device, before the task-graph is executed, so the activity of the sketcher cache is
+   * kept until the next execution reports it.
+   */
+  private Sketch requestSketch(
+      ResolvedJavaMethod resolvedMethod,
+      Providers providers,
+      TornadoSuitesProvider suites,
+      TaskDataContext taskMetaData) {
+    final long hits = TornadoSketcher.getCacheHits();
+    final long misses = TornadoSketcher.getCacheMisses();
+    final long evictions = TornadoSketcher.getCacheEvictions();
+    new SketchRequest(
+            resolvedMethod,
+            providers,
+            suites.getGraphBuilderSuite(),
+            suites.getSketchTier(),
+            taskMetaData.getBackendIndex(),
+            taskMetaData.getDeviceIndex())
+        .run();
+    Sketch sketch =
+        TornadoSketcher.lookup(
+            resolvedMethod, taskMetaData.getBackendIndex(), taskMetaData.getDeviceIndex());
+    pendingSketchHits += TornadoSketcher.getCacheHits() - hits;
+    pendingSketchMisses += TornadoSketcher.getCacheMisses() - misses;
+    pendingSketchEvictions += TornadoSketcher.getCacheEvictions() - evictions;
+    return sketch;
+  }
+
   @Override
   public void addInner(SchedulableTask task) {
     int driverIndex = task.meta().getBackendIndex();
@@ -901,20 +1046,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
       final ResolvedJavaMethod resolvedMethod =
           TornadoCoreRuntime.getTornadoRuntime().resolveMethod(compilableTask.getMethod());
       final TaskDataContext taskMetaData = compilableTask.meta();
-      new SketchRequest(
-              resolvedMethod,
-              providers,
-              suites.getGraphBuilderSuite(),
-              suites.getSketchTier(),
-              taskMetaData.getBackendIndex(),
-              taskMetaData.getDeviceIndex())
-          .run();
-
-      Sketch lookup =
-          TornadoSketcher.lookup(
-              resolvedMethod,
-              compilableTask.meta().getBackendIndex(),
-              compilableTask.meta().getDeviceIndex());
+      Sketch lookup = requestSketch(resolvedMethod, providers, suites, taskMetaData);
       this.compilationGraph = lookup.getGraph();
     }
 
@@ -1050,6 +1182,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     if (compileInfo.compile) {
       timeProfiler.start(ProfilerType.TOTAL_BYTE_CODE_GENERATION);
       executionContext.scheduleTaskToDevices();
+      // Devices that only process batches of the task-graph
+      batchDevices.forEach(executionContext::setDevice);
       TornadoVM tornadoVM = compileGraphAndBuildVM(compileInfo.updateDevice);
       vmTable.put(meta().getXPUDevice(), tornadoVM);
       timeProfiler.stop(ProfilerType.TOTAL_BYTE_CODE_GENERATION);
@@ -1147,6 +1281,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
   @Override
   public void scheduleInner() {
+    final long sketchHits = TornadoSketcher.getCacheHits();
+    final long sketchMisses = TornadoSketcher.getCacheMisses();
+    final long sketchEvictions = TornadoSketcher.getCacheEvictions();
     boolean compile = compileComputeGraphToTornadoVMBytecode();
     TornadoXPUDevice deviceForTask = executionContext.getDeviceForTask(0);
     if (compile && deviceForTask.getDeviceContext().isPlatformFPGA()) {
@@ -1154,8 +1291,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     try {
-      event = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
+      event = vm.execute(isConcurrentDevicesEnabled, timeProfiler, isNonBlockingExecution);
       timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
+      updateSketcherCacheMetrics(sketchHits, sketchMisses, sketchEvictions);
       updateProfiler();
     } catch (TornadoBailoutRuntimeException e) {
       if (TornadoOptions.RECOVER_BAILOUT) {
@@ -1328,6 +1466,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
   }
 
+  @Override
+  public void withEagerCompilation() {
+    setupProfiler();
+    getDevice().getDeviceContext().setResetToFalse();
+    timeProfiler.clean();
+
+    compileComputeGraphToTornadoVMBytecode();
+    vm.compileAsync();
+  }
+
   private void reuseDeviceBufferObject(Object object) {
     final LocalObjectState localState = executionContext.getLocalStateObject(object);
     // Since we do not know upfront the device to use, we need to set the lock buffer
@@ -1356,6 +1504,13 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
   @Override
   public void freeDeviceMemory() {
     free();
+    // The profiler options are global. A task-graph that enabled the profiler must not leave it
+    // enabled for the task-graphs executed after it is released. The next execution of this
+    // task-graph enables it again.
+    if (profilerMode != null) {
+      TornadoOptions.TORNADO_PROFILER = false;
+      TornadoOptions.TORNADO_PROFILER_LOG = false;
+    }
   }
 
   private void free() {
@@ -1379,9 +1534,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     final DataObjectState dataObjectState = localState.getDataObjectState();
     final XPUDeviceBufferState deviceBufferState = dataObjectState.getDeviceBufferState(device);
     deviceBufferState.setLockBuffer(false);
-    if (deviceBufferState.hasObjectBuffer()) {
-      device.deallocate(deviceBufferState);
-    }
+    // Pipelined batches keep one device buffer per slot
+    deviceBufferState.forEachPipelineSlot(device::deallocate);
   }
 
   private void syncField(Object object) {
@@ -1425,7 +1579,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     final DataObjectState dataObjectState = localState.getDataObjectState();
     final TornadoXPUDevice device = meta().getXPUDevice();
     final XPUDeviceBufferState deviceBufferState = dataObjectState.getDeviceBufferState(device);
-    if (deviceBufferState.isLockedBuffer()) {
+    if (deviceBufferState.isLockedBuffer() && deviceBufferState.hasObjectBuffer()) {
       deviceBufferState.getXPUBuffer().setSizeSubRegion(bufferSize);
       return device.resolveEvent(
           executionPlanId,
@@ -1600,6 +1754,15 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     return abstractTaskGraph;
   }
 
+  /**
+   * Tasks mapped to the JVM backend run the original Java code of the reductions on the host, so
+   * the reduce skeleton is only required if any task runs on a different backend.
+   */
+  private boolean isReduceSkeletonRequired() {
+    return executionContext.getTasks().stream()
+        .anyMatch(task -> task.getDevice().getTornadoVMBackend() != TornadoVMBackendType.JVM);
+  }
+
   private void cleanUp() {
     updateData = false;
     isFinished = true;
@@ -1674,6 +1837,28 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
   }
 
+  /**
+   * Records the activity of the sketcher cache since the given counters were read. The cache is
+   * shared by all task-graphs, so concurrent compilations of other task-graphs are included.
+   */
+  private void updateSketcherCacheMetrics(long hits, long misses, long evictions) {
+    timeProfiler.addValueToMetric(
+        ProfilerType.SKETCHER_CACHE_HITS,
+        TimeProfiler.NO_TASK_NAME,
+        TornadoSketcher.getCacheHits() - hits + pendingSketchHits);
+    timeProfiler.addValueToMetric(
+        ProfilerType.SKETCHER_CACHE_MISSES,
+        TimeProfiler.NO_TASK_NAME,
+        TornadoSketcher.getCacheMisses() - misses + pendingSketchMisses);
+    timeProfiler.addValueToMetric(
+        ProfilerType.SKETCHER_CACHE_EVICTIONS,
+        TimeProfiler.NO_TASK_NAME,
+        TornadoSketcher.getCacheEvictions() - evictions + pendingSketchEvictions);
+    pendingSketchHits = 0;
+    pendingSketchMisses = 0;
+    pendingSketchEvictions = 0;
+  }
+
   private void setupProfiler() {
     if (isProfilerEnabled()) {
       this.timeProfiler = new TimeProfiler();
@@ -1712,7 +1897,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     executionContext.setExecutionPlanId(executionPlanId);
 
     TornadoTaskGraphInterface reduceTaskGraph = null;
-    if (TornadoOptions.EXPERIMENTAL_REDUCE && !(getId().startsWith(TASK_GRAPH_PREFIX))) {
+    if (TornadoOptions.EXPERIMENTAL_REDUCE
+        && !(getId().startsWith(TASK_GRAPH_PREFIX))
+        && isReduceSkeletonRequired()) {
       reduceTaskGraph = analyzeSkeletonAndRun();
     }
 
@@ -1754,6 +1941,52 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
   }
 
+  /**
+   * The devices run the commands of the execution while the future is pending. Kernels of the JVM
+   * backend run in the thread that launches them, so task-graphs that only use the JVM backend are
+   * executed in a virtual thread.
+   */
+  @Override
+  public CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage) {
+    if (isExecutedOnHost()) {
+      return CompletableFuture.supplyAsync(
+              () -> executeNonBlocking(executionPackage),
+              runnable -> Thread.ofVirtual().name("tornado-async-" + taskGraphName).start(runnable))
+          .thenCompose(Function.identity());
+    }
+    return executeNonBlocking(executionPackage);
+  }
+
+  private boolean isExecutedOnHost() {
+    return executionContext.getTasks().stream()
+        .allMatch(task -> task.getDevice().getTornadoVMBackend() == TornadoVMBackendType.JVM);
+  }
+
+  private CompletableFuture<Void> executeNonBlocking(ExecutorFrame executionPackage) {
+    final TornadoTaskGraphInterface taskGraph;
+    isNonBlockingExecution = true;
+    try {
+      taskGraph = execute(executionPackage);
+    } finally {
+      isNonBlockingExecution = false;
+    }
+    if (taskGraph != this) {
+      // Task-graphs rewritten for reductions are synchronised with the host
+      taskGraph.waitOn();
+      return CompletableFuture.completedFuture(null);
+    }
+    // A marker on each device is resolved once all the commands of this execution complete
+    List<Event> markers = new ArrayList<>();
+    for (TornadoXPUDevice device : executionContext.getDevices()) {
+      if (device != null) {
+        int marker = device.enqueueMarker(executionPlanId);
+        device.flush(executionPlanId);
+        markers.add(device.resolveEvent(executionPlanId, marker));
+      }
+    }
+    return EventCompletionMonitor.whenComplete(markers);
+  }
+
   private boolean isTaskNamePresent(String taskName) {
     for (TaskPackage taskPackage : taskPackages) {
       if (taskName.equals(taskGraphName + "." + taskPackage.getId())) {
@@ -3095,6 +3328,26 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
       }
       throw e; // Rethrow the same exception
     }
+    addScanTasks(method, id, parameters);
+  }
+
+  /**
+   * Appends the prefix-scan passes for every parameter of the task annotated with {@link Scan}.
+   * Task-graphs generated by the runtime (e.g., reductions and dynamic reconfiguration) re-add
+   * packages that already contain the scan tasks, so they are skipped.
+   */
+  private void addScanTasks(Method method, String id, Object[] parameters) {
+    if (taskGraphName.startsWith(TASK_GRAPH_PREFIX)) {
+      return;
+    }
+    Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+    for (int i = 0; i < parameterAnnotations.length; i++) {
+      for (Annotation annotation : parameterAnnotations[i]) {
+        if (annotation instanceof Scan scan) {
+          ScanFactory.handleScan(this, parameters[i + 1], scan, id);
+        }
+      }
+    }
   }
 
   @Override
@@ -3108,6 +3361,19 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
   public void withBatch(String batchSize) {
     this.batchSizeBytes = parseSizeToBytes(batchSize);
     executionContext.setBatchSize(this.batchSizeBytes);
+    batchDevices.clear();
+  }
+
+  @Override
+  public void withBatch(String batchSize, TornadoDevice... devices) {
+    withBatch(batchSize);
+    for (TornadoDevice device : devices) {
+      if (device instanceof TornadoXPUDevice tornadoXPUDevice) {
+        batchDevices.add(tornadoXPUDevice);
+      } else {
+        throw new TornadoRuntimeException("Device " + device.getClass() + " not supported yet");
+      }
+    }
   }
 
   @Override
@@ -3213,6 +3479,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
           reduceTaskGraph.getExecutionResult().getProfilerResult().getTotalBytesCopyOut();
       case ALLOCATION_BYTES ->
           reduceTaskGraph.getExecutionResult().getProfilerResult().getTotalDeviceMemoryUsage();
+      case BUFFER_POOL_HITS ->
+          reduceTaskGraph.getExecutionResult().getProfilerResult().getBufferPoolHits();
+      case BUFFER_POOL_MISSES ->
+          reduceTaskGraph.getExecutionResult().getProfilerResult().getBufferPoolMisses();
+      case SKETCHER_CACHE_HITS ->
+          reduceTaskGraph.getExecutionResult().getProfilerResult().getSketcherCacheHits();
+      case SKETCHER_CACHE_MISSES ->
+          reduceTaskGraph.getExecutionResult().getProfilerResult().getSketcherCacheMisses();
+      case SKETCHER_CACHE_EVICTIONS ->
+          reduceTaskGraph.getExecutionResult().getProfilerResult().getSketcherCacheEvictions();
       default -> 0L;
     };
   }
@@ -3234,6 +3510,11 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
       case TOTAL_COPY_OUT_SIZE_BYTES ->
           timeProfiler.getSize(ProfilerType.TOTAL_COPY_OUT_SIZE_BYTES);
       case ALLOCATION_BYTES -> timeProfiler.getSize(ProfilerType.ALLOCATION_BYTES);
+      case BUFFER_POOL_HITS -> timeProfiler.getSize(ProfilerType.BUFFER_POOL_HITS);
+      case BUFFER_POOL_MISSES -> timeProfiler.getSize(ProfilerType.BUFFER_POOL_MISSES);
+      case SKETCHER_CACHE_HITS -> timeProfiler.getSize(ProfilerType.SKETCHER_CACHE_HITS);
+      case SKETCHER_CACHE_MISSES -> timeProfiler.getSize(ProfilerType.SKETCHER_CACHE_MISSES);
+      case SKETCHER_CACHE_EVICTIONS -> timeProfiler.getSize(ProfilerType.SKETCHER_CACHE_EVICTIONS);
       default -> 0L;
     };
   }
@@ -56,6 +56,9 @@ public class TaskDataContext extends AbstractRTContext {
   private long[] localWork;
   private boolean localWorkDefined;
   private boolean globalWorkDefined;
+  private BitSet specialisedArguments;
+  private BitSet runtimeScalarArguments;
+  private BitSet foldedScalarArguments;
 
   public TaskDataContext(ScheduleContext scheduleMetaData, String taskID, int numParameters) {
     super(scheduleMetaData.getId() + "." + taskID, scheduleMetaData);
@@ -151,6 +154,58 @@ public class TaskDataContext extends AbstractRTContext {
     return argumentsAccess;
   }
 
+  /**
+   * Selects the scalar arguments that are compiled as constants of the kernels of the task.
+   *
+   * @param arguments Indexes of the arguments, or {@code null} to use the default of {@code
+   *     tornado.specialisation}.
+   */
+  public void setSpecialisedArguments(BitSet arguments) {
+    this.specialisedArguments = arguments;
+  }
+
+  public BitSet getSpecialisedArguments() {
+    return specialisedArguments;
+  }
+
+  /**
+   * Sets the scalar arguments that the next compilation of the task should pass as kernel
+   * parameters. The compiler still folds the ones that must be constants, e.g., the bounds of
+   * parallel loops, and reports them with {@link #markScalarArgumentFolded(int)}.
+   */
+  public void setRuntimeScalarArguments(BitSet arguments) {
+    this.runtimeScalarArguments = arguments;
+    this.foldedScalarArguments = null;
+  }
+
+  public boolean isRuntimeScalarArgument(int index) {
+    return runtimeScalarArguments != null && runtimeScalarArguments.get(index);
+  }
+
+  public BitSet getRuntimeScalarArguments() {
+    return runtimeScalarArguments;
+  }
+
+  public void markScalarArgumentFolded(int index) {
+    if (foldedScalarArguments == null) {
+      foldedScalarArguments = new BitSet();
+    }
+    foldedScalarArguments.set(index);
+  }
+
+  /** Marks that the last compilation of the task did not fold any scalar argument. */
+  public void markNoScalarArgumentFolded() {
+    foldedScalarArguments = new BitSet();
+  }
+
+  /**
+   * @return The scalar arguments folded by the last compilation of the task, or {@code null} if it
+   *     is unknown, e.g., the kernel was loaded from a cache.
+   */
+  public BitSet getFoldedScalarArguments() {
+    return foldedScalarArguments;
+  }
+
   public byte[] getConstantData() {
     return constantData;
   }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.foreign.Arena;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.memory.TornadoArena;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to test?
+ *
+ * <p><code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.arrays.TestArenaArrays
+ * </code>
+ */
+public class TestArenaArrays extends TornadoTestBase {
+
+  private static final int SIZE = 1024;
+
+  public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+    for (@Parallel int i = 0; i < c.getSize(); i++) {
+      c.set(i, a.get(i) + b.get(i));
+    }
+  }
+
+  @Test
+  public void testSharedArena() throws TornadoExecutionPlanException {
+    try (Arena arena = Arena.ofShared()) {
+      FloatArray a = new FloatArray(SIZE, arena);
+      FloatArray b = new FloatArray(SIZE, arena);
+      FloatArray c = new FloatArray(SIZE, arena);
+      a.init(1.0f);
+      b.init(2.0f);
+
+      TaskGraph taskGraph =
+          new TaskGraph("s0") //
+              .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+              .task("t0", TestArenaArrays::vectorAdd, a, b, c) //
+              .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+      ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+      try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+        executionPlan.execute();
+      }
+
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(3.0f, c.get(i), 0.001f);
+      }
+      assertEquals(arena.scope(), a.getSegment().scope());
+    }
+  }
+
+  @Test
+  public void testTornadoArenaReuse() {
+    try (TornadoArena arena = new TornadoArena()) {
+      IntArray a = new IntArray(SIZE, arena);
+      a.init(10);
+      final long address = a.getSegmentWithHeader().address();
+      a.close();
+      assertTrue(arena.getPooledBytes() >= a.getNumBytesOfSegmentWithHeader());
+
+      // An array of the same size class reuses the segment, initialized to zero
+      try (IntArray b = new IntArray(SIZE - 1, arena)) {
+        assertEquals(address, b.getSegmentWithHeader().address());
+        assertEquals(0, arena.getPooledBytes());
+        assertEquals(SIZE - 1, b.getSize());
+        for (int i = 0; i < b.getSize(); i++) {
+          assertEquals(0, b.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTornadoArenaClose() {
+    TornadoArena arena = new TornadoArena();
+    FloatArray a = new FloatArray(SIZE, arena);
+    arena.close();
+    assertFalse(a.getSegment().scope().isAlive());
+    // Closing an array after its arena is closed has no effect
+    a.close();
+  }
+}
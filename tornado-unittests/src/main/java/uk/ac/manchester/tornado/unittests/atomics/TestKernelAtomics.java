@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.atomics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * The unit-tests in this class check the atomic operations of the {@link KernelContext} on native
+ * arrays and local arrays.
+ *
+ * <p>How to run? <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.atomics.TestKernelAtomics
+ * </code>
+ */
+public class TestKernelAtomics extends TornadoTestBase {
+
+  private static final int SIZE = 2048;
+  private static final int LOCAL_SIZE = 256;
+  private static final int BINS = 16;
+
+  public static void histogram(KernelContext context, IntArray input, IntArray bins) {
+    int idx = context.globalIdx;
+    context.atomicAdd(bins, input.get(idx), 1);
+  }
+
+  public static void histogramLocal(KernelContext context, IntArray input, IntArray bins) {
+    int idx = context.globalIdx;
+    int localIdx = context.localIdx;
+    int[] localBins = context.allocateIntLocalArray(BINS);
+    if (localIdx < BINS) {
+      localBins[localIdx] = 0;
+    }
+    context.localBarrier();
+    context.atomicAdd(localBins, input.get(idx), 1);
+    context.localBarrier();
+    if (localIdx < BINS) {
+      context.atomicAdd(bins, localIdx, localBins[localIdx]);
+    }
+  }
+
+  public static void maxMin(KernelContext context, IntArray input, IntArray result) {
+    int idx = context.globalIdx;
+    context.atomicMax(result, 0, input.get(idx));
+    context.atomicMin(result, 1, input.get(idx));
+  }
+
+  public static void bitwise(KernelContext context, IntArray result) {
+    int idx = context.globalIdx;
+    int bit = 1 << (idx % 32);
+    context.atomicOr(result, 0, bit);
+    context.atomicXor(result, 1, bit);
+    context.atomicAnd(result, 2, ~bit);
+  }
+
+  public static void claimSlots(KernelContext context, IntArray slots, IntArray owners) {
+    int idx = context.globalIdx;
+    int slot = idx % BINS;
+    if (context.atomicCompareExchange(slots, slot, 0, 1) == 0) {
+      context.atomicAdd(owners, 0, 1);
+    }
+  }
+
+  public static void exchange(KernelContext context, IntArray last, IntArray previous) {
+    int idx = context.globalIdx;
+    previous.set(idx, context.atomicExchange(last, 0, idx + 1));
+  }
+
+  public static void sumLongs(KernelContext context, LongArray input, LongArray result) {
+    int idx = context.globalIdx;
+    context.atomicAdd(result, 0, input.get(idx));
+  }
+
+  public static void sumFloats(KernelContext context, FloatArray input, FloatArray result) {
+    int idx = context.globalIdx;
+    context.atomicAdd(result, 0, input.get(idx));
+  }
+
+  public static void workQueue(KernelContext context, IntArray head, IntArray queue) {
+    int idx = context.globalIdx;
+    int ticket = context.atomicAdd(head, 0, 1);
+    queue.set(ticket, idx + 1);
+  }
+
+  private static void execute(TaskGraph taskGraph, WorkerGrid worker)
+      throws TornadoExecutionPlanException {
+    GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan
+          .withGridScheduler(gridScheduler) //
+          .execute();
+    }
+  }
+
+  private static IntArray histogramInput() {
+    IntArray input = new IntArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, (i * 7) % BINS);
+    }
+    return input;
+  }
+
+  private static int[] histogramJava(IntArray input) {
+    int[] bins = new int[BINS];
+    for (int i = 0; i < input.getSize(); i++) {
+      bins[input.get(i)]++;
+    }
+    return bins;
+  }
+
+  @Test
+  public void testAtomicAddHistogram() throws TornadoExecutionPlanException {
+    IntArray input = histogramInput();
+    IntArray bins = new IntArray(BINS);
+    bins.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+            .task("t0", TestKernelAtomics::histogram, context, input, bins) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    int[] expected = histogramJava(input);
+    for (int i = 0; i < BINS; i++) {
+      assertEquals(expected[i], bins.get(i));
+    }
+  }
+
+  @Test
+  public void testAtomicAddLocalHistogram() throws TornadoExecutionPlanException {
+    IntArray input = histogramInput();
+    IntArray bins = new IntArray(BINS);
+    bins.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, bins) //
+            .task("t0", TestKernelAtomics::histogramLocal, context, input, bins) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+    WorkerGrid worker = new WorkerGrid1D(SIZE);
+    worker.setLocalWork(LOCAL_SIZE, 1, 1);
+    execute(taskGraph, worker);
+
+    int[] expected = histogramJava(input);
+    for (int i = 0; i < BINS; i++) {
+      assertEquals(expected[i], bins.get(i));
+    }
+  }
+
+  @Test
+  public void testAtomicMaxMin() throws TornadoExecutionPlanException {
+    IntArray input = new IntArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, (i * 31) % 1000 - 500);
+    }
+    IntArray result = new IntArray(2);
+    result.set(0, Integer.MIN_VALUE);
+    result.set(1, Integer.MAX_VALUE);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+            .task("t0", TestKernelAtomics::maxMin, context, input, result) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    int max = Integer.MIN_VALUE;
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < SIZE; i++) {
+      max = Math.max(max, input.get(i));
+      min = Math.min(min, input.get(i));
+    }
+    assertEquals(max, result.get(0));
+    assertEquals(min, result.get(1));
+  }
+
+  @Test
+  public void testAtomicBitwise() throws TornadoExecutionPlanException {
+    IntArray result = new IntArray(3);
+    result.set(0, 0);
+    result.set(1, 0);
+    result.set(2, -1);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, result) //
+            .task("t0", TestKernelAtomics::bitwise, context, result) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+    // 48 threads: bits 0-15 are toggled twice and bits 16-31 once
+    execute(taskGraph, new WorkerGrid1D(48));
+
+    assertEquals(-1, result.get(0));
+    assertEquals(0xFFFF0000, result.get(1));
+    assertEquals(0, result.get(2));
+  }
+
+  @Test
+  public void testAtomicCompareExchange() throws TornadoExecutionPlanException {
+    IntArray slots = new IntArray(BINS);
+    slots.init(0);
+    IntArray owners = new IntArray(1);
+    owners.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, slots, owners) //
+            .task("t0", TestKernelAtomics::claimSlots, context, slots, owners) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, slots, owners);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    // Each slot is claimed by a single thread
+    assertEquals(BINS, owners.get(0));
+    for (int i = 0; i < BINS; i++) {
+      assertEquals(1, slots.get(i));
+    }
+  }
+
+  @Test
+  public void testAtomicExchange() throws TornadoExecutionPlanException {
+    IntArray last = new IntArray(1);
+    last.init(0);
+    IntArray previous = new IntArray(SIZE);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, last, previous) //
+            .task("t0", TestKernelAtomics::exchange, context, last, previous) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, last, previous);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    // The exchanges form a chain: every value is observed by exactly one thread
+    boolean[] seen = new boolean[SIZE + 1];
+    seen[last.get(0)] = true;
+    for (int i = 0; i < SIZE; i++) {
+      int value = previous.get(i);
+      assertFalse(seen[value]);
+      seen[value] = true;
+    }
+  }
+
+  @Test
+  public void testAtomicAddLong() throws TornadoExecutionPlanException {
+    LongArray input = new LongArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, (1L << 33) + i);
+    }
+    LongArray result = new LongArray(1);
+    result.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+            .task("t0", TestKernelAtomics::sumLongs, context, input, result) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    long sum = 0;
+    for (int i = 0; i < SIZE; i++) {
+      sum += input.get(i);
+    }
+    assertEquals(sum, result.get(0));
+  }
+
+  @Test
+  public void testAtomicAddFloat() throws TornadoExecutionPlanException {
+    assertNotBackend(TornadoVMBackendType.SPIRV);
+    FloatArray input = new FloatArray(SIZE);
+    // Integer values keep the sum exact for any order of the additions
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, i % 4);
+    }
+    FloatArray result = new FloatArray(1);
+    result.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, result) //
+            .task("t0", TestKernelAtomics::sumFloats, context, input, result) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    float sum = 0;
+    for (int i = 0; i < SIZE; i++) {
+      sum += input.get(i);
+    }
+    assertEquals(sum, result.get(0), 0.0f);
+  }
+
+  @Test
+  public void testAtomicWorkQueue() throws TornadoExecutionPlanException {
+    IntArray head = new IntArray(1);
+    head.init(0);
+    IntArray queue = new IntArray(SIZE);
+    queue.init(0);
+
+    KernelContext context = new KernelContext();
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, head, queue) //
+            .task("t0", TestKernelAtomics::workQueue, context, head, queue) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, head, queue);
+
+    execute(taskGraph, new WorkerGrid1D(SIZE));
+
+    // Every thread takes a different ticket
+    assertEquals(SIZE, head.get(0));
+    boolean[] seen = new boolean[SIZE + 1];
+    for (int i = 0; i < SIZE; i++) {
+      int value = queue.get(i);
+      assertFalse(seen[value]);
+      seen[value] = true;
+    }
+  }
+}
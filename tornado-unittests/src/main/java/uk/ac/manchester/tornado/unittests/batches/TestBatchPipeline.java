@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.batches;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for pipelined batches, in which each object uses several device buffers (slots) and the
+ * transfers of a batch overlap with the kernel of another batch.
+ *
+ * <p>How to test?
+ *
+ * <p><code>
+ * tornado-test --jvm="-Dtornado.batch.pipeline.buffers=3 -Dtornado.device.memory=256MB" -V uk.ac.manchester.tornado.unittests.batches.TestBatchPipeline
+ * </code>
+ */
+public class TestBatchPipeline extends TornadoTestBase {
+
+  // 10 chunks of 4MB and a smaller one
+  private static final int SIZE = 10 * 1_000_000 + 123_456;
+
+  public static void saxpy(float alpha, FloatArray x, FloatArray y, FloatArray z) {
+    for (@Parallel int i = 0; i < x.getSize(); i++) {
+      z.set(i, alpha * x.get(i) + y.get(i));
+    }
+  }
+
+  private static void initInputs(FloatArray x, FloatArray y, int seed) {
+    for (int i = 0; i < x.getSize(); i++) {
+      x.set(i, (i + seed) % 1024);
+      y.set(i, seed);
+    }
+  }
+
+  private static void checkOutput(FloatArray x, FloatArray y, FloatArray z) {
+    for (int i = 0; i < z.getSize(); i++) {
+      assertEquals(2.0f * x.get(i) + y.get(i), z.get(i), 0.001f);
+    }
+  }
+
+  private static TaskGraph createTaskGraph(FloatArray x, FloatArray y, FloatArray z) {
+    return new TaskGraph("s0") //
+        .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+        .task("t0", TestBatchPipeline::saxpy, 2.0f, x, y, z) //
+        .transferToHost(DataTransferMode.EVERY_EXECUTION, z);
+  }
+
+  @Test
+  public void testPipelinedBatches() throws TornadoExecutionPlanException {
+    FloatArray x = new FloatArray(SIZE);
+    FloatArray y = new FloatArray(SIZE);
+    FloatArray z = new FloatArray(SIZE);
+    initInputs(x, y, 1);
+
+    try (TornadoExecutionPlan executionPlan =
+        new TornadoExecutionPlan(createTaskGraph(x, y, z).snapshot())) {
+      executionPlan.withBatch("4MB").execute();
+    }
+
+    checkOutput(x, y, z);
+  }
+
+  /**
+   * The device buffers of each slot are kept across executions of the same plan, so new inputs must
+   * be copied into the slot that processes each chunk.
+   */
+  @Test
+  public void testPipelinedBatchesMultipleExecutions() throws TornadoExecutionPlanException {
+    FloatArray x = new FloatArray(SIZE);
+    FloatArray y = new FloatArray(SIZE);
+    FloatArray z = new FloatArray(SIZE);
+
+    try (TornadoExecutionPlan executionPlan =
+        new TornadoExecutionPlan(createTaskGraph(x, y, z).snapshot())) {
+      executionPlan.withBatch("4MB");
+      for (int seed = 0; seed < 4; seed++) {
+        initInputs(x, y, seed);
+        executionPlan.execute();
+        checkOutput(x, y, z);
+      }
+    }
+  }
+
+  /**
+   * Every plan holds one device buffer per slot and object (about 36MB). If closing a plan only
+   * released the buffers of the active slot, the device memory set for this test (256MB) would be
+   * exhausted after a few plans.
+   */
+  @Test
+  public void testPipelineSlotsReleasedOnClose() throws TornadoExecutionPlanException {
+    FloatArray x = new FloatArray(SIZE);
+    FloatArray y = new FloatArray(SIZE);
+    FloatArray z = new FloatArray(SIZE);
+
+    for (int seed = 0; seed < 20; seed++) {
+      initInputs(x, y, seed);
+      try (TornadoExecutionPlan executionPlan =
+          new TornadoExecutionPlan(createTaskGraph(x, y, z).snapshot())) {
+        executionPlan.withBatch("4MB").execute();
+      }
+      checkOutput(x, y, z);
+    }
+  }
+
+  /** Closing the plan is not required to release the slots: freeing the device memory is enough. */
+  @Test
+  public void testPipelineSlotsReleasedOnFree() throws TornadoExecutionPlanException {
+    FloatArray x = new FloatArray(SIZE);
+    FloatArray y = new FloatArray(SIZE);
+    FloatArray z = new FloatArray(SIZE);
+
+    try (TornadoExecutionPlan executionPlan =
+        new TornadoExecutionPlan(createTaskGraph(x, y, z).snapshot())) {
+      executionPlan.withBatch("4MB");
+      for (int seed = 0; seed < 20; seed++) {
+        initInputs(x, y, seed);
+        executionPlan.execute();
+        checkOutput(x, y, z);
+        executionPlan.freeDeviceMemory();
+      }
+    }
+  }
+}
@@ -29,7 +29,9 @@ import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoExecutionResult;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
@@ -38,6 +40,7 @@ import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
 import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMMultiDeviceNotSupported;
 import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
 
 /**
@@ -345,6 +348,9 @@ public class TestBatches extends TornadoTestBase {
 
   @Test
   public void test300MBLazy() throws TornadoExecutionPlanException {
+    // The JVM backend only keeps the last batch, so the lazy copy of several batches is not
+    // supported
+    assertNotBackend(TornadoVMBackendType.JVM);
 
     long maxAllocMemory = checkMaxHeapAllocationOnDevice(300, MemoryUnit.MB);
 
@@ -884,6 +890,9 @@ public class TestBatches extends TornadoTestBase {
 
   @Test
   public void testBatchNotEven() throws TornadoExecutionPlanException {
+    // The JVM backend runs the Java code of the task on each batch, so it cannot offset the
+    // loop index written in the output
+    assertNotBackend(TornadoVMBackendType.JVM);
     checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
 
     // Allocate ~ 64MB
@@ -970,6 +979,9 @@ public class TestBatches extends TornadoTestBase {
 
   @Test
   public void testBatchThreadIndex() throws TornadoExecutionPlanException {
+    // The JVM backend runs the Java code of the task on each batch, so it cannot offset the
+    // loop index written in the output
+    assertNotBackend(TornadoVMBackendType.JVM);
     checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
 
     // Allocate ~ 64MB
@@ -997,6 +1009,77 @@ public class TestBatches extends TornadoTestBase {
     }
   }
 
+  /**
+   * The last batch is smaller than the rest, and the first task writes the loop index. Executing
+   * the plan again reuses the kernels compiled for each batch.
+   */
+  @Test
+  public void testBatchNotEvenMultipleExecutions() throws TornadoExecutionPlanException {
+    // The JVM backend runs the Java code of the task on each batch, so it cannot offset the
+    // loop index written in the output
+    assertNotBackend(TornadoVMBackendType.JVM);
+    checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
+
+    // Allocate ~ 64MB
+    FloatArray array = new FloatArray(1024 * 1024 * 16);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .task("t0", TestBatches::parallelInitialization, array) //
+            .task("t1", TestBatches::compute2, array) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, array);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withBatch("10MB"); // Batches of 10MB
+      for (int iteration = 0; iteration < 3; iteration++) {
+        array.init(-1.0f);
+        executionPlan.execute();
+        for (int i = 0; i < array.getSize(); i++) {
+          assertEquals(i * 2.0f, array.get(i), 0.01f);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBatchMultipleDevices() throws TornadoExecutionPlanException {
+    if (getTornadoRuntime().getBackend(0).getNumDevices() < 2) {
+      throw new TornadoVMMultiDeviceNotSupported("This test needs at least 2 devices enabled");
+    }
+    long maxAllocMemory = checkMaxHeapAllocationOnDevice(64, MemoryUnit.MB);
+
+    // Fill 120MB of float array
+    int size = 30000000;
+    // or as much as we can
+    if (size * 4 > maxAllocMemory) {
+      size = (int) ((maxAllocMemory / 4 / 2) * 0.9);
+    }
+    FloatArray arrayA = new FloatArray(size);
+    FloatArray arrayB = new FloatArray(size);
+
+    Random r = new Random();
+    IntStream.range(0, arrayA.getSize()).forEach(idx -> arrayA.set(idx, r.nextFloat()));
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, arrayA) //
+            .task("t0", TestBatches::compute, arrayA, arrayB) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, arrayB);
+
+    TornadoDevice device0 = TornadoExecutionPlan.getDevice(0, 0);
+    TornadoDevice device1 = TornadoExecutionPlan.getDevice(0, 1);
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withBatch("8MB", device0, device1);
+      // Run several times, so the batches are redistributed with the measured throughput
+      for (int i = 0; i < 3; i++) {
+        executionPlan.execute();
+        for (int j = 0; j < arrayB.getSize(); j++) {
+          assertEquals(arrayA.get(j) + 100, arrayB.get(j), 0.1f);
+        }
+      }
+    }
+  }
+
   private long checkMaxHeapAllocationOnDevice(int size, MemoryUnit memoryUnit)
       throws UnsupportedConfigurationException {
     long maxAllocMemory =
@@ -103,6 +103,11 @@ public abstract class TornadoTestBase {
                 customBackendAssertionMessage != null
                     ? customBackendAssertionMessage
                     : "Test not supported for the SPIR-V backend");
+        case JVM ->
+            throw new TornadoVMJVMNotSupported(
+                customBackendAssertionMessage != null
+                    ? customBackendAssertionMessage
+                    : "Test not supported for the JVM backend");
         default -> throw new IllegalStateException("Unexpected value for backend: " + backend);
       }
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the persistent JIT cache. The cache is enabled with {@code -Dtornado.jit.cache=True}.
+ *
+ * <p>How to run?
+ *
+ * <p><code>
+ * tornado-test -V -J"-Dtornado.jit.cache=True -Dtornado.jit.cache.dir=/tmp/tornado-jit-cache" uk.ac.manchester.tornado.unittests.compiler.TestJITCache
+ * </code>
+ */
+public class TestJITCache extends TornadoTestBase {
+
+  private static final int SIZE = 1024;
+
+  private static void scale(FloatArray input, FloatArray output, float factor) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i) * factor);
+    }
+  }
+
+  private static long countCacheEntries() {
+    String directory = System.getProperty("tornado.jit.cache.dir");
+    if (directory == null) {
+      return 0;
+    }
+    File[] entries = new File(directory).listFiles((dir, name) -> name.endsWith(".tjc"));
+    return (entries == null) ? 0 : entries.length;
+  }
+
+  private static void runScale(String taskGraphName, FloatArray input, float factor)
+      throws TornadoExecutionPlanException {
+    FloatArray output = new FloatArray(input.getSize());
+    TaskGraph taskGraph =
+        new TaskGraph(taskGraphName) //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("scale", TestJITCache::scale, input, output, factor) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.execute();
+    }
+
+    for (int i = 0; i < input.getSize(); i++) {
+      assertEquals(input.get(i) * factor, output.get(i), DELTA);
+    }
+  }
+
+  @Test
+  public void testReuseAcrossExecutionPlans() throws TornadoExecutionPlanException {
+    FloatArray input = new FloatArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, i);
+    }
+
+    runScale("jitCache", input, 2.0f);
+    final long entries = countCacheEntries();
+
+    // Same task, arguments and device: the kernel is served from the cache
+    runScale("jitCache", input, 2.0f);
+    assertEquals(entries, countCacheEntries());
+  }
+
+  @Test
+  public void testSpecialisedConstants() throws TornadoExecutionPlanException {
+    FloatArray input = new FloatArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, i);
+    }
+
+    runScale("jitCacheConstantA", input, 3.0f);
+    final long entries = countCacheEntries();
+
+    // The scalar is folded into the kernel, so a different value is a different entry
+    runScale("jitCacheConstantB", input, 5.0f);
+    if (entries > 0) {
+      assertTrue(countCacheEntries() > entries);
+    }
+  }
+}
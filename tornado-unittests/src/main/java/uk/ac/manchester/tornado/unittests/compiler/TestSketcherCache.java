@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.TornadoProfilerResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the bounded sketcher cache. When the cache is limited to a single sketch, every task of
+ * a task-graph evicts the sketch of the previous one.
+ *
+ * <p>How to run?
+ *
+ * <p><code>
+ * tornado-test -V -J"-Dtornado.sketcher.cache.maxentries=1" uk.ac.manchester.tornado.unittests.compiler.TestSketcherCache
+ * </code>
+ */
+public class TestSketcherCache extends TornadoTestBase {
+
+  private static final int SIZE = 256;
+
+  private static void increment(IntArray input, IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i) + 1);
+    }
+  }
+
+  private static void twice(IntArray input, IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i) * 2);
+    }
+  }
+
+  @Test
+  public void testEvictedSketchesAreRebuilt() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    IntArray c = new IntArray(SIZE);
+    a.init(10);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestSketcherCache::increment, a, b) //
+            .task("t1", TestSketcherCache::twice, b, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      TornadoExecutionResult executionResult =
+          executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+      long misses = executionResult.getProfilerResult().getSketcherCacheMisses();
+      long evictions = executionResult.getProfilerResult().getSketcherCacheEvictions();
+      if (Integer.getInteger("tornado.sketcher.cache.maxentries", 4096) == 1) {
+        assertTrue(misses > 0);
+        assertTrue(evictions > 0);
+      }
+      executionPlan.withoutProfiler();
+    }
+
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(22, c.get(i));
+    }
+  }
+
+  /**
+   * Each task requests its sketch once, when it is added to the task-graph. The request is either
+   * served by the cache or builds the sketch, and it is reported by the next execution. When the
+   * cache cannot hold the sketches of both tasks, the compilation rebuilds the evicted ones, so the
+   * counts are only checked with a larger cache.
+   */
+  @Test
+  public void testSketchRequestsCountedOnce() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    IntArray c = new IntArray(SIZE);
+    a.init(10);
+
+    for (int i = 0; i < 2; i++) {
+      TaskGraph taskGraph =
+          new TaskGraph("s" + i) //
+              .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+              .task("t0", TestSketcherCache::increment, a, b) //
+              .task("t1", TestSketcherCache::twice, b, c) //
+              .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+      try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+        executionPlan.withProfiler(ProfilerMode.SILENT);
+        TornadoProfilerResult profilerResult = executionPlan.execute().getProfilerResult();
+        if (Integer.getInteger("tornado.sketcher.cache.maxentries", 4096) > 2) {
+          long hits = profilerResult.getSketcherCacheHits();
+          long misses = profilerResult.getSketcherCacheMisses();
+          assertEquals(2, hits + misses);
+          if (i > 0) {
+            assertEquals(2, hits);
+          }
+        }
+
+        // The requests are only reported once
+        profilerResult = executionPlan.execute().getProfilerResult();
+        assertEquals(0, profilerResult.getSketcherCacheHits());
+        assertEquals(0, profilerResult.getSketcherCacheMisses());
+        executionPlan.withoutProfiler();
+      }
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.BatchingExecutor;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the {@link BatchingExecutor}, which fuses small requests into a single launch.
+ *
+ * <p>How to run?
+ *
+ * <p><code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestBatchingExecutor
+ * </code>
+ */
+public class TestBatchingExecutor extends TornadoTestBase {
+
+  private static final int SIZE = 64;
+
+  private static void add(KernelContext context, FloatArray a, FloatArray b, FloatArray c) {
+    int offset = context.globalIdy * SIZE + context.globalIdx;
+    c.set(offset, a.get(offset) + b.get(offset));
+  }
+
+  private static BatchingExecutor createExecutor() {
+    KernelContext context = new KernelContext();
+    return new BatchingExecutor(
+        "add",
+        new TornadoNativeArray[] {new FloatArray(SIZE), new FloatArray(SIZE)},
+        new TornadoNativeArray[] {new FloatArray(SIZE)},
+        (taskGraph, in, out) ->
+            taskGraph.task(
+                "add",
+                TestBatchingExecutor::add,
+                context,
+                (FloatArray) in[0],
+                (FloatArray) in[1],
+                (FloatArray) out[0]));
+  }
+
+  @Test
+  public void testFusedRequests() throws TornadoExecutionPlanException {
+    final int numRequests = 8;
+    FloatArray[] a = new FloatArray[numRequests];
+    FloatArray[] b = new FloatArray[numRequests];
+    FloatArray[] c = new FloatArray[numRequests];
+
+    try (BatchingExecutor executor =
+        createExecutor().withBatchWindow(10, TimeUnit.SECONDS).withMaxBatchSize(numRequests)) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int r = 0; r < numRequests; r++) {
+        a[r] = new FloatArray(SIZE);
+        b[r] = new FloatArray(SIZE);
+        c[r] = new FloatArray(SIZE);
+        a[r].init(r);
+        b[r].init(100);
+        futures.add(
+            executor.submit(
+                new TornadoNativeArray[] {a[r], b[r]}, new TornadoNativeArray[] {c[r]}));
+      }
+      futures.forEach(CompletableFuture::join);
+
+      // The batch is full before the window expires, so all the requests share one launch
+      assertEquals(1, executor.getNumberOfLaunches());
+    }
+
+    for (int r = 0; r < numRequests; r++) {
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(r + 100, c[r].get(i), 0.001f);
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentRequests() throws TornadoExecutionPlanException, InterruptedException {
+    final int numThreads = 4;
+    final int iterations = 16;
+
+    try (BatchingExecutor executor =
+        createExecutor().withBatchWindow(200, TimeUnit.MICROSECONDS).withMaxBatchSize(4)) {
+      List<Thread> threads = new ArrayList<>();
+      List<Throwable> errors = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        final int id = t;
+        threads.add(
+            new Thread(
+                () -> {
+                  FloatArray a = new FloatArray(SIZE);
+                  FloatArray b = new FloatArray(SIZE);
+                  FloatArray c = new FloatArray(SIZE);
+                  try {
+                    for (int i = 0; i < iterations; i++) {
+                      a.init(id);
+                      b.init(i);
+                      executor
+                          .submit(new TornadoNativeArray[] {a, b}, new TornadoNativeArray[] {c})
+                          .join();
+                      for (int j = 0; j < SIZE; j++) {
+                        assertEquals(id + i, c.get(j), 0.001f);
+                      }
+                    }
+                  } catch (Throwable e) {
+                    synchronized (errors) {
+                      errors.add(e);
+                    }
+                  }
+                }));
+      }
+      threads.forEach(Thread::start);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      assertTrue(errors.toString(), errors.isEmpty());
+      assertTrue(executor.getNumberOfLaunches() <= (long) numThreads * iterations);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.common.EventCompletionMonitor;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the completion of asynchronous executions through mock device events. The events either
+ * provide completion callbacks, as the OpenCL and PTX events do, or must be polled.
+ *
+ * <p>How to run?
+ *
+ * <p><code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestEventCompletionMonitor
+ * </code>
+ */
+public class TestEventCompletionMonitor extends TornadoTestBase {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  /**
+   * Creates a mock event. The callbacks registered on the event are stored in {@code callbacks},
+   * unless {@code callbacks} is null, in which case the event has no completion callbacks.
+   */
+  private static Event createMockEvent(
+      AtomicReference<TornadoExecutionStatus> status, List<Runnable> callbacks) {
+    return (Event)
+        Proxy.newProxyInstance(
+            Event.class.getClassLoader(),
+            new Class<?>[] {Event.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "getStatus" -> status.get();
+                  case "getName" -> "mock";
+                  case "addCompletionCallback" -> {
+                    if (callbacks == null) {
+                      yield false;
+                    }
+                    callbacks.add((Runnable) args[0]);
+                    yield true;
+                  }
+                  case "equals" -> proxy == args[0];
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  default -> throw new UnsupportedOperationException(method.getName());
+                });
+  }
+
+  @Test
+  public void testCompletionCallbacks() throws Exception {
+    AtomicReference<TornadoExecutionStatus> status0 =
+        new AtomicReference<>(TornadoExecutionStatus.QUEUED);
+    AtomicReference<TornadoExecutionStatus> status1 =
+        new AtomicReference<>(TornadoExecutionStatus.RUNNING);
+    List<Runnable> callbacks = new ArrayList<>();
+
+    CompletableFuture<Void> future =
+        EventCompletionMonitor.whenComplete(
+            List.of(createMockEvent(status0, callbacks), createMockEvent(status1, callbacks)));
+    assertEquals(2, callbacks.size());
+
+    // The first callback does not resolve the execution
+    status0.set(TornadoExecutionStatus.COMPLETE);
+    callbacks.get(0).run();
+    assertFalse(future.isDone());
+
+    status1.set(TornadoExecutionStatus.COMPLETE);
+    callbacks.get(1).run();
+    future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertTrue(future.isDone());
+    assertFalse(future.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testCompletionCallbackError() throws Exception {
+    AtomicReference<TornadoExecutionStatus> status =
+        new AtomicReference<>(TornadoExecutionStatus.RUNNING);
+    List<Runnable> callbacks = new ArrayList<>();
+
+    CompletableFuture<Void> future =
+        EventCompletionMonitor.whenComplete(List.of(createMockEvent(status, callbacks)));
+    status.set(TornadoExecutionStatus.ERROR);
+    callbacks.get(0).run();
+
+    try {
+      future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      throw new AssertionError("The execution should have failed");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TornadoRuntimeException);
+    }
+  }
+
+  @Test
+  public void testPollingFallback() throws Exception {
+    AtomicReference<TornadoExecutionStatus> status0 =
+        new AtomicReference<>(TornadoExecutionStatus.RUNNING);
+    AtomicReference<TornadoExecutionStatus> status1 =
+        new AtomicReference<>(TornadoExecutionStatus.RUNNING);
+    List<Runnable> callbacks = new ArrayList<>();
+
+    // The second event has no completion callbacks, so the execution is polled
+    CompletableFuture<Void> future =
+        EventCompletionMonitor.whenComplete(
+            List.of(createMockEvent(status0, callbacks), createMockEvent(status1, null)));
+    assertFalse(future.isDone());
+
+    status0.set(TornadoExecutionStatus.COMPLETE);
+    status1.set(TornadoExecutionStatus.COMPLETE);
+    future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertFalse(future.isCompletedExceptionally());
+
+    // The callback registered before the fallback is harmless
+    callbacks.get(0).run();
+  }
+}
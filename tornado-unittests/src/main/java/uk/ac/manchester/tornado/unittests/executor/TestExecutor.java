@@ -18,15 +18,18 @@
 package uk.ac.manchester.tornado.unittests.executor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Test;
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoExecutionResult;
 import uk.ac.manchester.tornado.api.TornadoProfilerResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
@@ -44,6 +47,22 @@ import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
  */
 public class TestExecutor extends TornadoTestBase {
   // CHECKSTYLE:OFF
+  private static void scale(IntArray a, int factor, IntArray b) {
+    for (@Parallel int i = 0; i < a.getSize(); i++) {
+      b.set(i, a.get(i) * factor);
+    }
+  }
+
+  private static void spin(IntArray a, int iterations, IntArray b) {
+    for (@Parallel int i = 0; i < a.getSize(); i++) {
+      int value = a.get(i);
+      for (int k = 0; k < iterations; k++) {
+        value = value * 1664525 + 1013904223;
+      }
+      b.set(i, value);
+    }
+  }
+
   @Test
   public void test01() throws TornadoExecutionPlanException {
     int numElements = 16;
@@ -233,5 +252,309 @@ public class TestExecutor extends TornadoTestBase {
       assertEquals(INIT_A + 2 * ITERATIONS, a.get(i));
     }
   }
+
+  /**
+   * Test to check that the replay of a captured graph streams new input data and returns new
+   * results in every execution.
+   */
+  @Test
+  public void test05() throws TornadoExecutionPlanException {
+    int numElements = 256;
+    final int ITERATIONS = 10;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    IntArray c = new IntArray(numElements);
+
+    b.init(100);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+            .task("t0", TestHello::add, a, b, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.withGraphCapture();
+
+      for (int i = 0; i < ITERATIONS; i++) {
+        a.init(i);
+        executionPlan.execute();
+        for (int j = 0; j < c.getSize(); j++) {
+          assertEquals(i + 100, c.get(j));
+        }
+        // The first execution records the graph, and the following ones replay it
+        assertEquals(i, executionPlan.getGraphReplayCount());
+      }
+
+      // Executions after disabling the capture go through the interpreter
+      executionPlan.withoutGraphCapture();
+      a.init(-100);
+      executionPlan.execute();
+      for (int j = 0; j < c.getSize(); j++) {
+        assertEquals(0, c.get(j));
+      }
+      assertEquals(ITERATIONS - 1, executionPlan.getGraphReplayCount());
+    }
+  }
+
+  @Test
+  public void test06() throws TornadoExecutionPlanException {
+    int numElements = 256;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    IntArray c = new IntArray(numElements);
+    IntArray d = new IntArray(numElements);
+    IntArray e = new IntArray(numElements);
+
+    a.init(1);
+    b.init(10);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+            .task("t0", TestHello::add, a, b, c) //
+            .task("t1", TestHello::add, c, b, d) //
+            .task("t2", TestHello::add, d, c, e) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, e);
+
+    ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      // All tasks are compiled concurrently. The execution waits for the pending compilations.
+      executionPlan.withEagerCompilation().execute();
+      for (int j = 0; j < e.getSize(); j++) {
+        assertEquals(32, e.get(j));
+      }
+
+      a.init(2);
+      executionPlan.execute();
+      for (int j = 0; j < e.getSize(); j++) {
+        assertEquals(34, e.get(j));
+      }
+    }
+  }
+
+  /**
+   * The scale factor is specialised, so it is compiled as a constant. Each new value runs a
+   * specialised kernel, and switching back to a previous value reuses its kernel without compiling
+   * the task again.
+   */
+  @Test
+  public void test07() throws TornadoExecutionPlanException {
+    int numElements = 256;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    a.init(3);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestExecutor::scale, a, 2, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.withSpecialisation("s0.t0", 1).withProfiler(ProfilerMode.SILENT);
+
+      executionPlan.execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(6, b.get(j));
+      }
+
+      executionPlan.withScalarArgument("s0.t0", 1, 5).execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(15, b.get(j));
+      }
+
+      TornadoExecutionResult executionResult =
+          executionPlan.withScalarArgument("s0.t0", 1, 2).execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(6, b.get(j));
+      }
+      // The variant compiled in the first execution is reused
+      assertEquals(0, executionResult.getProfilerResult().getCompileTime());
+    }
+  }
+
+  /**
+   * Two execution plans are in flight at the same time. The kernel of the first plan runs for a
+   * while, so executeAsync returns before it completes. The futures are completed when the results
+   * are available on the host.
+   */
+  @Test
+  public void test08() throws TornadoExecutionPlanException {
+    int numElements = 256;
+    final int iterations = 1 << 20;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    IntArray c = new IntArray(numElements);
+    IntArray d = new IntArray(numElements);
+    a.init(3);
+
+    TaskGraph tg0 =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestExecutor::spin, a, iterations, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    TaskGraph tg1 =
+        new TaskGraph("s1") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestExecutor::scale, a, 5, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    TaskGraph tg2 =
+        new TaskGraph("s2") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, c) //
+            .task("t0", TestExecutor::scale, c, 2, d) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+    try (TornadoExecutionPlan executionPlan0 = new TornadoExecutionPlan(tg0.snapshot());
+        TornadoExecutionPlan executionPlan1 =
+            new TornadoExecutionPlan(tg1.snapshot(), tg2.snapshot())) {
+      CompletableFuture<TornadoExecutionResult> future0 = executionPlan0.executeAsync();
+      assertFalse(future0.isDone());
+      CompletableFuture<TornadoExecutionResult> future1 = executionPlan1.executeAsync();
+      CompletableFuture.allOf(future0, future1).join();
+
+      int expected = 3;
+      for (int k = 0; k < iterations; k++) {
+        expected = expected * 1664525 + 1013904223;
+      }
+      assertNotNull(future0.join());
+      assertNotNull(future1.join());
+      for (int j = 0; j < numElements; j++) {
+        assertEquals(expected, b.get(j));
+        assertEquals(15, c.get(j));
+        assertEquals(30, d.get(j));
+      }
+    }
+  }
+
+  /**
+   * Test that an execution plan with unified memory sees the updates of the host arrays between
+   * executions and returns new results in every execution. On devices that do not share memory with
+   * the host, the plan copies the data as usual.
+   */
+  @Test
+  public void test09() throws TornadoExecutionPlanException {
+    int numElements = 256;
+    final int ITERATIONS = 10;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    IntArray c = new IntArray(numElements);
+
+    b.init(100);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+            .task("t0", TestHello::add, a, b, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(tg.snapshot())) {
+      executionPlan.withUnifiedMemory();
+
+      for (int i = 0; i < ITERATIONS; i++) {
+        a.init(i);
+        executionPlan.execute();
+        for (int j = 0; j < c.getSize(); j++) {
+          assertEquals(i + 100, c.get(j));
+        }
+      }
+
+      executionPlan.withoutUnifiedMemory();
+      a.init(-100);
+      executionPlan.execute();
+      for (int j = 0; j < c.getSize(); j++) {
+        assertEquals(0, c.get(j));
+      }
+    }
+  }
+
   // CHECKSTYLE:ON
+
+  /**
+   * Scalar arguments are passed as kernel parameters by default, so a new value of the scale factor
+   * does not compile the task again.
+   */
+  @Test
+  public void test10() throws TornadoExecutionPlanException {
+    int numElements = 256;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    a.init(3);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestExecutor::scale, a, 2, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(6, b.get(j));
+      }
+
+      TornadoExecutionResult executionResult =
+          executionPlan.withScalarArgument("s0.t0", 1, 7).execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(21, b.get(j));
+      }
+      assertEquals(0, executionResult.getProfilerResult().getCompileTime());
+    }
+  }
+
+  /**
+   * Once the default number of variants (4) is compiled for the specialised scale factor, the next
+   * value compiles a generic kernel, which is reused for the following values.
+   */
+  @Test
+  public void test11() throws TornadoExecutionPlanException {
+    int numElements = 256;
+
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    a.init(3);
+
+    TaskGraph tg =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestExecutor::scale, a, 1, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    ImmutableTaskGraph immutableTaskGraph = tg.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.withSpecialisation("s0.t0", 1).withProfiler(ProfilerMode.SILENT);
+      for (int factor = 1; factor <= 7; factor++) {
+        TornadoExecutionResult executionResult =
+            executionPlan.withScalarArgument("s0.t0", 1, factor).execute();
+        for (int j = 0; j < b.getSize(); j++) {
+          assertEquals(3 * factor, b.get(j));
+        }
+        if (factor > 5) {
+          // The generic kernel was compiled for the fifth value
+          assertEquals(0, executionResult.getProfilerResult().getCompileTime());
+        }
+      }
+
+      // The specialised variants are still used for their values
+      TornadoExecutionResult executionResult =
+          executionPlan.withScalarArgument("s0.t0", 1, 2).execute();
+      for (int j = 0; j < b.getSize(); j++) {
+        assertEquals(6, b.get(j));
+      }
+      assertEquals(0, executionResult.getProfilerResult().getCompileTime());
+    }
+  }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.unittests.TestHello;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests the replay of captured graphs through a mock device. The mock implements {@link
+ * TornadoXPUDevice}, records the name of every call and forwards it to the default device, so the
+ * tests can check which device operations a replay issues.
+ *
+ * <p>How to run?
+ *
+ * <p><code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestGraphCaptureDevice
+ * </code>
+ */
+public class TestGraphCaptureDevice extends TornadoTestBase {
+
+  private static final int SIZE = 256;
+
+  private static TornadoXPUDevice createMockDevice(List<String> calls) {
+    final TornadoDevice device = TornadoExecutionPlan.getDevice(0, 0);
+    return (TornadoXPUDevice)
+        Proxy.newProxyInstance(
+            TornadoXPUDevice.class.getClassLoader(),
+            new Class<?>[] {TornadoXPUDevice.class},
+            (proxy, method, args) -> {
+              // The runtime uses devices as keys of its tables
+              switch (method.getName()) {
+                case "equals" -> {
+                  return proxy == args[0];
+                }
+                case "hashCode" -> {
+                  return System.identityHashCode(proxy);
+                }
+                default -> calls.add(method.getName());
+              }
+              try {
+                return method.invoke(device, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+  }
+
+  private static TaskGraph createTaskGraph(IntArray a, IntArray b, IntArray c) {
+    return new TaskGraph("s0") //
+        .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+        .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+        .task("t0", TestHello::add, a, b, c) //
+        .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+  }
+
+  /**
+   * The first execution allocates the buffers and installs the code. The replays only stream the
+   * inputs of every execution in and the outputs out.
+   */
+  @Test
+  public void testReplayOnlyTransfersAndLaunches() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    IntArray c = new IntArray(SIZE);
+    b.init(100);
+
+    List<String> calls = new ArrayList<>();
+    try (TornadoExecutionPlan executionPlan =
+        new TornadoExecutionPlan(createTaskGraph(a, b, c).snapshot())) {
+      executionPlan.withDevice(createMockDevice(calls)).withGraphCapture();
+
+      a.init(0);
+      executionPlan.execute();
+      assertEquals(0, executionPlan.getGraphReplayCount());
+      assertTrue(calls.contains("allocateObjects"));
+      assertTrue(calls.contains("ensurePresent"));
+      assertTrue(calls.contains("installCode"));
+
+      for (int i = 1; i < 5; i++) {
+        a.init(i);
+        calls.clear();
+        executionPlan.execute();
+        assertEquals(i, executionPlan.getGraphReplayCount());
+        assertFalse(calls.contains("allocateObjects"));
+        assertFalse(calls.contains("ensurePresent"));
+        assertFalse(calls.contains("installCode"));
+        assertEquals(1, calls.stream().filter("streamIn"::equals).count());
+        assertEquals(1, calls.stream().filter("streamOutBlocking"::equals).count());
+        for (int j = 0; j < SIZE; j++) {
+          assertEquals(i + 100, c.get(j));
+        }
+      }
+    }
+  }
+
+  /** Closing another plan on the same device does not invalidate the recording. */
+  @Test
+  public void testReplayAfterOtherPlanIsClosed() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    IntArray c = new IntArray(SIZE);
+    b.init(100);
+
+    List<String> calls = new ArrayList<>();
+    try (TornadoExecutionPlan executionPlan =
+        new TornadoExecutionPlan(createTaskGraph(a, b, c).snapshot())) {
+      executionPlan.withDevice(createMockDevice(calls)).withGraphCapture();
+      executionPlan.execute();
+
+      IntArray x = new IntArray(SIZE);
+      IntArray y = new IntArray(SIZE);
+      IntArray z = new IntArray(SIZE);
+      try (TornadoExecutionPlan otherPlan =
+          new TornadoExecutionPlan(createTaskGraph(x, y, z).snapshot())) {
+        otherPlan.execute();
+      }
+
+      a.init(1);
+      executionPlan.execute();
+      assertEquals(1, executionPlan.getGraphReplayCount());
+      for (int j = 0; j < SIZE; j++) {
+        assertEquals(101, c.get(j));
+      }
+    }
+  }
+}
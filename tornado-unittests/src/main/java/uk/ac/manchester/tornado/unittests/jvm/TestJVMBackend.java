@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.jvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoBackend;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMJVMNotSupported;
+
+/**
+ * Tests for the JVM backend. The tasks run on the first device of the JVM backend, which must be
+ * enabled in the build.
+ *
+ * <p>How to run? <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.jvm.TestJVMBackend
+ * </code>
+ */
+public class TestJVMBackend extends TornadoTestBase {
+
+  private static final int SIZE = 4096;
+
+  public static void vectorAdd(IntArray a, IntArray b, IntArray c) {
+    for (@Parallel int i = 0; i < c.getSize(); i++) {
+      c.set(i, a.get(i) + b.get(i));
+    }
+  }
+
+  public static void scale(FloatArray a, FloatArray b) {
+    for (@Parallel int i = 0; i < a.getSize(); i++) {
+      b.set(i, a.get(i) * 2.0f);
+    }
+  }
+
+  public static void scale(int[] a, int[] b) {
+    for (@Parallel int i = 0; i < a.length; i++) {
+      b[i] = a[i] * 2;
+    }
+  }
+
+  public static void prefixSum(IntArray a, IntArray b) {
+    int acc = 0;
+    for (int i = 0; i < a.getSize(); i++) {
+      acc += a.get(i);
+      b.set(i, acc);
+    }
+  }
+
+  public static void blockSum(KernelContext context, IntArray a, IntArray b) {
+    int localIdx = context.localIdx;
+    int groupSize = context.localGroupSizeX;
+    int[] local = context.allocateIntLocalArray(256);
+    local[localIdx] = a.get(context.globalIdx);
+    for (int stride = groupSize / 2; stride > 0; stride /= 2) {
+      context.localBarrier();
+      if (localIdx < stride) {
+        local[localIdx] += local[localIdx + stride];
+      }
+    }
+    if (localIdx == 0) {
+      b.set(context.groupIdx, local[0]);
+    }
+  }
+
+  public static void histogram(KernelContext context, IntArray input, IntArray bins) {
+    context.atomicAdd(bins, input.get(context.globalIdx), 1);
+  }
+
+  private static TornadoDevice getJVMDevice() {
+    List<TornadoBackend> backends =
+        TornadoExecutionPlan.getTornadoDeviceMap()
+            .getBackendsWithPredicate(
+                backend -> backend.getBackendType() == TornadoVMBackendType.JVM);
+    if (backends == null || backends.isEmpty()) {
+      throw new TornadoVMJVMNotSupported("Test designed to run with the JVM backend");
+    }
+    return backends.getFirst().getDevice(0);
+  }
+
+  /** Parallel loops are partitioned across the worker threads of the device. */
+  @Test
+  public void testParallelLoop() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    IntArray c = new IntArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      a.set(i, i);
+      b.set(i, 2 * i);
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+            .task("t0", TestJVMBackend::vectorAdd, a, b, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).execute();
+    }
+
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(3 * i, c.get(i));
+    }
+  }
+
+  /** Tasks without parallel loops run once, in the order of the Java code. */
+  @Test
+  public void testSequentialTask() throws TornadoExecutionPlanException {
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE);
+    a.init(1);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestJVMBackend::prefixSum, a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).execute();
+    }
+
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(i + 1, b.get(i));
+    }
+  }
+
+  /** Work-items of kernels with barriers run in their own threads within a work-group. */
+  @Test
+  public void testKernelContextBarriers() throws TornadoExecutionPlanException {
+    final int groupSize = 256;
+    IntArray a = new IntArray(SIZE);
+    IntArray b = new IntArray(SIZE / groupSize);
+    a.init(1);
+
+    WorkerGrid worker = new WorkerGrid1D(SIZE);
+    worker.setLocalWork(groupSize, 1, 1);
+    GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestJVMBackend::blockSum, new KernelContext(), a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).withGridScheduler(gridScheduler).execute();
+    }
+
+    for (int i = 0; i < b.getSize(); i++) {
+      assertEquals(groupSize, b.get(i));
+    }
+  }
+
+  /**
+   * With batches, the kernels only see the current chunk of the arrays. The last chunk is smaller
+   * than the others.
+   */
+  @Test
+  public void testBatchesNativeArrays() throws TornadoExecutionPlanException {
+    // 10 chunks of 1MB and a smaller one
+    final int size = 10 * 250_000 + 64_000;
+    FloatArray a = new FloatArray(size);
+    FloatArray b = new FloatArray(size);
+    for (int i = 0; i < size; i++) {
+      a.set(i, i);
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+            .task("t0", TestJVMBackend::scale, a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).withBatch("1MB").execute();
+    }
+
+    for (int i = 0; i < size; i++) {
+      assertEquals(2.0f * i, b.get(i), 0.0f);
+    }
+  }
+
+  @Test
+  public void testBatchesJavaArrays() throws TornadoExecutionPlanException {
+    final int size = 10 * 250_000 + 64_000;
+    int[] a = new int[size];
+    int[] b = new int[size];
+    for (int i = 0; i < size; i++) {
+      a[i] = i;
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+            .task("t0", TestJVMBackend::scale, a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).withBatch("1MB").execute();
+    }
+
+    for (int i = 0; i < size; i++) {
+      assertEquals(2 * i, b[i]);
+    }
+  }
+
+  /** Overloaded tasks with the same task name run their own code. */
+  @Test
+  public void testOverloadedTasks() throws TornadoExecutionPlanException {
+    FloatArray a = new FloatArray(SIZE);
+    FloatArray b = new FloatArray(SIZE);
+    int[] c = new int[SIZE];
+    int[] d = new int[SIZE];
+    a.init(1.0f);
+    Arrays.fill(c, 1);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestJVMBackend::scale, a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    TaskGraph taskGraph2 =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, c) //
+            .task("t0", TestJVMBackend::scale, c, d) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+    // Both plans are alive at the same time, so they share the code cache of the device
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        TornadoExecutionPlan executionPlan2 = new TornadoExecutionPlan(taskGraph2.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).execute();
+      executionPlan2.withDevice(getJVMDevice()).execute();
+    }
+
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(2.0f, b.get(i), 0.0f);
+      assertEquals(2, d[i]);
+    }
+  }
+
+  /**
+   * The atomic operations do not record the elements they update. The arrays of the kernel are
+   * marked as modified once all the work-items complete.
+   */
+  @Test
+  public void testKernelContextAtomicsMarkWrites() throws TornadoExecutionPlanException {
+    final int numBins = 16;
+    IntArray input = new IntArray(SIZE);
+    IntArray bins = new IntArray(numBins);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, i % numBins);
+    }
+    bins.init(0);
+    bins.enableWriteTracking();
+    long epoch = bins.advanceWriteEpoch();
+
+    GridScheduler gridScheduler = new GridScheduler("s0.t0", new WorkerGrid1D(SIZE));
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestJVMBackend::histogram, new KernelContext(), input, bins) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, bins);
+
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      executionPlan.withDevice(getJVMDevice()).withGridScheduler(gridScheduler).execute();
+    }
+
+    assertTrue(bins.hasWritesSince(epoch));
+    for (int i = 0; i < numBins; i++) {
+      assertEquals(SIZE / numBins, bins.get(i));
+    }
+  }
+}
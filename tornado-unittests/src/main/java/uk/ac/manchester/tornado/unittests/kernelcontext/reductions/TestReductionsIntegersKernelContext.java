@@ -135,6 +135,21 @@ public class TestReductionsIntegersKernelContext extends TornadoTestBase {
     b.set(idx, localA[localIdx]);
   }
 
+  public static void intSubgroupReduceAndScanAdd(
+      KernelContext context,
+      IntArray a,
+      IntArray reduce,
+      IntArray scan,
+      IntArray lanes,
+      IntArray sizes) {
+    int globalIdx = context.globalIdx;
+    int value = a.get(globalIdx);
+    reduce.set(globalIdx, context.subgroupReduceAdd(value));
+    scan.set(globalIdx, context.subgroupInclusiveScanAdd(value));
+    lanes.set(globalIdx, context.subgroupLocalId());
+    sizes.set(globalIdx, context.subgroupSize());
+  }
+
   public static void intReductionAddLocalMemory(KernelContext context, IntArray a, IntArray b) {
     int globalIdx = context.globalIdx;
     int localIdx = context.localIdx;
@@ -696,4 +711,59 @@ public class TestReductionsIntegersKernelContext extends TornadoTestBase {
 
     assertEquals(sequential, finalSum, 0);
   }
+
+  @Test
+  public void testIntSubgroupReduceAndScanAdd() throws TornadoExecutionPlanException {
+    final int size = 1024;
+    final int localSize = 256;
+    IntArray input = new IntArray(size);
+    IntArray reduce = new IntArray(size);
+    IntArray scan = new IntArray(size);
+    IntArray lanes = new IntArray(size);
+    IntArray sizes = new IntArray(size);
+    Random r = new Random();
+    IntStream.range(0, input.getSize()).sequential().forEach(i -> input.set(i, r.nextInt(1000)));
+
+    WorkerGrid worker = new WorkerGrid1D(size);
+    worker.setLocalWork(localSize, 1, 1);
+    GridScheduler gridScheduler = new GridScheduler("s0.t0", worker);
+    KernelContext context = new KernelContext();
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task(
+                "t0",
+                TestReductionsIntegersKernelContext::intSubgroupReduceAndScanAdd,
+                context,
+                input,
+                reduce,
+                scan,
+                lanes,
+                sizes) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, reduce, scan, lanes, sizes);
+
+    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan
+          .withGridScheduler(gridScheduler) //
+          .execute();
+    }
+
+    // The subgroup size depends on the device, so the expected values are computed from the
+    // lane and the size that each thread observed.
+    for (int i = 0; i < size; i++) {
+      int first = i - lanes.get(i);
+      int expectedReduce = 0;
+      int expectedScan = 0;
+      for (int j = first; j < first + sizes.get(i); j++) {
+        expectedReduce += input.get(j);
+        if (j <= i) {
+          expectedScan += input.get(j);
+        }
+      }
+      assertEquals(expectedReduce, reduce.get(i));
+      assertEquals(expectedScan, scan.get(i));
+    }
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to test?
+ *
+ * <p><code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memory.TestWriteTracking
+ * </code>
+ */
+public class TestWriteTracking extends TornadoTestBase {
+
+  private static final int SIZE = 8192;
+
+  public static void increment(FloatArray a, FloatArray b) {
+    for (@Parallel int i = 0; i < a.getSize(); i++) {
+      b.set(i, a.get(i) + 1.0f);
+    }
+  }
+
+  @Test
+  public void testWriteEpochs() {
+    FloatArray a = new FloatArray(SIZE);
+    final int elementsPerPage = TornadoNativeArray.WRITE_TRACKING_PAGE_SIZE / Float.BYTES;
+
+    assertFalse(a.isWriteTrackingEnabled());
+    assertTrue(a.hasWritesSince(Long.MAX_VALUE));
+
+    a.enableWriteTracking();
+    assertEquals(SIZE / elementsPerPage, a.getNumWriteTrackingPages());
+    long epoch = a.advanceWriteEpoch();
+    assertFalse(a.hasWritesSince(epoch));
+
+    a.set(elementsPerPage + 1, 1.0f);
+    assertTrue(a.hasWritesSince(epoch));
+    assertFalse(a.isPageWrittenSince(0, epoch));
+    assertTrue(a.isPageWrittenSince(1, epoch));
+
+    epoch = a.advanceWriteEpoch();
+    assertFalse(a.hasWritesSince(epoch));
+    a.init(2.0f);
+    for (int page = 0; page < a.getNumWriteTrackingPages(); page++) {
+      assertTrue(a.isPageWrittenSince(page, epoch));
+    }
+
+    epoch = a.advanceWriteEpoch();
+    a.markDirty(0, elementsPerPage);
+    assertTrue(a.isPageWrittenSince(0, epoch));
+    assertFalse(a.isPageWrittenSince(1, epoch));
+
+    a.disableWriteTracking();
+    assertTrue(a.hasWritesSince(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testSkipUnmodifiedTransfers() throws TornadoExecutionPlanException {
+    FloatArray a = new FloatArray(SIZE);
+    FloatArray b = new FloatArray(SIZE);
+    a.init(1.0f);
+    a.enableWriteTracking();
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+            .task("t0", TestWriteTracking::increment, a, b) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+
+      // Only the second page of the input is modified
+      a.set(SIZE / 2 + 3, 10.0f);
+      executionPlan.execute();
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(a.get(i) + 1.0f, b.get(i), 0.001f);
+      }
+
+      // The input is not modified, so it is not copied again
+      TornadoExecutionResult executionResult = executionPlan.execute();
+      assertEquals(0, executionResult.getProfilerResult().getTotalBytesCopyIn());
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(a.get(i) + 1.0f, b.get(i), 0.001f);
+      }
+    }
+  }
+}
@@ -17,8 +17,16 @@
  */
 package uk.ac.manchester.tornado.unittests.multithreaded;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
@@ -281,4 +289,62 @@ public class TestMultiThreadedExecutionPlans extends TornadoTestBase {
       }
     }
   }
+
+  /**
+   * Stress test: many Java threads submit their own execution plans to the same device at the same
+   * time. Each plan owns its data, so the results of every execution must be exact. The number of
+   * threads can be configured with {@code -Dtornado.unittests.plans.threads=<n>}.
+   */
+  @Test
+  public void test05() throws InterruptedException, ExecutionException {
+    final int numThreads = Integer.getInteger("tornado.unittests.plans.threads", 8);
+    final int iterations = 50;
+    final int size = 1024 * 16;
+
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    List<Future<?>> results = new ArrayList<>();
+    for (int t = 0; t < numThreads; t++) {
+      final int id = t;
+      results.add(
+          executor.submit(
+              () -> {
+                FloatArray input = new FloatArray(size);
+                FloatArray output = new FloatArray(size);
+                TaskGraph taskGraph =
+                    new TaskGraph("stress" + id) //
+                        .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                        .task(
+                            "compute01",
+                            TestMultiThreadedExecutionPlans::computeForThread2,
+                            input,
+                            output) //
+                        .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+                try (TornadoExecutionPlan executionPlan =
+                    new TornadoExecutionPlan(taskGraph.snapshot())) {
+                  start.await();
+                  for (int i = 0; i < iterations; i++) {
+                    float value = id + i;
+                    input.init(value);
+                    executionPlan.execute();
+                    float expected = value * 100 * TornadoMath.sqrt(value);
+                    for (int j = 0; j < size; j++) {
+                      assertEquals(expected, output.get(j), 0.01f);
+                    }
+                  }
+                }
+                return null;
+              }));
+    }
+
+    start.countDown();
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
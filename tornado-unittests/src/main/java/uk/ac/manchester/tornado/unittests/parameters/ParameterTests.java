@@ -57,6 +57,12 @@ public class ParameterTests extends TornadoTestBase {
     z = 0;
   }
 
+  private static void addValue(IntArray input, int value, IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i) + value);
+    }
+  }
+
   private static void testWithScalarValues03(LongArray x, long y, IntArray z) {
     for (@Parallel int i = 0; i < x.getSize(); i++) {
       long tmp = x.get(i) + y;
@@ -129,4 +135,35 @@ public class ParameterTests extends TornadoTestBase {
       assertEquals(y + x.get(i), z.get(i));
     }
   }
+
+  /**
+   * Task-graph with many arrays of the same size and contents, and repeated scalar values. Each
+   * array must be registered as a different parameter, and each repeated scalar value only once.
+   */
+  @Test
+  public void testManyParameters() {
+    final int numTasks = 32;
+    final int size = 16;
+    IntArray[] inputs = new IntArray[numTasks];
+    IntArray[] outputs = new IntArray[numTasks];
+
+    TaskGraph taskGraph = new TaskGraph("s0");
+    for (int t = 0; t < numTasks; t++) {
+      inputs[t] = new IntArray(size);
+      outputs[t] = new IntArray(size);
+      inputs[t].init(1);
+      taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, inputs[t]);
+      taskGraph.task("t" + t, ParameterTests::addValue, inputs[t], t % 4, outputs[t]);
+      taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, outputs[t]);
+    }
+
+    TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+    executionPlan.execute();
+
+    for (int t = 0; t < numTasks; t++) {
+      for (int i = 0; i < size; i++) {
+        assertEquals(1 + t % 4, outputs[t].get(i));
+      }
+    }
+  }
 }
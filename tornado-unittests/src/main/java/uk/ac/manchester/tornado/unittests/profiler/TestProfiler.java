@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.unittests.profiler;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
 
 import java.util.Random;
 import java.util.stream.IntStream;
@@ -52,6 +53,11 @@ public class TestProfiler extends TornadoTestBase {
     }
   }
 
+  private boolean isBackendJVM(int driverIndex) {
+    return TornadoRuntimeProvider.getTornadoRuntime().getBackend(driverIndex).getBackendType()
+        == TornadoVMBackendType.JVM;
+  }
+
   private boolean isBackendPTXOrSPIRV(int driverIndex) {
     TornadoVMBackendType type =
         TornadoRuntimeProvider.getTornadoRuntime().getBackend(driverIndex).getBackendType();
@@ -100,13 +106,16 @@ public class TestProfiler extends TornadoTestBase {
       assertTrue(executionResult.getProfilerResult().getDataTransfersTime() >= 0);
       assertTrue(executionResult.getProfilerResult().getDeviceReadTime() >= 0);
       assertTrue(executionResult.getProfilerResult().getDeviceWriteTime() >= 0);
-      // We do not support dispatch timers for the PTX and SPIRV backends
-      if (!isBackendPTXOrSPIRV(driverIndex)) {
+      // We do not support dispatch timers for the PTX and SPIRV backends. The JVM backend does not
+      // dispatch data transfers, since the kernels access the data in the Java heap.
+      if (!isBackendPTXOrSPIRV(driverIndex) && !isBackendJVM(driverIndex)) {
         assertTrue(executionResult.getProfilerResult().getDataTransferDispatchTime() > 0);
         assertTrue(executionResult.getProfilerResult().getKernelDispatchTime() > 0);
       }
       assertTrue(executionResult.getProfilerResult().getDeviceWriteTime() >= 0);
-      assertTrue(executionResult.getProfilerResult().getDeviceReadTime() > 0);
+      if (!isBackendJVM(driverIndex)) {
+        assertTrue(executionResult.getProfilerResult().getDeviceReadTime() > 0);
+      }
 
       assertEquals(
           executionResult.getProfilerResult().getDeviceWriteTime()
@@ -122,6 +131,48 @@ public class TestProfiler extends TornadoTestBase {
     }
   }
 
+  @Test
+  public void testProfilerBufferPool() throws TornadoExecutionPlanException {
+    int numElements = 256;
+    IntArray a = new IntArray(numElements);
+    IntArray b = new IntArray(numElements);
+    IntArray c = new IntArray(numElements);
+
+    a.init(1);
+    b.init(2);
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+            .task("t0", TestHello::add, a, b, c) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+    TornadoVMBackendType type =
+        TornadoRuntimeProvider.getTornadoRuntime()
+            .getBackend(
+                TornadoRuntimeProvider.getTornadoRuntime().getDefaultDevice().getBackendIndex())
+            .getBackendType();
+    // The JVM backend uses the host objects and does not have a buffer pool
+    assumeFalse(type == TornadoVMBackendType.JVM);
+
+    // The first plan releases its device buffers into the buffer pool when it is closed
+    try (TornadoExecutionPlan plan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      plan.execute();
+    }
+
+    // The second plan allocates buffers of the same sizes, so the three of them come from the pool
+    try (TornadoExecutionPlan plan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+      TornadoExecutionResult executionResult = plan.withProfiler(ProfilerMode.SILENT).execute();
+      assertEquals(3, executionResult.getProfilerResult().getBufferPoolHits());
+      assertEquals(0, executionResult.getProfilerResult().getBufferPoolMisses());
+      plan.withoutProfiler();
+    }
+
+    for (int i = 0; i < numElements; i++) {
+      assertEquals(3, c.get(i));
+    }
+  }
+
   @Test
   public void testProfilerDisabled() throws TornadoExecutionPlanException {
     int numElements = 16;
@@ -198,13 +249,16 @@ public class TestProfiler extends TornadoTestBase {
       assertTrue(profilerResult.getDataTransfersTime() >= 0);
       assertTrue(profilerResult.getDeviceReadTime() >= 0);
       assertTrue(profilerResult.getDeviceWriteTime() >= 0);
-      // We do not support dispatch timers for the PTX and SPIRV backends
-      if (!isBackendPTXOrSPIRV(driverIndex)) {
+      // We do not support dispatch timers for the PTX and SPIRV backends. The JVM backend does not
+      // dispatch data transfers, since the kernels access the data in the Java heap.
+      if (!isBackendPTXOrSPIRV(driverIndex) && !isBackendJVM(driverIndex)) {
         assertTrue(profilerResult.getDataTransferDispatchTime() > 0);
         assertTrue(profilerResult.getKernelDispatchTime() > 0);
       }
       assertTrue(profilerResult.getDeviceWriteTime() >= 0);
-      assertTrue(profilerResult.getDeviceReadTime() > 0);
+      if (!isBackendJVM(driverIndex)) {
+        assertTrue(profilerResult.getDeviceReadTime() > 0);
+      }
 
       assertEquals(
           profilerResult.getDeviceWriteTime() + profilerResult.getDeviceReadTime(),
@@ -251,13 +305,16 @@ public class TestProfiler extends TornadoTestBase {
       assertTrue(executionResult.getProfilerResult().getDataTransfersTime() >= 0);
       assertTrue(executionResult.getProfilerResult().getDeviceReadTime() >= 0);
       assertTrue(executionResult.getProfilerResult().getDeviceWriteTime() >= 0);
-      // We do not support dispatch timers for the PTX and SPIRV backends
-      if (!isBackendPTXOrSPIRV(driverIndex)) {
+      // We do not support dispatch timers for the PTX and SPIRV backends. The JVM backend does not
+      // dispatch data transfers, since the kernels access the data in the Java heap.
+      if (!isBackendPTXOrSPIRV(driverIndex) && !isBackendJVM(driverIndex)) {
         assertTrue(executionResult.getProfilerResult().getDataTransferDispatchTime() > 0);
         assertTrue(executionResult.getProfilerResult().getKernelDispatchTime() > 0);
       }
       assertTrue(executionResult.getProfilerResult().getDeviceWriteTime() >= 0);
-      assertTrue(executionResult.getProfilerResult().getDeviceReadTime() > 0);
+      if (!isBackendJVM(driverIndex)) {
+        assertTrue(executionResult.getProfilerResult().getDeviceReadTime() > 0);
+      }
 
       assertEquals(
           executionResult.getProfilerResult().getDeviceWriteTime()
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Scan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run? <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.reductions.TestScan
+ * </code>
+ */
+public class TestScan extends TornadoTestBase {
+
+  private static final int SIZE = 1000;
+
+  private static void inclusiveSum(IntArray input, @Scan IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i));
+    }
+  }
+
+  private static void exclusiveSum(IntArray input, @Scan(inclusive = false) IntArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i));
+    }
+  }
+
+  private static void inclusiveMax(
+      LongArray input, @Scan(operation = Scan.Operation.MAX) LongArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i));
+    }
+  }
+
+  private static void inclusiveMin(
+      FloatArray input, @Scan(operation = Scan.Operation.MIN) FloatArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i));
+    }
+  }
+
+  private static void flagKept(DoubleArray input, @Scan DoubleArray output) {
+    for (@Parallel int i = 0; i < input.getSize(); i++) {
+      output.set(i, input.get(i) > 0.5 ? 1.0 : 0.0);
+    }
+  }
+
+  private static void execute(TaskGraph taskGraph) throws TornadoExecutionPlanException {
+    ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+      executionPlan.execute();
+    }
+  }
+
+  @Test
+  public void testInclusiveSum() throws TornadoExecutionPlanException {
+    Random r = new Random();
+    IntArray input = new IntArray(SIZE);
+    IntArray output = new IntArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, r.nextInt(100));
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::inclusiveSum, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    int acc = 0;
+    for (int i = 0; i < SIZE; i++) {
+      acc += input.get(i);
+      assertEquals(acc, output.get(i));
+    }
+  }
+
+  /**
+   * The block totals are scanned in log2 steps that alternate between two buffers. With 100
+   * elements there are 10 blocks and 4 steps, so the totals end in the first buffer, while with
+   * {@link #SIZE} elements they end in the second one.
+   */
+  @Test
+  public void testInclusiveSumEvenSteps() throws TornadoExecutionPlanException {
+    final int size = 100;
+    Random r = new Random();
+    IntArray input = new IntArray(size);
+    IntArray output = new IntArray(size);
+    for (int i = 0; i < size; i++) {
+      input.set(i, r.nextInt(100));
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::inclusiveSum, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    int acc = 0;
+    for (int i = 0; i < size; i++) {
+      acc += input.get(i);
+      assertEquals(acc, output.get(i));
+    }
+  }
+
+  @Test
+  public void testExclusiveSum() throws TornadoExecutionPlanException {
+    Random r = new Random();
+    IntArray input = new IntArray(SIZE);
+    IntArray output = new IntArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, r.nextInt(100));
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::exclusiveSum, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    int acc = 0;
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(acc, output.get(i));
+      acc += input.get(i);
+    }
+  }
+
+  @Test
+  public void testInclusiveMax() throws TornadoExecutionPlanException {
+    Random r = new Random();
+    LongArray input = new LongArray(SIZE);
+    LongArray output = new LongArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, r.nextLong());
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::inclusiveMax, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    long acc = Long.MIN_VALUE;
+    for (int i = 0; i < SIZE; i++) {
+      acc = Math.max(acc, input.get(i));
+      assertEquals(acc, output.get(i));
+    }
+  }
+
+  @Test
+  public void testInclusiveMin() throws TornadoExecutionPlanException {
+    Random r = new Random();
+    FloatArray input = new FloatArray(SIZE);
+    FloatArray output = new FloatArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, r.nextFloat());
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::inclusiveMin, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    float acc = Float.MAX_VALUE;
+    for (int i = 0; i < SIZE; i++) {
+      acc = Math.min(acc, input.get(i));
+      assertEquals(acc, output.get(i), 0.0f);
+    }
+  }
+
+  @Test
+  public void testCompactionOffsets() throws TornadoExecutionPlanException {
+    Random r = new Random();
+    DoubleArray input = new DoubleArray(SIZE);
+    DoubleArray output = new DoubleArray(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      input.set(i, r.nextDouble());
+    }
+
+    TaskGraph taskGraph =
+        new TaskGraph("s0") //
+            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+            .task("t0", TestScan::flagKept, input, output) //
+            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+    execute(taskGraph);
+
+    double acc = 0;
+    for (int i = 0; i < SIZE; i++) {
+      acc += input.get(i) > 0.5 ? 1.0 : 0.0;
+      assertEquals(acc, output.get(i), 0.0);
+    }
+  }
+}
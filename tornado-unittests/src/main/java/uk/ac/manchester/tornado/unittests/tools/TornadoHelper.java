@@ -37,6 +37,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
 import uk.ac.manchester.tornado.api.exceptions.TornadoNoOpenCLPlatformException;
 import uk.ac.manchester.tornado.unittests.common.SPIRVOptNotSupported;
 import uk.ac.manchester.tornado.unittests.common.TornadoNotSupported;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMJVMNotSupported;
 import uk.ac.manchester.tornado.unittests.common.TornadoVMMultiDeviceNotSupported;
 import uk.ac.manchester.tornado.unittests.common.TornadoVMOpenCLNotSupported;
 import uk.ac.manchester.tornado.unittests.common.TornadoVMPTXNotSupported;
@@ -277,6 +278,22 @@ public class TornadoHelper {
           continue;
         }
 
+        if (result.getFailures().stream()
+            .anyMatch(e -> (e.getException() instanceof TornadoVMJVMNotSupported))) {
+          message =
+              String.format(
+                  "%20s",
+                  " ................ "
+                      + ColorsTerminal.PURPLE
+                      + " [JVM CONFIGURATION UNSUPPORTED] "
+                      + ColorsTerminal.RESET
+                      + "\n");
+          bufferConsole.append(message);
+          bufferFile.append(message);
+          notSupported++;
+          continue;
+        }
+
         if (result.getFailures().stream()
                 .anyMatch(e -> (e.getException() instanceof SPIRVOptNotSupported))
             && OPTIMIZE_LOAD_STORE_SPIRV) {